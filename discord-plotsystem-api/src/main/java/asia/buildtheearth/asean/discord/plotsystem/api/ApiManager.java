@@ -2,21 +2,46 @@ package asia.buildtheearth.asean.discord.plotsystem.api;
 
 import asia.buildtheearth.asean.discord.plotsystem.api.events.ApiEvent;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Internal API manager.
  *
+ * <p>Subscribed methods are resolved into {@link MethodHandle} once when a listener subscribes.
+ * Each dispatched event class is then resolved into a cached list of matching handles,
+ * so calling an event does not require any reflection lookup.
+ * The dispatch table is invalidated every time a listener subscribe or unsubscribe.</p>
+ *
  * @see #subscribe(Object)
  * @see #unsubscribe(Object)
  * @see #callEvent(ApiEvent)
  */
 final class ApiManager {
 
-    private final List<Object> apiListeners = new CopyOnWriteArrayList<>();
+    /**
+     * Uniform type of every resolved invoker: {@code (Object) -> void}
+     */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * All subscribed listeners in subscription order, with its resolved methods.
+     */
+    private final List<Subscription> apiListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Dispatch table of event class to all subscribed method that accept the event.
+     * Entries are lazily resolved on first call of each event class.
+     */
+    private volatile Map<Class<?>, List<Subscriber>> dispatchTable = new ConcurrentHashMap<>();
 
     /**
      * Subscribe a class with annotated method to the listener.
@@ -26,8 +51,18 @@ final class ApiManager {
     public void subscribe(Object listener) {
         // ensure at least one method available in given object that is annotated with Subscribe
         int methodsAnnotatedSubscribe = 0;
-        for (Method method : listener.getClass().getMethods())
-            if (method.isAnnotationPresent(ApiSubscribe.class)) methodsAnnotatedSubscribe++;
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (Method method : listener.getClass().getMethods()) {
+            if (!method.isAnnotationPresent(ApiSubscribe.class)) continue;
+            methodsAnnotatedSubscribe++;
+
+            if (method.getParameterCount() != 1)
+                continue; // api listener methods always take one parameter
+
+            Subscriber subscriber = resolveMethod(method, listener);
+            if (subscriber != null) subscribers.add(subscriber);
+        }
+
         if (methodsAnnotatedSubscribe == 0)
             throw new IllegalArgumentException(listener.getClass().getName()
                     + " attempted DiscordPlotSystem API registration but no public methods inside of it"
@@ -37,7 +72,11 @@ final class ApiManager {
             DiscordPlotSystemAPI.info("Subscribed to external listener: " + listener.getClass().getName()
                     + " (" + String.valueOf(methodsAnnotatedSubscribe) + " methods)");
         }
-        apiListeners.add(listener);
+
+        synchronized (this) {
+            apiListeners.add(new Subscription(listener, List.copyOf(subscribers)));
+            invalidate();
+        }
     }
 
     /**
@@ -48,7 +87,17 @@ final class ApiManager {
      */
     public boolean unsubscribe(Object listener) {
         DiscordPlotSystemAPI.info("Unsubscribed from class " + listener.getClass().getName());
-        return apiListeners.remove(listener);
+
+        synchronized (this) {
+            for (Subscription subscription : apiListeners) {
+                if (!subscription.listener().equals(listener)) continue;
+
+                apiListeners.remove(subscription);
+                invalidate();
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -59,46 +108,95 @@ final class ApiManager {
      * @param <E> Event type that will be called
      */
     public <E extends ApiEvent> E callEvent(E event) {
-        for (Object apiListener : apiListeners) {
-            for (Method method : apiListener.getClass().getMethods()) {
-                if (method.getParameters().length != 1)
-                    continue; // api listener methods always take one parameter
-                if (!method.getParameters()[0].getType().isAssignableFrom(event.getClass()))
-                    continue; // make sure this method wants this event
-
-                ApiSubscribe subscribeAnnotation = method.getAnnotation(ApiSubscribe.class);
-                if (subscribeAnnotation == null) continue;
+        List<Subscriber> subscribers = dispatchTable.computeIfAbsent(event.getClass(), this::resolveEvent);
 
-                invokeMethod(method, apiListener, event);
-            }
-        }
+        for (Subscriber subscriber : subscribers) invokeMethod(subscriber, event);
 
         return event;
     }
 
     /**
-     * Invoke the given method on the given instance with the given args
-     * @param method the method to invoke
-     * @param instance the instance of the class to invoke on
-     * @param args arguments for the method
-     * @return whether the method executed without exception
+     * Drop every resolved entry of the dispatch table,
+     * must be called after any modification of the subscribed listeners.
      */
-    @SuppressWarnings("UnusedReturnValue")
-    private boolean invokeMethod(Method method, Object instance, Object... args) {
-        // make sure method is accessible
-        // noinspection deprecation
-        if (!method.isAccessible()) method.setAccessible(true);
+    private void invalidate() {
+        this.dispatchTable = new ConcurrentHashMap<>();
+    }
 
+    /**
+     * Resolve all subscribed method that wants the given event class.
+     *
+     * @param eventClass The event class to resolve for
+     * @return Immutable list of subscriber ordered by subscription
+     */
+    private List<Subscriber> resolveEvent(Class<?> eventClass) {
+        List<Subscriber> resolved = new ArrayList<>();
+        for (Subscription subscription : apiListeners)
+            for (Subscriber subscriber : subscription.subscribers())
+                if (subscriber.eventType().isAssignableFrom(eventClass))
+                    resolved.add(subscriber); // make sure this method wants this event
+        return List.copyOf(resolved);
+    }
+
+    /**
+     * Resolve a listener method into a bound {@link MethodHandle}.
+     *
+     * @param method The annotated method to resolve
+     * @param instance The instance of the class to bind the method on
+     * @return The resolved subscriber, or {@code null} if the method cannot be accessed
+     */
+    private Subscriber resolveMethod(Method method, Object instance) {
         try {
-            method.invoke(instance, method.getParameterCount() == 0 ? null : args);
-            return true;
-        } catch (InvocationTargetException ex) {
-            DiscordPlotSystemAPI.error(instance.getClass().getName() + "#" + method.getName() + " threw an error: ", ex);
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
 
-        } catch (IllegalAccessException ex) {
+            // make sure method is accessible
+            if (!method.canAccess(isStatic ? null : instance)) method.setAccessible(true);
+
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            MethodHandle invoker = (isStatic ? handle : handle.bindTo(instance)).asType(INVOKER_TYPE);
+
+            return new Subscriber(method.getParameterTypes()[0], invoker, instance, method);
+        }
+        catch (IllegalAccessException | RuntimeException ex) {
             // this should never happen
-            DiscordPlotSystemAPI.error("Failed to invoke method: " + method + " in API listener: " + method.getClass().getName(), ex);
+            DiscordPlotSystemAPI.error("Failed to resolve method: " + method + " in API listener: " + instance.getClass().getName(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Invoke the given subscriber with the given event
+     * @param subscriber the subscriber to invoke
+     * @param event the event argument for the method
+     * @return whether the method executed without exception
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    private boolean invokeMethod(Subscriber subscriber, Object event) {
+        try {
+            subscriber.invoker().invokeExact(event);
+            return true;
+        } catch (Throwable ex) {
+            DiscordPlotSystemAPI.error(subscriber.instance().getClass().getName()
+                    + "#" + subscriber.method().getName() + " threw an error: ", ex);
         }
         return false;
     }
+
+    /**
+     * A subscribed listener instance
+     *
+     * @param listener The listener instance
+     * @param subscribers All resolved method of this listener
+     */
+    private record Subscription(Object listener, List<Subscriber> subscribers) { }
+
+    /**
+     * A resolved subscriber method
+     *
+     * @param eventType The event type this method accept
+     * @param invoker The method handle bound to its instance with the type {@code (Object) -> void}
+     * @param instance The listener instance for logging
+     * @param method The listener method for logging
+     */
+    private record Subscriber(Class<?> eventType, MethodHandle invoker, Object instance, Method method) { }
 }
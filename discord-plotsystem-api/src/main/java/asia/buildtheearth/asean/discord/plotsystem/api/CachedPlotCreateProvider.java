@@ -0,0 +1,270 @@
+package asia.buildtheearth.asean.discord.plotsystem.api;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link PlotCreateProvider} decorator that caches plot data by plot ID.
+ *
+ * <p>Data resolved by plot ID is kept for a limited time in a bounded least-recently-used cache,
+ * batch lookups only ask the underlying provider for plots that are not cached.
+ * {@link #getData(Object)} is never cached since its raw input is provider-defined.</p>
+ *
+ * <p>The cached data of a plot is invalidated whenever a
+ * {@link asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent PlotEvent} of the plot is called
+ * through the API, so a status change is never served stale.
+ * A lookup that is in flight while its plot is invalidated still returns what it resolved,
+ * but does not cache it since it may have been read before the change.</p>
+ *
+ * <blockquote>{@snippet :
+ * DiscordPlotSystemAPI.registerProvider(new CachedPlotCreateProvider(new MyProvider()));
+ * }</blockquote>
+ */
+public class CachedPlotCreateProvider implements PlotCreateProvider {
+
+    /**
+     * Default time for a cached plot data to expire
+     */
+    public static final Duration DEFAULT_EXPIRY = Duration.ofSeconds(30);
+
+    /**
+     * Default maximum number of cached plot data
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+    private record Cached(PlotCreateData data, long expireAt) { }
+
+    private final PlotCreateProvider provider;
+    private final long expiry;
+    private final Map<Integer, Cached> cache;
+
+    /** Number of times each plot is invalidated, locked on the cache */
+    private final Map<Integer, Long> generations = new HashMap<>();
+
+    /** Number of times every plot is invalidated, locked on the cache */
+    private long epoch = 0;
+
+    /**
+     * Cache a provider with {@link #DEFAULT_EXPIRY} and {@link #DEFAULT_MAXIMUM_SIZE}.
+     *
+     * @param provider The provider to cache
+     */
+    public CachedPlotCreateProvider(PlotCreateProvider provider) {
+        this(provider, DEFAULT_EXPIRY, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Cache a provider.
+     *
+     * @param provider The provider to cache
+     * @param expiry Time for a cached plot data to expire
+     * @param maximumSize Maximum number of cached plot data, the least recently used is evicted first
+     * @throws IllegalArgumentException If the expiry is negative or the maximum size is less than 1
+     */
+    public CachedPlotCreateProvider(PlotCreateProvider provider, Duration expiry, int maximumSize) {
+        if(expiry.isNegative()) throw new IllegalArgumentException("Cache expiry cannot be negative");
+        if(maximumSize < 1) throw new IllegalArgumentException("Cache maximum size must be at least 1");
+
+        this.provider = provider;
+        this.expiry = expiry.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Cached> eldest) {
+                return this.size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Get the underlying provider of this cache.
+     *
+     * @return The cached provider
+     */
+    public PlotCreateProvider getProvider() {
+        return this.provider;
+    }
+
+    /**
+     * Invalidate the cached data of a plot.
+     *
+     * @param plotID The plot ID to invalidate
+     */
+    public void invalidate(int plotID) {
+        synchronized (this.cache) {
+            this.cache.remove(plotID);
+            this.generations.merge(plotID, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Invalidate every cached plot data.
+     */
+    public void invalidateAll() {
+        synchronized (this.cache) {
+            this.cache.clear();
+            this.epoch++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This is never cached.</p>
+     */
+    @Override
+    public PlotCreateData getData(Object rawData) {
+        return this.provider.getData(rawData);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PlotCreateData getData(int plotID) {
+        PlotCreateData cached = this.get(plotID);
+        if(cached != null) return cached;
+
+        long generation = this.generationOf(plotID);
+        return this.put(plotID, this.provider.getData(plotID), generation);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only plots that are not cached are resolved by the underlying provider.</p>
+     */
+    @Override
+    public Map<Integer, PlotCreateData> getDataBatch(Collection<Integer> plotIDs) {
+        Map<Integer, PlotCreateData> data = HashMap.newHashMap(plotIDs.size());
+        Map<Integer, Long> missing = this.collect(plotIDs, data);
+
+        if(!missing.isEmpty()) this.putAll(this.provider.getDataBatch(List.copyOf(missing.keySet())), missing, data);
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<PlotCreateData> getDataAsync(int plotID) {
+        PlotCreateData cached = this.get(plotID);
+        if(cached != null) return CompletableFuture.completedFuture(cached);
+
+        long generation = this.generationOf(plotID);
+        return this.provider.getDataAsync(plotID).thenApply(data -> this.put(plotID, data, generation));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<PlotCreateData> getDataAsync(int plotID, Executor executor) {
+        PlotCreateData cached = this.get(plotID);
+        if(cached != null) return CompletableFuture.completedFuture(cached);
+
+        long generation = this.generationOf(plotID);
+        return this.provider.getDataAsync(plotID, executor).thenApply(data -> this.put(plotID, data, generation));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only plots that are not cached are resolved by the underlying provider.</p>
+     */
+    @Override
+    public CompletableFuture<Map<Integer, PlotCreateData>> getDataBatchAsync(Collection<Integer> plotIDs) {
+        Map<Integer, PlotCreateData> data = HashMap.newHashMap(plotIDs.size());
+        Map<Integer, Long> missing = this.collect(plotIDs, data);
+
+        if(missing.isEmpty()) return CompletableFuture.completedFuture(data);
+
+        return this.provider.getDataBatchAsync(List.copyOf(missing.keySet())).thenApply(resolved -> {
+            this.putAll(resolved, missing, data);
+            return data;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only plots that are not cached are resolved by the underlying provider.</p>
+     */
+    @Override
+    public CompletableFuture<Map<Integer, PlotCreateData>> getDataBatchAsync(Collection<Integer> plotIDs, Executor executor) {
+        Map<Integer, PlotCreateData> data = HashMap.newHashMap(plotIDs.size());
+        Map<Integer, Long> missing = this.collect(plotIDs, data);
+
+        if(missing.isEmpty()) return CompletableFuture.completedFuture(data);
+
+        return this.provider.getDataBatchAsync(List.copyOf(missing.keySet()), executor).thenApply(resolved -> {
+            this.putAll(resolved, missing, data);
+            return data;
+        });
+    }
+
+    private PlotCreateData get(int plotID) {
+        synchronized (this.cache) {
+            Cached cached = this.cache.get(plotID);
+            if(cached == null) return null;
+            if(System.nanoTime() - cached.expireAt() < 0) return cached.data();
+
+            this.cache.remove(plotID);
+            return null;
+        }
+    }
+
+    /**
+     * Get the generation of a plot, changed whenever the plot is invalidated.
+     */
+    private long generationOf(int plotID) {
+        synchronized (this.cache) {
+            return this.epoch + this.generations.getOrDefault(plotID, 0L);
+        }
+    }
+
+    /**
+     * Cache a resolved plot data unless the plot is invalidated since its generation is read.
+     *
+     * @return The resolved data
+     */
+    private PlotCreateData put(int plotID, PlotCreateData data, long generation) {
+        if(data == null) return null;
+
+        synchronized (this.cache) {
+            if(this.generationOf(plotID) == generation)
+                this.cache.put(plotID, new Cached(data, System.nanoTime() + this.expiry));
+        }
+        return data;
+    }
+
+    /**
+     * Collect every cached plot into the result.
+     *
+     * @return The generation of each plot that is not cached, in order of the plot IDs
+     */
+    private Map<Integer, Long> collect(Collection<Integer> plotIDs, Map<Integer, PlotCreateData> result) {
+        Map<Integer, Long> missing = new LinkedHashMap<>();
+        for(int plotID : plotIDs) {
+            PlotCreateData cached = this.get(plotID);
+            if(cached != null) result.put(plotID, cached);
+            else missing.put(plotID, this.generationOf(plotID));
+        }
+        return missing;
+    }
+
+    private void putAll(Map<Integer, PlotCreateData> resolved,
+                        Map<Integer, Long> generations,
+                        Map<Integer, PlotCreateData> result) {
+        resolved.forEach((plotID, data) -> {
+            Long generation = generations.get(plotID);
+            if(generation == null) return;
+            if(this.put(plotID, data, generation) != null) result.put(plotID, data);
+        });
+    }
+}
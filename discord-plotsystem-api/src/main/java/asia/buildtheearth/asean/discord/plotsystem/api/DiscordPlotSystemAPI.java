@@ -1,6 +1,7 @@
 package asia.buildtheearth.asean.discord.plotsystem.api;
 
 import asia.buildtheearth.asean.discord.plotsystem.api.events.ApiEvent;
+import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.PrintWriter;
@@ -101,9 +102,14 @@ public abstract class DiscordPlotSystemAPI extends JavaPlugin implements Discord
 
     /**
      * {@inheritDoc}
+     *
+     * <p>If the registered provider is a {@link CachedPlotCreateProvider},
+     * the cached data of a {@link PlotEvent}'s plot is invalidated before the event is dispatched.</p>
      */
     @Override
     public <E extends ApiEvent> E callEvent(E event) {
+        if(event instanceof PlotEvent plotEvent && provider instanceof CachedPlotCreateProvider cache)
+            cache.invalidate(plotEvent.getPlotID());
         return api.callEvent(event);
     }
 
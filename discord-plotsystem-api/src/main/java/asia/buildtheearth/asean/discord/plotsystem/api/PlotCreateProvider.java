@@ -1,14 +1,29 @@
 package asia.buildtheearth.asean.discord.plotsystem.api;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A provider interface for constructing {@link PlotCreateData} from raw input data.
  * <p>
  * This interface is used exclusively by {@link asia.buildtheearth.asean.discord.plotsystem.api.events.PlotCreateEvent}
  * to extract structured plot data from an external object.
  * </p>
- * 
+ *
+ * <p>Only {@link #getData(Object)} and {@link #getData(int)} are required.
+ * The batch and async variants default to calling {@link #getData(int)} for each plot,
+ * providers backed by a database are encouraged to override them with a single batch query.
+ * The plugin calls the async variants with its own database executor,
+ * a provider with its own executor should override both variants.</p>
+ *
  * @see #getData(Object)
  * @see #getData(int)
+ * @see #getDataBatch(Collection)
+ * @see CachedPlotCreateProvider
  */
 public interface PlotCreateProvider {
 
@@ -30,4 +45,77 @@ public interface PlotCreateProvider {
      * @return A valid {@link PlotCreateData} object created from the input.
      */
     PlotCreateData getData(int plotID);
+
+    /**
+     * Converts multiple plot IDs to {@link PlotCreateData} instances at once.
+     *
+     * <p>By default, this calls {@link #getData(int)} for each plot ID.
+     * A plot that returns {@code null} or throws {@link IllegalArgumentException} is absent from the result.</p>
+     *
+     * @param plotIDs The unique integer plot IDs to retrieve data with.
+     * @return Every resolved plot data mapped by its plot ID.
+     */
+    default Map<Integer, PlotCreateData> getDataBatch(Collection<Integer> plotIDs) {
+        Map<Integer, PlotCreateData> data = HashMap.newHashMap(plotIDs.size());
+        for(int plotID : plotIDs) {
+            try {
+                PlotCreateData plot = this.getData(plotID);
+                if(plot != null) data.put(plotID, plot);
+            }
+            catch (IllegalArgumentException ignored) { }
+        }
+        return data;
+    }
+
+    /**
+     * Asynchronously converts a unique plot ID to {@link PlotCreateData} instance.
+     *
+     * <p>By default, this runs {@link #getData(int)} on the {@linkplain ForkJoinPool#commonPool() common pool}.</p>
+     *
+     * @param plotID The unique integer plot ID to retrieve data with.
+     * @return Future of the plot data, completes exceptionally if {@link #getData(int)} throws.
+     * @see #getDataAsync(int, Executor)
+     */
+    default CompletableFuture<PlotCreateData> getDataAsync(int plotID) {
+        return this.getDataAsync(plotID, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Asynchronously converts a unique plot ID to {@link PlotCreateData} instance on the given executor.
+     *
+     * <p>By default, this runs {@link #getData(int)} on the given executor.</p>
+     *
+     * @param plotID The unique integer plot ID to retrieve data with.
+     * @param executor The executor to resolve the data on, a provider with its own executor may ignore it.
+     * @return Future of the plot data, completes exceptionally if {@link #getData(int)} throws.
+     */
+    default CompletableFuture<PlotCreateData> getDataAsync(int plotID, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.getData(plotID), executor);
+    }
+
+    /**
+     * Asynchronously converts multiple plot IDs to {@link PlotCreateData} instances at once.
+     *
+     * <p>By default, this runs {@link #getDataBatch(Collection)} on the {@linkplain ForkJoinPool#commonPool() common pool}.</p>
+     *
+     * @param plotIDs The unique integer plot IDs to retrieve data with.
+     * @return Future of every resolved plot data mapped by its plot ID.
+     * @see #getDataBatchAsync(Collection, Executor)
+     */
+    default CompletableFuture<Map<Integer, PlotCreateData>> getDataBatchAsync(Collection<Integer> plotIDs) {
+        return this.getDataBatchAsync(plotIDs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Asynchronously converts multiple plot IDs to {@link PlotCreateData} instances at once on the given executor.
+     *
+     * <p>By default, this runs {@link #getDataBatch(Collection)} on the given executor.</p>
+     *
+     * @param plotIDs The unique integer plot IDs to retrieve data with.
+     * @param executor The executor to resolve the data on, a provider with its own executor may ignore it.
+     * @return Future of every resolved plot data mapped by its plot ID.
+     */
+    default CompletableFuture<Map<Integer, PlotCreateData>> getDataBatchAsync(Collection<Integer> plotIDs, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.getDataBatch(plotIDs), executor);
+    }
 }
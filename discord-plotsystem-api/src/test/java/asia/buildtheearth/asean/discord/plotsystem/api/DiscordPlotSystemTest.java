@@ -15,7 +15,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -131,6 +133,38 @@ class DiscordPlotSystemTest extends MockDiscordPlotSystemPlugin {
         );
     }
 
+    @Test
+    @Timeout(1)
+    @DisplayName("API dispatch table is invalidated")
+    void testDispatchTable() {
+        Assertions.assertNotNull(DiscordPlotSystemAPI.getInstance(), "Plugin instance is expected but its value is Null");
+
+        List<ApiEvent> received = new ArrayList<>();
+
+        EventListener listener = new EventListener() {
+            @ApiSubscribe @SuppressWarnings("unused")
+            public void testingMethod(PlotEvent event) {
+                received.add(event);
+            }
+        };
+
+        ApiEvent unrelated = new ApiEvent() { };
+        PlotEvent event = new PlotSubmitEvent(MOCK_PLOT_ID);
+
+        // Resolve the dispatch table before subscribing
+        MockDiscordPlotSystemAPI.getInstance().callEvent(event);
+        Assertions.assertTrue(received.isEmpty(), "Event received before the listener is subscribed");
+
+        MockDiscordPlotSystemAPI.getInstance().subscribe(listener);
+        MockDiscordPlotSystemAPI.getInstance().callEvent(event);
+        MockDiscordPlotSystemAPI.getInstance().callEvent(unrelated);
+        Assertions.assertEquals(List.of(event), received, "Subscribed method is expected to receive only its parameter type");
+
+        Assertions.assertTrue(MockDiscordPlotSystemAPI.getInstance().unsubscribe(listener));
+        MockDiscordPlotSystemAPI.getInstance().callEvent(event);
+        Assertions.assertEquals(1, received.size(), "Unsubscribed listener still received an event");
+    }
+
     @Test
     @DisplayName("Subscribe to API with mock listener")
     void subscribeAPI() {
@@ -225,6 +259,120 @@ class DiscordPlotSystemTest extends MockDiscordPlotSystemPlugin {
             Assertions.assertEquals(expected, MOCK_PROVIDER.get(MOCK_PLOT_ID));
         }
 
+        @Test @DisplayName("Batch data omits unknown plots")
+        void checkBatchData() {
+            Map<Integer, PlotCreateData> batch = DiscordPlotSystemAPI.getDataProvider()
+                .getDataBatch(List.of(MOCK_PLOT_ID, MOCK_PLOT_ID + 1));
+
+            Assertions.assertEquals(Map.of(MOCK_PLOT_ID, expected), batch);
+            Assertions.assertEquals(batch, DiscordPlotSystemAPI.getDataProvider()
+                .getDataBatchAsync(List.of(MOCK_PLOT_ID, MOCK_PLOT_ID + 1)).join());
+            Assertions.assertEquals(expected, DiscordPlotSystemAPI.getDataProvider().getDataAsync(MOCK_PLOT_ID).join());
+        }
+
+        @Test @DisplayName("Async data runs on the given executor")
+        void checkAsyncExecutor() {
+            AtomicInteger executed = new AtomicInteger();
+            Executor executor = task -> {
+                executed.incrementAndGet();
+                task.run();
+            };
+
+            Assertions.assertEquals(Map.of(MOCK_PLOT_ID, expected), DiscordPlotSystemAPI.getDataProvider()
+                .getDataBatchAsync(List.of(MOCK_PLOT_ID, MOCK_PLOT_ID + 1), executor).join());
+            Assertions.assertEquals(expected, DiscordPlotSystemAPI.getDataProvider().getDataAsync(MOCK_PLOT_ID, executor).join());
+            Assertions.assertEquals(2, executed.get(), "Async data is not resolved on the given executor");
+        }
+
+        @Test @DisplayName("Cached data is resolved once until invalidated")
+        void checkCachedData() {
+            AtomicInteger resolved = new AtomicInteger();
+            CachedPlotCreateProvider cached = new CachedPlotCreateProvider(new PlotCreateProvider() {
+                @Override
+                public PlotCreateData getData(Object rawData) {
+                    return DiscordPlotSystemAPI.getDataProvider().getData(rawData);
+                }
+
+                @Override
+                public PlotCreateData getData(int plotID) {
+                    resolved.incrementAndGet();
+                    return MOCK_PROVIDER.get(plotID);
+                }
+            });
+
+            Assertions.assertEquals(expected, cached.getData(MOCK_PLOT_ID));
+            Assertions.assertEquals(expected, cached.getData(MOCK_PLOT_ID));
+            Assertions.assertEquals(Map.of(MOCK_PLOT_ID, expected), cached.getDataBatch(List.of(MOCK_PLOT_ID)));
+            Assertions.assertEquals(1, resolved.get(), "Cached plot data is resolved again");
+
+            cached.invalidate(MOCK_PLOT_ID);
+            Assertions.assertEquals(expected, cached.getDataAsync(MOCK_PLOT_ID).join());
+            Assertions.assertEquals(2, resolved.get(), "Invalidated plot data is not resolved again");
+
+            // Cached plot never reaches the executor
+            AtomicInteger executed = new AtomicInteger();
+            Executor executor = task -> {
+                executed.incrementAndGet();
+                task.run();
+            };
+            Assertions.assertEquals(expected, cached.getDataAsync(MOCK_PLOT_ID, executor).join());
+            Assertions.assertEquals(Map.of(MOCK_PLOT_ID, expected), cached.getDataBatchAsync(List.of(MOCK_PLOT_ID), executor).join());
+            Assertions.assertEquals(0, executed.get(), "Cached plot data is resolved on the executor");
+
+            cached.invalidate(MOCK_PLOT_ID);
+            Assertions.assertEquals(expected, cached.getDataAsync(MOCK_PLOT_ID, executor).join());
+            Assertions.assertEquals(1, executed.get(), "Invalidated plot data is not resolved on the executor");
+            Assertions.assertEquals(3, resolved.get(), "Invalidated plot data is not resolved again");
+
+            // Unknown plot is never cached
+            Assertions.assertNull(cached.getData(MOCK_PLOT_ID + 1));
+            Assertions.assertNull(cached.getData(MOCK_PLOT_ID + 1));
+            Assertions.assertEquals(5, resolved.get(), "Unknown plot data is cached");
+        }
+
+        @Test @DisplayName("Data resolved while invalidated is not cached")
+        void checkInvalidatedInFlight() {
+            AtomicInteger resolved = new AtomicInteger();
+            CachedPlotCreateProvider cached = new CachedPlotCreateProvider(new PlotCreateProvider() {
+                @Override
+                public PlotCreateData getData(Object rawData) {
+                    return DiscordPlotSystemAPI.getDataProvider().getData(rawData);
+                }
+
+                @Override
+                public PlotCreateData getData(int plotID) {
+                    resolved.incrementAndGet();
+                    return MOCK_PROVIDER.get(plotID);
+                }
+            });
+
+            // Hold every fetch until the plot is invalidated
+            List<Runnable> held = new ArrayList<>();
+            Executor executor = held::add;
+
+            CompletableFuture<PlotCreateData> single = cached.getDataAsync(MOCK_PLOT_ID, executor);
+            cached.invalidate(MOCK_PLOT_ID);
+            held.forEach(Runnable::run);
+            held.clear();
+
+            Assertions.assertEquals(expected, single.join());
+            Assertions.assertEquals(expected, cached.getData(MOCK_PLOT_ID));
+            Assertions.assertEquals(2, resolved.get(), "Data resolved before invalidation is cached");
+
+            cached.invalidate(MOCK_PLOT_ID);
+            CompletableFuture<Map<Integer, PlotCreateData>> batch = cached.getDataBatchAsync(List.of(MOCK_PLOT_ID), executor);
+            cached.invalidateAll();
+            held.forEach(Runnable::run);
+
+            Assertions.assertEquals(Map.of(MOCK_PLOT_ID, expected), batch.join());
+            Assertions.assertEquals(expected, cached.getData(MOCK_PLOT_ID));
+            Assertions.assertEquals(4, resolved.get(), "Batch data resolved before invalidation is cached");
+
+            // Not invalidated while in flight, so it is cached as usual
+            Assertions.assertEquals(expected, cached.getData(MOCK_PLOT_ID));
+            Assertions.assertEquals(4, resolved.get(), "Plot data is not cached after invalidation");
+        }
+
         @Nested @DisplayName("by plot ID")
         class CreateByID extends PlotCreateTest {
             CreateByID() { super(PlotEventAction::onPlotCreate); }
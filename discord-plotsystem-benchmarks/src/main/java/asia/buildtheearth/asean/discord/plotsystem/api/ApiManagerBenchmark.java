@@ -0,0 +1,69 @@
+package asia.buildtheearth.asean.discord.plotsystem.api;
+
+import asia.buildtheearth.asean.discord.plotsystem.api.events.ApiEvent;
+import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotApprovedEvent;
+import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
+import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotSubmitEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event dispatch of {@link ApiManager#callEvent(ApiEvent)}.
+ *
+ * <p>Subscribes {@link #listeners} listeners, each with one method for the called event,
+ * one for its super type and one for an unrelated event that must be filtered out.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiManagerBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int listeners;
+
+    private ApiManager api;
+    private PlotSubmitEvent event;
+
+    public static class Listener {
+        private final Blackhole blackhole;
+
+        public Listener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @ApiSubscribe
+        public void onPlotSubmit(PlotSubmitEvent event) {
+            this.blackhole.consume(event.getPlotID());
+        }
+
+        @ApiSubscribe
+        public void onPlotEvent(PlotEvent event) {
+            this.blackhole.consume(event);
+        }
+
+        @ApiSubscribe
+        public void onPlotApproved(PlotApprovedEvent event) {
+            this.blackhole.consume(event);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        // Internal listener package, subscribing will not log to the (absent) plugin logger
+        this.api = new ApiManager();
+        this.event = new PlotSubmitEvent(1);
+
+        for (int i = 0; i < this.listeners; i++)
+            this.api.subscribe(new Listener(blackhole));
+    }
+
+    @Benchmark
+    public Object callEvent() {
+        return this.api.callEvent(this.event);
+    }
+}
@@ -0,0 +1,46 @@
+package asia.buildtheearth.asean.discord.plotsystem.benchmark;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableComponent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component ID packing and unpacking of {@link AvailableComponent},
+ * done for every component when a layout is built or parsed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableComponentBenchmark {
+
+    private static final AvailableComponent.InfoComponent[] SUB_COMPONENTS = AvailableComponent.InfoComponent.VALUES;
+
+    private int[] packedIDs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.packedIDs = new int[SUB_COMPONENTS.length];
+        for (int i = 0; i < SUB_COMPONENTS.length; i++)
+            this.packedIDs[i] = AvailableComponent.INFO.pack(SUB_COMPONENTS[i], i);
+    }
+
+    @Benchmark
+    public void packComponent(Blackhole blackhole) {
+        for (int i = 0; i < SUB_COMPONENTS.length; i++)
+            blackhole.consume(AvailableComponent.INFO.pack(SUB_COMPONENTS[i], i));
+    }
+
+    @Benchmark
+    public void unpackComponent(Blackhole blackhole) {
+        for (int packedID : this.packedIDs) {
+            blackhole.consume(AvailableComponent.get(AvailableComponent.unpackComponent(packedID)));
+            blackhole.consume(AvailableComponent.InfoComponent.get(AvailableComponent.unpackSubComponent(packedID)));
+            blackhole.consume(AvailableComponent.unpackPosition(packedID));
+        }
+    }
+}
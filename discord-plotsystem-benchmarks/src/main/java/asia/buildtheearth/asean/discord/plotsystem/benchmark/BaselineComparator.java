@@ -0,0 +1,101 @@
+package asia.buildtheearth.asean.discord.plotsystem.benchmark;
+
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare a JMH JSON result against a recorded baseline.
+ *
+ * <blockquote>{@snippet :
+ * java -jar benchmarks.jar -rf json -rff baseline/results.json   // record a baseline
+ * java -jar benchmarks.jar -rf json -rff current.json            // run again after a change
+ * java -cp benchmarks.jar asia.buildtheearth.asean.discord.plotsystem.benchmark.BaselineComparator \
+ *     baseline/results.json current.json 10
+ * }</blockquote>
+ *
+ * <p>Each benchmark is matched by its name and parameters.
+ * Exits with status {@code 1} if any benchmark regressed over the threshold percentage (default {@code 10}),
+ * or with status {@code 2} if either result has no benchmark to compare, such as a baseline that was never recorded.</p>
+ */
+public final class BaselineComparator {
+
+    private record Score(double score, double error, String unit, boolean higherIsBetter) { }
+
+    private BaselineComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+            return;
+        }
+
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+        double threshold = args.length > 2? Double.parseDouble(args[2]) : 10;
+
+        if(baseline.isEmpty() || current.isEmpty()) {
+            System.err.println("No benchmark recorded in " + (baseline.isEmpty()? args[0] : args[1])
+                + ", record a run with: java -jar benchmarks.jar -rf json -rff <file>");
+            System.exit(2);
+            return;
+        }
+
+        int regressions = 0;
+        for(Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+
+            if(before == null) {
+                System.out.printf("  NEW   %-80s %12.3f %s%n", entry.getKey(), now.score(), now.unit());
+                continue;
+            }
+
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double regression = now.higherIsBetter()? -change : change;
+            boolean regressed = regression > threshold
+                && Math.abs(now.score() - before.score()) > now.error() + before.error();
+
+            if(regressed) regressions++;
+
+            System.out.printf("%s %-80s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                regressed? "  SLOW " : "  OK   ", entry.getKey(), before.score(), now.score(), now.unit(), change);
+        }
+
+        System.out.println(regressions + " benchmark(s) regressed over " + threshold + "%");
+        if(regressions > 0) System.exit(1);
+    }
+
+    private static @NotNull Map<String, Score> read(@NotNull Path file) throws IOException {
+        DataArray results = DataArray.fromJson(Files.readString(file));
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for(int i = 0; i < results.length(); i++) {
+            DataObject result = results.getObject(i);
+            DataObject metric = result.getObject("primaryMetric");
+
+            StringBuilder key = new StringBuilder(result.getString("benchmark"));
+            result.optObject("params").ifPresent(params -> new TreeMap<>(params.toMap())
+                .forEach((name, value) -> key.append(' ').append(name).append('=').append(value)));
+
+            double error = metric.isNull("scoreError")? 0 : metric.getDouble("scoreError");
+            if(Double.isNaN(error)) error = 0;
+
+            scores.put(key.toString(), new Score(
+                metric.getDouble("score"),
+                error,
+                metric.getString("scoreUnit"),
+                "thrpt".equals(result.getString("mode"))
+            ));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,74 @@
+package asia.buildtheearth.asean.discord.plotsystem.benchmark;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableTag;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockDiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockDiscordSRV;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockPluginServer;
+import github.scarsz.discordsrv.DiscordSRV;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+/**
+ * Mock server for benchmarks that need a running plugin instance.
+ *
+ * <p>Boots the same mocked server as the unit tests ({@link MockDiscordSRV} then {@link MockDiscordPS})
+ * with an SQLite database and mocked forum tags.
+ * Unlike {@link MockPluginServer}, this does not depend on JUnit lifecycle
+ * and does not assert the classpath, since benchmarks run from a shaded jar.</p>
+ *
+ * @see #start()
+ * @see #stop()
+ */
+public final class BenchmarkServer {
+
+    private static DiscordPS plugin = null;
+
+    private BenchmarkServer() {}
+
+    /**
+     * Start the mock server if not already started in this JVM.
+     *
+     * @return The mocked plugin instance
+     */
+    public static synchronized @NotNull DiscordPS start() {
+        if(plugin != null) return plugin;
+
+        MockBukkit.mock();
+
+        MockBukkit.loadWith(MockDiscordSRV.class, new PluginDescriptionFile(
+            DiscordPS.DISCORD_SRV_SYMBOL,
+            DiscordPS.DISCORD_SRV_VERSION,
+            DiscordSRV.class.getName()
+        ));
+
+        plugin = MockBukkit.loadWith(MockDiscordPS.class, new PluginDescriptionFile(
+            MockDiscordPS.class.getSimpleName(),
+            DiscordPS.VERSION,
+            DiscordPS.class.getName()
+        ));
+
+        DataArray mockTags = DataArray.empty();
+        for (int i = 0; i < ThreadStatus.VALUES.length; i++)
+            mockTags.add(MockPluginServer.generateAvailableTag(DataObject::empty, i));
+
+        AvailableTag.initCache(mockTags);
+        AvailableTag.resolveAllTag(plugin.getConfig());
+        AvailableTag.applyAllTag();
+
+        return plugin;
+    }
+
+    /**
+     * Stop the mock server if started.
+     */
+    public static synchronized void stop() {
+        if(plugin == null) return;
+        MockBukkit.unmock();
+        plugin = null;
+    }
+}
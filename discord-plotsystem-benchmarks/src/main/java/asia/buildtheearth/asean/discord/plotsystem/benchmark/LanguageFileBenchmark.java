@@ -0,0 +1,63 @@
+package asia.buildtheearth.asean.discord.plotsystem.benchmark;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.MessageLang;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotInformation;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Language lookup and placeholder formatting of the bundled {@code lang/message.yml},
+ * the same way each plot layout formats its messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LanguageFileBenchmark {
+
+    private LanguageFile<MessageLang> lang;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InvalidConfigurationException {
+        this.lang = new LanguageFile<>();
+
+        try(InputStream resource = Objects.requireNonNull(
+                LanguageFileBenchmark.class.getClassLoader().getResourceAsStream("lang/message.yml"),
+                "Bundled language file lang/message.yml is not on the classpath");
+            Reader reader = new InputStreamReader(resource, StandardCharsets.UTF_8)) {
+            this.lang.load(reader);
+        }
+    }
+
+    @Benchmark
+    public String lookup() {
+        return this.lang.get(PlotInformation.INFO_TITLE);
+    }
+
+    @Benchmark
+    public String formatTitle() {
+        return this.lang.get(PlotInformation.INFO_TITLE)
+            .replace(Format.PLOT_ID, "1024")
+            .replace(Format.COUNTRY, "Thailand")
+            .replace(Format.CITY, "Bangkok");
+    }
+
+    @Benchmark
+    public String formatThreadName() {
+        return this.lang.get(PlotInformation.THREAD_NAME)
+            .replace(Format.PLOT_ID, "1024")
+            .replace(Format.OWNER, "MockPlayer");
+    }
+}
@@ -0,0 +1,98 @@
+package asia.buildtheearth.asean.discord.plotsystem.benchmark;
+
+import asia.buildtheearth.asean.discord.components.WebhookDataBuilder;
+import asia.buildtheearth.asean.discord.components.api.ComponentV2;
+import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableComponent;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotData;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.InfoComponent;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.Layout;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.StatusComponent;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layout parsing and building of a plot thread's initial message.
+ *
+ * <p>The raw layout is built once from a real {@link InfoComponent} and {@link StatusComponent}
+ * with {@link #histories} history lines, the same payload a plot thread gets back from the API.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int histories;
+
+    private DataArray rawLayout;
+    private DataObject rawInfo;
+    private Layout layout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkServer.start();
+
+        PlotData data = new PlotData(new PlotCreateData(
+            1,
+            UUID.randomUUID().toString(),
+            PlotCreateData.PlotStatus.ON_GOING,
+            "MOCK_CITY",
+            "MOCK_COUNTRY",
+            new double[] {13.7563, 100.5018}
+        ));
+
+        InfoComponent info = new InfoComponent(0, data);
+        for (int i = 0; i < this.histories; i++)
+            info.addHistory("Plot history entry #" + i + " <t:" + (1700000000 + i) + ":R>");
+
+        StatusComponent status = new StatusComponent(1, data);
+
+        List<ComponentV2> components = List.of(info.build(), status.build());
+        WebhookDataBuilder.WebhookData webhookData = new WebhookDataBuilder()
+            .setComponentsV2(components)
+            .forceComponentV2()
+            .build();
+
+        // Round-trip through JSON so the payload matches an API response
+        this.rawLayout = DataObject.fromJson(webhookData.toJson()).getArray("components");
+        this.rawInfo = this.rawLayout.getObject(0);
+        this.layout = Layout.fromRawData(this.rawLayout).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public Object fromRawData() {
+        return Layout.fromRawData(this.rawLayout);
+    }
+
+    @Benchmark
+    public Object parseInfoComponent() {
+        return Layout.parseData(this.rawInfo);
+    }
+
+    @Benchmark
+    public Collection<ComponentV2> buildLayout() {
+        return this.layout.buildLayout(new EnumMap<>(AvailableComponent.class));
+    }
+
+    @Benchmark
+    public Collection<ComponentV2> parseAndBuild() {
+        return Layout.fromRawData(this.rawLayout).orElseThrow()
+            .buildLayout(new EnumMap<>(AvailableComponent.class));
+    }
+}
@@ -0,0 +1,103 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.database;
+
+import asia.buildtheearth.asean.discord.plotsystem.benchmark.BenchmarkServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Webhook entry queries against the SQLite database of the mock server.
+ *
+ * <p>Seeds {@link #plots} plots with two entries each (a created and a re-submitted thread message).
+ * The {@code query*} benchmarks run the same SQL as {@link WebhookRepository} without its cache,
+ * the {@code cached*} benchmarks go through the repository.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookEntryBenchmark {
+
+    private static final long MESSAGE_OFFSET = 900_000_000_000L;
+    private static final long THREAD_OFFSET = 800_000_000_000L;
+
+    @Param({"100", "1000"})
+    public int plots;
+
+    private WebhookRepository repository;
+    private String byPlotSQL;
+    private String byThreadSQL;
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        BenchmarkServer.start();
+
+        String table = DatabaseConnection.getWebhookTableName();
+        this.repository = DatabaseConnection.getRepository();
+        this.byPlotSQL = WebhookEntry.WEBHOOK_ENTRIES_QUERY.apply(table) + "WHERE plot_id = ?";
+        this.byThreadSQL = WebhookEntry.WEBHOOK_ENTRIES_QUERY.apply(table) + "WHERE thread_id = ?";
+
+        for (int plotID = 0; plotID < this.plots; plotID++) {
+            String owner = UUID.randomUUID().toString();
+            this.repository.insert(new WebhookEntry(MESSAGE_OFFSET + plotID * 2L, THREAD_OFFSET + plotID,
+                plotID, ThreadStatus.on_going, owner, null, null, WebhookEntry.getVersion()));
+            this.repository.insert(new WebhookEntry(MESSAGE_OFFSET + plotID * 2L + 1, THREAD_OFFSET + plotID,
+                plotID, ThreadStatus.finished, owner, null, null, WebhookEntry.getVersion()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        for (long messageID = MESSAGE_OFFSET; messageID < MESSAGE_OFFSET + this.plots * 2L; messageID++)
+            this.repository.delete(messageID);
+        BenchmarkServer.stop();
+    }
+
+    private int nextPlot() {
+        this.cursor = (this.cursor + 1) % this.plots;
+        return this.cursor;
+    }
+
+    @Benchmark
+    public List<WebhookEntry> queryByPlotID() throws SQLException {
+        return this.query(this.byPlotSQL, this.nextPlot());
+    }
+
+    @Benchmark
+    public List<WebhookEntry> queryByThreadID() throws SQLException {
+        return this.query(this.byThreadSQL, THREAD_OFFSET + this.nextPlot());
+    }
+
+    @Benchmark
+    public List<WebhookEntry> cachedByPlotID() throws SQLException {
+        return this.repository.findByPlotID(this.nextPlot());
+    }
+
+    @Benchmark
+    public Object cachedByMessageID() throws SQLException {
+        return this.repository.findByMessageID(MESSAGE_OFFSET + this.nextPlot() * 2L);
+    }
+
+    private List<WebhookEntry> query(String sql, long key) throws SQLException {
+        try(Connection connection = DatabaseConnection.openConnection();
+            PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+
+            try(ResultSet rs = statement.executeQuery()) {
+                List<WebhookEntry> entries = new ArrayList<>();
+                while (rs.next()) entries.add(WebhookEntry.fromResultSet(rs));
+                return entries;
+            }
+        }
+    }
+}
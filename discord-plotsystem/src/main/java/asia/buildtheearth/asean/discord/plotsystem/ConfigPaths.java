@@ -11,6 +11,9 @@ public abstract class ConfigPaths {
     public static final String DATABASE_USERNAME = DATABASE + "username";
     public static final String DATABASE_PASSWORD = DATABASE + "password";
     public static final String DATABASE_WEBHOOK_TABLE = DATABASE + "webhook-table";
+    public static final String DATABASE_POOL_SIZE = DATABASE + "pool-size";
+    public static final String DATABASE_CONNECTION_TIMEOUT = DATABASE + "connection-timeout";
+    public static final String DATABASE_LEAK_DETECTION_THRESHOLD = DATABASE + "leak-detection-threshold";
 
     // Notifications
     public static final String NOTIFICATION = "system-notification.";
@@ -18,6 +21,46 @@ public abstract class ConfigPaths {
     public static final String NOTIFICATION_CONTENT = NOTIFICATION + "notification-content";
     public static final String NOTIFICATION_ERRORS = NOTIFICATION + "notify-system-errors";
     public static final String NOTIFICATION_PLUGIN = NOTIFICATION + "notify-plugin-states";
+    public static final String NOTIFICATION_DIGEST_WINDOW = NOTIFICATION + "digest-window";
+
+    // Plot Update
+    private static final String PLOT_UPDATE = "plot-update.";
+    public static final String PLOT_UPDATE_WORKER_THREADS = PLOT_UPDATE + "worker-threads";
+    public static final String PLOT_UPDATE_COALESCE_WINDOW = PLOT_UPDATE + "coalesce-window";
+
+    // Plot History
+    private static final String PLOT_HISTORY = "plot-history.";
+    public static final String PLOT_HISTORY_MAX_LINES = PLOT_HISTORY + "max-lines";
+    public static final String PLOT_HISTORY_MAX_LENGTH = PLOT_HISTORY + "max-length";
+    public static final String PLOT_HISTORY_ROLLOVER = PLOT_HISTORY + "rollover";
+
+    // Reconcile
+    private static final String RECONCILE = "reconcile.";
+    public static final String RECONCILE_PAGE_SIZE = RECONCILE + "page-size";
+    public static final String RECONCILE_CONCURRENCY = RECONCILE + "concurrency";
+
+    // I/O Executor
+    private static final String IO = "io.";
+    public static final String IO_DATABASE_CONCURRENCY = IO + "database-concurrency";
+    public static final String IO_HTTP_PER_HOST = IO + "http-per-host";
+    public static final String IO_DISK_CONCURRENCY = IO + "disk-concurrency";
+
+    // Avatar Cache
+    private static final String AVATAR_CACHE = "avatar-cache.";
+    public static final String AVATAR_CACHE_EXPIRE_HOURS = AVATAR_CACHE + "expire-hours";
+    public static final String AVATAR_CACHE_MAX_DISK_SIZE = AVATAR_CACHE + "max-disk-size";
+
+    // Image Upload
+    private static final String IMAGE_UPLOAD = "image-upload.";
+    public static final String IMAGE_UPLOAD_ENABLED = IMAGE_UPLOAD + "enabled";
+    public static final String IMAGE_UPLOAD_MAX_WIDTH = IMAGE_UPLOAD + "max-width";
+    public static final String IMAGE_UPLOAD_MAX_HEIGHT = IMAGE_UPLOAD + "max-height";
+    public static final String IMAGE_UPLOAD_MAX_FILE_SIZE = IMAGE_UPLOAD + "max-file-size";
+
+    // Attachment Download
+    private static final String ATTACHMENT_DOWNLOAD = "attachment-download.";
+    public static final String ATTACHMENT_DOWNLOAD_MAX_ATTEMPTS = ATTACHMENT_DOWNLOAD + "max-attempts";
+    public static final String ATTACHMENT_DOWNLOAD_RETRY_DELAY = ATTACHMENT_DOWNLOAD + "retry-delay";
 
     // Webhook
     private static final String WEBHOOK = "webhook.";
@@ -1,9 +1,17 @@
 package asia.buildtheearth.asean.discord.plotsystem;
 
 import asia.buildtheearth.asean.discord.DiscordSRVBridge;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AvatarCache;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.MediaIndex;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.MediaStore;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentDownloader;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.ForumRestScheduler;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.ForumWebhook;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.IOExecutor;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.ImagePipeline;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.Notification;
 import github.scarsz.discordsrv.dependencies.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.dependencies.jda.api.JDA;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.Member;
 import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
@@ -21,14 +29,17 @@ import asia.buildtheearth.asean.discord.commands.interactions.InteractionEvent;
 import asia.buildtheearth.asean.discord.plotsystem.core.listeners.DiscordSRVListener;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
 import asia.buildtheearth.asean.discord.plotsystem.core.providers.PluginListenerProvider;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotReconciler;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotSystemWebhook;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.ShowcaseWebhook;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.StartupStages;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangConfiguration;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangManager;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.SystemLang;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.MessageLang;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.event.HandlerList;
 import org.jetbrains.annotations.Contract;
@@ -36,6 +47,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.Function;
@@ -106,9 +118,25 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
 
     private DiscordSRVListener discordSrvHook = null;
 
-    private PlotSystemWebhook webhook = null;
+    private volatile PlotSystemWebhook webhook = null;
 
-    private ShowcaseWebhook showcase = null;
+    private volatile ShowcaseWebhook showcase = null;
+
+    private final StartupStages startup = new StartupStages();
+
+    private AvatarCache avatarCache = null;
+
+    private MediaIndex mediaIndex = null;
+
+    private MediaStore mediaStore = null;
+
+    private ImagePipeline imagePipeline = null;
+
+    private AttachmentDownloader attachmentDownloader = null;
+
+    private PlotReconciler reconciler = null;
+
+    private ForumRestScheduler restScheduler = null;
 
     private String shuttingDown = null;
 
@@ -136,6 +164,108 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
         return this.showcase;
     }
 
+    /**
+     * Get the member avatar cache, created on first use from the plugin config.
+     *
+     * @return The avatar cache of this plugin
+     */
+    public synchronized @NotNull AvatarCache getAvatarCache() {
+        if(this.avatarCache == null) this.avatarCache = new AvatarCache(
+            this.getDataFolder().toPath().resolve("media/cache"),
+            TimeUnit.HOURS.toMillis(this.getConfig().getLong(ConfigPaths.AVATAR_CACHE_EXPIRE_HOURS, 24)),
+            this.getConfig().getLong(ConfigPaths.AVATAR_CACHE_MAX_DISK_SIZE, 64) * 1024 * 1024
+        );
+        return this.avatarCache;
+    }
+
+    /**
+     * Get the plot media folder index, created on first use.
+     *
+     * @return The media index of this plugin
+     */
+    public synchronized @NotNull MediaIndex getMediaIndex() {
+        if(this.mediaIndex == null) this.mediaIndex = new MediaIndex();
+        return this.mediaIndex;
+    }
+
+    /**
+     * Get the content-addressed plot media store, created on first use.
+     *
+     * @return The media store of this plugin
+     */
+    public synchronized @NotNull MediaStore getMediaStore() {
+        if(this.mediaStore == null) this.mediaStore = new MediaStore(this.getDataFolder().toPath().resolve("media"));
+        return this.mediaStore;
+    }
+
+    /**
+     * Get the image upload pipeline, created on first use from the plugin config.
+     *
+     * @return The image pipeline of this plugin
+     */
+    public synchronized @NotNull ImagePipeline getImagePipeline() {
+        if(this.imagePipeline == null) this.imagePipeline = new ImagePipeline(
+            this.getConfig().getBoolean(ConfigPaths.IMAGE_UPLOAD_ENABLED, true),
+            this.getConfig().getInt(ConfigPaths.IMAGE_UPLOAD_MAX_WIDTH, 1920),
+            this.getConfig().getInt(ConfigPaths.IMAGE_UPLOAD_MAX_HEIGHT, 1920),
+            this.getConfig().getLong(ConfigPaths.IMAGE_UPLOAD_MAX_FILE_SIZE, 2048) * 1024
+        );
+        return this.imagePipeline;
+    }
+
+    /**
+     * Get the discord attachment downloader, created on first use from the plugin config.
+     *
+     * @return The attachment downloader of this plugin
+     */
+    public synchronized @NotNull AttachmentDownloader getAttachmentDownloader() {
+        if(this.attachmentDownloader == null) this.attachmentDownloader = new AttachmentDownloader(
+            this.getConfig().getInt(ConfigPaths.ATTACHMENT_DOWNLOAD_MAX_ATTEMPTS, 4),
+            this.getConfig().getLong(ConfigPaths.ATTACHMENT_DOWNLOAD_RETRY_DELAY, 2) * 1000
+        );
+        return this.attachmentDownloader;
+    }
+
+    /**
+     * Get the plot reconciler, created on first use from the plugin config.
+     *
+     * @return The reconciler of the plot-system webhook
+     * @throws IllegalStateException If the plot-system webhook is not yet initialized
+     */
+    public synchronized @NotNull PlotReconciler getReconciler() {
+        if(this.webhook == null) throw new IllegalStateException("Plot-System webhook is not initialized");
+        if(this.reconciler == null) this.reconciler = new PlotReconciler(this.webhook);
+        return this.reconciler;
+    }
+
+    /**
+     * Get the rate-limit aware scheduler of every raw discord request made by this plugin,
+     * created on first use with the current JDA instance.
+     *
+     * <p>Rate limit buckets are shared by both webhooks and every command,
+     * so a bucket exhausted by one of them holds the requests of the others.</p>
+     *
+     * @return The shared rest scheduler
+     * @throws IllegalStateException If JDA is not yet ready
+     */
+    public synchronized @NotNull ForumRestScheduler getRestScheduler() {
+        JDA jda = this.getJDA();
+        if(jda == null) throw new IllegalStateException("JDA is not ready");
+        if(this.restScheduler == null || this.restScheduler.getJDA() != jda)
+            this.restScheduler = new ForumRestScheduler(jda);
+        return this.restScheduler;
+    }
+
+    /**
+     * Get the startup stages of this plugin,
+     * each stage is tracked here as soon as it starts.
+     *
+     * @return The startup stages
+     */
+    public @NotNull StartupStages getStartup() {
+        return this.startup;
+    }
+
     public static Debug getDebugger() {
         return debugger;
     }
@@ -152,6 +282,17 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
         return getPlugin().langConfig.getMessagesLang();
     }
 
+    /**
+     * Reload language files modified since they were last loaded, recompiling their message templates.
+     *
+     * @return {@code true} if any language file was reloaded
+     * @throws IOException If a language file cannot be read
+     * @throws InvalidConfigurationException If a language file is not valid YAML
+     */
+    public boolean reloadLanguageFiles() throws IOException, InvalidConfigurationException {
+        return this.langConfig.reloadLanguageFiles();
+    }
+
     @Override
     public void onEnable() {
         // Initialize plugin reference
@@ -160,6 +301,9 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
         // Create configs
         createConfig();
 
+        // Apply blocking I/O limits before anything is loaded
+        IOExecutor.configure(getConfig());
+
         // Initialize plugin
         Thread initThread = createInitThread();
         initThread.start();
@@ -183,6 +327,9 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
                     Notification.notify(PluginMessage.PLUGIN_STOPPING_GRACEFUL);
                 }
 
+                // Send out buffered notifications before the channel goes away
+                Notification.shutdown();
+
                 // Unsubscribe to DiscordSRV
                 if(isDiscordSrvHookEnabled()) {
                     try {
@@ -195,7 +342,10 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
                             discordSrvHook.getPluginSlashCommand().clearCommands();
                             this.removeSlashCommandProvider(discordSrvHook.getPluginSlashCommand());
                         }
-                        this.unsubscribe(discordSrvHook.getPlotSystemListener());
+                        if(discordSrvHook.getPlotSystemListener() != null) {
+                            this.unsubscribe(discordSrvHook.getPlotSystemListener());
+                            discordSrvHook.getPlotSystemListener().shutdown(10);
+                        }
                         this.unsubscribeSRV(discordSrvHook);
                     }
                     catch (RuntimeException ex) {
@@ -206,6 +356,15 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
                 // Close all database connections
                 DatabaseConnection.shutdown();
 
+                // Stop pending avatar downloads
+                if(this.avatarCache != null) this.avatarCache.shutdown();
+
+                // Stop watching media folders
+                if(this.mediaIndex != null) this.mediaIndex.shutdown();
+
+                // Stop reconciling plots
+                if(this.reconciler != null) this.reconciler.shutdown();
+
                 // shutdown scheduler tasks
                 SchedulerUtil.cancelTasks(this);
 
@@ -240,8 +399,8 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
     }
 
     protected @NotNull Thread createInitThread() {
-        Thread initThread = new Thread(this::init, "DiscordPlotSystem - Initialization");
-        initThread.setUncaughtExceptionHandler((t, e) -> {
+        // Initialization mostly blocks on database and discord, no need for a platform thread
+        return Thread.ofVirtual().name("DiscordPlotSystem - Initialization").uncaughtExceptionHandler((t, e) -> {
             DiscordPS.error("[DiscordPlotSystem - Initialization] ERROR: Uncaught exception");
             DiscordPS.error("[DiscordPlotSystem - Initialization] ERROR: " + e, e);
             for(StackTraceElement ex : e.getStackTrace()) {
@@ -249,23 +408,26 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
             }
 
             disablePlugin("DiscordPlotSystem failed to load properly: " + e);
-        });
-        return initThread;
+        }).unstarted(this::init);
     }
 
     protected void init() {
-        // Initialize database connection
-        try {
-            if(DatabaseConnection.InitializeDatabase()) {
-                DiscordPS.info("Successfully initialized database connection.");
-            } else {
-                // returned false: handled error
-                DiscordPS.error(Debug.Error.DATABASE_NOT_INITIALIZED, "Could not initialize database connection due to a misconfigured config file.");
+        // Initialize database connection in parallel with DiscordSRV subscription,
+        // plugin readiness is decided after every startup stage completes
+        this.startup.supply(StartupStages.Stage.DATABASE, IOExecutor.Resource.DATABASE, () -> {
+            try {
+                if(DatabaseConnection.InitializeDatabase()) {
+                    DiscordPS.info("Successfully initialized database connection.");
+                } else {
+                    // returned false: handled error
+                    DiscordPS.error(Debug.Error.DATABASE_NOT_INITIALIZED, "Could not initialize database connection due to a misconfigured config file.");
+                }
             }
-        }
-        catch (Exception ex) { // Exception thrown: Unknown error occurred
-            DiscordPS.error(Debug.Error.DATABASE_NOT_INITIALIZED, ex.getMessage(), ex);
-        }
+            catch (Exception ex) { // Exception thrown: Unknown error occurred
+                DiscordPS.error(Debug.Error.DATABASE_NOT_INITIALIZED, ex.getMessage(), ex);
+            }
+            return null;
+        });
 
         org.bukkit.plugin.Plugin discordSRV = getServer().getPluginManager().getPlugin(DISCORD_SRV_SYMBOL);
 
@@ -383,9 +545,9 @@ public class DiscordPS extends DiscordPlotSystemAPI implements DiscordSRVBridge
         Route.CompiledRoute route = Route.Channels.CREATE_WEBHOOK.compile(channelID);
         ForumWebhook.RestResponse<DataObject> response = new ForumWebhook.RestResponse<>(Function.identity());
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> createWebhook(channelID, name, avatarURL, false));
-
-        return new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, requestBody, response::execute);
+        return DiscordPS.getPlugin().getRestScheduler().schedule(route, allowSecondAttempt, null,
+            () -> new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, requestBody, response::execute)
+        );
     }
 
     /**
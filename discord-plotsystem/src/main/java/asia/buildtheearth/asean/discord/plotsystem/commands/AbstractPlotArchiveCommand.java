@@ -105,7 +105,9 @@ abstract sealed class AbstractPlotArchiveCommand
     protected Consumer<File> getCacheDeleter(MessageChannel channel) {
         return file -> {
             if(!file.getName().startsWith(Constants.PLOT_IMAGE_FILE)) return;
-            if(file.delete()) channel.sendMessage(
+            if(!file.delete()) return;
+            DiscordPS.getPlugin().getMediaIndex().invalidate(file.getParentFile());
+            channel.sendMessage(
                 getLang(MESSAGE_MEDIA_CACHE_DELETED)
                 .replace(Format.FILENAME, file.getName()))
                 .queue();
@@ -82,10 +82,13 @@ abstract sealed class AbstractReviewCommand
      */
     protected @NotNull Consumer<File> deleteMedia(@NotNull InteractionHook hook) {
         return file -> {
-            if (file.delete()) hook.sendMessage(
-                getLang(ReviewEditCommand.MESSAGE_PREV_MEDIA_DELETED)
-                    .replace(Format.FILENAME, file.getName())
-            ).setEphemeral(true).queue();
+            if (file.delete()) {
+                DiscordPS.getPlugin().getMediaIndex().invalidate(file.getParentFile());
+                hook.sendMessage(
+                    getLang(ReviewEditCommand.MESSAGE_PREV_MEDIA_DELETED)
+                        .replace(Format.FILENAME, file.getName())
+                ).setEphemeral(true).queue();
+            }
         };
     }
 
@@ -95,7 +98,10 @@ abstract sealed class AbstractReviewCommand
      * @param file The file to delete
      */
     protected void deleteMedia(@NotNull File file) {
-        if (file.delete()) DiscordPS.debug("Cleared temporary review media: " + file.getName());
+        if (file.delete()) {
+            DiscordPS.getPlugin().getMediaIndex().invalidate(file.getParentFile());
+            DiscordPS.debug("Cleared temporary review media: " + file.getName());
+        }
     }
 
     protected enum Button {
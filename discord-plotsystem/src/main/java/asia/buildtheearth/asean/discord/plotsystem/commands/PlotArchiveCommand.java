@@ -2,6 +2,7 @@ package asia.buildtheearth.asean.discord.plotsystem.commands;
 
 import asia.buildtheearth.asean.discord.plotsystem.api.DiscordPlotSystemAPI;
 import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
+import github.scarsz.discordsrv.dependencies.jda.api.EmbedBuilder;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageChannel;
 import github.scarsz.discordsrv.dependencies.jda.api.interactions.InteractionHook;
@@ -23,7 +24,8 @@ import java.io.File;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -88,6 +90,8 @@ sealed class PlotArchiveCommand extends AbstractPlotArchiveCommand permits Revie
                         else this.queueEmbed(hook, errorEmbed(getEmbed(EMBED_MEDIA_FOLDER_FAILED), folder.getAbsolutePath()));
                     }
                     else {
+                        // Files may be placed manually by staff, always list the folder again
+                        DiscordPS.getPlugin().getMediaIndex().invalidate(folder);
                         List<File> files = PlotData.checkMediaFolder(folder);
                         if(!files.isEmpty()) optFiles = Optional.of(files);
                     }
@@ -166,8 +170,11 @@ sealed class PlotArchiveCommand extends AbstractPlotArchiveCommand permits Revie
 
         Function<String, File> fileLocation = fileName -> mediaFolder.toPath().resolve(fileName).toFile();
 
-        // Queue the message embed instantly as loading
+        // Queue the message embed instantly as loading, then edit it with each file progress
         CompletableFuture<Message> queueMessage = channel.sendMessageEmbeds(getEmbed(ORANGE, EMBED_ON_UPLOAD)).submit();
+        DownloadProgress progress = new DownloadProgress(attachment, log -> queueMessage.thenCompose(sent ->
+            sent.editMessageEmbeds(new EmbedBuilder(getEmbed(ORANGE, EMBED_ON_UPLOAD)).setDescription(log).build()).submit()
+        ));
 
         // Download each attachment to plot's media folder
         int suffixName = attachments.map(Set::size).orElse(0);
@@ -179,27 +186,31 @@ sealed class PlotArchiveCommand extends AbstractPlotArchiveCommand permits Revie
                 // Cant determined what's file name is previously set, append it with snowflake id
                 File filePath = fileLocation.apply(fileName + "-" + message.getId());
 
-                download.add(file.downloadToFile(filePath));
+                download.add(DiscordPS.getPlugin().getMediaStore().download(file, filePath, progress)
+                    .whenComplete((saved, error) -> progress.complete(file, saved, error)));
             }
-            else download.add(file.downloadToFile(fileLocation.apply(fileName)));
+            else download.add(DiscordPS.getPlugin().getMediaStore().download(file, fileLocation.apply(fileName), progress)
+                .whenComplete((saved, error) -> progress.complete(file, saved, error)));
         }
 
         // Edit the queued embed to confirm button after attachment is saved
         Runnable onDownloaded = () -> {
+            DiscordPS.getPlugin().getMediaIndex().invalidate(mediaFolder);
+
             StringBuilder uploaded = new StringBuilder();
             RuntimeException failed = null;
 
-            // Check downloaded integrity
+            // Every download is completed and verified by now, joining never blocks
             for (CompletableFuture<File> downloadedFile : download) {
                 try {
-                    File file = downloadedFile.get();
+                    File file = downloadedFile.join();
                     uploaded.append("Saved ").append(file.getName()).append("\n");
 
-                } catch (InterruptedException | IllegalArgumentException | ExecutionException ex) {
+                } catch (CompletionException | CancellationException ex) {
                     DiscordPS.error("Failed to download file to resource", ex);
                     DiscordPS.error("Failed to download file to: " + fileLocation.apply(PLOT_IMAGE_FILE));
 
-                    failed = new RuntimeException(ex.toString());
+                    failed = new RuntimeException(String.valueOf(ex.getCause()));
                 }
             }
 
@@ -219,8 +230,11 @@ sealed class PlotArchiveCommand extends AbstractPlotArchiveCommand permits Revie
             });
         };
 
-        // Run the stage
-        CompletableFuture.allOf(download.toArray(new CompletableFuture[0])).thenRun(onDownloaded);
+        // Run the stage once every download is completed, failed or not
+        CompletableFuture.allOf(download.toArray(new CompletableFuture[0]))
+            .handle((done, error) -> null)
+            .thenCompose(done -> progress.close())
+            .thenRun(onDownloaded);
     }
 
     @Override
@@ -8,6 +8,7 @@ import asia.buildtheearth.asean.discord.plotsystem.commands.events.PlotFetchEven
 import asia.buildtheearth.asean.discord.plotsystem.commands.events.PlotShowcaseEvent;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotArchive;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotDelete;
+import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotReconcile;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotFetch;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotShowcase;
 import asia.buildtheearth.asean.discord.commands.SlashCommand;
@@ -32,6 +33,9 @@ import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Pl
  *     Delete a plot from being tracked by the system, does not delete thread.</li>
  *     <li>{@link PlotShowcaseEvent} {@code /plotctl showcase <plot_id>}<br/>
  *     Showcase an archived plot to configured showcase webhook.</li>
+ *     <li>{@link asia.buildtheearth.asean.discord.plotsystem.core.system.PlotReconciler PlotReconciler}
+ *     {@code /plotctl reconcile <apply>}<br/>
+ *     Check every tracked plot for drifts, repair them if {@code apply} is true.</li>
  * </ul>
  *
  * @see PlotArchiveEvent
@@ -49,6 +53,9 @@ public final class PlotCommand extends CommandData {
     /** Plot command's parameter signature: {@code override} */
     public static final String PLOT_OVERRIDE = "override";
 
+    /** Plot command's parameter signature: {@code apply} */
+    public static final String PLOT_APPLY = "apply";
+
     /** Plot Archive command signature: {@code archive} */
     public static final String ARCHIVE = "archive";
 
@@ -61,10 +68,14 @@ public final class PlotCommand extends CommandData {
     /** Plot Showcase command signature: {@code showcase} */
     public static final String SHOWCASE = "showcase";
 
+    /** Plot Reconcile command signature: {@code reconcile} */
+    public static final String RECONCILE = "reconcile";
+
     private final PlotArchiveCommand plotArchiveCommand;
     private final PlotFetchCommand plotFetchCommand;
     private final PlotDeleteCommand plotDeleteCommand;
     private final PlotShowcaseCommand plotShowcaseCommand;
+    private final PlotReconcileCommand plotReconcileCommand;
 
     /**
      * Initialize plot command data creating all of its subcommands.
@@ -75,7 +86,8 @@ public final class PlotCommand extends CommandData {
                 plotArchiveCommand = new PlotArchiveCommand(ARCHIVE, PLOT_ID, PLOT_OVERRIDE),
                 plotFetchCommand = new PlotFetchCommand(FETCH, PLOT_ID, PLOT_OVERRIDE),
                 plotDeleteCommand = new PlotDeleteCommand(DELETE, PLOT_ID),
-                plotShowcaseCommand = new PlotShowcaseCommand(SHOWCASE, PLOT_ID)
+                plotShowcaseCommand = new PlotShowcaseCommand(SHOWCASE, PLOT_ID),
+                plotReconcileCommand = new PlotReconcileCommand(RECONCILE, PLOT_APPLY)
         );
     }
 
@@ -115,6 +127,15 @@ public final class PlotCommand extends CommandData {
         return this.plotShowcaseCommand;
     }
 
+    /**
+     * Get the sub command {@code reconcile}
+     *
+     * @return The subcommand as a trigger interface
+     */
+    public SlashCommand<OnPlotReconcile> getReconcileCommand() {
+        return this.plotReconcileCommand;
+    }
+
     /**
      * Get the sub command {@code archive} returning its event.
      *
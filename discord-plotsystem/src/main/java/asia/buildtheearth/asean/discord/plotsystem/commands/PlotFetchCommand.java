@@ -13,6 +13,7 @@ import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
 import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotUndoReviewEvent;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotFetch;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.*;
@@ -22,7 +23,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.SQLException;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -59,11 +59,11 @@ final class PlotFetchCommand extends AbstractPlotFetchCommand {
             return;
         }
 
-        try {
-            List<WebhookEntry> entries = WebhookEntry.getByPlotID(payload.getPlotID());
+        DatabaseConnection.getRepository().getByPlotID(payload.getPlotID()).whenComplete((entries, error) -> {
+            if(error != null) this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_GET_ERROR, error.toString()));
 
             // Existing entries detected
-            if(!entries.isEmpty()) {
+            else if(!entries.isEmpty()) {
                 this.queueEmbed(hook, formatOverrideWarning(
                         String.valueOf(entries.size()),
                         payload.override)
@@ -71,30 +71,27 @@ final class PlotFetchCommand extends AbstractPlotFetchCommand {
                 // Exit if we can't override the data
                 if(!payload.override) return;
             }
-        }
-        catch (SQLException ex) {
-            this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_GET_ERROR, ex.toString()));
-        }
 
-        ActionRow options = ActionRow.of(
-            Button.FETCH_CONFIRM.get(payload),
-            Button.FETCH_DISMISS.get(payload)
-        );
+            ActionRow options = ActionRow.of(
+                Button.FETCH_CONFIRM.get(payload),
+                Button.FETCH_DISMISS.get(payload)
+            );
 
-        MessageEmbed embed = this.formatConfirmationEmbed(
-            payload.getPlotID(),
-            payload.override,
-            payload.getPrimaryStatus()
-        );
+            MessageEmbed embed = this.formatConfirmationEmbed(
+                payload.getPlotID(),
+                payload.override,
+                payload.getPrimaryStatus()
+            );
 
-        this.queueEmbed(hook, options, embed);
+            this.queueEmbed(hook, options, embed);
+        });
     }
 
     public void onConfirmFetch(@NotNull InteractionHook hook, @NotNull OnPlotFetch interaction) {
-        try {
-            List<WebhookEntry> entries = WebhookEntry.getByPlotID(interaction.getPlotID());
+        DatabaseConnection.getRepository().getByPlotID(interaction.getPlotID()).whenComplete((entries, error) -> {
+            if(error != null) this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_PLOT_ERROR, error.toString()));
 
-            if(!entries.isEmpty()) {
+            else if(!entries.isEmpty()) {
                 // Plot already exist -> override existing required -> send override options
                 EntryMenuBuilder menu = new EntryMenuBuilder(FETCH_SELECTION_MENU.apply(interaction), interaction::setFetchOptions);
 
@@ -109,20 +106,17 @@ final class PlotFetchCommand extends AbstractPlotFetchCommand {
                     .queue();
                 return;
             }
-        }
-        catch (SQLException ex) {
-            this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_PLOT_ERROR, ex.toString()));
-        }
 
-        // Plot does not exist in the database
-        // Send creation options
-        ActionRow interactions = ActionRow.of(
-            Button.CREATE_REGISTER.get(interaction),
-            Button.CREATE_UNTRACKED.get(interaction),
-            Button.CREATE_CANCEL.get(interaction)
-        );
+            // Plot does not exist in the database
+            // Send creation options
+            ActionRow interactions = ActionRow.of(
+                Button.CREATE_REGISTER.get(interaction),
+                Button.CREATE_UNTRACKED.get(interaction),
+                Button.CREATE_CANCEL.get(interaction)
+            );
 
-        this.queueEmbed(hook, interactions, getEmbed(ORANGE, EMBED_UNTRACKED_OPTIONS));
+            this.queueEmbed(hook, interactions, getEmbed(ORANGE, EMBED_UNTRACKED_OPTIONS));
+        });
     }
 
     public void onConfirmOverride(@NotNull InteractionHook hook, @NotNull OnPlotFetch interaction) {
@@ -140,53 +134,53 @@ final class PlotFetchCommand extends AbstractPlotFetchCommand {
 
             Checks.isSnowflake(selected);
 
-            try {
-                WebhookEntry entry = WebhookEntry.getByMessageID(Long.parseUnsignedLong(selected));
+            DatabaseConnection.getRepository().getByMessageID(Long.parseUnsignedLong(selected)).whenComplete((entry, error) -> {
+                if(error != null) this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_GET_ERROR, error.toString()));
+                else if(entry.isEmpty()) this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_GET_ERROR,
+                    new SQLException("Entry does not exist for selected id: " + selected).toString()));
+                else this.overrideEntry(hook, interaction, entry.get());
+            });
+        }
+    }
 
-                if(entry == null) throw new SQLException("Entry does not exist for selected id: " + selected);
+    private void overrideEntry(@NotNull InteractionHook hook, @NotNull OnPlotFetch interaction, @NotNull WebhookEntry entry) {
+        PlotSystemThread.UpdateAction action = new PlotSystemThread.UpdateAction(
+            interaction.getPlotID(),
+            entry,
+            Long.toUnsignedString(entry.messageID()),
+            Long.toUnsignedString(entry.threadID())
+        );
 
-                PlotSystemThread.UpdateAction action = new PlotSystemThread.UpdateAction(
-                    interaction.getPlotID(),
-                    entry,
-                    Long.toUnsignedString(entry.messageID()),
-                    Long.toUnsignedString(entry.threadID())
-                );
+        ThreadStatus updateStatus = interaction.getPrimaryStatus() == null
+                ? entry.status()
+                : interaction.getPrimaryStatus();
 
-                ThreadStatus updateStatus = interaction.getPrimaryStatus() == null
-                        ? entry.status()
-                        : interaction.getPrimaryStatus();
-
-                PlotEvent event = null;
-
-                // Detect if this fetch even is an undo from reviewed plot to finished
-                if(entry.status() != updateStatus) {
-                    if(entry.status() == ThreadStatus.approved || entry.status() == ThreadStatus.rejected)
-                        if(updateStatus == ThreadStatus.finished)
-                            event = new PlotUndoReviewEvent(interaction.getPlotID());
-                }
-
-                BiConsumer<PlotSystemThread.UpdateAction, ? super Throwable> handler = (ok, error) -> {
-                    if(error != null) this.queueEmbed(hook, errorEmbed(error.toString()));
-                    else {
-                        this.queueEmbed(hook, formatSuccessEmbed(interaction.getPlotID(), entry));
-                        Notification.notify(
-                            CommandMessage.PLOT_FETCH,
-                            updateStatus.name(),
-                            hook.getInteraction().getUser().getId(),
-                            String.valueOf(interaction.plotID)
-                        );
-                    }
-                };
-
-                DiscordPS.getPlugin()
-                    .getWebhook()
-                    .updatePlot(action, event, updateStatus)
-                    .whenComplete(handler);
-            }
-            catch (SQLException ex) {
-                this.queueEmbed(hook, sqlErrorEmbed(MESSAGE_SQL_GET_ERROR, ex.toString()));
-            }
+        PlotEvent event = null;
+
+        // Detect if this fetch even is an undo from reviewed plot to finished
+        if(entry.status() != updateStatus) {
+            if(entry.status() == ThreadStatus.approved || entry.status() == ThreadStatus.rejected)
+                if(updateStatus == ThreadStatus.finished)
+                    event = new PlotUndoReviewEvent(interaction.getPlotID());
         }
+
+        BiConsumer<PlotSystemThread.UpdateAction, ? super Throwable> handler = (ok, error) -> {
+            if(error != null) this.queueEmbed(hook, errorEmbed(error.toString()));
+            else {
+                this.queueEmbed(hook, formatSuccessEmbed(interaction.getPlotID(), entry));
+                Notification.notify(
+                    CommandMessage.PLOT_FETCH,
+                    updateStatus.name(),
+                    hook.getInteraction().getUser().getId(),
+                    String.valueOf(interaction.plotID)
+                );
+            }
+        };
+
+        DiscordPS.getPlugin()
+            .getWebhook()
+            .updatePlot(action, event, updateStatus)
+            .whenComplete(handler);
     }
 
     public void onCreateRegister(@NotNull InteractionHook hook, @NotNull OnPlotFetch interaction) {
@@ -0,0 +1,95 @@
+package asia.buildtheearth.asean.discord.plotsystem.commands;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnPlotReconcile;
+import asia.buildtheearth.asean.discord.plotsystem.commands.providers.SystemCommandProvider;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotReconciler;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangTemplate;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import github.scarsz.discordsrv.dependencies.jda.api.EmbedBuilder;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageEmbed;
+import github.scarsz.discordsrv.dependencies.jda.api.interactions.InteractionHook;
+import github.scarsz.discordsrv.dependencies.jda.api.interactions.commands.OptionType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletionException;
+
+import static asia.buildtheearth.asean.discord.plotsystem.Constants.GREEN;
+import static asia.buildtheearth.asean.discord.plotsystem.Constants.ORANGE;
+import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotReconcileCommand.*;
+
+final class PlotReconcileCommand extends SystemCommandProvider<OnPlotReconcile,
+        asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotReconcileCommand> {
+
+    public PlotReconcileCommand(@NotNull String name, @NotNull String apply) {
+        super(name, LanguageFile.NULL_LANG);
+
+        this.setDescription(getLang(DESC));
+
+        this.addOption(OptionType.BOOLEAN, apply, getLang(DESC_APPLY), false);
+    }
+
+    @Override
+    public void onCommandTriggered(@NotNull InteractionHook hook, @NotNull OnPlotReconcile payload) {
+        DiscordPS.getPlugin().exitSlashCommand(payload.eventID);
+
+        PlotReconciler reconciler = DiscordPS.getPlugin().getReconciler();
+
+        if(reconciler.isRunning()) {
+            hook.sendMessageEmbeds(getEmbed(ORANGE, EMBED_ALREADY_RUNNING)).setEphemeral(true).queue();
+            return;
+        }
+
+        hook.sendMessageEmbeds(getEmbed(ORANGE, EMBED_ON_RECONCILE)).setEphemeral(true).queue(defer ->
+            reconciler.reconcile(!payload.apply).whenComplete((report, error) -> {
+                if(error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null? error.getCause() : error;
+                    if(cause instanceof IllegalStateException)
+                        defer.editMessageEmbeds(getEmbed(ORANGE, EMBED_ALREADY_RUNNING)).queue();
+                    else defer.editMessageEmbeds(errorEmbed(MESSAGE_RECONCILE_FAILED, cause.toString())).queue();
+                }
+                else defer.editMessageEmbeds(this.formatReport(report)).queue();
+            })
+        );
+    }
+
+    /**
+     * Format a reconcile report into an embed listing the count of each outcome
+     * and every plot that is not in sync (truncated to fit the embed).
+     *
+     * @param report The completed report
+     * @return The report embed
+     */
+    private @NotNull MessageEmbed formatReport(@NotNull PlotReconciler.Report report) {
+        EmbedBuilder embed = getLangManager().getEmbedBuilder(
+            report.dryRun()? EMBED_DRY_RUN_REPORT : EMBED_RECONCILE_REPORT,
+            description -> LangTemplate.compile(description).render(Format.COUNT, report.scanned())
+        ).setColor(report.count(PlotReconciler.Outcome.FAILED) > 0? ORANGE : GREEN);
+
+        for(PlotReconciler.Outcome outcome : PlotReconciler.Outcome.values())
+            embed.addField(outcome.name(), "`" + report.count(outcome) + "`", true);
+
+        if(!report.results().isEmpty()) {
+            // Leave room for the code block and the truncation line
+            int limit = MessageEmbed.VALUE_MAX_LENGTH - 100;
+            StringBuilder plots = new StringBuilder();
+            int listed = 0;
+
+            for(PlotReconciler.PlotResult result : report.results()) {
+                String line = result.toString();
+                if(plots.length() + line.length() + 1 > limit) break;
+                plots.append(line).append('\n');
+                listed++;
+            }
+
+            String value = "```" + plots + "```";
+            if(listed < report.results().size())
+                value += getLangManager().getTemplate(MESSAGE_MORE_PLOTS).render(Format.COUNT, report.results().size() - listed);
+
+            embed.addField(getLang(MESSAGE_DRIFTED_PLOTS), value, false);
+        }
+
+        return embed.build();
+    }
+}
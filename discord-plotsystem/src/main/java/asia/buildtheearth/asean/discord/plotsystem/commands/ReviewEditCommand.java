@@ -6,6 +6,8 @@ import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnReview;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentBody;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.DownloadProgress;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.MemberOwnable;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.Notification;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotData;
@@ -26,20 +28,20 @@ import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.RestActionImpl;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
 import github.scarsz.discordsrv.dependencies.jda.internal.utils.Checks;
-import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
 import github.scarsz.discordsrv.util.SchedulerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.Color;
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -155,12 +157,12 @@ sealed class ReviewEditCommand extends AbstractReviewCommand permits ReviewSendC
         );
 
         Route.CompiledRoute route = Route.Messages.SEND_MESSAGE.compile(channel.getId());
-        MultipartBody requestBody = reviewData.prepareRequestBody();
+        RequestBody requestBody = AttachmentBody.of(reviewData);
 
         // Get the previous review data
         CompletableFuture<RestActionImpl<?>> previousData = PlotFeedback
                 .getFeedback("## " + getLang(MESSAGE_PREVIOUS_REVIEW), entry.messageID())
-                .thenApply(WebhookDataBuilder.WebhookData::prepareRequestBody)
+                .thenApply(AttachmentBody::of)
                 .thenApply(data -> new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, data));
 
         // Send the preview as raw rest-action to bypass outdated checks
@@ -358,43 +360,73 @@ sealed class ReviewEditCommand extends AbstractReviewCommand permits ReviewSendC
                 media.get(i).renameTo(finalFile.toFile());
             }
 
+            DiscordPS.getPlugin().getMediaIndex().invalidate(folder);
             return media.size();
         }).orElse(0);
 
+        List<Message.Attachment> images = attachments.stream().filter(ReviewEditCommand::isImage).toList();
+
+        // Report each file progress to a message of this interaction
+        CompletableFuture<Message> progressMessage = images.isEmpty()? null
+            : hook.sendMessageEmbeds(this.formatSavingEmbed("")).setEphemeral(true).submit();
+        DownloadProgress progress = new DownloadProgress(images, log -> progressMessage == null
+            ? CompletableFuture.completedFuture(null)
+            : progressMessage.thenCompose(sent -> hook.editMessageEmbedsById(sent.getId(), this.formatSavingEmbed(log)).submit())
+        );
+
         for (int i = 0; i < attachments.size(); i++) {
             Message.Attachment file = attachments.get(i);
-            if(file.getContentType() == null) continue;
-            if(file.getContentType().startsWith("image/")) {
-                String filename = Constants.PLOT_REVIEW_IMAGE_FILE + '-' + (i + prev) + '-' + fileSuffix;
-                Optional<String> extension = Optional.ofNullable(file.getFileExtension());
-                Path finalFile = folder.toPath().resolve(filename + extension.map(ext -> '.' + ext).orElse(""));
+            if(!isImage(file)) continue;
 
-                download.add(file.downloadToFile(finalFile.toFile()));
-            }
+            String filename = Constants.PLOT_REVIEW_IMAGE_FILE + '-' + (i + prev) + '-' + fileSuffix;
+            Optional<String> extension = Optional.ofNullable(file.getFileExtension());
+            Path finalFile = folder.toPath().resolve(filename + extension.map(ext -> '.' + ext).orElse(""));
+
+            download.add(DiscordPS.getPlugin().getMediaStore().download(file, finalFile.toFile(), progress)
+                .whenComplete((saved, error) -> progress.complete(file, saved, error)));
         }
 
         Runnable onDownloaded = () -> {
+            DiscordPS.getPlugin().getMediaIndex().invalidate(folder);
+
             StringBuilder uploaded = new StringBuilder();
             List<File> tempFiles = new ArrayList<>(download.size());
 
-            // Check downloaded integrity
+            // Every download is completed and verified by now, joining never blocks
             for (CompletableFuture<File> downloadedFile : download) {
                 try {
-                    File file = downloadedFile.get();
+                    File file = downloadedFile.join();
                     tempFiles.add(file);
                     uploaded.append("Saved `").append(file.getName()).append("`\n");
 
-                } catch (InterruptedException | IllegalArgumentException | ExecutionException ex) {
+                } catch (CompletionException | CancellationException ex) {
+                    Throwable cause = ex.getCause() == null? ex : ex.getCause();
                     DiscordPS.error("Failed to download file to resource", ex);
                     DiscordPS.error("Failed to download file to: " + folder.getAbsolutePath());
-                    uploaded.append("Failed `").append(ex.getClass().getSimpleName()).append("`\n");
+                    uploaded.append("Failed `").append(cause.getClass().getSimpleName()).append("`\n");
                 }
             }
 
             onSuccess.accept(uploaded.toString(), tempFiles);
         };
 
-        CompletableFuture.allOf(download.toArray(new CompletableFuture[0])).thenRun(onDownloaded);
+        // Run the stage once every download is completed, failed or not
+        CompletableFuture.allOf(download.toArray(new CompletableFuture[0]))
+            .handle((done, error) -> null)
+            .thenCompose(done -> progress.close())
+            .thenRun(onDownloaded);
+    }
+
+    private static boolean isImage(@NotNull Message.Attachment attachment) {
+        return attachment.getContentType() != null && attachment.getContentType().startsWith("image/");
+    }
+
+    private @NotNull MessageEmbed formatSavingEmbed(@NotNull String log) {
+        return new EmbedBuilder()
+            .setTitle(getLang(MESSAGE_SAVING_ATTACHMENTS))
+            .setDescription(log)
+            .setColor(Constants.ORANGE)
+            .build();
     }
 
     protected void sendReviewInThread(@NotNull InteractionHook hook,
@@ -476,7 +508,7 @@ sealed class ReviewEditCommand extends AbstractReviewCommand permits ReviewSendC
                 .suppressMentions()
                 .build();
 
-        reviewMedia.ifPresent(files -> files.forEach(reviewData::addFile));
+        reviewMedia.ifPresent(files -> files.forEach(image -> AttachmentBody.attach(reviewData, image)));
 
         return reviewData;
     }
@@ -486,20 +518,15 @@ sealed class ReviewEditCommand extends AbstractReviewCommand permits ReviewSendC
 
         if(!folder.exists()) return Optional.empty();
 
-        try {
-            List<File> media = new ArrayList<>();
+        List<File> media = new ArrayList<>();
 
-            for(File file : FileUtil.findImagesFileByPrefix(Constants.PLOT_REVIEW_IMAGE_FILE, folder)) {
-                if(FileUtil.getFilenameFromFile(file).endsWith(entryID))
-                    media.add(file);
-            }
-
-            if(!media.isEmpty()) return Optional.of(media);
-        }
-        catch (IOException ex) {
-            Notification.sendErrorEmbed("IOException trying to verify review media", ex.toString());
+        for(File file : DiscordPS.getPlugin().getMediaIndex().findImagesByPrefix(Constants.PLOT_REVIEW_IMAGE_FILE, folder)) {
+            if(FileUtil.getFilenameFromFile(file).endsWith(entryID))
+                media.add(file);
         }
 
+        if(!media.isEmpty()) return Optional.of(media);
+
         return Optional.empty();
     }
 }
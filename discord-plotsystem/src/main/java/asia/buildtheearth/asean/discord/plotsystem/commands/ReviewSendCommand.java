@@ -4,6 +4,7 @@ import asia.buildtheearth.asean.discord.components.WebhookDataBuilder;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnReview;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentBody;
 import github.scarsz.discordsrv.dependencies.commons.lang3.StringUtils;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageChannel;
@@ -13,7 +14,7 @@ import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.RestActionImpl;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
 import github.scarsz.discordsrv.dependencies.jda.internal.utils.Checks;
-import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.SQLException;
@@ -76,7 +77,7 @@ final class ReviewSendCommand extends ReviewEditCommand {
 
         // Send the preview as raw rest-action to bypass outdated checks
         Route.CompiledRoute route = Route.Messages.SEND_MESSAGE.compile(channel.getId());
-        MultipartBody requestBody = reviewData.prepareRequestBody();
+        RequestBody requestBody = AttachmentBody.of(reviewData);
         RestAction<Object> newReview = new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, requestBody);
 
         // Send preview and handle for error
@@ -20,6 +20,8 @@ import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.LangPaths
  *     Interactively setup showcase webhook configuration, using the same events as the webhook command.</li>
  *     <li>{@link SlashCommand<Interaction>} {@code /setup help}<br/>
  *     Display plugin checklist messages with no interaction.</li>
+ *     <li>{@link SlashCommand<Interaction>} {@code /setup reload}<br/>
+ *     Reload language files edited since they were last loaded.</li>
  * </ul>
  */
 public final class SetupCommand extends CommandData {
@@ -42,6 +44,9 @@ public final class SetupCommand extends CommandData {
     /** Help command signature: {@code /setup help} */
     public static final String HELP = "help";
 
+    /** Reload command signature: {@code /setup reload} */
+    public static final String RELOAD = "reload";
+
     /** Webhook command's parameter: {@code name} */
     public static final String WEBHOOK_NAME = "name";
 
@@ -51,6 +56,7 @@ public final class SetupCommand extends CommandData {
     private final SetupWebhookCommand setupWebhookCommand;
     private final SetupShowcaseCommand setupShowcaseCommand;
     private final SetupHelpCommand setupHelpCommand;
+    private final SetupReloadCommand setupReloadCommand;
 
     /**
      * Initialize setup command data creating all of its subcommands.
@@ -60,7 +66,8 @@ public final class SetupCommand extends CommandData {
         this.addSubcommands(
             setupWebhookCommand = new SetupWebhookCommand(WEBHOOK, WEBHOOK_YML, WEBHOOK_CHANNEL, WEBHOOK_NAME),
             setupShowcaseCommand = new SetupShowcaseCommand(SHOWCASE, SHOWCASE_YML, WEBHOOK_CHANNEL, WEBHOOK_NAME),
-            setupHelpCommand = new SetupHelpCommand(HELP)
+            setupHelpCommand = new SetupHelpCommand(HELP),
+            setupReloadCommand = new SetupReloadCommand(RELOAD)
         );
     }
 
@@ -73,6 +80,15 @@ public final class SetupCommand extends CommandData {
         return setupHelpCommand;
     }
 
+    /**
+     * Get the command trigger for sub command {@code reload}
+     *
+     * @return The slash command trigger interface
+     */
+    public SlashCommand<Interaction> getReloadCommand() {
+        return setupReloadCommand;
+    }
+
     /**
      * Get the command trigger for sub command {@code webhook}
      *
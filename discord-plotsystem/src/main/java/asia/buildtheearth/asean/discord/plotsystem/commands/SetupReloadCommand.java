@@ -0,0 +1,34 @@
+package asia.buildtheearth.asean.discord.plotsystem.commands;
+
+import asia.buildtheearth.asean.discord.commands.interactions.Interaction;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.commands.providers.SystemCommandProvider;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.IOExecutor;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
+import github.scarsz.discordsrv.dependencies.jda.api.interactions.InteractionHook;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletionException;
+
+import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.SetupReloadCommand.*;
+
+final class SetupReloadCommand extends SystemCommandProvider<Interaction,
+        asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.SetupReloadCommand> {
+
+    public SetupReloadCommand(@NotNull String name) {
+        super(name, LanguageFile.NULL_LANG);
+        this.setDescription(getLang(DESC));
+    }
+
+    @Override
+    public void onCommandTriggered(InteractionHook hook) {
+        IOExecutor.supply(IOExecutor.Resource.DISK, DiscordPS.getPlugin()::reloadLanguageFiles).whenComplete((reloaded, error) -> {
+            if(error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null? error.getCause() : error;
+                DiscordPS.error("Failed to reload language files.", cause);
+                hook.sendMessageEmbeds(errorEmbed(MESSAGE_RELOAD_FAILED, cause.toString())).setEphemeral(true).queue();
+            }
+            else hook.sendMessage(getLang(reloaded? MESSAGE_RELOADED : MESSAGE_UNCHANGED)).setEphemeral(true).queue();
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package asia.buildtheearth.asean.discord.plotsystem.commands;
 
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentDownloader;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.ForumWebhook;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.IOExecutor;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageChannel;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageEmbed;
@@ -19,12 +21,14 @@ import asia.buildtheearth.asean.discord.plotsystem.commands.interactions.OnSetup
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
 import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -115,30 +119,32 @@ sealed class SetupWebhookCommand extends AbstractSetupWebhookCommand permits Set
 
         String name = interaction.webhookName;
         String channel = Long.toUnsignedString(interaction.webhookChannel);
-        File imageFile;
-        String avatarURI;
 
-        try {
-            imageFile = FileUtil.findImageFileByPrefix(WEBHOOK_AVATAR_FILE);
+        // Probing and encoding the image file blocks, keep it off the callback thread
+        IOExecutor.supply(IOExecutor.Resource.DISK, () -> {
+            File imageFile = FileUtil.findImageFileByPrefix(WEBHOOK_AVATAR_FILE);
             Checks.notNull(imageFile, "Unexpected error of webhook image file");
 
-            avatarURI = FileUtil.convertImageFileToDataURI(imageFile);
+            String avatarURI = FileUtil.convertImageFileToDataURI(imageFile);
             Checks.notNull(avatarURI, "Unexpected error of webhook image URI");
 
-        } catch (IOException | IllegalArgumentException ex) {
-            DiscordPS.error("Exception occurred trying to find webhook image file from resource: " + ex.getMessage());
+            return Map.entry(imageFile, avatarURI);
+        }).whenComplete((avatar, error) -> {
+            if(error != null) {
+                DiscordPS.error("Exception occurred trying to find webhook image file from resource: " + error.getMessage());
 
-            DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
-            return;
-        }
+                DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
+                return;
+            }
 
-        DiscordPS.createWebhook(channel, name, avatarURI, true)
-            .queue((webhook) -> {
-                if(webhook.isPresent())
-                    onWebhookCreated(webhook.get(), message, interaction.outputFile, imageFile.getName());
-                else DiscordPS.error("Failed to request for webhook creation.");
-            });
-        DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
+            DiscordPS.createWebhook(channel, name, avatar.getValue(), true)
+                .queue((webhook) -> {
+                    if(webhook.isPresent())
+                        onWebhookCreated(webhook.get(), message, interaction.outputFile, avatar.getKey().getName());
+                    else DiscordPS.error("Failed to request for webhook creation.");
+                });
+            DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
+        });
     }
 
     /**
@@ -156,7 +162,8 @@ sealed class SetupWebhookCommand extends AbstractSetupWebhookCommand permits Set
             .toFile();
 
         CompletableFuture<Message> queuedMessage = channel.sendMessageEmbeds(getEmbed(ORANGE, EMBED_UPLOADING_ATTACHMENT)).submit();
-        CompletableFuture<File> queuedDownload = attachment.downloadToFile(avatarFile);
+        CompletableFuture<File> queuedDownload = DiscordPS.getPlugin().getAttachmentDownloader()
+            .downloadTo(attachment, avatarFile, AttachmentDownloader.Listener.NONE);
 
         queuedDownload.whenComplete((file, error) -> {
             if(error != null) queuedMessage.thenAccept(defer ->
@@ -170,30 +177,31 @@ sealed class SetupWebhookCommand extends AbstractSetupWebhookCommand permits Set
      */
     @Override
     public void onConfirmAvatarProvided(@NotNull MessageChannel channel, @NotNull OnSetupWebhook interaction) {
-        try {
-            File file = FileUtil.findImageFileByPrefix(WEBHOOK_AVATAR_FILE);
-
-            // File not found
-            if(file == null) {
-                channel.sendMessageEmbeds(getEmbed(
-                        Constants.RED,
-                        EMBED_FILE_NOT_FOUND,
-                        DiscordPS.getPlugin().getDataFolder().getAbsolutePath(),
-                        WEBHOOK_AVATAR_FILE
-                )).queue();
-                DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
-                return;
-            }
-
-            Consumer<Message> onSuccess = defer -> onConfirmAvatarImage(defer, interaction, file);
-            channel.sendMessageEmbeds(getEmbed(ORANGE, EMBED_UPLOADING_ATTACHMENT)).queue(onSuccess);
-
-        } catch (IOException | IllegalArgumentException ex) {
-            DiscordPS.error("Cannot download file to resource", ex);
-
-            channel.sendMessageEmbeds(errorEmbed(EMBED_INTERNAL_EXCEPTION, ex.toString())).queue();
-            DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
-        }
+        IOExecutor.supply(IOExecutor.Resource.DISK, () -> FileUtil.findImageFileByPrefix(WEBHOOK_AVATAR_FILE))
+            .whenComplete((file, error) -> {
+                if(error != null) {
+                    DiscordPS.error("Cannot download file to resource", error);
+
+                    channel.sendMessageEmbeds(errorEmbed(EMBED_INTERNAL_EXCEPTION, error.toString())).queue();
+                    DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
+                    return;
+                }
+
+                // File not found
+                if(file == null) {
+                    channel.sendMessageEmbeds(getEmbed(
+                            Constants.RED,
+                            EMBED_FILE_NOT_FOUND,
+                            DiscordPS.getPlugin().getDataFolder().getAbsolutePath(),
+                            WEBHOOK_AVATAR_FILE
+                    )).queue();
+                    DiscordPS.getPlugin().exitSlashCommand(interaction.eventID);
+                    return;
+                }
+
+                Consumer<Message> onSuccess = defer -> onConfirmAvatarImage(defer, interaction, file);
+                channel.sendMessageEmbeds(getEmbed(ORANGE, EMBED_UPLOADING_ATTACHMENT)).queue(onSuccess);
+            });
     }
 
     /**
@@ -244,6 +252,12 @@ sealed class SetupWebhookCommand extends AbstractSetupWebhookCommand permits Set
             return;
         }
 
+        // Pick up language files edited along with the new configuration
+        try { DiscordPS.getPlugin().reloadLanguageFiles(); }
+        catch (IOException | InvalidConfigurationException ex) {
+            DiscordPS.error("Failed to reload language files.", ex);
+        }
+
         defer.editMessageEmbeds(editedEmbed).queue((msg) -> {
             msg.replyEmbeds(getEmbed(GREEN, EMBED_CREATED_SUCCESS, outputFile)).queue();
         });
@@ -300,9 +314,9 @@ sealed class SetupWebhookCommand extends AbstractSetupWebhookCommand permits Set
             data -> data.hasKey("type")? data.getInt("type") : null
         );
 
-        response.setRetryExecution(() -> getChannelType(channelID, false));
-
-        return new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, response::execute);
+        return DiscordPS.getPlugin().getRestScheduler().schedule(route, allowSecondAttempt, null,
+            () -> new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, response::execute)
+        );
     }
 
     /**
@@ -0,0 +1,27 @@
+package asia.buildtheearth.asean.discord.plotsystem.commands.interactions;
+
+import asia.buildtheearth.asean.discord.commands.interactions.Interaction;
+
+/**
+ * Payload for the command {@code /plotctl reconcile}
+ *
+ * @see asia.buildtheearth.asean.discord.plotsystem.core.system.PlotReconciler
+ */
+public final class OnPlotReconcile extends Interaction {
+    /**
+     * Whether to repair found drifts, else only report them as a dry run
+     */
+    public final boolean apply;
+
+    /**
+     * Create a plot-reconcile payload
+     *
+     * @param userID The interaction owner ID (snowflake)
+     * @param eventID The initial event ID (snowflake)
+     * @param apply Whether to repair found drifts
+     */
+    public OnPlotReconcile(long userID, long eventID, boolean apply) {
+        super(userID, eventID);
+        this.apply = apply;
+    }
+}
@@ -29,6 +29,7 @@ public class DatabaseConnection {
     private static String webhookTableName = "discord_webhook";
     private final static Properties config = new Properties();
     private static HikariDataSource dataSource;
+    private static WebhookRepository repository;
 
     /**
      * Matches {@code  <proto>:<engine>://<HOST>:<PORT>/?<params>}
@@ -38,7 +39,18 @@ public class DatabaseConnection {
             "^(?<proto>\\w+):(?<engine>\\w+)://(?<host>.+?)(:(?<port>\\d{1,5}|PORT))?((/\\w+)+|/)\\??(?<params>.+)?$"
     );
 
-    private static int connectionClosed, connectionOpened;
+    /** Default maximum connections of the pool */
+    public final static int DEFAULT_POOL_SIZE = 3;
+
+    /** Default time in milliseconds to wait for a free connection */
+    public final static long DEFAULT_CONNECTION_TIMEOUT = 30000;
+
+    /** Hikari rejects any leak detection threshold lower than this (in milliseconds) */
+    private final static long MIN_LEAK_DETECTION_THRESHOLD = 2000;
+
+    private final static PoolMetrics metrics = new PoolMetrics();
+
+    private static int poolSize = DEFAULT_POOL_SIZE;
 
     @Contract(pure = true)
     public static String getWebhookTableName() {
@@ -52,6 +64,7 @@ public class DatabaseConnection {
         String username = configFile.getString(ConfigPaths.DATABASE_USERNAME);
         String password = configFile.getString(ConfigPaths.DATABASE_PASSWORD);
         String webhookTable = configFile.getString(ConfigPaths.DATABASE_WEBHOOK_TABLE);
+        poolSize = Math.max(1, configFile.getInt(ConfigPaths.DATABASE_POOL_SIZE, DEFAULT_POOL_SIZE));
 
         // Validate config
         if(StringUtils.isBlank(URL)) return false;
@@ -78,7 +91,7 @@ public class DatabaseConnection {
             config.setProperty("dataSource.user", username);
             config.setProperty("dataSource.password", password);
             config.setProperty("dataSource.databaseName", name);
-            config.setProperty("maximumPoolSize", String.valueOf(3));
+            config.setProperty("maximumPoolSize", String.valueOf(poolSize));
 
             if(matcher.group("host") != null)
                 config.setProperty("dataSource.serverName", matcher.group("host"));
@@ -99,7 +112,7 @@ public class DatabaseConnection {
             config.setProperty("dataSource.prepStmtCacheSize", String.valueOf(250));
             config.setProperty("dataSource.prepStmtCacheSqlLimit", String.valueOf(2048));
             config.setProperty("driverClassName", com.mysql.cj.jdbc.Driver.class.getName());
-            config.setProperty("maximumPoolSize", String.valueOf(3));
+            config.setProperty("maximumPoolSize", String.valueOf(poolSize));
         }
 
         // SQLite: Partial support for unit testing (driver is in test scope)
@@ -114,10 +127,26 @@ public class DatabaseConnection {
             }
             else DiscordPS.error("No filename detected for SQLite database connection");
 
-            config.setProperty("maximumPoolSize", String.valueOf(3));
+            config.setProperty("maximumPoolSize", String.valueOf(poolSize));
+        }
+
+        config.setProperty("poolName", "DiscordPlotSystem");
+        config.setProperty("connectionTimeout", String.valueOf(Math.max(250,
+            configFile.getLong(ConfigPaths.DATABASE_CONNECTION_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT)
+        )));
+
+        long leakDetection = configFile.getLong(ConfigPaths.DATABASE_LEAK_DETECTION_THRESHOLD, 0);
+        if(leakDetection > 0) {
+            if(leakDetection < MIN_LEAK_DETECTION_THRESHOLD) {
+                DiscordPS.warning("Database leak detection threshold of " + leakDetection + " ms is too low, "
+                        + "using the minimum of " + MIN_LEAK_DETECTION_THRESHOLD + " ms");
+                leakDetection = MIN_LEAK_DETECTION_THRESHOLD;
+            }
+            config.setProperty("leakDetectionThreshold", String.valueOf(leakDetection));
         }
 
         dataSource = new HikariDataSource(new HikariConfig(config));
+        metrics.attach(dataSource);
         DiscordPS.info("Initialized database with: " + (
             dataSource.getDriverClassName() == null?
             dataSource.getDataSourceClassName()
@@ -145,9 +174,31 @@ public class DatabaseConnection {
             return false;
         }
 
+        repository = new WebhookRepository();
+
         return true;
     }
 
+    /**
+     * Get the cached webhook entry repository.
+     *
+     * @return The repository of the initialized database
+     * @throws IllegalStateException If the database is not initialized
+     */
+    public static @NotNull WebhookRepository getRepository() {
+        if(repository == null) throw new IllegalStateException("Database is not initialized");
+        return repository;
+    }
+
+    /**
+     * Get the connection pool metrics.
+     *
+     * @return The metrics of the database connection pool
+     */
+    public static @NotNull PoolMetrics getMetrics() {
+        return metrics;
+    }
+
     @Contract("_ -> new")
     public static @NotNull StatementBuilder createStatement(String sql) {
         return new StatementBuilder(sql);
@@ -159,20 +210,33 @@ public class DatabaseConnection {
                 && resultSet.getStatement().getConnection().isClosed())
             return;
 
+        Connection connection = resultSet.getStatement().getConnection();
+        boolean returning = !connection.isClosed();
+
         resultSet.close();
         resultSet.getStatement().close();
-        resultSet.getStatement().getConnection().close();
+        connection.close();
 
-        connectionClosed++;
+        if(returning) metrics.onReturn();
 
-        if(connectionOpened > connectionClosed + 5)
-            DiscordPS.error("There are multiple database connections opened. Please report this issue.");
+        // Every borrowed connection holds one from the pool, more than that is never returned
+        if(metrics.getOutstanding() > poolSize)
+            DiscordPS.error("There are " + metrics.getOutstanding() + " database connections not returned to the pool. "
+                    + "Please report this issue with " + metrics.summary());
     }
 
     public static void shutdown() {
+        // Write pending updates before closing the pool
+        if(repository != null) repository.shutdown(5);
+        if(dataSource == null) return;
+        DiscordPS.debug(metrics.summary());
         dataSource.close();
     }
 
+    static @NotNull Connection openConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
     static void validateWebhookTable(String table) throws SQLException {
         if(StringUtils.isBlank(table)) throw new SQLException("Configured Database webhook table name is blank");
 
@@ -193,6 +257,9 @@ public class DatabaseConnection {
                 }
             }
 
+            // Upgrade the table from its recorded schema version
+            SchemaMigrator.migrate(connection, table);
+
         } catch (SQLException ex) {
             DiscordPS.error("An error occurred while creating database table!", ex);
             throw ex;
@@ -201,6 +268,7 @@ public class DatabaseConnection {
 
     public static class StatementBuilder implements AutoCloseable {
         private final String sql;
+        private final PoolMetrics.QueryType type;
         private final List<Object> values = new ArrayList<>();
 
         private Connection connection = null;
@@ -209,21 +277,29 @@ public class DatabaseConnection {
 
         public StatementBuilder(String sql) {
             this.sql = sql;
+            this.type = PoolMetrics.QueryType.of(sql);
         }
 
         private void openConnection() throws SQLException {
             connection = dataSource.getConnection();
             if (connection == null) throw new NullPointerException("Connection is invalid: null");
+            metrics.onBorrow();
         }
 
         public ResultSet executeQuery() throws SQLException {
             if (connection != null) throw new IllegalStateException("Builder is already fired.");
 
             openConnection();
-            statement = connection.prepareStatement(sql);
-            resultSet = iterateValues(statement).executeQuery();
-
-            connectionOpened++;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                statement = connection.prepareStatement(sql);
+                resultSet = iterateValues(statement).executeQuery();
+                failed = false;
+            }
+            finally {
+                metrics.record(type, System.nanoTime() - start, failed);
+            }
 
             return resultSet;
         }
@@ -232,8 +308,16 @@ public class DatabaseConnection {
             if (connection != null) throw new IllegalStateException("Builder is already fired.");
 
             openConnection();
-            statement = connection.prepareStatement(sql);
-            iterateValues(statement).executeUpdate();
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                statement = connection.prepareStatement(sql);
+                iterateValues(statement).executeUpdate();
+                failed = false;
+            }
+            finally {
+                metrics.record(type, System.nanoTime() - start, failed);
+            }
             close();
         }
 
@@ -252,6 +336,8 @@ public class DatabaseConnection {
         @Override
         public void close() throws SQLException {
             if (connection != null) {
+                // The connection may already be returned by closeResultSet
+                if (!connection.isClosed()) metrics.onReturn();
                 connection.close();
                 connection = null;
             }
@@ -0,0 +1,197 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Observability of the database connection pool.
+ *
+ * <p>Counts connections borrowed and returned by {@link DatabaseConnection.StatementBuilder}
+ * and times each statement by its {@link QueryType}.
+ * Counters are {@link LongAdder} so recording never contends between concurrent queries.
+ * Pool state (active, idle and waiting threads) is read from Hikari's {@link HikariPoolMXBean}.</p>
+ *
+ * <blockquote>{@snippet :
+ * DiscordPS.info(DatabaseConnection.getMetrics().summary());
+ * }</blockquote>
+ */
+public final class PoolMetrics {
+
+    /**
+     * Type of statement, taken from the first keyword of its SQL.
+     */
+    public enum QueryType {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        /**
+         * Get the query type of an SQL statement.
+         *
+         * @param sql The SQL statement
+         * @return The query type, {@link #OTHER} if the statement is not a DML statement
+         */
+        public static @NotNull QueryType of(@NotNull String sql) {
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) end++;
+
+            return switch (trimmed.substring(0, end).toUpperCase(Locale.ROOT)) {
+                case "SELECT" -> SELECT;
+                case "INSERT", "REPLACE" -> INSERT;
+                case "UPDATE" -> UPDATE;
+                case "DELETE" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    /**
+     * Execution time of a single query type.
+     */
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final Map<QueryType, Timing> timings = new EnumMap<>(QueryType.class);
+
+    private volatile HikariDataSource dataSource;
+
+    PoolMetrics() {
+        for(QueryType type : QueryType.values()) this.timings.put(type, new Timing());
+    }
+
+    /**
+     * Read pool state from this data source from now on.
+     *
+     * @param dataSource The initialized data source
+     */
+    void attach(@NotNull HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    void onBorrow() {
+        this.borrowed.increment();
+    }
+
+    void onReturn() {
+        this.returned.increment();
+    }
+
+    /**
+     * Record the execution of a statement.
+     *
+     * @param type The statement query type
+     * @param nanos Time the statement took to prepare and execute
+     * @param failed Whether the statement threw an exception
+     */
+    void record(@NotNull QueryType type, long nanos, boolean failed) {
+        Timing timing = this.timings.get(type);
+        timing.count.increment();
+        timing.totalNanos.add(nanos);
+        timing.maxNanos.accumulate(nanos);
+        if(failed) timing.failed.increment();
+    }
+
+    /**
+     * Get the total connections borrowed by statements.
+     *
+     * @return Borrowed connections since the pool is initialized
+     */
+    public long getBorrowed() {
+        return this.borrowed.sum();
+    }
+
+    /**
+     * Get the total connections returned by statements.
+     *
+     * @return Returned connections since the pool is initialized
+     */
+    public long getReturned() {
+        return this.returned.sum();
+    }
+
+    /**
+     * Get the connections currently borrowed by statements and not returned yet.
+     *
+     * @return Number of outstanding connections
+     */
+    public long getOutstanding() {
+        return this.getBorrowed() - this.getReturned();
+    }
+
+    /**
+     * Get the number of executed statements of a query type.
+     *
+     * @param type The query type
+     * @return Executed statements, including failed ones
+     */
+    public long getCount(@NotNull QueryType type) {
+        return this.timings.get(type).count.sum();
+    }
+
+    /**
+     * Get the average execution time of a query type.
+     *
+     * @param type The query type
+     * @return Average execution time in milliseconds, {@code 0} if none is executed
+     */
+    public double getAverageMillis(@NotNull QueryType type) {
+        Timing timing = this.timings.get(type);
+        long count = timing.count.sum();
+        return count == 0? 0 : timing.totalNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * Get the Hikari pool MXBean of the attached data source.
+     *
+     * @return The pool MXBean, {@code null} if the pool is not initialized or already closed
+     */
+    public @Nullable HikariPoolMXBean getPool() {
+        HikariDataSource source = this.dataSource;
+        if(source == null || source.isClosed()) return null;
+        return source.getHikariPoolMXBean();
+    }
+
+    /**
+     * Summarize pool state, connection counters and statement timings as a single line.
+     *
+     * @return The metrics summary
+     */
+    public @NotNull String summary() {
+        StringJoiner summary = new StringJoiner(", ", "Database pool: ", "");
+
+        HikariPoolMXBean pool = this.getPool();
+        if(pool != null) summary.add("active " + pool.getActiveConnections()
+            + "/" + pool.getTotalConnections()
+            + " (idle " + pool.getIdleConnections()
+            + ", waiting " + pool.getThreadsAwaitingConnection() + ")");
+
+        summary.add("borrowed " + this.getBorrowed() + ", returned " + this.getReturned());
+
+        this.timings.forEach((type, timing) -> {
+            long count = timing.count.sum();
+            if(count == 0) return;
+            summary.add(String.format(Locale.ROOT, "%s %dx avg %.1f ms max %d ms%s",
+                type, count, this.getAverageMillis(type),
+                TimeUnit.NANOSECONDS.toMillis(timing.maxNanos.get()),
+                timing.failed.sum() > 0? " (" + timing.failed.sum() + " failed)" : ""
+            ));
+        });
+
+        return summary.toString();
+    }
+}
@@ -0,0 +1,229 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.database;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Versioned schema migrations of the webhook table.
+ *
+ * <p>Applied versions are recorded in a {@code <webhook-table>_schema_version} table.
+ * A webhook table without any recorded version is treated as version {@code 0},
+ * the structure created by {@link DatabaseConnection}.
+ * Every migration with a higher version is applied in order with its script of the connected dialect,
+ * then recorded in the version table.</p>
+ *
+ * <p>Note: MariaDB and MySQL commit DDL statements implicitly,
+ * a failed migration may leave its earlier statements applied without being recorded.
+ * MySQL has no {@code IF [NOT] EXISTS} guard for indexes, so a statement failed only because
+ * its index is already created or dropped is skipped, letting such migration be re-applied.</p>
+ */
+final class SchemaMigrator {
+
+    /**
+     * MySQL error of a duplicate index name, the index is already created.
+     */
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    /**
+     * MySQL error of dropping an index that does not exist, the index is already dropped.
+     */
+    private static final int ER_CANT_DROP_FIELD_OR_KEY = 1091;
+
+    /**
+     * Supported SQL dialects, each migration provide a script for every dialect.
+     */
+    enum Dialect {
+        MARIADB,
+        MYSQL,
+        SQLITE;
+
+        /**
+         * Detect the dialect of a connection from its database product name.
+         *
+         * @param connection The connection to detect
+         * @return The detected dialect, default to {@link #MYSQL} for any unknown product
+         * @throws SQLException If the connection metadata cannot be read
+         */
+        static @NotNull Dialect of(@NotNull Connection connection) throws SQLException {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if(product.contains("mariadb")) return MARIADB;
+            if(product.contains("sqlite")) return SQLITE;
+            return MYSQL;
+        }
+    }
+
+    /**
+     * A versioned migration of the webhook table.
+     *
+     * @param version The schema version after this migration is applied, must be ascending
+     * @param description Short description recorded in the version table
+     * @param scripts The SQL statements of each dialect, built from the webhook table name
+     */
+    record Migration(int version,
+                     @NotNull String description,
+                     @NotNull Map<Dialect, Function<String, List<String>>> scripts) { }
+
+    /**
+     * All migrations in ascending version order.
+     */
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Add thread_id index", Map.of(
+            Dialect.MARIADB, table -> List.of("CREATE INDEX IF NOT EXISTS `" + table + "_thread_id` ON `" + table + "` (`thread_id`)"),
+            Dialect.MYSQL, table -> List.of("CREATE INDEX `" + table + "_thread_id` ON `" + table + "` (`thread_id`)"),
+            Dialect.SQLITE, table -> List.of("CREATE INDEX IF NOT EXISTS [" + table + "_thread_id] ON [" + table + "] ([thread_id])")
+        )),
+        new Migration(2, "Add composite (plot_id, message_id) index", Map.of(
+            Dialect.MARIADB, table -> List.of("CREATE INDEX IF NOT EXISTS `" + table + "_plot_message` ON `" + table + "` (`plot_id`, `message_id`)"),
+            Dialect.MYSQL, table -> List.of("CREATE INDEX `" + table + "_plot_message` ON `" + table + "` (`plot_id`, `message_id`)"),
+            Dialect.SQLITE, table -> List.of("CREATE INDEX IF NOT EXISTS [" + table + "_plot_message] ON [" + table + "] ([plot_id], [message_id])")
+        )),
+        // The composite index serves every plot_id lookup as its leftmost prefix
+        // SQLite table is never created with the plot_id index
+        new Migration(3, "Drop plot_id index covered by the composite index", Map.of(
+            Dialect.MARIADB, table -> List.of("DROP INDEX IF EXISTS `plot_id` ON `" + table + "`"),
+            Dialect.MYSQL, table -> List.of("DROP INDEX `plot_id` ON `" + table + "`"),
+            Dialect.SQLITE, table -> List.of()
+        ))
+    );
+
+    private SchemaMigrator() {}
+
+    /**
+     * Get the latest schema version of this plugin.
+     *
+     * @return The version of the last migration
+     */
+    @Contract(pure = true)
+    static int getLatestVersion() {
+        return MIGRATIONS.getLast().version();
+    }
+
+    /**
+     * Apply every pending migration to the webhook table.
+     *
+     * @param connection The connection to migrate with
+     * @param table The webhook table name
+     * @throws SQLException If the version table cannot be created or any migration failed
+     */
+    static void migrate(@NotNull Connection connection, @NotNull String table) throws SQLException {
+        Dialect dialect = Dialect.of(connection);
+        String versionTable = table.trim() + "_schema_version";
+
+        createVersionTable(connection, dialect, versionTable);
+
+        int current = getCurrentVersion(connection, dialect, versionTable);
+
+        if(current > getLatestVersion()) {
+            DiscordPS.warning("Database webhook table '" + table + "' is at schema version " + current
+                + " which is newer than this plugin supports (" + getLatestVersion() + ").");
+            return;
+        }
+
+        for(Migration migration : MIGRATIONS) {
+            if(migration.version() <= current) continue;
+
+            DiscordPS.info("Migrating database webhook table '" + table + "' to schema version "
+                + migration.version() + ": " + migration.description());
+
+            apply(connection, dialect, versionTable, table.trim(), migration);
+        }
+    }
+
+    private static void apply(@NotNull Connection connection,
+                              @NotNull Dialect dialect,
+                              @NotNull String versionTable,
+                              @NotNull String table,
+                              @NotNull Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            try(Statement statement = connection.createStatement()) {
+                for(String sql : migration.scripts().get(dialect).apply(table)) {
+                    try {
+                        statement.executeUpdate(sql);
+                    }
+                    catch (SQLException ex) {
+                        if(!isAlreadyApplied(dialect, ex)) throw ex;
+                        DiscordPS.debug("Skipped already applied migration statement (" + ex.getMessage() + "): " + sql);
+                    }
+                }
+            }
+
+            String record = "INSERT INTO " + quote(dialect, versionTable) + " (version, description, applied_at) VALUES (?, ?, ?)";
+            try(PreparedStatement statement = connection.prepareStatement(record)) {
+                statement.setInt(1, migration.version());
+                statement.setString(2, migration.description());
+                statement.setLong(3, System.currentTimeMillis());
+                statement.executeUpdate();
+            }
+
+            connection.commit();
+        }
+        catch (SQLException ex) {
+            connection.rollback();
+            DiscordPS.error("Failed to migrate database webhook table '" + table + "' to schema version " + migration.version(), ex);
+            throw ex;
+        }
+        finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Check if a statement failed only because its index is already created or dropped.
+     *
+     * @param dialect The dialect of the failed statement
+     * @param ex The failure of the statement
+     * @return Whether the failure can be skipped as already applied
+     */
+    private static boolean isAlreadyApplied(@NotNull Dialect dialect, @NotNull SQLException ex) {
+        if(dialect == Dialect.SQLITE) return false;
+        return ex.getErrorCode() == ER_DUP_KEYNAME || ex.getErrorCode() == ER_CANT_DROP_FIELD_OR_KEY;
+    }
+
+    private static void createVersionTable(@NotNull Connection connection,
+                                           @NotNull Dialect dialect,
+                                           @NotNull String versionTable) throws SQLException {
+        String sql = dialect == Dialect.SQLITE
+            ? "CREATE TABLE IF NOT EXISTS [" + versionTable + "] "
+                + "([version] INT PRIMARY KEY,[description] TEXT,[applied_at] INT);"
+            : "CREATE TABLE IF NOT EXISTS `" + versionTable + "` (" +
+                " `version`          INT NOT NULL," +
+                " `description`      varchar(255) NOT NULL," +
+                " `applied_at`       BIGINT NOT NULL," +
+                " PRIMARY KEY        (`version`)" +
+                ");";
+
+        try(PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate();
+        }
+    }
+
+    private static int getCurrentVersion(@NotNull Connection connection,
+                                         @NotNull Dialect dialect,
+                                         @NotNull String versionTable) throws SQLException {
+        String sql = "SELECT MAX(version) FROM " + quote(dialect, versionTable);
+
+        try(PreparedStatement statement = connection.prepareStatement(sql);
+            ResultSet rs = statement.executeQuery()) {
+            return rs.next()? rs.getInt(1) : 0;
+        }
+    }
+
+    @Contract(pure = true)
+    private static @NotNull String quote(@NotNull Dialect dialect, @NotNull String name) {
+        return dialect == Dialect.SQLITE? "[" + name + "]" : "`" + name + "`";
+    }
+}
@@ -41,7 +41,7 @@ public record WebhookEntry(
      * Changes if major structure get edited.
      */
     private static final int VERSION = 1;
-    private static final Function<String, String> WEBHOOK_ENTRIES_QUERY = (table) -> "SELECT "
+    static final Function<String, String> WEBHOOK_ENTRIES_QUERY = (table) -> "SELECT "
             + "webhook.message_id, webhook.thread_id, webhook.plot_id, "
             + "webhook.status, webhook.owner_uuid, webhook.owner_id, webhook.feedback, webhook.version "
             + "FROM " + table + " AS webhook ";
@@ -64,7 +64,7 @@ public record WebhookEntry(
      */
     @NotNull
     public static List<WebhookEntry> getByPlotID(int plotID) throws SQLException {
-        return getByID("plot_id", plotID);
+        return DatabaseConnection.getRepository().findByPlotID(plotID);
     }
 
     /**
@@ -76,7 +76,7 @@ public record WebhookEntry(
      */
     @NotNull
     public static List<WebhookEntry> getByThreadID(long threadID) throws SQLException {
-        return getByID("thread_id", threadID);
+        return DatabaseConnection.getRepository().findByThreadID(threadID);
     }
 
     /**
@@ -88,40 +88,27 @@ public record WebhookEntry(
      */
     @Nullable
     public static WebhookEntry getByMessageID(long messageID) throws SQLException {
-        List<WebhookEntry> result = getByID("message_id", messageID);
-        return result.isEmpty()? null : result.getFirst();
+        return DatabaseConnection.getRepository().findByMessageID(messageID).orElse(null);
     }
 
     /**
-     * Get a webhook entry by column name and value.
+     * Map the current row of a webhook entries query.
      *
-     * @param key The column to get as
-     * @param value The value of that column's entry position
-     * @return All entries that met the query
+     * @param rs The result set of {@link #WEBHOOK_ENTRIES_QUERY}
+     * @return The entry of the current row
      * @throws SQLException If something happens
      */
-    private static @NotNull List<WebhookEntry> getByID(@NotNull String key, @NotNull Object value) throws SQLException {
-        String query = WEBHOOK_ENTRIES_QUERY.apply(DatabaseConnection.getWebhookTableName())
-                + "WHERE webhook." + key + " = ? ORDER BY webhook.message_id DESC";
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement.setValue(value);
-            ResultSet rs = statement.executeQuery();
-            List<WebhookEntry> result = new ArrayList<>();
-            while(rs.next()) {
-                result.add(new WebhookEntry(
-                    rs.getLong("message_id"),
-                    rs.getLong("thread_id"),
-                    rs.getInt("plot_id"),
-                    ThreadStatus.valueOf(rs.getString("status")),
-                    rs.getString("owner_uuid"),
-                    rs.getString("owner_id"),
-                    rs.getString("feedback"),
-                    rs.getInt("version")
-                ));
-            }
-            DatabaseConnection.closeResultSet(rs);
-            return result;
-        }
+    static @NotNull WebhookEntry fromResultSet(@NotNull ResultSet rs) throws SQLException {
+        return new WebhookEntry(
+            rs.getLong("message_id"),
+            rs.getLong("thread_id"),
+            rs.getInt("plot_id"),
+            ThreadStatus.valueOf(rs.getString("status")),
+            rs.getString("owner_uuid"),
+            rs.getString("owner_id"),
+            rs.getString("feedback"),
+            rs.getInt("version")
+        );
     }
 
     /**
@@ -162,32 +149,7 @@ public record WebhookEntry(
                                       int plotID,
                                       @NotNull ThreadStatus status,
                                       @NotNull String ownerUUID) {
-        String query = "INSERT INTO " + DatabaseConnection.getWebhookTableName()
-                + " (message_id, thread_id, plot_id, status, owner_uuid, version) "
-                + "VALUES (?, ?, ?, ?, ?, ?)";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement.setValue(messageID);
-            statement.setValue(threadID);
-            statement.setValue(plotID);
-            statement.setValue(status.name());
-            statement.setValue(ownerUUID);
-            statement.setValue(VERSION);
-            statement.executeUpdate();
-
-            DiscordPS.debug("Added plot to webhook database (Plot ID: " + plotID + ")");
-
-        } catch (SQLException ex) {
-            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
-            DiscordPS.error("Failed to insert new webhook entry. please check the database user permission.");
-            DiscordPS.error("The plot ID: " + plotID + " will NOT be process because it failed to be stored in the database.");
-            Notification.sendErrorEmbed(
-                "Failed to insert new webhook entry to database, "
-                + "The plot ID #`" + plotID + "` "
-                + "will appear on thread but cannot be edited by the system.",
-                ex.toString()
-            );
-        }
+        insertNewEntry(new WebhookEntry(messageID, threadID, plotID, status, ownerUUID, null, null, VERSION));
     }
 
     /**
@@ -206,122 +168,74 @@ public record WebhookEntry(
                                       @NotNull ThreadStatus status,
                                       @NotNull String ownerUUID,
                                       @NotNull String ownerID) {
-        String query = "INSERT INTO " + DatabaseConnection.getWebhookTableName()
-                + " (message_id, thread_id, plot_id, status, owner_uuid, owner_id, version) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        insertNewEntry(new WebhookEntry(messageID, threadID, plotID, status, ownerUUID, ownerID, null, VERSION));
+    }
 
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement.setValue(messageID);
-            statement.setValue(threadID);
-            statement.setValue(plotID);
-            statement.setValue(status.name());
-            statement.setValue(ownerUUID);
-            statement.setValue(ownerID);
-            statement.setValue(VERSION);
-            statement.executeUpdate();
+    private static void insertNewEntry(@NotNull WebhookEntry entry) {
+        try {
+            DatabaseConnection.getRepository().insert(entry);
 
-            DiscordPS.debug("Added plot to webhook database (Plot ID: " + plotID + ")");
+            DiscordPS.debug("Added plot to webhook database (Plot ID: " + entry.plotID() + ")");
 
         } catch (SQLException ex) {
             DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
             DiscordPS.error("Failed to insert new webhook entry. please check the database user permission.");
-            DiscordPS.error("The plot ID: " + plotID + " will NOT be process because it failed to be stored in the database.");
+            DiscordPS.error("The plot ID: " + entry.plotID() + " will NOT be process because it failed to be stored in the database.");
             Notification.sendErrorEmbed(
-                    "Failed to insert new webhook entry to database, "
-                            + "The plot ID #`" + plotID + "` "
-                            + "will appear on thread but cannot be edited by the system.",
-                    ex.toString()
+                "Failed to insert new webhook entry to database, "
+                + "The plot ID #`" + entry.plotID() + "` "
+                + "will appear on thread but cannot be edited by the system.",
+                ex.toString()
             );
         }
     }
 
     /**
-     * Update the plot's feedback message
+     * Update the plot's feedback message.
+     * The update is cached immediately and written to the database in the next batch.
      *
      * @param messageID The primary key of this plot's entry
      * @param feedback Feedback message to update to.
-     * @throws SQLException If something happens
+     * @see WebhookRepository#updateFeedback(long, String)
      */
-    public static void updateEntryFeedback(long messageID, @NotNull String feedback) throws SQLException {
-        String query = "UPDATE " + DatabaseConnection.getWebhookTableName()
-                + " SET feedback = ? WHERE message_id = ?";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement
-                    .setValue(feedback)
-                    .setValue(messageID)
-                    .executeUpdate();
-        }
-        catch (SQLException ex) {
-            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
-            DiscordPS.error("Failed to update webhook entry by threadID");
-            throw ex;
-        }
+    public static void updateEntryFeedback(long messageID, @NotNull String feedback) {
+        DatabaseConnection.getRepository().updateFeedback(messageID, feedback);
     }
 
     /**
      * Update a specific plot entry's status.
+     * The update is cached immediately and written to the database in the next batch.
      *
      * @param messageID The primary key of this plot's entry
      * @param entry The status to update into
-     * @throws SQLException If something happens
+     * @see WebhookRepository#updateStatus(long, ThreadStatus)
      */
-    public static void updateEntryStatus(long messageID, @NotNull ThreadStatus entry) throws SQLException {
-        String query = "UPDATE " + DatabaseConnection.getWebhookTableName()
-                + " SET status = ? WHERE message_id = ?";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement
-                    .setValue(entry.name())
-                    .setValue(messageID)
-                    .executeUpdate();
-        }
-        catch (SQLException ex) {
-            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
-            DiscordPS.error("Failed to update webhook entry by threadID");
-            throw ex;
-        }
+    public static void updateEntryStatus(long messageID, @NotNull ThreadStatus entry) {
+        DatabaseConnection.getRepository().updateStatus(messageID, entry);
     }
 
     /**
-     * Update status entry from the giving message ID
+     * Update status entry from the giving message ID.
+     * The update is cached immediately and written to the database in the next batch.
      *
      * @param messageID The entry as message ID to update
      * @param entry The status to update into
-     * @throws SQLException If something happens
+     * @see WebhookRepository#updateStatus(long, ThreadStatus)
      */
-    public static void updateThreadStatus(long messageID, @NotNull ThreadStatus entry) throws SQLException {
-        String query = "UPDATE " + DatabaseConnection.getWebhookTableName()
-                + " SET status = ? WHERE message_id = ?";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement
-                .setValue(entry.name())
-                .setValue(messageID)
-                .executeUpdate();
-        }
-        catch (SQLException ex) {
-            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
-            DiscordPS.error("Failed to update webhook entry by threadID");
-            throw ex;
-        }
+    public static void updateThreadStatus(long messageID, @NotNull ThreadStatus entry) {
+        DatabaseConnection.getRepository().updateStatus(messageID, entry);
     }
 
-    public static void updateEntryOwnerID(long messageID, @NotNull String ownerID) throws SQLException {
-        String query = "UPDATE " + DatabaseConnection.getWebhookTableName()
-                + " SET owner_id = ? WHERE message_id = ?";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement
-                    .setValue(ownerID)
-                    .setValue(messageID)
-                    .executeUpdate();
-        }
-        catch (SQLException ex) {
-            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
-            DiscordPS.error("Failed to update webhook entry by threadID");
-            throw ex;
-        }
+    /**
+     * Update the plot owner's discord ID.
+     * The update is cached immediately and written to the database in the next batch.
+     *
+     * @param messageID The primary key of this plot's entry
+     * @param ownerID The owner's discord ID to update to
+     * @see WebhookRepository#updateOwnerID(long, String)
+     */
+    public static void updateEntryOwnerID(long messageID, @NotNull String ownerID) {
+        DatabaseConnection.getRepository().updateOwnerID(messageID, ownerID);
     }
 
     /**
@@ -331,10 +245,8 @@ public record WebhookEntry(
      * @throws SQLException If the SQL delete query result in a failure
      */
     public static void deleteEntry(long messageID) throws SQLException {
-        String query = "DELETE FROM " + DatabaseConnection.getWebhookTableName() + " WHERE message_id = ?";
-
-        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
-            statement.setValue(messageID).executeUpdate();
+        try {
+            DatabaseConnection.getRepository().delete(messageID);
         }
         catch (SQLException ex) {
             DiscordPS.error("Failed to delete webhook entry by messageID");
@@ -357,16 +269,7 @@ public record WebhookEntry(
             ResultSet rs = statement.executeQuery();
             List<WebhookEntry> result = new ArrayList<>();
             while(rs.next()) {
-                result.add(new WebhookEntry(
-                        rs.getLong("message_id"),
-                        rs.getLong("thread_id"),
-                        rs.getInt("plot_id"),
-                        ThreadStatus.valueOf(rs.getString("status")),
-                        rs.getString("owner_uuid"),
-                        rs.getString("owner_id"),
-                        rs.getString("feedback"),
-                        rs.getInt("version")
-                ));
+                result.add(fromResultSet(rs));
             }
             DatabaseConnection.closeResultSet(rs);
             return result;
@@ -0,0 +1,740 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.database;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.IOExecutor;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.Notification;
+import github.scarsz.discordsrv.dependencies.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static asia.buildtheearth.asean.discord.plotsystem.Debug.Warning.RUNTIME_SQL_EXCEPTION;
+import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notification.ErrorMessage.PLOT_FLUSH_SQL_EXCEPTION;
+
+/**
+ * Cached repository of {@link WebhookEntry}.
+ *
+ * <p>Reads are served from a read-through cache of every entry of a plot,
+ * indexed by plot ID, thread ID and message ID. A cache miss loads every entry
+ * of the matched plots in one query so that the next lookup by any index is a hit.
+ * Every asynchronous read completes immediately on a cache hit
+ * and is only queried on the {@linkplain IOExecutor.Resource#DATABASE database I/O executor} on a miss.</p>
+ *
+ * <p>Status, feedback and owner updates are write-behind: the cache is updated immediately
+ * while the database write is merged per message ID and flushed in JDBC batches
+ * on the database I/O executor, one flush at a time. Inserts and deletes are written through.</p>
+ */
+public final class WebhookRepository {
+
+    /**
+     * Maximum number of plots to keep their entries cached.
+     */
+    private static final int MAX_CACHED_PLOTS = 512;
+
+    /**
+     * Delay before pending updates are flushed, further updates within this delay join the same batch.
+     */
+    private static final long FLUSH_DELAY_MILLIS = 1000;
+
+    /**
+     * Delay before retrying a batch that failed to be written, doubled on every consecutive failure.
+     */
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    /**
+     * Maximum delay between retries of a batch that keeps failing.
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * Number of pending updates that trigger a flush immediately.
+     */
+    private static final int MAX_PENDING_UPDATES = 64;
+
+    /**
+     * Entries order of every lookup, same as the message ID descending order of the database query.
+     */
+    private static final Comparator<WebhookEntry> LATEST_FIRST = Comparator.comparingLong(WebhookEntry::messageID).reversed();
+
+    /**
+     * Scheduler of write-behind flushes, the flush itself runs on the database I/O executor.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("DiscordPlotSystem - Database Flush").setDaemon(true).build()
+    );
+
+    /**
+     * Held while flushing so that batches are written in order, never concurrently.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Every entry of each cached plot ordered by message ID descending (the latest first),
+     * the least recently used plot is evicted with its indexes when full.
+     */
+    private final Map<Integer, List<WebhookEntry>> plots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<WebhookEntry>> eldest) {
+            if(size() <= MAX_CACHED_PLOTS) return false;
+            unindex(eldest.getValue());
+            return true;
+        }
+    };
+
+    /**
+     * Message ID index to its cached plot ID.
+     */
+    private final Map<Long, Integer> messages = new HashMap<>();
+
+    /**
+     * Thread ID index to every plot ID that has an entry in the thread,
+     * only exists if all of those plots are cached.
+     */
+    private final Map<Long, Set<Integer>> threads = new HashMap<>();
+
+    /**
+     * Write-behind updates waiting to be flushed by message ID.
+     */
+    private final Map<Long, PendingUpdate> pending = new LinkedHashMap<>();
+
+    /**
+     * Incremented by every completed database write,
+     * a query that overlapped with any write is not cached since it may have read stale data.
+     */
+    private long modCount = 0;
+
+    private @Nullable ScheduledFuture<?> flushTask = null;
+
+    /**
+     * Number of consecutive failed scheduled flushes, only the first failure of a streak is notified.
+     */
+    private int flushFailures = 0;
+
+    WebhookRepository() {}
+
+    /**
+     * Get all entries of a plot.
+     *
+     * @param plotID The plot ID
+     * @return Future of all entries with the plot ID, the latest first.
+     *         Completes exceptionally with {@link SQLException} if the query failed.
+     */
+    public @NotNull CompletableFuture<List<WebhookEntry>> getByPlotID(int plotID) {
+        List<WebhookEntry> cached = this.getCachedPlot(plotID);
+        return cached != null? CompletableFuture.completedFuture(cached) : this.supplyAsync(() -> this.findByPlotID(plotID));
+    }
+
+    /**
+     * Get all entries in a thread.
+     *
+     * @param threadID The thread ID
+     * @return Future of all entries with the thread ID, the latest first.
+     *         Completes exceptionally with {@link SQLException} if the query failed.
+     */
+    public @NotNull CompletableFuture<List<WebhookEntry>> getByThreadID(long threadID) {
+        List<WebhookEntry> cached = this.getCachedThread(threadID);
+        return cached != null? CompletableFuture.completedFuture(cached) : this.supplyAsync(() -> this.findByThreadID(threadID));
+    }
+
+    /**
+     * Get an entry by its message ID.
+     *
+     * @param messageID The message ID
+     * @return Future of the entry, empty if the ID does not exist.
+     *         Completes exceptionally with {@link SQLException} if the query failed.
+     */
+    public @NotNull CompletableFuture<Optional<WebhookEntry>> getByMessageID(long messageID) {
+        Optional<WebhookEntry> cached = this.getCachedMessage(messageID);
+        return cached != null? CompletableFuture.completedFuture(cached) : this.supplyAsync(() -> this.findByMessageID(messageID));
+    }
+
+    /**
+     * Get the latest entry of a plot.
+     *
+     * @param plotID The plot ID
+     * @return Future of the latest entry, empty if the plot is not tracked.
+     *         Completes exceptionally with {@link SQLException} if the query failed.
+     */
+    public @NotNull CompletableFuture<Optional<WebhookEntry>> getLatest(int plotID) {
+        List<WebhookEntry> cached = this.getCachedPlot(plotID);
+        return cached != null
+            ? CompletableFuture.completedFuture(cached.stream().findFirst())
+            : this.supplyAsync(() -> this.findByPlotID(plotID).stream().findFirst());
+    }
+
+    /**
+     * Get a page of tracked plots ordered by plot ID, with every entry of each plot.
+     *
+     * <p>Pages are keyed by plot ID instead of an offset, so a plot is never split across two pages
+     * and entries inserted while paging do not shift the next page.
+     * Loaded entries are not cached to not evict the plots in active use.</p>
+     *
+     * @param afterPlotID Only plots with an ID greater than this are returned, the last plot ID of the previous page
+     * @param limit Maximum number of plots in this page
+     * @return Future of the entries grouped by plot ID in ascending order, each ordered by the latest first.
+     *         Empty if there is no plot left. Completes exceptionally with {@link SQLException} if the query failed.
+     */
+    public @NotNull CompletableFuture<SequencedMap<Integer, List<WebhookEntry>>> getPage(int afterPlotID, int limit) {
+        return this.supplyAsync(() -> this.findPage(afterPlotID, limit));
+    }
+
+    /**
+     * Update the status of an entry, the cache is updated immediately and the write is batched.
+     *
+     * @param messageID The message ID of the entry
+     * @param status The status to update into
+     */
+    public void updateStatus(long messageID, @NotNull ThreadStatus status) {
+        this.update(messageID, new PendingUpdate(status, null, null));
+    }
+
+    /**
+     * Update the feedback of an entry, the cache is updated immediately and the write is batched.
+     *
+     * @param messageID The message ID of the entry
+     * @param feedback The feedback to update into
+     */
+    public void updateFeedback(long messageID, @NotNull String feedback) {
+        this.update(messageID, new PendingUpdate(null, feedback, null));
+    }
+
+    /**
+     * Update the owner's discord ID of an entry, the cache is updated immediately and the write is batched.
+     *
+     * @param messageID The message ID of the entry
+     * @param ownerID The owner's discord ID to update into
+     */
+    public void updateOwnerID(long messageID, @NotNull String ownerID) {
+        this.update(messageID, new PendingUpdate(null, null, ownerID));
+    }
+
+    /**
+     * Flush all pending updates now.
+     *
+     * @return Future that completes when the pending updates at the time of calling are written,
+     *         completes exceptionally with {@link SQLException} if the batch failed.
+     */
+    public @NotNull CompletableFuture<Void> flush() {
+        return this.supplyAsync(() -> {
+            this.flushPending();
+            return null;
+        });
+    }
+
+    /**
+     * Flush pending updates and stop the flush scheduler.
+     *
+     * @param timeout Maximum time in seconds to wait for
+     */
+    public void shutdown(long timeout) {
+        try {
+            this.flush().get(timeout, TimeUnit.SECONDS);
+        }
+        catch (ExecutionException | TimeoutException ex) {
+            DiscordPS.warning("Failed to flush pending webhook entry updates on shutdown: " + ex);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if(!this.pending.isEmpty())
+                DiscordPS.warning(this.pending.size() + " webhook entry update(s) are not written to the database.");
+        }
+
+        this.scheduler.shutdownNow();
+    }
+
+    /**
+     * Query all entries of a plot, read-through the cache.
+     *
+     * @param plotID The plot ID
+     * @return All entries with the plot ID, the latest first
+     * @throws SQLException If the query failed
+     */
+    @NotNull List<WebhookEntry> findByPlotID(int plotID) throws SQLException {
+        List<WebhookEntry> cached = this.getCachedPlot(plotID);
+        if(cached != null) return cached;
+
+        return this.load("plot_id", plotID, true).getOrDefault(plotID, List.of());
+    }
+
+    /**
+     * Query all entries in a thread, read-through the cache.
+     *
+     * @param threadID The thread ID
+     * @return All entries with the thread ID, the latest first
+     * @throws SQLException If the query failed
+     */
+    @NotNull List<WebhookEntry> findByThreadID(long threadID) throws SQLException {
+        List<WebhookEntry> cached = this.getCachedThread(threadID);
+        if(cached != null) return cached;
+
+        return this.load("thread_id", threadID, false).values().stream()
+            .flatMap(List::stream)
+            .filter(entry -> entry.threadID() == threadID)
+            .sorted(LATEST_FIRST)
+            .toList();
+    }
+
+    /**
+     * Query an entry by its message ID, read-through the cache.
+     *
+     * @param messageID The message ID
+     * @return The entry if the ID exists
+     * @throws SQLException If the query failed
+     */
+    @NotNull Optional<WebhookEntry> findByMessageID(long messageID) throws SQLException {
+        Optional<WebhookEntry> cached = this.getCachedMessage(messageID);
+        if(cached != null) return cached;
+
+        return this.load("message_id", messageID, false).values().stream()
+            .flatMap(List::stream)
+            .filter(entry -> entry.messageID() == messageID)
+            .findFirst();
+    }
+
+    /**
+     * Query a page of tracked plots with every entry of each plot.
+     *
+     * @param afterPlotID Only plots with an ID greater than this are returned
+     * @param limit Maximum number of plots in this page
+     * @return Entries grouped by plot ID in ascending order, each ordered by the latest first
+     * @throws SQLException If the query failed
+     */
+    @NotNull SequencedMap<Integer, List<WebhookEntry>> findPage(int afterPlotID, int limit) throws SQLException {
+        String table = DatabaseConnection.getWebhookTableName();
+        String query = WebhookEntry.WEBHOOK_ENTRIES_QUERY.apply(table)
+                + "JOIN (SELECT DISTINCT plot_id FROM " + table + " WHERE plot_id > ? ORDER BY plot_id LIMIT ?) AS page "
+                + "ON page.plot_id = webhook.plot_id "
+                + "ORDER BY webhook.plot_id ASC, webhook.message_id DESC";
+
+        SequencedMap<Integer, List<WebhookEntry>> result = new LinkedHashMap<>();
+
+        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+            statement.setValue(afterPlotID);
+            statement.setValue(limit);
+            ResultSet rs = statement.executeQuery();
+            while(rs.next()) {
+                WebhookEntry entry = WebhookEntry.fromResultSet(rs);
+                result.computeIfAbsent(entry.plotID(), id -> new ArrayList<>()).add(entry);
+            }
+            DatabaseConnection.closeResultSet(rs);
+        }
+
+        synchronized (this) {
+            // Pending updates are not yet written, apply them over the loaded entries
+            result.replaceAll((plotID, entries) -> entries.stream().map(this::applyPending).toList());
+        }
+
+        return result;
+    }
+
+    /**
+     * Insert a new entry, written through to the database.
+     *
+     * @param entry The entry to insert
+     * @throws SQLException If the insert failed
+     */
+    void insert(@NotNull WebhookEntry entry) throws SQLException {
+        String query = "INSERT INTO " + DatabaseConnection.getWebhookTableName()
+                + (entry.ownerID() == null
+                    ? " (message_id, thread_id, plot_id, status, owner_uuid, version) VALUES (?, ?, ?, ?, ?, ?)"
+                    : " (message_id, thread_id, plot_id, status, owner_uuid, owner_id, version) VALUES (?, ?, ?, ?, ?, ?, ?)");
+
+        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+            statement.setValue(entry.messageID());
+            statement.setValue(entry.threadID());
+            statement.setValue(entry.plotID());
+            statement.setValue(entry.status().name());
+            statement.setValue(entry.ownerUUID());
+            if(entry.ownerID() != null) statement.setValue(entry.ownerID());
+            statement.setValue(entry.version());
+            statement.executeUpdate();
+        }
+
+        synchronized (this) {
+            this.modCount++;
+
+            List<WebhookEntry> cached = this.plots.get(entry.plotID());
+
+            if(cached == null) {
+                // The thread index is no longer complete without this plot
+                this.threads.remove(entry.threadID());
+                return;
+            }
+
+            List<WebhookEntry> updated = new ArrayList<>(cached);
+            updated.add(entry);
+            updated.sort(LATEST_FIRST);
+            this.plots.put(entry.plotID(), List.copyOf(updated));
+            this.messages.put(entry.messageID(), entry.plotID());
+            this.threads.computeIfPresent(entry.threadID(), (id, plotIDs) -> {
+                Set<Integer> merged = new HashSet<>(plotIDs);
+                merged.add(entry.plotID());
+                return Set.copyOf(merged);
+            });
+        }
+    }
+
+    /**
+     * Delete an entry, written through to the database.
+     * Pending update of this entry is discarded.
+     *
+     * @param messageID The message ID of the entry to delete
+     * @throws SQLException If the delete failed
+     */
+    void delete(long messageID) throws SQLException {
+        String query = "DELETE FROM " + DatabaseConnection.getWebhookTableName() + " WHERE message_id = ?";
+
+        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+            statement.setValue(messageID).executeUpdate();
+        }
+
+        synchronized (this) {
+            this.modCount++;
+            this.pending.remove(messageID);
+
+            Integer plotID = this.messages.get(messageID);
+            if(plotID == null) return;
+
+            List<WebhookEntry> cached = this.plots.get(plotID);
+            if(cached == null) return;
+
+            this.messages.remove(messageID);
+            this.plots.put(plotID, cached.stream().filter(entry -> entry.messageID() != messageID).toList());
+        }
+    }
+
+    private synchronized @Nullable List<WebhookEntry> getCachedPlot(int plotID) {
+        return this.plots.get(plotID);
+    }
+
+    private synchronized @Nullable List<WebhookEntry> getCachedThread(long threadID) {
+        Set<Integer> plotIDs = this.threads.get(threadID);
+        if(plotIDs == null) return null;
+
+        List<WebhookEntry> result = new ArrayList<>();
+        for(int plotID : plotIDs) {
+            List<WebhookEntry> cached = this.plots.get(plotID);
+            if(cached == null) return null;
+            cached.stream().filter(entry -> entry.threadID() == threadID).forEach(result::add);
+        }
+        result.sort(LATEST_FIRST);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Get a cached entry by its message ID.
+     *
+     * @param messageID The message ID
+     * @return {@code null} on cache miss, else the cached entry
+     */
+    @SuppressWarnings("OptionalAssignedToNull")
+    private synchronized @Nullable Optional<WebhookEntry> getCachedMessage(long messageID) {
+        Integer plotID = this.messages.get(messageID);
+        if(plotID == null) return null;
+
+        List<WebhookEntry> cached = this.plots.get(plotID);
+        if(cached == null) return null;
+
+        return cached.stream().filter(entry -> entry.messageID() == messageID).findFirst();
+    }
+
+    /**
+     * Load every entry of all plots that has an entry matching the given column,
+     * then cache them by plot.
+     *
+     * @param key The column to match
+     * @param value The value to match
+     * @param byPlot Whether the key is the plot ID column, to cache an empty plot if nothing matched
+     * @return Loaded entries grouped by plot ID, each ordered by the latest first
+     * @throws SQLException If the query failed
+     */
+    private @NotNull Map<Integer, List<WebhookEntry>> load(@NotNull String key,
+                                                           @NotNull Object value,
+                                                           boolean byPlot) throws SQLException {
+        String table = DatabaseConnection.getWebhookTableName();
+        String query = WebhookEntry.WEBHOOK_ENTRIES_QUERY.apply(table) + (byPlot
+                ? "WHERE webhook.plot_id = ? "
+                : "WHERE webhook.plot_id IN (SELECT plot_id FROM " + table + " WHERE " + key + " = ?) ")
+                + "ORDER BY webhook.message_id DESC";
+
+        Map<Integer, List<WebhookEntry>> result = new LinkedHashMap<>();
+        long modCount;
+
+        synchronized (this) {
+            modCount = this.modCount;
+        }
+
+        try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+            statement.setValue(value);
+            ResultSet rs = statement.executeQuery();
+            while(rs.next()) {
+                WebhookEntry entry = WebhookEntry.fromResultSet(rs);
+                result.computeIfAbsent(entry.plotID(), id -> new ArrayList<>()).add(entry);
+            }
+            DatabaseConnection.closeResultSet(rs);
+        }
+
+        if(byPlot && result.isEmpty()) result.put((int) value, List.of());
+
+        synchronized (this) {
+            // Pending updates are not yet written, apply them over the loaded entries
+            result.replaceAll((plotID, entries) -> entries.stream().map(this::applyPending).toList());
+
+            if(modCount == this.modCount) result.forEach(this::cache);
+
+            if(!byPlot && key.equals("thread_id") && modCount == this.modCount)
+                this.threads.put((long) value, Set.copyOf(result.keySet()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Cache all entries of a plot and index them.
+     * Must be called while holding this repository's lock.
+     *
+     * @param plotID The plot ID
+     * @param entries Every entry of the plot
+     */
+    private void cache(int plotID, @NotNull List<WebhookEntry> entries) {
+        List<WebhookEntry> previous = this.plots.put(plotID, entries);
+        if(previous != null) this.unindex(previous);
+        entries.forEach(entry -> this.messages.put(entry.messageID(), plotID));
+    }
+
+    /**
+     * Drop the indexes of a plot's entries.
+     * Must be called while holding this repository's lock.
+     *
+     * @param entries Every entry of the plot
+     */
+    private void unindex(@NotNull List<WebhookEntry> entries) {
+        for(WebhookEntry entry : entries) {
+            this.messages.remove(entry.messageID());
+            this.threads.remove(entry.threadID());
+        }
+    }
+
+    private @NotNull WebhookEntry applyPending(@NotNull WebhookEntry entry) {
+        PendingUpdate update = this.pending.get(entry.messageID());
+        return update == null? entry : update.applyTo(entry);
+    }
+
+    private synchronized void update(long messageID, @NotNull PendingUpdate update) {
+        this.pending.merge(messageID, update, PendingUpdate::merge);
+
+        Integer plotID = this.messages.get(messageID);
+        List<WebhookEntry> cached = plotID == null? null : this.plots.get(plotID);
+        if(cached != null) this.plots.put(plotID, cached.stream()
+            .map(entry -> entry.messageID() == messageID? update.applyTo(entry) : entry)
+            .toList());
+
+        if(this.pending.size() >= MAX_PENDING_UPDATES) this.scheduleFlush(0);
+        else this.scheduleFlush(FLUSH_DELAY_MILLIS);
+    }
+
+    /**
+     * Schedule a flush if not already scheduled, or reschedule it sooner.
+     * Must be called while holding this repository's lock.
+     *
+     * @param delay Delay in milliseconds
+     */
+    private void scheduleFlush(long delay) {
+        if(this.flushTask != null && !this.flushTask.isDone()) {
+            if(delay > 0 || !this.flushTask.cancel(false)) return;
+        }
+
+        try {
+            this.flushTask = this.scheduler.schedule(
+                () -> IOExecutor.supply(IOExecutor.Resource.DATABASE, () -> {
+                    this.flushScheduled();
+                    return null;
+                }),
+                delay, TimeUnit.MILLISECONDS
+            );
+        }
+        catch (RejectedExecutionException ex) {
+            DiscordPS.debug("Webhook entry update is not flushed because the repository is shut down.");
+        }
+    }
+
+    private void flushScheduled() {
+        try {
+            this.flushPending();
+
+            synchronized (this) {
+                if(this.flushFailures > 0)
+                    DiscordPS.info("Webhook entry updates are written after " + this.flushFailures + " failed attempt(s).");
+                this.flushFailures = 0;
+            }
+        }
+        catch (SQLException ex) {
+            final int failures;
+            final long delay;
+            final String plots;
+
+            synchronized (this) {
+                failures = ++this.flushFailures;
+                delay = Math.min(RETRY_DELAY_MILLIS << Math.min(failures - 1, 16), MAX_RETRY_DELAY_MILLIS);
+                plots = this.pendingPlots();
+                this.scheduleFlush(delay);
+            }
+
+            DiscordPS.warning(RUNTIME_SQL_EXCEPTION, ex.getMessage());
+            DiscordPS.error("Failed to write webhook entry updates of plot " + plots
+                + " (attempt " + failures + "), retrying in " + delay + "ms");
+
+            // Notify once per failure streak, the retries after are only logged
+            if(failures == 1) Notification.sendErrorEmbed(PLOT_FLUSH_SQL_EXCEPTION, ex.toString(), plots);
+        }
+    }
+
+    /**
+     * Describe the plots of every pending update.
+     * Must be called while holding this repository's lock.
+     *
+     * @return Every plot ID joined by comma, an update of an entry that is no longer cached is counted instead
+     */
+    private @NotNull String pendingPlots() {
+        Set<Integer> plots = new TreeSet<>();
+        int unknown = 0;
+        for(long messageID : this.pending.keySet()) {
+            Integer plotID = this.messages.get(messageID);
+            if(plotID != null) plots.add(plotID);
+            else unknown++;
+        }
+
+        StringJoiner joiner = new StringJoiner(", ");
+        plots.forEach(plotID -> joiner.add(String.valueOf(plotID)));
+        if(unknown > 0) joiner.add(unknown + " uncached entry(s)");
+        return joiner.toString();
+    }
+
+    /**
+     * Write every pending update in one transaction using a JDBC batch per column.
+     *
+     * @throws SQLException If the batch failed, the updates remain pending
+     */
+    private void flushPending() throws SQLException {
+        this.flushLock.lock();
+        try {
+            this.flushBatch();
+        }
+        finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write a snapshot of the pending updates, must be called while holding the flush lock.
+     */
+    private void flushBatch() throws SQLException {
+        final Map<Long, PendingUpdate> batch;
+
+        synchronized (this) {
+            if(this.pending.isEmpty()) return;
+            batch = new LinkedHashMap<>(this.pending);
+        }
+
+        String table = DatabaseConnection.getWebhookTableName();
+
+        try(Connection connection = DatabaseConnection.openConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try(PreparedStatement status = connection.prepareStatement("UPDATE " + table + " SET status = ? WHERE message_id = ?");
+                PreparedStatement feedback = connection.prepareStatement("UPDATE " + table + " SET feedback = ? WHERE message_id = ?");
+                PreparedStatement owner = connection.prepareStatement("UPDATE " + table + " SET owner_id = ? WHERE message_id = ?")) {
+
+                batch.forEach((messageID, update) -> {
+                    try {
+                        if(update.status() != null) addBatch(status, update.status().name(), messageID);
+                        if(update.feedback() != null) addBatch(feedback, update.feedback(), messageID);
+                        if(update.ownerID() != null) addBatch(owner, update.ownerID(), messageID);
+                    }
+                    catch (SQLException ex) { throw new CompletionException(ex); }
+                });
+
+                status.executeBatch();
+                feedback.executeBatch();
+                owner.executeBatch();
+                connection.commit();
+            }
+            catch (SQLException | CompletionException ex) {
+                connection.rollback();
+                if(ex instanceof CompletionException completion && completion.getCause() instanceof SQLException cause)
+                    throw cause;
+                throw ex;
+            }
+            finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        synchronized (this) {
+            this.modCount++;
+            // Keep the updates that are merged with newer values after the snapshot
+            batch.forEach(this.pending::remove);
+        }
+
+        DiscordPS.debug("Flushed " + batch.size() + " webhook entry update(s) to the database.");
+    }
+
+    private static void addBatch(@NotNull PreparedStatement statement,
+                                 @NotNull String value,
+                                 long messageID) throws SQLException {
+        statement.setObject(1, value);
+        statement.setObject(2, messageID);
+        statement.addBatch();
+    }
+
+    private <T> @NotNull CompletableFuture<T> supplyAsync(@NotNull Query<T> query) {
+        return IOExecutor.supply(IOExecutor.Resource.DATABASE, query::get);
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T get() throws SQLException;
+    }
+
+    /**
+     * Merged write-behind update of an entry, {@code null} column is not updated.
+     *
+     * @param status The status to update into
+     * @param feedback The feedback to update into
+     * @param ownerID The owner's discord ID to update into
+     */
+    private record PendingUpdate(@Nullable ThreadStatus status, @Nullable String feedback, @Nullable String ownerID) {
+
+        @NotNull PendingUpdate merge(@NotNull PendingUpdate newer) {
+            return new PendingUpdate(
+                newer.status != null? newer.status : this.status,
+                newer.feedback != null? newer.feedback : this.feedback,
+                newer.ownerID != null? newer.ownerID : this.ownerID
+            );
+        }
+
+        @NotNull WebhookEntry applyTo(@NotNull WebhookEntry entry) {
+            return new WebhookEntry(
+                entry.messageID(),
+                entry.threadID(),
+                entry.plotID(),
+                this.status != null? this.status : entry.status(),
+                entry.ownerUUID(),
+                this.ownerID != null? this.ownerID : entry.ownerID(),
+                this.feedback != null? this.feedback : entry.feedback(),
+                entry.version()
+            );
+        }
+    }
+}
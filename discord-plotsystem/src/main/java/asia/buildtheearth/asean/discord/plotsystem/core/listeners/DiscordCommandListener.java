@@ -33,11 +33,13 @@ final public class DiscordCommandListener extends DiscordCommandProvider impleme
     private static final String SLASH_SETUP_WEBHOOK =  SetupCommand.SETUP + "/" + SetupCommand.WEBHOOK;
     private static final String SLASH_SETUP_SHOWCASE =  SetupCommand.SETUP + "/" + SetupCommand.SHOWCASE;
     private static final String SLASH_SETUP_CHECKLIST =  SetupCommand.SETUP + "/" + SetupCommand.HELP;
+    private static final String SLASH_SETUP_RELOAD =  SetupCommand.SETUP + "/" + SetupCommand.RELOAD;
 
     private static final String SLASH_PLOT_ARCHIVE =  PlotCommand.PLOT_CTL + "/" + PlotCommand.ARCHIVE;
     private static final String SLASH_PLOT_FETCH =  PlotCommand.PLOT_CTL + "/" + PlotCommand.FETCH;
     private static final String SLASH_PLOT_DELETE =  PlotCommand.PLOT_CTL + "/" + PlotCommand.DELETE;
     private static final String SLASH_PLOT_SHOWCASE =  PlotCommand.PLOT_CTL + "/" + PlotCommand.SHOWCASE;
+    private static final String SLASH_PLOT_RECONCILE =  PlotCommand.PLOT_CTL + "/" + PlotCommand.RECONCILE;
 
     private static final String SLASH_REVIEW_EDIT =  ReviewCommand.REVIEW + "/" + ReviewCommand.EDIT;
     private static final String SLASH_REVIEW_SEND =  ReviewCommand.REVIEW + "/" + ReviewCommand.SEND;
@@ -128,6 +130,16 @@ final public class DiscordCommandListener extends DiscordCommandProvider impleme
         this.onSlashCommand(event, true, SetupCommand.class, SetupCommand::getHelpCommand);
     }
 
+    /**
+     * Entry point for setup reload command
+     *
+     * @param event Slash command event activated by JDA
+     */
+    @SlashCommand(path = SLASH_SETUP_RELOAD)
+    public void onSetupReload(@NotNull SlashCommandEvent event) {
+        this.onSlashCommand(event, true, SetupCommand.class, SetupCommand::getReloadCommand);
+    }
+
     /**
      * Entry point for {@code /review edit} command
      *
@@ -239,6 +251,26 @@ final public class DiscordCommandListener extends DiscordCommandProvider impleme
         );
     }
 
+    /**
+     * Entry point for plot reconcile command
+     *
+     * @param event Slash command event activated by JDA
+     */
+    @SlashCommand(path = SLASH_PLOT_RECONCILE)
+    public void onPlotReconcile(@NotNull SlashCommandEvent event) {
+        if(requiredReady(event)) return;
+
+        this.onSlashCommand(event, true, PlotCommand.class, PlotCommand::getReconcileCommand, () -> {
+            OptionMapping apply = event.getOption(PlotCommand.PLOT_APPLY);
+
+            return new OnPlotReconcile(
+                event.getUser().getIdLong(),
+                event.getIdLong(),
+                apply != null && apply.getAsBoolean()
+            );
+        });
+    }
+
     /**
      * Entry point for plot fetch command
      *
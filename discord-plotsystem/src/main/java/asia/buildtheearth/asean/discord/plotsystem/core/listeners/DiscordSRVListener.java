@@ -14,6 +14,7 @@ import asia.buildtheearth.asean.discord.plotsystem.commands.PlotCommand;
 import asia.buildtheearth.asean.discord.plotsystem.core.providers.PluginListenerProvider;
 import asia.buildtheearth.asean.discord.plotsystem.commands.SetupCommand;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.*;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.StartupStages.Stage;
 import github.scarsz.discordsrv.dependencies.okhttp3.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -22,6 +23,7 @@ import java.io.IOException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static asia.buildtheearth.asean.discord.plotsystem.Constants.REPOSITORY_RELEASE_URL;
 import static asia.buildtheearth.asean.discord.plotsystem.Debug.Warning.UPDATE_CHECKING_FAILED;
@@ -75,9 +77,14 @@ public class DiscordSRVListener extends PluginListenerProvider {
      * connect the plugin to DiscordSRV's JDA instance
      * then initialize and validate for all required plugin data.
      *
+     * <p>Slash commands are registered right away so that informational commands can be served
+     * while the rest of the {@linkplain StartupStages startup stages} run in parallel.</p>
+     *
      * <p>Note: Must be called after DiscordSRV ready event</p>
+     *
+     * @return Future that completes when the plugin is marked as ready (or not)
      */
-    public void subscribeAndValidateJDA() {
+    public CompletableFuture<Void> subscribeAndValidateJDA() {
         this.subscribed = true;
 
         // Subscribe to event listeners
@@ -102,52 +109,59 @@ public class DiscordSRVListener extends PluginListenerProvider {
         this.plugin.updateSlashCommands();
 
 
-        // Initialize main webhook
-        try {
-            ForumWebhookImpl forumWebhook = new ForumWebhookImpl(this.plugin.getJDA(), this.plugin.getWebhookConfig());
-            this.plugin.initWebhook(new PlotSystemWebhook(this.plugin, forumWebhook));
-        }
-        catch (RuntimeException ex) {
-            DiscordPS.error(
-                Debug.Error.WEBHOOK_NOT_CONFIGURED,
-                "Failed to initialize and validate webhook reference, maybe it is un-configured?", ex
-            );
-        }
+        StartupStages startup = this.plugin.getStartup();
 
-        // Initialize showcase webhook
-        try {
-            ForumWebhookImpl showcaseWebhook = new ForumWebhookImpl(this.plugin.getJDA(), this.plugin.getShowcaseConfig());
-            this.plugin.initShowcase(new ShowcaseWebhook(showcaseWebhook));
-        }
-        catch (RuntimeException ex) {
-            DiscordPS.warning(Debug.Warning.SHOWCASE_WEBHOOK_NOT_CONFIGURED);
-        }
+        // Retrieve both webhooks in parallel, each blocks on a discord API call
+        CompletableFuture<Void> plotWebhook = startup.supply(Stage.PLOT_WEBHOOK, IOExecutor.Resource.HTTP, () -> {
+            try {
+                ForumWebhookImpl forumWebhook = new ForumWebhookImpl(this.plugin.getJDA(), this.plugin.getRestScheduler(), this.plugin.getWebhookConfig());
+                this.plugin.initWebhook(new PlotSystemWebhook(this.plugin, forumWebhook));
+            }
+            catch (RuntimeException ex) {
+                DiscordPS.error(
+                    Debug.Error.WEBHOOK_NOT_CONFIGURED,
+                    "Failed to initialize and validate webhook reference, maybe it is un-configured?", ex
+                );
+            }
+            return null;
+        });
+
+        CompletableFuture<Void> showcaseWebhook = startup.supply(Stage.SHOWCASE_WEBHOOK, IOExecutor.Resource.HTTP, () -> {
+            try {
+                ForumWebhookImpl forumWebhook = new ForumWebhookImpl(this.plugin.getJDA(), this.plugin.getRestScheduler(), this.plugin.getShowcaseConfig());
+                this.plugin.initShowcase(new ShowcaseWebhook(forumWebhook));
+            }
+            catch (RuntimeException ex) {
+                DiscordPS.warning(Debug.Warning.SHOWCASE_WEBHOOK_NOT_CONFIGURED);
+            }
+            return null;
+        });
 
         // Webhook is initialized, validate its functionalities
-        if(this.plugin.getWebhook() != null) {
+        // Validate the webhook(s), optionally including the ShowcaseWebhook if present.
+        // Completed future with no error indicate a successful validation
+        // Output is checked again by Debug.Error class to determine if the plugin is ready or not.
+        startup.track(Stage.WEBHOOK_VALIDATION, plotWebhook.thenCombine(showcaseWebhook, (plot, showcase) -> {
+            if(this.plugin.getWebhook() == null) return CompletableFuture.<Void>completedFuture(null);
+
             PlotSystemWebhookValidator validator = this.newWebhookValidator();
 
-            // Validate the webhook(s), optionally including the ShowcaseWebhook if present.
-            // Completed future with no error indicate a successful validation
-            // Output is checked again by Debug.Error class to determine if the plugin is ready or not.
-            Optional.ofNullable(this.plugin.getShowcase())
+            return Optional.ofNullable(this.plugin.getShowcase())
                     .map(ShowcaseWebhook::getProvider)
                     .map(validator::validate)
-                    .orElseGet(validator::validate)
-                    .orTimeout(60, TimeUnit.SECONDS)
-                    .whenComplete((ok, error) -> {
-
-                if(error != null) {
-                    DiscordPS.error(Debug.Error.WEBHOOK_VALIDATION_UNKNOWN_EXCEPTION, error);
-                    this.onPluginNotReady();
-                    return;
-                }
-
-                if(this.plugin.isReady()) this.onPluginReady();
-                else this.onPluginNotReady();
-            });
-        }
-        else this.onPluginNotReady();
+                    .orElseGet(validator::validate);
+        }).thenCompose(Function.identity()).orTimeout(60, TimeUnit.SECONDS).exceptionally(error -> {
+            DiscordPS.error(Debug.Error.WEBHOOK_VALIDATION_UNKNOWN_EXCEPTION, error);
+            return null;
+        }));
+
+        // The database stage is tracked by the plugin initialization, wait for it too
+        return startup.all().thenRun(() -> {
+            startup.report();
+
+            if(this.plugin.isReady()) this.onPluginReady();
+            else this.onPluginNotReady();
+        });
     }
 
     /**
@@ -162,6 +176,9 @@ public class DiscordSRVListener extends PluginListenerProvider {
 
         Notification.notify(PLUGIN_STARTED);
 
+        // Delete stored media that no plot references anymore
+        IOExecutor.supply(IOExecutor.Resource.DISK, () -> this.plugin.getMediaStore().collectGarbage());
+
         this.checkForUpdate()
             .orTimeout(10, TimeUnit.SECONDS)
             .whenComplete(this::notifyPluginReady);
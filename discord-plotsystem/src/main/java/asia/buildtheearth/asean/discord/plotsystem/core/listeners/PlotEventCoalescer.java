@@ -0,0 +1,108 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.listeners;
+
+import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesce consecutive plot events of the same plot within a time window.
+ *
+ * <p>The first event of a plot opens its window, every event of the same plot
+ * received before the window closes is folded into the same batch.
+ * When the window closes, the batch is flushed in the order it is received
+ * so that only the latest event is applied as the net state transition.</p>
+ *
+ * <p>Flushing is atomic per plot ID: a batch is always handed to the flush action
+ * before any later event of the same plot can be queued.</p>
+ */
+public final class PlotEventCoalescer {
+
+    /**
+     * Pending batch of each plot ID waiting for its window to close.
+     */
+    private final Map<Integer, List<PlotEvent>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * The coalescing window in milliseconds.
+     */
+    private final long window;
+
+    /**
+     * Action to invoke with each flushed batch by its plot ID.
+     */
+    private final BiConsumer<Integer, List<PlotEvent>> onFlush;
+
+    /**
+     * Create a new event coalescer
+     *
+     * @param window The coalescing window in milliseconds, zero or negative disables coalescing
+     * @param onFlush Action invoked with the plot ID and all of its coalesced events in received order
+     */
+    public PlotEventCoalescer(long window, @NotNull BiConsumer<Integer, List<PlotEvent>> onFlush) {
+        this.window = window;
+        this.onFlush = onFlush;
+    }
+
+    /**
+     * Offer an event to be coalesced with the other events of its plot.
+     *
+     * @param event The event to coalesce
+     */
+    public void offer(@NotNull PlotEvent event) {
+        if(this.window <= 0) {
+            this.onFlush.accept(event.getPlotID(), List.of(event));
+            return;
+        }
+
+        this.pending.compute(event.getPlotID(), (plotID, batch) -> {
+            if(batch == null) {
+                List<PlotEvent> opened = batch = new ArrayList<>();
+                CompletableFuture
+                    .delayedExecutor(this.window, TimeUnit.MILLISECONDS)
+                    .execute(() -> this.flush(plotID, opened));
+            }
+            batch.add(event);
+            return batch;
+        });
+    }
+
+    /**
+     * Close the window of a plot immediately, flushing its pending batch if exist.
+     *
+     * <p>Call this before queuing any un-coalesced event of the plot to preserve event ordering.</p>
+     *
+     * @param plotID The plot ID to flush
+     */
+    public void flush(int plotID) {
+        this.pending.computeIfPresent(plotID, (id, batch) -> {
+            this.onFlush.accept(id, List.copyOf(batch));
+            return null;
+        });
+    }
+
+    /**
+     * Close the window of a batch, unless it is already flushed
+     * so that a batch opened after an early flush keeps its own window.
+     */
+    private void flush(int plotID, @NotNull List<PlotEvent> opened) {
+        this.pending.computeIfPresent(plotID, (id, batch) -> {
+            if(batch != opened) return batch;
+            this.onFlush.accept(id, List.copyOf(batch));
+            return null;
+        });
+    }
+
+    /**
+     * Flush every pending batch immediately.
+     */
+    public void flushAll() {
+        this.pending.keySet().forEach(this::flush);
+    }
+}
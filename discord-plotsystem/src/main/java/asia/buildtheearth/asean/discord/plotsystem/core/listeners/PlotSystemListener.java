@@ -3,109 +3,215 @@ package asia.buildtheearth.asean.discord.plotsystem.core.listeners;
 import asia.buildtheearth.asean.discord.plotsystem.api.events.*;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notification;
-import github.scarsz.discordsrv.util.SchedulerUtil;
+import asia.buildtheearth.asean.discord.plotsystem.ConfigPaths;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.api.ApiSubscribe;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotSystemWebhook;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * Main Listener for plot system
+ *
+ * <p>Every event is queued to its plot's mailbox in {@link PlotUpdateQueue},
+ * events of the same plot are applied strictly in order while different plots update in parallel.
+ * Status changing events are first folded by {@link PlotEventCoalescer} so that a burst of events
+ * on the same plot is applied as one update.</p>
  */
 @SuppressWarnings("unused")
 public class PlotSystemListener {
 
     /**
-     * A mandatory delay (in ticks) to make sure plot-system plugin
-     * has enough time to resolve and update
-     * plot data before this plugin reacts to the event.
-     * <p>
-     * Delay is set to 3 seconds: 0.05 minutes × 60,000 ms ÷ 50 ms per tick = 60 ticks.
+     * Default number of plot that can be updated in parallel if not configured.
+     */
+    protected static final int DEFAULT_WORKER_THREADS = 4;
+
+    /**
+     * Default coalescing window (in milliseconds) if not configured.
      */
-    protected static final long DELAYED_TASK = 60;
+    protected static final long DEFAULT_COALESCE_WINDOW = 1500;
 
     protected final PlotSystemWebhook webhook;
 
+    protected final PlotUpdateQueue queue;
+
+    protected final PlotEventCoalescer coalescer;
+
     public PlotSystemListener(PlotSystemWebhook webhook) {
         this.webhook = webhook;
+        this.queue = new PlotUpdateQueue(DiscordPS.getPlugin().getConfig()
+            .getInt(ConfigPaths.PLOT_UPDATE_WORKER_THREADS, DEFAULT_WORKER_THREADS));
+        this.coalescer = new PlotEventCoalescer(DiscordPS.getPlugin().getConfig()
+            .getLong(ConfigPaths.PLOT_UPDATE_COALESCE_WINDOW, DEFAULT_COALESCE_WINDOW),
+            (plotID, events) -> this.queueTask(plotID, () -> this.onCoalescedEvents(events))
+        );
+    }
+
+    /**
+     * Queue a plot update task to the plot's mailbox.
+     *
+     * @param plotID The plot ID this task is updating
+     * @param task The task returning a future that completes when the update is done
+     */
+    protected void queueTask(int plotID, @NotNull Supplier<CompletableFuture<?>> task) {
+        this.queue.submit(plotID, task);
+    }
+
+    /**
+     * Queue a plot update task after flushing any pending coalesced events of the plot,
+     * used by events that are not coalesced.
+     *
+     * @param plotID The plot ID this task is updating
+     * @param task The task returning a future that completes when the update is done
+     */
+    protected void flushAndQueueTask(int plotID, @NotNull Supplier<CompletableFuture<?>> task) {
+        this.coalescer.flush(plotID);
+        this.queueTask(plotID, task);
+    }
+
+    /**
+     * Queue an update that is not triggered by a plot event (e.g. a reconcile repair) to the plot's mailbox,
+     * after flushing any pending coalesced events of the plot so it applies on top of them.
+     *
+     * @param plotID The plot ID this task is updating
+     * @param task The task returning a future of its result
+     * @return Future of the task's result, completes exceptionally if the task failed,
+     *         or if the queue is shut down or moved on before the task completed
+     * @param <T> The result type of the task
+     */
+    public <T> @NotNull CompletableFuture<T> submitUpdate(int plotID, @NotNull Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        this.coalescer.flush(plotID);
+        this.queue.submit(plotID, () -> {
+            try {
+                return task.get().whenComplete((value, error) -> {
+                    if(error != null) result.completeExceptionally(error);
+                    else result.complete(value);
+                });
+            }
+            catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return null;
+            }
+        }).thenRun(() -> result.completeExceptionally(
+            new IllegalStateException("Update of plot ID " + plotID + " was not applied by the plot update queue")
+        ));
+
+        return result;
+    }
+
+    /**
+     * Stop receiving new plot updates and wait for all queued updates to finish.
+     *
+     * @param timeout Maximum time in seconds to wait for
+     */
+    public void shutdown(long timeout) {
+        this.coalescer.flushAll();
+        this.queue.shutdown(timeout);
     }
 
-    protected void queueTask(@NotNull Runnable task) {
-        SchedulerUtil.runTaskLaterAsynchronously(DiscordPS.getPlugin(), task, DELAYED_TASK);
+    /**
+     * Apply coalesced events of a plot as a single update.
+     * The latest event decides the plot status while every event before it is kept as history.
+     *
+     * @param events All coalesced events of a plot in received order
+     * @return The update future to be awaited by the plot's mailbox
+     */
+    protected @Nullable CompletableFuture<?> onCoalescedEvents(@NotNull List<PlotEvent> events) {
+        PlotEvent latest = events.getLast();
+        List<PlotEvent> history = events.subList(0, events.size() - 1);
+
+        if(!history.isEmpty()) DiscordPS.debug("Coalesced " + events.size()
+            + " events of plot ID " + latest.getPlotID() + " into " + latest.getClass().getSimpleName());
+
+        return switch (latest) {
+            case PlotSubmitEvent submit -> this.webhook.onPlotSubmit(submit, history);
+            case PlotAbandonedEvent abandoned -> this.webhook.onPlotAbandon(abandoned, history);
+            case PlotUndoEvent undo -> this.webhook.onPlotUndo(undo, history);
+            case PlotReviewEvent review -> this.webhook.onPlotReview(review, history);
+            case PlotArchiveEvent archive -> this.webhook.updatePlot(archive, history, ThreadStatus.archived, plot ->
+                asia.buildtheearth.asean.discord.plotsystem.core.system.Notification.notify(
+                    Notification.PlotMessage.PLOT_ARCHIVE, plot.threadID(), String.valueOf(archive.getPlotID())
+                )
+            );
+            default -> throw new IllegalStateException("Unexpected coalesced event: " + latest.getClass().getSimpleName());
+        };
     }
 
     @ApiSubscribe
     public void onPlotCreated(@NotNull PlotCreateEvent event) {
-        Runnable task = () -> this.webhook.createAndRegisterNewPlot(event.getPlotID(), event.getData());
+        Supplier<CompletableFuture<?>> task = () -> this.webhook.createAndRegisterNewPlot(event.getPlotID(), event.getData());
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+
+        // Download owner avatar while the plot is waiting in queue
+        if(event.getData() != null && event.getData().ownerUUID() != null)
+            DiscordPS.getPlugin().getAvatarCache().prefetch(event.getData().ownerUUID());
+
+        this.flushAndQueueTask(event.getPlotID(), task);
     }
 
     @ApiSubscribe
     public void onPlotFeedback(@NotNull PlotFeedbackEvent event) {
-        Runnable task = () -> this.webhook.onPlotReview(event);
+        Supplier<CompletableFuture<?>> task = () -> this.webhook.onPlotReview(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.flushAndQueueTask(event.getPlotID(), task);
     }
 
     @ApiSubscribe
     public void onPlotApproved(@NotNull PlotApprovedEvent event) {
-        Runnable task = () -> this.webhook.onPlotReview(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotRejected(@NotNull PlotRejectedEvent event) {
-        Runnable task = () -> this.webhook.onPlotReview(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotAbandoned(@NotNull PlotAbandonedEvent event) {
-        Runnable task = () -> this.webhook.onPlotAbandon(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotSubmitted(@NotNull PlotSubmitEvent event) {
-        Runnable task = () -> this.webhook.onPlotSubmit(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotUndoSubmit(@NotNull PlotUndoSubmitEvent event) {
-        Runnable task = () -> this.webhook.onPlotUndo(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotUndoReview(@NotNull PlotUndoReviewEvent event) {
-        Runnable task = () -> this.webhook.onPlotUndo(event);
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 
     @ApiSubscribe
     public void onPlotInactivityNotice(@NotNull InactivityNoticeEvent event) {
-        Runnable task = () -> this.webhook.onPlotInactivity(event);
+        Supplier<CompletableFuture<?>> task = () -> {
+            this.webhook.onPlotInactivity(event);
+            return null;
+        };
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.flushAndQueueTask(event.getPlotID(), task);
     }
 
     @ApiSubscribe
     public void onPlotArchive(@NotNull PlotArchiveEvent event) {
-        Runnable task = () -> this.webhook.updatePlot(event, ThreadStatus.archived, plot ->
-            asia.buildtheearth.asean.discord.plotsystem.core.system.Notification.notify(
-                Notification.PlotMessage.PLOT_ARCHIVE, plot.threadID(), String.valueOf(event.getPlotID())
-            )
-        );
         DiscordPS.debug("Got event: " + event.getClass().getSimpleName());
-        this.queueTask(task);
+        this.coalescer.offer(event);
     }
 }
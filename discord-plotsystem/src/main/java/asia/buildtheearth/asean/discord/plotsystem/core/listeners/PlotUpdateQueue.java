@@ -0,0 +1,192 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.listeners;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-plot ordered update queue.
+ *
+ * <p>Every plot ID owns a mailbox which is the tail of its currently queued task chain.
+ * A new task of the same plot is chained after the tail and only start after
+ * the previous task's future is completed, therefore events of a single plot
+ * is always applied in the order it is received.
+ * Different plots are processed in parallel on a bounded pool of worker threads.</p>
+ *
+ * <p>A task is never failed in the chain: exceptions are logged and the next task proceeds,
+ * each task is given {@link #TASK_TIMEOUT} seconds (by default) before the mailbox moves on.</p>
+ */
+public final class PlotUpdateQueue {
+
+    /**
+     * Maximum time in seconds to wait for a queued task to complete before starting the next one.
+     */
+    private static final long TASK_TIMEOUT = 60;
+
+    /**
+     * Tail future of each plot's mailbox, removed once the mailbox is drained.
+     */
+    private final Map<Integer, CompletableFuture<Void>> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Bounded worker pool that runs each task.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Maximum time in milliseconds to wait for a queued task, see {@link #TASK_TIMEOUT}.
+     */
+    private final long taskTimeout;
+
+    /**
+     * Whether this queue is shut down and no longer accepts new tasks.
+     */
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a new update queue
+     *
+     * @param workerThreads Maximum number of plots to be updated in parallel
+     */
+    public PlotUpdateQueue(int workerThreads) {
+        this(workerThreads, TimeUnit.SECONDS.toMillis(TASK_TIMEOUT));
+    }
+
+    /**
+     * Create a new update queue with a custom task timeout
+     *
+     * @param workerThreads Maximum number of plots to be updated in parallel
+     * @param taskTimeout Maximum time in milliseconds to wait for a queued task before starting the next one
+     */
+    public PlotUpdateQueue(int workerThreads, long taskTimeout) {
+        this.taskTimeout = taskTimeout;
+        this.workers = Executors.newFixedThreadPool(
+            Math.max(1, workerThreads),
+            new ThreadFactoryBuilder().setNameFormat("DiscordPlotSystem - Plot Update %d").build()
+        );
+    }
+
+    /**
+     * Queue a task to the mailbox of the given plot ID.
+     *
+     * @param plotID The plot ID this task is updating
+     * @param task The task to run, returning the future that completes when all of its work is done.
+     *             A {@code null} future is treated as an already completed task.
+     * @return Future that completes when the task is done, this future never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<Void> submit(int plotID, @NotNull Supplier<@Nullable CompletableFuture<?>> task) {
+        if(this.stopped) {
+            DiscordPS.debug("Plot update queue is shut down, ignored a task of plot ID: " + plotID);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> queued = this.mailboxes.compute(plotID, (id, tail) ->
+            (tail == null? CompletableFuture.<Void>completedFuture(null) : tail)
+                .handleAsync((ok, error) -> this.execute(id, task), this.workers)
+                .thenCompose(Function.identity())
+        );
+
+        // Drain the mailbox if nothing else has been queued after this task
+        queued.whenComplete((ok, error) -> this.mailboxes.remove(plotID, queued));
+
+        return queued;
+    }
+
+    /**
+     * Check if a plot has any pending task in its mailbox.
+     *
+     * @param plotID The plot ID to check for
+     * @return True if the plot mailbox is not yet drained
+     */
+    public boolean isPending(int plotID) {
+        return this.mailboxes.containsKey(plotID);
+    }
+
+    /**
+     * Stop accepting new tasks and wait for queued tasks to finish.
+     *
+     * <p>Every mailbox tail is awaited first, including the REST futures its tasks are chained on,
+     * so no pending stage is scheduled to the workers after they are shut down.
+     * A task submitted after this is ignored and returns an already completed future.</p>
+     *
+     * @param timeout Maximum time in seconds to wait for
+     */
+    public void shutdown(long timeout) {
+        this.stopped = true;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+
+        try {
+            while(true) {
+                CompletableFuture<?>[] pending = this.mailboxes.values().stream()
+                    .filter(tail -> !tail.isDone())
+                    .toArray(CompletableFuture[]::new);
+                if(pending.length == 0) break;
+
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0) throw new TimeoutException();
+
+                CompletableFuture.allOf(pending).get(remaining, TimeUnit.NANOSECONDS);
+            }
+
+            this.workers.shutdown();
+            if(!this.workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                throw new TimeoutException();
+        }
+        catch (TimeoutException ex) {
+            DiscordPS.warning("Plot update queue did not finish in time, "
+                + this.mailboxes.size() + " plot(s) may not be updated.");
+            this.workers.shutdownNow();
+        }
+        catch (ExecutionException ex) {
+            // Mailbox tails never complete exceptionally
+            DiscordPS.error("Plot update queue failed to drain", ex);
+            this.workers.shutdownNow();
+        }
+        catch (InterruptedException ex) {
+            this.workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        this.mailboxes.clear();
+    }
+
+    /**
+     * Run a task and guard its returned future to never fail the mailbox chain.
+     *
+     * @param plotID The plot ID for debugging
+     * @param task The task to run
+     * @return Guarded future of the task
+     */
+    private @NotNull CompletableFuture<Void> execute(int plotID, @NotNull Supplier<CompletableFuture<?>> task) {
+        final CompletableFuture<?> future;
+        try {
+            future = task.get();
+        }
+        catch (RuntimeException ex) {
+            DiscordPS.error("Plot update task threw an exception for plot ID: " + plotID, ex);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if(future == null) return CompletableFuture.completedFuture(null);
+
+        // Guard with a dependent stage so the timeout does not complete the task's own future
+        return future.<Void>handle((ok, error) -> {
+            if(error != null) DiscordPS.debug("Plot update task of plot ID " + plotID + " completed exceptionally: " + error);
+            return null;
+        }).orTimeout(this.taskTimeout, TimeUnit.MILLISECONDS).exceptionally(error -> {
+            DiscordPS.warning("Plot update task of plot ID " + plotID + " timed out, proceeding to the next update.");
+            return null;
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.projection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link GeographicProjection} decorator that caches converted coordinates.
+ *
+ * <p>Coordinates are quantized before lookup so that the same location
+ * written with a different floating point noise still hits the cache:
+ * minecraft coordinates to {@value #BLOCK_QUANTUM} of a block
+ * and geographic coordinates to {@value #DEGREE_QUANTUM} of a degree (around 1 centimeter).
+ * The least recently used conversion is evicted first once the cache is full.</p>
+ *
+ * <p>Returned arrays are copies, modifying it does not affect the cache.</p>
+ */
+public final class CachedProjection implements GeographicProjection {
+
+    /** Default maximum number of cached conversions */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /** Minecraft coordinates quantum in blocks */
+    static final double BLOCK_QUANTUM = 0.01;
+
+    /** Geographic coordinates quantum in degrees */
+    static final double DEGREE_QUANTUM = 1e-7;
+
+    private record Key(boolean inverse, long a, long b) { }
+
+    private final GeographicProjection projection;
+    private final Map<Key, double[]> cache;
+
+    /**
+     * Cache a projection with {@link #DEFAULT_MAXIMUM_SIZE}.
+     *
+     * @param projection The projection to cache
+     */
+    public CachedProjection(@NotNull GeographicProjection projection) {
+        this(projection, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Cache a projection.
+     *
+     * @param projection The projection to cache
+     * @param maximumSize Maximum number of cached conversions for both directions combined
+     * @throws IllegalArgumentException If the maximum size is less than 1
+     */
+    public CachedProjection(@NotNull GeographicProjection projection, int maximumSize) {
+        if(maximumSize < 1) throw new IllegalArgumentException("Cache maximum size must be at least 1");
+
+        this.projection = projection;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+                return this.size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Get the underlying projection of this cache.
+     *
+     * @return The cached projection
+     */
+    public @NotNull GeographicProjection getProjection() {
+        return this.projection;
+    }
+
+    /**
+     * Get the number of cached conversions.
+     *
+     * @return The cache size
+     */
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The coordinates are converted at its quantized value.</p>
+     */
+    @Override
+    public double[] toGeo(double x, double z) throws IllegalArgumentException {
+        long qx = quantize(x, BLOCK_QUANTUM), qz = quantize(z, BLOCK_QUANTUM);
+        return this.convert(new Key(false, qx, qz), () -> this.projection.toGeo(qx * BLOCK_QUANTUM, qz * BLOCK_QUANTUM));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The coordinates are converted at its quantized value.</p>
+     */
+    @Override
+    public double[] fromGeo(double lon, double lat) throws IllegalArgumentException {
+        long qLon = quantize(lon, DEGREE_QUANTUM), qLat = quantize(lat, DEGREE_QUANTUM);
+        return this.convert(new Key(true, qLon, qLat), () -> this.projection.fromGeo(qLon * DEGREE_QUANTUM, qLat * DEGREE_QUANTUM));
+    }
+
+    private double[] convert(@NotNull Key key, @NotNull Supplier<double[]> conversion) {
+        synchronized (this.cache) {
+            double[] cached = this.cache.get(key);
+            if(cached != null) return cached.clone();
+        }
+
+        // Convert outside the lock, a concurrent miss of the same key only converts twice
+        double[] converted = conversion.get();
+
+        synchronized (this.cache) {
+            this.cache.put(key, converted.clone());
+        }
+        return converted;
+    }
+
+    private static long quantize(double value, double quantum) {
+        if(!Double.isFinite(value)) throw new IllegalArgumentException("Coordinates must be finite: " + value);
+        return Math.round(value / quantum);
+    }
+}
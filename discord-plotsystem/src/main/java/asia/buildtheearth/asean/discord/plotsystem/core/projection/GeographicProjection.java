@@ -0,0 +1,34 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.projection;
+
+/**
+ * Projection between minecraft coordinates and geographic coordinates.
+ *
+ * <p>Geographic coordinates are {@code WGS84 EPSG:4979} as {@code {lon, lat}} in degrees,
+ * same as {@link asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData#geoCoordinates()}.</p>
+ *
+ * @see TerraProjection
+ * @see CachedProjection
+ */
+public interface GeographicProjection {
+
+    /**
+     * Convert minecraft coordinates to geographic coordinates.
+     *
+     * @param x Minecraft x-axis coordinates
+     * @param z Minecraft z-axis coordinates
+     * @return Geographic coordinates as {@code {lon, lat}} in degrees
+     * @throws IllegalArgumentException If the coordinates are out of the projection bounds
+     */
+    double[] toGeo(double x, double z) throws IllegalArgumentException;
+
+    /**
+     * Convert geographic coordinates to minecraft coordinates,
+     * the inverse of {@link #toGeo(double, double)}.
+     *
+     * @param lon Longitude in degrees
+     * @param lat Latitude in degrees
+     * @return Minecraft coordinates as {@code {x, z}}
+     * @throws IllegalArgumentException If the coordinates are out of the projection bounds
+     */
+    double[] fromGeo(double lon, double lat) throws IllegalArgumentException;
+}
@@ -0,0 +1,95 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.projection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+
+/**
+ * The BTE projection (modified conformal airocean, flipped and scaled to minecraft blocks)
+ * provided by the terraminusminus library.
+ *
+ * <p>Plot-System converts its plot coordinates with this same library,
+ * so it is already loaded on any server running Plot-System and every conversion is done in memory.
+ * The library is bound at runtime instead of being shaded here since its conformal correction data alone
+ * is larger than this plugin.</p>
+ *
+ * @see <a href="https://github.com/BuildTheEarth/terraminusminus">BuildTheEarth/terraminusminus</a>
+ */
+public final class TerraProjection implements GeographicProjection {
+
+    private static final String SETTINGS_CLASS = "net.buildtheearth.terraminusminus.generator.EarthGeneratorSettings";
+    private static final String PROJECTION_CLASS = "net.buildtheearth.terraminusminus.projection.GeographicProjection";
+
+    private final Object projection;
+    private final MethodHandle toGeo;
+    private final MethodHandle fromGeo;
+
+    private TerraProjection(@NotNull Object projection, @NotNull MethodHandle toGeo, @NotNull MethodHandle fromGeo) {
+        this.projection = projection;
+        this.toGeo = toGeo;
+        this.fromGeo = fromGeo;
+    }
+
+    /**
+     * Load the BTE default projection.
+     *
+     * @param loader The class loader to find terraminusminus with
+     * @return The projection, or empty if terraminusminus is not loaded on this server
+     */
+    public static @NotNull Optional<GeographicProjection> load(@NotNull ClassLoader loader) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> settings = Class.forName(SETTINGS_CLASS, true, loader);
+            Class<?> projection = Class.forName(PROJECTION_CLASS, true, loader);
+
+            // EarthGeneratorSettings.parse(EarthGeneratorSettings.BTE_DEFAULT_SETTINGS).projection()
+            String defaults = (String) lookup.findStaticGetter(settings, "BTE_DEFAULT_SETTINGS", String.class).invoke();
+            Object parsed = lookup.findStatic(settings, "parse", MethodType.methodType(settings, String.class)).invoke(defaults);
+            Object instance = lookup.findVirtual(settings, "projection", MethodType.methodType(projection)).invoke(parsed);
+
+            MethodType convert = MethodType.methodType(double[].class, double.class, double.class);
+            return Optional.of(new TerraProjection(
+                instance,
+                lookup.findVirtual(projection, "toGeo", convert),
+                lookup.findVirtual(projection, "fromGeo", convert)
+            ));
+        }
+        catch (ClassNotFoundException | LinkageError ex) {
+            return Optional.empty();
+        }
+        catch (Throwable ex) {
+            throw new IllegalStateException("Failed to initialize BTE projection from terraminusminus", ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] toGeo(double x, double z) throws IllegalArgumentException {
+        return this.invoke(this.toGeo, x, z);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] fromGeo(double lon, double lat) throws IllegalArgumentException {
+        return this.invoke(this.fromGeo, lon, lat);
+    }
+
+    private double[] invoke(@NotNull MethodHandle method, double a, double b) {
+        try {
+            return (double[]) method.invoke(this.projection, a, b);
+        }
+        catch (RuntimeException | Error ex) {
+            throw ex;
+        }
+        catch (Throwable ex) { // OutOfProjectionBoundsException
+            throw new IllegalArgumentException("Coordinates out of projection bounds: " + a + ", " + b, ex);
+        }
+    }
+}
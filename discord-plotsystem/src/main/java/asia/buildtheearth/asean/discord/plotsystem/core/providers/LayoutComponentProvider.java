@@ -9,7 +9,10 @@ import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.LayoutComp
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 /**
@@ -22,6 +25,10 @@ import java.util.function.BiConsumer;
  * @param <T> The component type managed by this provider (must extend {@link ComponentV2}).
  * @param <V> The subcomponent type of this layout, as an {@link AvailableComponent.SubComponent} enum.
  *            The enum defines the positions of each subcomponent and organizes IDs based on their ordinal values.
+ *
+ * <p>Changes are tracked per subcomponent. A component rebuilt from raw data starts with no changes,
+ * so a layout can tell which part actually differs from the sent message
+ * (see {@link #isChanged()} and {@link #getChanges()}).</p>
  */
 public abstract class LayoutComponentProvider<T extends ComponentV2, V extends Enum<V> & AvailableComponent.SubComponent>
     implements LayoutComponent<T> {
@@ -39,6 +46,8 @@ public abstract class LayoutComponentProvider<T extends ComponentV2, V extends E
 
     private @Nullable LayoutComponent<T> provider;
     private final EnumMap<V, Builder<ComponentV2>> builders;
+    private final EnumSet<V> changes;
+    private boolean restyled;
     private final V[] values;
     private final int layout;
     private final AvailableComponent type;
@@ -52,6 +61,8 @@ public abstract class LayoutComponentProvider<T extends ComponentV2, V extends E
      */
     protected LayoutComponentProvider(int layout, @NotNull AvailableComponent type, V[] values) {
         this.builders = new EnumMap<>(values[0].getDeclaringClass());
+        this.changes = EnumSet.noneOf(values[0].getDeclaringClass());
+        this.restyled = false;
         this.values = values;
         this.layout = layout;
         this.type = type;
@@ -100,7 +111,42 @@ public abstract class LayoutComponentProvider<T extends ComponentV2, V extends E
      * @param builder The function that builds the corresponding ComponentV2.
      */
     protected void register(V component, Builder<ComponentV2> builder) {
-        builders.putIfAbsent(component, builder);
+        if(builders.putIfAbsent(component, builder) == null) this.changes.add(component);
+    }
+
+    /**
+     * Mark a registered subcomponent as changed,
+     * call this whenever the data a builder reads from is modified.
+     *
+     * @param component The subcomponent that is changed.
+     */
+    protected void markChanged(V component) {
+        this.changes.add(component);
+    }
+
+    /**
+     * Mark this layout component's own data (e.g. the container accent color) as changed.
+     */
+    protected void markRestyled() {
+        this.restyled = true;
+    }
+
+    /**
+     * Check if this component differs from the data it was rebuilt from.
+     *
+     * @return True if any subcomponent or the component itself is changed.
+     */
+    public boolean isChanged() {
+        return this.restyled || !this.changes.isEmpty();
+    }
+
+    /**
+     * Get the subcomponents changed since this component is rebuilt.
+     *
+     * @return Unmodifiable set of the changed subcomponents.
+     */
+    public @NotNull Set<V> getChanges() {
+        return Collections.unmodifiableSet(EnumSet.copyOf(this.changes));
     }
 
     /**
@@ -139,6 +185,10 @@ public abstract class LayoutComponentProvider<T extends ComponentV2, V extends E
 
             eachComponent.accept(packedID, component);
         }
+
+        // Rebuilt data is what's already sent, nothing is changed yet
+        this.changes.clear();
+        this.restyled = false;
     }
 
     /**
@@ -24,7 +24,11 @@ public abstract class NotificationProvider {
                               Config plugin,
                               Config errors,
                               String errorTitle,
-                              String errorLabel) {}
+                              String errorLabel,
+                              long digestWindow) {}
+
+    /** Default time in milliseconds to buffer informational notifications into one digest */
+    protected static final long DEFAULT_DIGEST_WINDOW = 5000;
 
     private static Notification<? extends MessageChannel> notification;
 
@@ -65,7 +69,8 @@ public abstract class NotificationProvider {
             parseConfig(ConfigPaths.NOTIFICATION_PLUGIN, Config.ENABLED),
             parseConfig(ConfigPaths.NOTIFICATION_ERRORS, Config.ENABLED),
             DiscordPS.getSystemLang().get(SYSTEM_ERROR),
-            DiscordPS.getSystemLang().get(LABEL_ERROR)
+            DiscordPS.getSystemLang().get(LABEL_ERROR),
+            DiscordPS.getPlugin().getConfig().getLong(ConfigPaths.NOTIFICATION_DIGEST_WINDOW, DEFAULT_DIGEST_WINDOW)
         );
 
         try {
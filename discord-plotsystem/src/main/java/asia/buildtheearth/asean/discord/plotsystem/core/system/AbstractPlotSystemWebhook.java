@@ -20,7 +20,7 @@ import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
 import asia.buildtheearth.asean.discord.components.api.ComponentV2;
-import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangTemplate;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotInformation;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotNotification;
@@ -29,7 +29,7 @@ import github.scarsz.discordsrv.dependencies.jda.internal.utils.Checks;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.sql.SQLException;
+import java.io.File;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -54,7 +54,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
     protected final ForumWebhook webhook;
 
     /**
-     * memorized metadata per instance
+     * Language metadata, looked up on use
      *
      * @see Metadata
      */
@@ -69,19 +69,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
     protected AbstractPlotSystemWebhook(DiscordPS plugin, ForumWebhook webhook) {
         super(plugin);
         this.webhook = webhook;
-        this.metadata = new Metadata(
-            DiscordPS.getMessagesLang().get(PlotInformation.HELP_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.FEEDBACK_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.REJECTED_FEEDBACK_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.APPROVED_FEEDBACK_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.REJECTED_NO_FEEDBACK_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.APPROVED_NO_FEEDBACK_LABEL),
-            DiscordPS.getMessagesLang().get(PlotInformation.NEW_FEEDBACK_NOTIFICATION),
-            Button.link(
-                DiscordPS.getMessagesLang().get(PlotInformation.DOCS_URL),
-                DiscordPS.getMessagesLang().get(PlotInformation.DOCS_LABEL)
-            )
-        );
+        this.metadata = new Metadata();
     }
 
     /**
@@ -111,23 +99,17 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
     }
 
     /**
-     * Query update to status entry for the giving message ID
+     * Query update to status entry for the giving message ID,
+     * the entry is updated in cache immediately and written to the database in the next batch.
      *
      * @param messageID The entry as message ID to update
      * @param status The status to update into
-     * @param event Update event for debugging if an SQL exception occurs
+     * @param event Update event for debugging, null if updated by a system fetch
      */
-    public void updateEntryStatus(long messageID, ThreadStatus status, PlotEvent event) {
-        try {
-            WebhookEntry.updateThreadStatus(messageID, status);
-        } catch (SQLException ex) {
-            Notification.sendErrorEmbed(
-                ErrorMessage.PLOT_UPDATE_SQL_EXCEPTION,
-                ex.toString(),
-                String.valueOf(event.getPlotID()),
-                event.getClass().getSimpleName()
-            );
-        }
+    public void updateEntryStatus(long messageID, ThreadStatus status, @Nullable PlotEvent event) {
+        WebhookEntry.updateThreadStatus(messageID, status);
+        DiscordPS.debug("Updated entry status of message ID " + Long.toUnsignedString(messageID) + " to " + status.name()
+            + (event == null? " by a system fetch" : " of plot ID " + event.getPlotID() + " by " + event.getClass().getSimpleName()));
     }
 
     /**
@@ -154,10 +136,11 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      * @param plotData The plot information
      * @param plotID The plot ID
      * @param threadID The thread ID this plot is created on
+     * @return Future that completes when the plot entry is registered and its interactions are attached
      */
-    protected abstract void registerNewPlot(@NotNull PlotData plotData,
-                                            int plotID,
-                                            long threadID);
+    protected abstract CompletableFuture<Void> registerNewPlot(@NotNull PlotData plotData,
+                                                               int plotID,
+                                                               long threadID);
 
     /**
      * Wrapper for {@link AbstractPlotSystemWebhook#registerNewPlot(PlotData, int, long)}
@@ -165,16 +148,19 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      *
      * @param plotData The plot data to register this plot
      * @param plotID The plot ID to register this plot
-     * @param initialMessage Action required to receive message reference for registering this plot.
-     *                       Conventionally is using as {@link Optional#ifPresentOrElse(Consumer, Runnable)}
-     */
-    protected void registerNewPlot(PlotData plotData,
-                                   int plotID,
-                                   @NotNull BiConsumer<Consumer<MessageReference>, Runnable> initialMessage) {
-        initialMessage.accept(
-            message -> this.registerNewPlot(plotData, plotID, message.getMessageIdLong()),
-            () -> Notification.notify(ErrorMessage.PLOT_CREATE_UNKNOWN_EXCEPTION)
-        );
+     * @param initialMessage The initial message reference of the created thread,
+     *                       empty optional will be notified as an unknown exception
+     * @return Future that completes when the plot is registered
+     */
+    protected CompletableFuture<Void> registerNewPlot(PlotData plotData,
+                                                      int plotID,
+                                                      @NotNull Optional<MessageReference> initialMessage) {
+        return initialMessage
+            .map(message -> this.registerNewPlot(plotData, plotID, message.getMessageIdLong()))
+            .orElseGet(() -> {
+                Notification.notify(ErrorMessage.PLOT_CREATE_UNKNOWN_EXCEPTION);
+                return CompletableFuture.completedFuture(null);
+            });
     }
 
     /**
@@ -220,8 +206,31 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      * @param <T> The type of referring event that activate this action
      */
     @NotNull
+    public <T extends PlotEvent>
+    CompletableFuture<PlotSystemThread.UpdateAction> updatePlot(@NotNull PlotSystemThread.UpdateAction action,
+                                                                @Nullable T event,
+                                                                @NotNull ThreadStatus status) {
+        return this.updatePlot(action, List.of(), event, status);
+    }
+
+    /**
+     * Update plot by the given action with specified event,
+     * folding all coalesced events before it into this single update.
+     *
+     * <p>Every event in the history is recorded to the plot's history,
+     * while the Discord edits and the entry status is only applied once by the latest event.</p>
+     *
+     * @param action The update action that specify what plot entry to be updated
+     * @param history Coalesced events that occurred before the referring event, in order
+     * @param event The referring event that trigger this action, null event will be defined as a system fetch
+     * @param status The primary status to update to
+     * @return The same action as a future that is completed when all staged action is completed
+     * @param <T> The type of referring event that activate this action
+     */
+    @NotNull
     public abstract <T extends PlotEvent>
     CompletableFuture<PlotSystemThread.UpdateAction> updatePlot(@NotNull PlotSystemThread.UpdateAction action,
+                                                                @NotNull List<? extends PlotEvent> history,
                                                                 @Nullable T event,
                                                                 @NotNull ThreadStatus status);
 
@@ -236,14 +245,35 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      * @param event The referring event that trigger this action
      * @param status The primary status to update to
      * @param whenComplete Invoked when the update action is completed returning this action
+     * @return Future that completes after {@code whenComplete} is invoked,
+     *         or an already completed future if the plot entry does not exist
      * @param <T> The type of referring event that activate this action
      */
-    public <T extends PlotEvent> void updatePlot(@NotNull T event,
-                                                 @NotNull ThreadStatus status,
-                                                 @NotNull Consumer<PlotSystemThread.UpdateAction> whenComplete) {
-        PlotSystemThread.UpdateAction action = PlotSystemThread.UpdateAction.fromEvent(event);
-        if(action == null) return;
-        this.updatePlot(action, event, status).thenAccept(whenComplete);
+    public <T extends PlotEvent> CompletableFuture<Void> updatePlot(@NotNull T event,
+                                                                    @NotNull ThreadStatus status,
+                                                                    @NotNull Consumer<PlotSystemThread.UpdateAction> whenComplete) {
+        return this.updatePlot(event, List.of(), status, whenComplete);
+    }
+
+    /**
+     * Update plot by the given event with coalesced events folded into this update.
+     *
+     * @param event The latest referring event that trigger this action
+     * @param history Coalesced events of the same plot that occurred before this event, in order
+     * @param status The primary status to update to
+     * @param whenComplete Invoked once when the update action is completed returning this action
+     * @return Future that completes after {@code whenComplete} is invoked,
+     *         or an already completed future if the plot entry does not exist
+     * @param <T> The type of referring event that activate this action
+     * @see #updatePlot(PlotSystemThread.UpdateAction, List, PlotEvent, ThreadStatus)
+     */
+    public <T extends PlotEvent> CompletableFuture<Void> updatePlot(@NotNull T event,
+                                                                    @NotNull List<? extends PlotEvent> history,
+                                                                    @NotNull ThreadStatus status,
+                                                                    @NotNull Consumer<PlotSystemThread.UpdateAction> whenComplete) {
+        return PlotSystemThread.UpdateAction.fromEvent(event).thenCompose(action -> action == null
+            ? CompletableFuture.completedFuture(null)
+            : this.updatePlot(action, history, event, status).thenAccept(whenComplete));
     }
 
     /**
@@ -269,12 +299,29 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
                 .build();
 
         // Attach files
-        plotData.getAvatarFile().ifPresent(data::addFile);
-        if(!plotData.getImageFiles().isEmpty()) plotData.getImageFiles().forEach(data::addFile);
+        plotData.getAvatarFile().ifPresent(avatar -> AttachmentBody.attach(data, avatar));
+
+        return this.attachImages(data, plotData.getImageFiles()).thenCompose(attached -> this.webhook
+            .newThreadFromWebhook(attached, plotData.getStatusTags(), true, true)
+            .submit());
+    }
 
-        return this.webhook
-            .newThreadFromWebhook(data, plotData.getStatusTags(), true, true)
-            .submit();
+    /**
+     * Prepare plot images for upload and attach them to webhook data.
+     *
+     * @param data The webhook data to attach to
+     * @param images The original image files
+     * @return Future of the given webhook data, completed once every prepared image is attached
+     * @see ImagePipeline#prepareAll(Collection)
+     */
+    protected @NotNull CompletableFuture<WebhookDataBuilder.WebhookData> attachImages(@NotNull WebhookDataBuilder.WebhookData data,
+                                                                                      @NotNull Collection<File> images) {
+        if(images.isEmpty()) return CompletableFuture.completedFuture(data);
+
+        return this.plugin.getImagePipeline().prepareAll(images).thenApply(prepared -> {
+            prepared.forEach(image -> AttachmentBody.attach(data, image));
+            return data;
+        });
     }
 
     /**
@@ -446,7 +493,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      *
      * @param type The notification message to send to
      * @param threadID The thread ID to send notification to
-     * @param content The content of the notification as a modifier function
+     * @param content Render the notification content from its compiled language template
      *
      * @see #sendNotification(PlotNotification, String)
      * @see #sendNotification(PlotNotification, String, String)
@@ -454,7 +501,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      */
     protected abstract void sendNotification(@NotNull PlotNotification type,
                                              @NotNull String threadID,
-                                             @NotNull Function<String, String> content);
+                                             @NotNull Function<LangTemplate, String> content);
 
     /**
      * Send a plot notification message with no placeholder variable
@@ -464,7 +511,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
      */
     public void sendNotification(@NotNull PlotNotification type,
                                  @NotNull String threadID) {
-        this.sendNotification(type, threadID, Function.identity());
+        this.sendNotification(type, threadID, LangTemplate::raw);
     }
 
     /**
@@ -479,9 +526,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
     public void sendNotification(@NotNull PlotNotification type,
                                  @NotNull String threadID,
                                  @Nullable String owner) {
-        this.sendNotification(type, threadID, content -> content
-                .replace(Format.THREAD_ID, threadID)
-                .replace(Format.OWNER, owner == null? LanguageFile.NULL_LANG : owner));
+        this.sendNotification(type, threadID, content -> content.render(Format.THREAD_ID, threadID, Format.OWNER, owner));
     }
 
     /**
@@ -498,9 +543,7 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
                                  @NotNull String label,
                                  @NotNull String threadID,
                                  @Nullable String owner) {
-        this.sendNotification(type, threadID, content -> content
-                .replace(Format.LABEL, label)
-                .replace(Format.OWNER, owner == null? LanguageFile.NULL_LANG : owner));
+        this.sendNotification(type, threadID, content -> content.render(Format.LABEL, label, Format.OWNER, owner));
     }
 
     /** Create a plot's help button by owner and message. */
@@ -554,7 +597,10 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
     /** Unknown error when updating plot data, happens from an exception in completable future. */
     protected static final BiConsumer<PlotEvent, ? super Throwable> ON_PLOT_UPDATE_EXCEPTION = (event, error) -> {
         DiscordPS.error("Error occurred while updating plot data.", error);
-        Notification.sendErrorEmbed(
+
+        // A system fetch (e.g. a reconcile repair) has no event, its error already names the plot
+        if(event == null) Notification.sendErrorEmbed(ErrorMessage.PLOT_UPDATE_UNKNOWN_EXCEPTION, error.toString());
+        else Notification.sendErrorEmbed(
             ErrorMessage.PLOT_UPDATE_EXCEPTION,
             error.toString(),
             String.valueOf(event.getPlotID()),
@@ -624,24 +670,53 @@ sealed abstract class AbstractPlotSystemWebhook extends PluginProvider permits P
 
     /**
      * Plot Metadata from messages language file, mostly button label data.
-     * <p>Below are the default label of each buttons</p>
-     *
-     * @param helpButtonLabel "Help" label
-     * @param feedbackButtonLabel "Feedback" label
-     * @param rejectedFeedbackLabel "Show Reason" label
-     * @param approvedFeedbackLabel "View Feedback" label
-     * @param rejectedNoFeedbackLabel "No Feedback Yet" label
-     * @param approvedNoFeedbackLabel "No Feedback Yet" label
-     * @param documentationButton Documentation URL button
-     */
-    protected record Metadata(
-            String helpButtonLabel,
-            String feedbackButtonLabel,
-            String rejectedFeedbackLabel,
-            String approvedFeedbackLabel,
-            String rejectedNoFeedbackLabel,
-            String approvedNoFeedbackLabel,
-            String newFeedbackNotification,
-            Button documentationButton
-    ) { }
+     *
+     * <p>Each label is looked up from the language manager on use,
+     * so a reloaded language file applies without re-creating the webhook.</p>
+     */
+    protected static final class Metadata {
+
+        /** @return "Help" label */
+        public String helpButtonLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.HELP_LABEL);
+        }
+
+        /** @return "Feedback" label */
+        public String feedbackButtonLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.FEEDBACK_LABEL);
+        }
+
+        /** @return "Show Reason" label */
+        public String rejectedFeedbackLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.REJECTED_FEEDBACK_LABEL);
+        }
+
+        /** @return "View Feedback" label */
+        public String approvedFeedbackLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.APPROVED_FEEDBACK_LABEL);
+        }
+
+        /** @return "No Feedback Yet" label */
+        public String rejectedNoFeedbackLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.REJECTED_NO_FEEDBACK_LABEL);
+        }
+
+        /** @return "No Feedback Yet" label */
+        public String approvedNoFeedbackLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.APPROVED_NO_FEEDBACK_LABEL);
+        }
+
+        /** @return New feedback notification template */
+        public LangTemplate newFeedbackNotification() {
+            return DiscordPS.getMessagesLang().getTemplate(PlotInformation.NEW_FEEDBACK_NOTIFICATION);
+        }
+
+        /** @return Documentation URL button */
+        public Button documentationButton() {
+            return Button.link(
+                DiscordPS.getMessagesLang().get(PlotInformation.DOCS_URL),
+                DiscordPS.getMessagesLang().get(PlotInformation.DOCS_LABEL)
+            );
+        }
+    }
 }
\ No newline at end of file
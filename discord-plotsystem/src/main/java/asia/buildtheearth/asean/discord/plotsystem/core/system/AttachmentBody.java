@@ -0,0 +1,156 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.components.WebhookDataBuilder;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.okhttp3.MediaType;
+import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming multipart body of webhook data with attached files.
+ *
+ * <p>Each attached file is written to the request straight from disk
+ * with its file size as content length, so the whole multipart body has a known length
+ * and no file content is ever buffered in heap.
+ * Only the {@code payload_json} part is held in memory as it is small inline content.</p>
+ *
+ * <p>Files are attached with {@link #attach(WebhookDataBuilder.WebhookData, File)}
+ * instead of {@link WebhookDataBuilder.WebhookData#addFile(File) WebhookData#addFile(File)},
+ * and the body is created once per request attempt with {@link #of(WebhookDataBuilder.WebhookData)},
+ * which re-opens every file so a retried request streams it again from the start.</p>
+ *
+ * <blockquote>{@snippet :
+ * WebhookDataBuilder.WebhookData data = new WebhookDataBuilder().build();
+ * AttachmentBody.attach(data, imageFile);
+ *
+ * RequestBody body = AttachmentBody.of(data);
+ * RestAction<Void> action = new RestActionImpl<>(jda, route, body);
+ * }</blockquote>
+ */
+public final class AttachmentBody {
+
+    private static final MediaType MEDIA_TYPE_JSON = MediaType.get("application/json");
+    private static final MediaType MEDIA_TYPE_OCTET = MediaType.get("application/octet-stream");
+
+    /**
+     * Attached files of each webhook data by their upload name, keyed by the identity of the data
+     * since it is still modified after files are attached, which may change its {@code hashCode}.
+     * Locked on itself.
+     */
+    private static final Map<IdentityKey, Map<String, File>> ATTACHED = new HashMap<>();
+
+    /** Keys of webhook data that is garbage collected, to be expunged from {@link #ATTACHED} */
+    private static final ReferenceQueue<WebhookDataBuilder.WebhookData> COLLECTED = new ReferenceQueue<>();
+
+    /**
+     * Weak identity key of webhook data, so the files are forgotten together with its data.
+     */
+    private static final class IdentityKey extends WeakReference<WebhookDataBuilder.WebhookData> {
+        private final int hash;
+
+        private IdentityKey(@NotNull WebhookDataBuilder.WebhookData data,
+                            @Nullable ReferenceQueue<WebhookDataBuilder.WebhookData> queue) {
+            super(data, queue);
+            this.hash = System.identityHashCode(data);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(this == other) return true;
+            if(!(other instanceof IdentityKey key)) return false;
+            WebhookDataBuilder.WebhookData data = this.get();
+            return data != null && data == key.get();
+        }
+    }
+
+    private AttachmentBody() {}
+
+    /**
+     * Attach a file to webhook data, to be streamed from disk when its body is created.
+     *
+     * <p>The file is uploaded as its file name which can be referenced by
+     * {@code attachment://<name>}, a file with the same name replaces the previously attached one.</p>
+     *
+     * @param data The webhook data to attach to
+     * @param file The file to attach
+     */
+    public static void attach(@NotNull WebhookDataBuilder.WebhookData data, @NotNull File file) {
+        final Map<String, File> files;
+        synchronized (ATTACHED) {
+            for(Reference<?> collected; (collected = COLLECTED.poll()) != null;) ATTACHED.remove(collected);
+            files = ATTACHED.computeIfAbsent(new IdentityKey(data, COLLECTED),
+                key -> Collections.synchronizedMap(new LinkedHashMap<>()));
+        }
+        files.put(file.getName(), file);
+    }
+
+    /**
+     * Get the files attached to webhook data.
+     *
+     * @param data The webhook data
+     * @return A copy of the attached files by their upload name
+     */
+    public static @NotNull Map<String, File> getAttached(@NotNull WebhookDataBuilder.WebhookData data) {
+        Map<String, File> files = attachedTo(data);
+        if(files == null) return Map.of();
+        synchronized (files) {
+            return Map.copyOf(files);
+        }
+    }
+
+    /**
+     * Create the request body of webhook data.
+     *
+     * <p>Webhook data without any attached file is prepared by
+     * {@link WebhookDataBuilder.WebhookData#prepareRequestBody() WebhookData#prepareRequestBody()} as is.
+     * An attached file that no longer exists is skipped.</p>
+     *
+     * @param data The webhook data to send
+     * @return A new multipart body that streams every attached file
+     */
+    public static @NotNull RequestBody of(@NotNull WebhookDataBuilder.WebhookData data) {
+        Map<String, File> files = attachedTo(data);
+        if(files == null || files.isEmpty()) return data.prepareRequestBody();
+
+        MultipartBody.Builder body = new MultipartBody.Builder().setType(MultipartBody.FORM);
+
+        int index = 0;
+        synchronized (files) {
+            for(Map.Entry<String, File> entry : files.entrySet()) {
+                if(!entry.getValue().isFile()) {
+                    DiscordPS.warning("Skipped attaching a file that no longer exists: " + entry.getValue());
+                    continue;
+                }
+
+                // Read from disk only when the request is written, content length is the file size
+                body.addFormDataPart("files[" + index++ + "]", entry.getKey(), RequestBody.create(MEDIA_TYPE_OCTET, entry.getValue()));
+            }
+        }
+
+        body.addFormDataPart("payload_json", null, RequestBody.create(MEDIA_TYPE_JSON, data.toJson()));
+
+        return body.build();
+    }
+
+    private static @Nullable Map<String, File> attachedTo(@NotNull WebhookDataBuilder.WebhookData data) {
+        synchronized (ATTACHED) {
+            return ATTACHED.get(new IdentityKey(data, null));
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
+import github.scarsz.discordsrv.dependencies.kevinsawicki.http.HttpRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Download discord attachments with bounded concurrency, integrity checks and resume.
+ *
+ * <p>Every download attempt is an HTTP task of the attachment host on the {@link IOExecutor},
+ * so downloads never block a callback thread and at most {@code io.http-per-host} run at once.
+ * The attachment is written to a partial file named by its attachment ID,
+ * a failed attempt keeps the bytes it received and the next attempt requests only the rest of it.</p>
+ *
+ * <p>A completed download is verified against the attachment metadata:
+ * its file size must match, and an image must start with the signature of its declared content type.
+ * A transient failure (connection error, server error, rate limit or truncated content)
+ * is retried with exponential backoff, waiting without holding any permit.</p>
+ *
+ * <blockquote>{@snippet :
+ * downloader.downloadTo(attachment, file, (attachment, state, detail) -> ...)
+ *     .thenAccept(downloaded -> ...);
+ * }</blockquote>
+ */
+public final class AttachmentDownloader {
+
+    /** Connect and read timeout of each attempt */
+    private static final int TIMEOUT_MILLIS = Math.toIntExact(TimeUnit.SECONDS.toMillis(30));
+
+    /** Signature of each verifiable image content type */
+    private static final Map<String, byte[]> SIGNATURES = Map.of(
+        "image/png", new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' },
+        "image/jpeg", new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF },
+        "image/gif", "GIF8".getBytes(StandardCharsets.US_ASCII),
+        "image/webp", "RIFF".getBytes(StandardCharsets.US_ASCII)
+    );
+
+    /**
+     * Progress of a single attachment download.
+     */
+    public enum State {
+        /** An attempt is started, detail is the attempt number */
+        DOWNLOADING,
+        /** An attempt failed and will be retried, detail is the failure */
+        RETRYING,
+        /** The attachment is downloaded and verified, detail is the file name */
+        DOWNLOADED,
+        /** The download failed permanently, detail is the failure */
+        FAILED
+    }
+
+    /**
+     * Listener of download progress, called from the download threads.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /** Listener that ignores every progress */
+        Listener NONE = (attachment, state, detail) -> { };
+
+        void onProgress(@NotNull Message.Attachment attachment, @NotNull State state, @NotNull String detail);
+    }
+
+    /**
+     * A failure that retrying cannot resolve, such as a client error response or mismatched content.
+     */
+    public static final class PermanentException extends IOException {
+        public PermanentException(@NotNull String message) {
+            super(message);
+        }
+    }
+
+    private final int maxAttempts;
+    private final long retryDelay;
+
+    /** Download of each partial file in flight */
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new attachment downloader.
+     *
+     * @param maxAttempts Maximum attempts of each download including the first one
+     * @param retryDelay Delay before the first retry in milliseconds, doubled on every retry
+     */
+    public AttachmentDownloader(int maxAttempts, long retryDelay) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelay = Math.max(0, retryDelay);
+    }
+
+    /**
+     * Download an attachment to a file, replacing it only once the download is verified.
+     *
+     * @param attachment The discord attachment to download
+     * @param target The file to save the attachment as
+     * @param listener Listener of the download progress
+     * @return Future of the target file, completed exceptionally if the download failed
+     */
+    public @NotNull CompletableFuture<File> downloadTo(@NotNull Message.Attachment attachment,
+                                                      @NotNull File target,
+                                                      @NotNull Listener listener) {
+        Path path = target.toPath();
+        Path part = path.resolveSibling(target.getName() + "." + attachment.getId() + ".part");
+
+        return this.download(attachment, part, listener).thenCompose(downloaded ->
+            IOExecutor.supply(IOExecutor.Resource.DISK, () -> {
+                try {
+                    Files.move(downloaded, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(downloaded, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return target;
+            })
+        );
+    }
+
+    /**
+     * Download an attachment to a partial file, sharing the in-flight download of the same file.
+     *
+     * <p>The partial file is resumed if it exists from a previous attempt,
+     * it is kept on a transient failure and deleted on a permanent one.
+     * The caller moves the verified file to its destination.</p>
+     *
+     * @param attachment The discord attachment to download
+     * @param part The partial file to write, should be unique to the attachment
+     * @param listener Listener of the download progress
+     * @return Future of the verified partial file, completed exceptionally if every attempt failed
+     */
+    public @NotNull CompletableFuture<Path> download(@NotNull Message.Attachment attachment,
+                                                     @NotNull Path part,
+                                                     @NotNull Listener listener) {
+        final URL url;
+        try {
+            url = new URL(attachment.getUrl());
+        }
+        catch (MalformedURLException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        CompletableFuture<Path> future = this.inFlight.computeIfAbsent(part, key -> {
+            CompletableFuture<Path> result = new CompletableFuture<>();
+            this.attempt(attachment, url, part, 1, listener, result);
+            return result;
+        });
+
+        future.whenComplete((file, error) -> this.inFlight.remove(part, future));
+
+        return future;
+    }
+
+    /**
+     * Run a single attempt on the executor, then complete the result or schedule the next attempt.
+     */
+    private void attempt(@NotNull Message.Attachment attachment,
+                         @NotNull URL url,
+                         @NotNull Path part,
+                         int attempt,
+                         @NotNull Listener listener,
+                         @NotNull CompletableFuture<Path> result) {
+        listener.onProgress(attachment, State.DOWNLOADING, String.valueOf(attempt));
+
+        IOExecutor.supply(url, () -> this.transfer(attachment, url, part)).whenComplete((file, error) -> {
+            if(error == null) {
+                listener.onProgress(attachment, State.DOWNLOADED, attachment.getFileName());
+                result.complete(file);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if(attempt >= this.maxAttempts || !isTransient(cause)) {
+                DiscordPS.error("Failed to download attachment " + attachment.getFileName()
+                    + " after " + attempt + " attempt(s): " + cause);
+                listener.onProgress(attachment, State.FAILED, describe(cause));
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            // Wait for the next attempt off the executor, no permit is held meanwhile
+            long delay = this.retryDelay << Math.min(attempt - 1, 16);
+            DiscordPS.debug("Retrying attachment download " + attachment.getFileName()
+                + " in " + delay + "ms (attempt " + attempt + "/" + this.maxAttempts + "): " + cause);
+            listener.onProgress(attachment, State.RETRYING, describe(cause));
+
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() ->
+                this.attempt(attachment, url, part, attempt + 1, listener, result)
+            );
+        });
+    }
+
+    /**
+     * Download the remaining content of an attachment to its partial file, then verify it.
+     */
+    private @NotNull Path transfer(@NotNull Message.Attachment attachment,
+                                   @NotNull URL url,
+                                   @NotNull Path part) throws IOException {
+        long size = attachment.getSize();
+
+        try {
+            Files.createDirectories(part.getParent());
+
+            long offset = Files.isRegularFile(part)? Files.size(part) : 0;
+            if(offset > size) {
+                Files.delete(part);
+                offset = 0;
+            }
+
+            if(offset < size || size == 0) {
+                HttpRequest request = HttpRequest.get(url)
+                    .connectTimeout(TIMEOUT_MILLIS)
+                    .readTimeout(TIMEOUT_MILLIS);
+                if(offset > 0) request.header("Range", "bytes=" + offset + "-");
+
+                int code = request.code();
+                boolean resumed = offset > 0 && code == HttpURLConnection.HTTP_PARTIAL
+                    && String.valueOf(request.header("Content-Range")).startsWith("bytes " + offset + "-");
+
+                if(code == 416) {
+                    Files.deleteIfExists(part);
+                    throw new IOException("Requested range of the partial download is not satisfiable");
+                }
+                else if(code == 408 || code == 429 || code >= 500)
+                    throw new IOException("Server responded with HTTP " + code);
+                else if(!resumed && code != HttpURLConnection.HTTP_OK)
+                    throw new PermanentException("Server responded with HTTP " + code);
+
+                // Append the rest of a resumed download, otherwise start over
+                try(OutputStream output = resumed
+                    ? Files.newOutputStream(part, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newOutputStream(part)) {
+                    request.receive(output);
+                }
+
+                if(resumed) DiscordPS.debug("Resumed attachment download " + attachment.getFileName() + " from byte " + offset);
+            }
+
+            this.verify(attachment, part);
+            return part;
+        }
+        catch (PermanentException ex) {
+            Files.deleteIfExists(part);
+            throw ex;
+        }
+        catch (HttpRequest.HttpRequestException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Verify a downloaded file against the attachment metadata.
+     *
+     * @throws IOException If the file is truncated, which is transient
+     * @throws PermanentException If the file has more content than expected or the wrong content type
+     */
+    private void verify(@NotNull Message.Attachment attachment, @NotNull Path part) throws IOException {
+        long size = Files.size(part);
+        if(size < attachment.getSize())
+            throw new IOException("Downloaded " + size + " of " + attachment.getSize() + " bytes");
+        if(size > attachment.getSize())
+            throw new PermanentException("Downloaded " + size + " bytes, expected " + attachment.getSize());
+
+        String type = contentTypeOf(attachment);
+        byte[] signature = type == null? null : SIGNATURES.get(type);
+        if(signature == null) return;
+
+        byte[] header = new byte[signature.length];
+        try(InputStream input = Files.newInputStream(part)) {
+            if(input.readNBytes(header, 0, header.length) != header.length || !Arrays.equals(header, signature))
+                throw new PermanentException("Downloaded content is not " + type);
+        }
+    }
+
+    private static @Nullable String contentTypeOf(@NotNull Message.Attachment attachment) {
+        String type = attachment.getContentType();
+        if(type == null) return null;
+
+        type = type.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return type.equals("image/jpg")? "image/jpeg" : type;
+    }
+
+    private static boolean isTransient(@NotNull Throwable error) {
+        return error instanceof IOException && !(error instanceof PermanentException);
+    }
+
+    private static @NotNull Throwable unwrap(@NotNull Throwable error) {
+        Throwable cause = error;
+        while((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null)
+            cause = cause.getCause();
+        return cause;
+    }
+
+    private static @NotNull String describe(@NotNull Throwable error) {
+        return error.getMessage() == null? error.getClass().getSimpleName() : error.getMessage();
+    }
+}
@@ -0,0 +1,268 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.Constants;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.utils.AvatarUtil;
+import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Member;
+import github.scarsz.discordsrv.dependencies.kevinsawicki.http.HttpRequest;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Disk cache of member avatar images at {@code media/cache/<uuid>}.
+ *
+ * <p>A cached avatar is served as is until it expires, an expired avatar is still served
+ * while a new copy is downloaded in the background. Concurrent requests of the same avatar
+ * share a single in-flight download. When the cache folder grows over its disk budget,
+ * the least recently downloaded avatars are evicted.</p>
+ */
+public final class AvatarCache {
+
+    /**
+     * Avatar image format requested from the avatar API.
+     */
+    public static final String AVATAR_FORMAT = "png";
+
+    /**
+     * Avatar image scale requested from the avatar API.
+     */
+    public static final int AVATAR_SIZE = 16;
+
+    /**
+     * Maximum time in seconds to wait for an avatar that is not yet cached
+     * before falling back to its URL.
+     */
+    private static final long DOWNLOAD_WAIT = 10;
+
+    /**
+     * Minimum interval between each disk budget sweep.
+     */
+    private static final long SWEEP_INTERVAL_MILLIS = 60_000;
+
+    private final Path cacheFolder;
+    private final long expireMillis;
+    private final long maxDiskBytes;
+
+    private final Map<Path, CompletableFuture<Optional<File>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(0);
+    private volatile boolean stopped = false;
+
+    /**
+     * Create a new avatar cache
+     *
+     * @param cacheFolder The media cache folder containing a folder of each member UUID
+     * @param expireMillis Age of a cached avatar before it is downloaded again
+     * @param maxDiskBytes Disk budget of the cache folder, zero or negative to disable eviction
+     */
+    public AvatarCache(@NotNull Path cacheFolder, long expireMillis, long maxDiskBytes) {
+        this.cacheFolder = cacheFolder;
+        this.expireMillis = expireMillis;
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    /**
+     * Resolve for member's avatar file location.
+     *
+     * @param memberUUID The string formatted {@link java.util.UUID}
+     * @param discord The member's linked discord account if exist, used as the file suffix
+     * @return {@code media/cache/<uuid>/avatar-image-<discord ID or uuid>.png}
+     */
+    public @NotNull File resolveFile(@NotNull String memberUUID, @Nullable Member discord) {
+        String fileSuffix = discord != null? discord.getId() : memberUUID;
+
+        return this.cacheFolder
+            .resolve(memberUUID)
+            .resolve(Constants.BUILDER_AVATAR_FILE + "-" + fileSuffix + "." + AVATAR_FORMAT)
+            .toFile();
+    }
+
+    /**
+     * Get a member's avatar file, waiting for a bounded time if it needs to be downloaded.
+     *
+     * @param memberUUID The string formatted {@link java.util.UUID}
+     * @param avatarFile The avatar file location resolved by {@link #resolveFile(String, Member)}
+     * @return The avatar file, empty if it cannot be downloaded in time
+     */
+    public @NotNull Optional<File> getAvatar(@NotNull String memberUUID, @NotNull File avatarFile) {
+        try {
+            return this.fetch(memberUUID, avatarFile).get(DOWNLOAD_WAIT, TimeUnit.SECONDS);
+        }
+        catch (TimeoutException ex) {
+            DiscordPS.debug("Avatar of " + memberUUID + " is not downloaded in time, falling back to its URL");
+        }
+        catch (ExecutionException ex) {
+            DiscordPS.error("Failed to get avatar image of " + memberUUID, ex);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Fetch a member's avatar file.
+     *
+     * @param memberUUID The string formatted {@link java.util.UUID}
+     * @param avatarFile The avatar file location resolved by {@link #resolveFile(String, Member)}
+     * @return Future of the avatar file, completed immediately if the file is cached.
+     *         Empty if the avatar is not cached and cannot be downloaded.
+     */
+    public @NotNull CompletableFuture<Optional<File>> fetch(@NotNull String memberUUID, @NotNull File avatarFile) {
+        if(avatarFile.length() > 0) {
+            if(System.currentTimeMillis() - avatarFile.lastModified() > this.expireMillis)
+                this.download(memberUUID, avatarFile);
+
+            return CompletableFuture.completedFuture(Optional.of(avatarFile));
+        }
+
+        return this.download(memberUUID, avatarFile);
+    }
+
+    /**
+     * Download a member's avatar in the background if it is not cached.
+     *
+     * @param memberUUID The string formatted {@link java.util.UUID}
+     */
+    public void prefetch(@NotNull String memberUUID) {
+        if(this.stopped) return;
+        try {
+            // Player lookup is not limited, the download itself is limited by its host
+            IOExecutor.execute(() -> {
+                OfflinePlayer owner = Bukkit.getOfflinePlayer(UUID.fromString(memberUUID));
+                Member discord = DiscordPS.getPlugin().getAsDiscordMember(owner);
+                this.fetch(memberUUID, this.resolveFile(memberUUID, discord));
+            });
+        }
+        catch (RejectedExecutionException ignored) { }
+    }
+
+    /**
+     * Stop starting new downloads, downloads already in flight run to completion.
+     */
+    public void shutdown() {
+        this.stopped = true;
+    }
+
+    /**
+     * Download an avatar, sharing the in-flight download of the same file.
+     */
+    private @NotNull CompletableFuture<Optional<File>> download(@NotNull String memberUUID, @NotNull File avatarFile) {
+        Path path = avatarFile.toPath();
+        CompletableFuture<Optional<File>> future = this.inFlight.computeIfAbsent(path, key -> {
+            if(this.stopped) return CompletableFuture.completedFuture(Optional.empty());
+
+            URL url = AvatarUtil.getAvatarUrl(memberUUID, AVATAR_SIZE, AVATAR_FORMAT);
+            return IOExecutor.supply(url, () -> this.downloadNow(memberUUID, url, avatarFile))
+                .exceptionally(error -> Optional.empty());
+        });
+
+        future.whenComplete((file, error) -> {
+            this.inFlight.remove(path, future);
+            this.sweep();
+        });
+
+        return future;
+    }
+
+    /**
+     * Download an avatar to a temporary file then replace the cached file,
+     * so the cached file is never read while partially written.
+     *
+     * @return The avatar file, or the stale file if exist when the download failed
+     */
+    private @NotNull Optional<File> downloadNow(@NotNull String memberUUID, @NotNull URL url, @NotNull File avatarFile) {
+        Path target = avatarFile.toPath();
+        Path part = target.resolveSibling(avatarFile.getName() + ".part");
+
+        try {
+            Files.createDirectories(target.getParent());
+
+            FileUtil.downloadFile(url, part.toFile());
+
+            if(Files.size(part) == 0) throw new IOException("Downloaded avatar image is empty");
+
+            try {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            DiscordPS.debug("Downloaded avatar image for UUID: " + memberUUID);
+            return Optional.of(avatarFile);
+        }
+        catch (HttpRequest.HttpRequestException ex) {
+            DiscordPS.error("Failed to download URL for player avatar image: " + ex.getMessage(), ex);
+        }
+        catch (IOException ex) {
+            DiscordPS.error("IO Exception occurred trying to write player avatar at: "
+                    + avatarFile.getAbsolutePath() + ": " + ex.getMessage(), ex);
+        }
+
+        try { Files.deleteIfExists(part); }
+        catch (IOException ignored) { }
+
+        return avatarFile.length() > 0? Optional.of(avatarFile) : Optional.empty();
+    }
+
+    /**
+     * Evict the least recently downloaded avatars until the cache folder is under its disk budget,
+     * runs at most once per {@link #SWEEP_INTERVAL_MILLIS}.
+     */
+    private void sweep() {
+        if(this.maxDiskBytes <= 0) return;
+
+        long now = System.currentTimeMillis();
+        long last = this.lastSweep.get();
+        if(now - last < SWEEP_INTERVAL_MILLIS || !this.lastSweep.compareAndSet(last, now)) return;
+
+        if(!Files.isDirectory(this.cacheFolder)) return;
+
+        try(Stream<Path> walk = Files.walk(this.cacheFolder)) {
+            List<File> files = walk
+                .filter(Files::isRegularFile)
+                .map(Path::toFile)
+                .filter(file -> !file.getName().endsWith(".part"))
+                .sorted(Comparator.comparingLong(File::lastModified))
+                .toList();
+
+            long total = files.stream().mapToLong(File::length).sum();
+
+            for(File file : files) {
+                if(total <= this.maxDiskBytes) break;
+
+                long size = file.length();
+                if(!file.delete()) continue;
+                total -= size;
+
+                File parent = file.getParentFile();
+                String[] remaining = parent.list();
+                if(remaining != null && remaining.length == 0 && parent.delete())
+                    DiscordPS.debug("Evicted avatar cache folder: " + parent.getName());
+            }
+        }
+        catch (IOException | UncheckedIOException ex) {
+            DiscordPS.error("Failed to evict avatar cache at: " + this.cacheFolder, ex);
+        }
+    }
+}
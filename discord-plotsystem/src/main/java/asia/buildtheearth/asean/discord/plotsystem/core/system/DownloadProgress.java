@@ -0,0 +1,172 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.CommandInteractions;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Per-file progress log of attachment downloads, reported to a discord message.
+ *
+ * <p>Each attachment has a single line that is replaced as its download progresses,
+ * formatted by the {@code slash-commands.interactions.messages.download-*} system lang.
+ * The log is edited to the message at most one edit at a time,
+ * progress reported while an edit is in flight is coalesced into the next edit,
+ * so a burst of progress never floods the message edit rate limit.</p>
+ *
+ * <blockquote>{@snippet :
+ * DownloadProgress progress = new DownloadProgress(attachments, log -> message.editMessage(log).submit());
+ * mediaStore.download(attachment, file, progress).whenComplete((saved, error) -> progress.complete(attachment, saved, error));
+ * // Once every download is completed
+ * progress.close().thenRun(() -> message.editMessage("Done").queue());
+ * }</blockquote>
+ */
+public final class DownloadProgress implements AttachmentDownloader.Listener {
+
+    private final Function<String, CompletableFuture<?>> editor;
+
+    /** Progress line of each attachment ID in order of the attachments */
+    private final Map<String, String> lines = new LinkedHashMap<>();
+
+    private boolean dirty = false;
+    private boolean editing = false;
+    private boolean closed = false;
+    private @Nullable CompletableFuture<Void> idle = null;
+
+    /**
+     * Create a progress log with every attachment queued, and report it right away.
+     *
+     * @param attachments The attachments to be downloaded
+     * @param editor Edit the progress log to the message, returning the future of the edit
+     */
+    public DownloadProgress(@NotNull Collection<Message.Attachment> attachments,
+                            @NotNull Function<String, CompletableFuture<?>> editor) {
+        this.editor = editor;
+        for(Message.Attachment attachment : attachments)
+            this.lines.put(attachment.getId(), line(CommandInteractions.MESSAGE_DOWNLOAD_QUEUED, attachment.getFileName(), null, null));
+        this.dirty = !attachments.isEmpty();
+        this.flush();
+    }
+
+    @Override
+    public void onProgress(@NotNull Message.Attachment attachment,
+                           @NotNull AttachmentDownloader.State state,
+                           @NotNull String detail) {
+        String name = attachment.getFileName();
+        this.update(attachment, switch (state) {
+            case DOWNLOADING -> detail.equals("1")
+                ? line(CommandInteractions.MESSAGE_DOWNLOAD_STARTED, name, null, null)
+                : line(CommandInteractions.MESSAGE_DOWNLOAD_ATTEMPT, name, detail, null);
+            case RETRYING -> line(CommandInteractions.MESSAGE_DOWNLOAD_RETRYING, name, null, detail);
+            case DOWNLOADED -> line(CommandInteractions.MESSAGE_DOWNLOAD_DOWNLOADED, name, null, null);
+            case FAILED -> line(CommandInteractions.MESSAGE_DOWNLOAD_FAILED, name, null, detail);
+        });
+    }
+
+    /**
+     * Report the result of an attachment download.
+     *
+     * @param attachment The downloaded attachment
+     * @param saved The saved file, null if failed
+     * @param error The download failure, null if saved
+     */
+    public void complete(@NotNull Message.Attachment attachment, @Nullable File saved, @Nullable Throwable error) {
+        if(saved != null) this.update(attachment, line(CommandInteractions.MESSAGE_DOWNLOAD_SAVED, saved.getName(), null, null));
+        else {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null? error.getCause() : error;
+            String reason = cause == null? "Unknown"
+                : Objects.requireNonNullElse(cause.getMessage(), cause.getClass().getSimpleName());
+            this.update(attachment, line(CommandInteractions.MESSAGE_DOWNLOAD_FAILED, attachment.getFileName(), null, reason));
+        }
+    }
+
+    /**
+     * Get the current progress log.
+     *
+     * @return Every progress line joined by new line
+     */
+    public synchronized @NotNull String getLog() {
+        return String.join("\n", this.lines.values());
+    }
+
+    /**
+     * Stop reporting progress, so the message can be edited by its final content.
+     *
+     * <p>Progress reported before closing is still edited to the message, progress reported after is ignored.</p>
+     *
+     * @return Future that completes once the last progress is edited to the message
+     */
+    public @NotNull CompletableFuture<Void> close() {
+        final CompletableFuture<Void> idle;
+        synchronized (this) {
+            this.closed = true;
+            if(this.idle == null) this.idle = new CompletableFuture<>();
+            idle = this.idle;
+            if(!this.editing && !this.dirty) idle.complete(null);
+        }
+        this.flush();
+        return idle;
+    }
+
+    private static @NotNull String line(@NotNull CommandInteractions message,
+                                        @NotNull String filename,
+                                        @Nullable String attempt,
+                                        @Nullable String reason) {
+        return DiscordPS.getSystemLang().getTemplate(message).render(
+            Format.FILENAME, filename,
+            Format.COUNT, attempt,
+            Format.LABEL, reason
+        );
+    }
+
+    private void update(@NotNull Message.Attachment attachment, @NotNull String line) {
+        synchronized (this) {
+            if(this.closed) return;
+            this.lines.put(attachment.getId(), line);
+            this.dirty = true;
+        }
+        this.flush();
+    }
+
+    private void flush() {
+        final String log;
+        synchronized (this) {
+            if(!this.dirty || this.editing) return;
+            this.dirty = false;
+            this.editing = true;
+            log = this.getLog();
+        }
+
+        CompletableFuture<?> edit;
+        try {
+            edit = this.editor.apply(log);
+        }
+        catch (RuntimeException ex) {
+            edit = CompletableFuture.failedFuture(ex);
+        }
+
+        edit.whenComplete((done, error) -> {
+            if(error != null) DiscordPS.debug("Failed to report download progress: " + error);
+
+            final CompletableFuture<Void> idle;
+            synchronized (this) {
+                this.editing = false;
+                idle = this.closed && !this.dirty? this.idle : null;
+            }
+
+            if(idle != null) idle.complete(null);
+            else this.flush();
+        });
+    }
+}
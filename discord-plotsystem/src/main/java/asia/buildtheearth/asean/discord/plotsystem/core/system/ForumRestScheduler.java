@@ -0,0 +1,256 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.dependencies.jda.api.JDA;
+import github.scarsz.discordsrv.dependencies.jda.api.exceptions.ErrorResponseException;
+import github.scarsz.discordsrv.dependencies.jda.api.exceptions.RateLimitedException;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.Response;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
+import github.scarsz.discordsrv.dependencies.jda.internal.requests.CompletedRestAction;
+import github.scarsz.discordsrv.dependencies.jda.internal.requests.Method;
+import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Rate-limit aware scheduler for the raw forum webhook requests.
+ *
+ * <p>Each compiled route (method, route and its major parameters) owns a {@link Bucket}
+ * tracking Discord's rate limit headers. A request on an exhausted bucket is held
+ * until the bucket resets instead of being sent to be rejected.
+ * Failed requests are retried with jittered exponential backoff.</p>
+ *
+ * <p>A {@code POST} request is not idempotent: a connection failure or a server error
+ * may happen after discord already executed it, so retrying could post it twice.
+ * It is only retried when rate limited, which discord guarantees was never executed.</p>
+ *
+ * <p>No thread is ever blocked: every wait is a delayed {@link RestAction}
+ * scheduled on a shared {@link ScheduledExecutorService}.</p>
+ */
+public final class ForumRestScheduler {
+
+    /**
+     * Initial backoff delay of the first retry.
+     */
+    private static final long BASE_BACKOFF_MILLIS = 500;
+
+    /**
+     * Backoff delay is capped to this value.
+     */
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Maximum number of attempts for a request that allows retrying.
+     */
+    private static final int MAX_ATTEMPTS = 4;
+
+    /**
+     * Shared executor for all scheduled waits, only used to resume delayed actions.
+     */
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("DiscordPlotSystem - Forum REST Scheduler").setDaemon(true).build()
+    );
+
+    private final JDA jda;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new scheduler
+     *
+     * @param jda The JDA instance to create delayed actions with
+     */
+    public ForumRestScheduler(@NotNull JDA jda) {
+        this.jda = jda;
+    }
+
+    /**
+     * Get the rate limit bucket of a route.
+     *
+     * @param route The compiled route
+     * @return The bucket to be observed with every response of this route
+     */
+    @NotNull Bucket bucket(@NotNull Route.CompiledRoute route) {
+        String key = route.getMethod() + " " + route.getBaseRoute().getRoute() + ":" + route.getMajorParameters();
+        return this.buckets.computeIfAbsent(key, Bucket::new);
+    }
+
+    /**
+     * Schedule a request on its route bucket.
+     *
+     * @param route The compiled route of the request
+     * @param allowRetry Whether to retry retryable failures with exponential backoff,
+     *                   a {@code POST} request is only retried when rate limited
+     * @param onFailure Optional action to run once the request is failed with no more attempt,
+     *                  including a bad response from discord which never reaches the response handler
+     * @param request Supplier of a new request action for each attempt
+     * @return The scheduled action, executed only when queued or submitted
+     * @param <T> The result type of the request
+     */
+    public <T> @NotNull RestAction<T> schedule(@NotNull Route.CompiledRoute route,
+                                               boolean allowRetry,
+                                               @Nullable Runnable onFailure,
+                                               @NotNull Supplier<RestAction<T>> request) {
+        boolean idempotent = route.getMethod() != Method.POST;
+        return this.attempt(this.bucket(route), idempotent, allowRetry? MAX_ATTEMPTS : 1, 1, onFailure, request);
+    }
+
+    /**
+     * Get the JDA instance this scheduler creates its actions with.
+     *
+     * @return The JDA instance
+     */
+    public @NotNull JDA getJDA() {
+        return this.jda;
+    }
+
+    private <T> @NotNull RestAction<T> attempt(@NotNull Bucket bucket,
+                                               boolean idempotent,
+                                               int maxAttempts,
+                                               int attempt,
+                                               @Nullable Runnable onFailure,
+                                               @NotNull Supplier<RestAction<T>> request) {
+        return this.waitFor(bucket::getDelay)
+            .flatMap(ready -> request.get().map(Attempt::succeeded).onErrorMap(Attempt::failed))
+            .flatMap(result -> {
+                if(result.error() == null) return new CompletedRestAction<>(this.jda, result.value());
+
+                long retryAfter = this.getRetryDelay(result.error(), idempotent, attempt);
+
+                if(attempt >= maxAttempts || retryAfter < 0) {
+                    if(onFailure != null) onFailure.run();
+                    return new CompletedRestAction<>(this.jda, null, result.error());
+                }
+
+                if(result.error() instanceof RateLimitedException) bucket.block(retryAfter);
+
+                DiscordPS.debug("Forum webhook request failed (attempt " + attempt + "/" + maxAttempts + "), "
+                    + "retrying in " + retryAfter + "ms: " + result.error());
+
+                return this.waitFor(() -> retryAfter)
+                    .flatMap(ready -> this.attempt(bucket, idempotent, maxAttempts, attempt + 1, onFailure, request));
+            });
+    }
+
+    /**
+     * Create an action that completes after a delay resolved at execution time.
+     *
+     * @param delay Supplier of the delay in milliseconds
+     * @return Action that completes after the delay without blocking any thread
+     */
+    private @NotNull RestAction<Void> waitFor(@NotNull Supplier<Long> delay) {
+        return new CompletedRestAction<Void>(this.jda, (Void) null).flatMap(ignored -> {
+            long millis = delay.get();
+            RestAction<Void> ready = new CompletedRestAction<>(this.jda, (Void) null);
+            return millis > 0? ready.delay(Duration.ofMillis(millis), EXECUTOR) : ready;
+        });
+    }
+
+    /**
+     * Resolve the delay before retrying a failed request.
+     *
+     * @param error The failure of the request
+     * @param idempotent Whether the request can be safely sent again after an unknown outcome
+     * @param attempt The attempt number that failed, starting from 1
+     * @return The delay in milliseconds, or {@code -1} if the failure should not be retried
+     */
+    private long getRetryDelay(@NotNull Throwable error, boolean idempotent, int attempt) {
+        return switch (error) {
+            case RateLimitedException rateLimited -> rateLimited.getRetryAfter();
+            case ErrorResponseException response when idempotent && response.isServerError() -> backoff(attempt);
+            case IOException ignored when idempotent -> backoff(attempt);
+            default -> -1;
+        };
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the delay is fixed and half is random.
+     *
+     * @param attempt The attempt number that failed, starting from 1
+     * @return The delay in milliseconds
+     */
+    static long backoff(int attempt) {
+        long delay = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * Result of a single attempt, never failed so it can be inspected for a retry.
+     *
+     * @param value The result value if succeeded
+     * @param error The failure if failed
+     * @param <T> The result type
+     */
+    private record Attempt<T>(@Nullable T value, @Nullable Throwable error) {
+        static <T> Attempt<T> succeeded(T value) {
+            return new Attempt<>(value, null);
+        }
+
+        static <T> Attempt<T> failed(Throwable error) {
+            return new Attempt<>(null, error);
+        }
+    }
+
+    /**
+     * Rate limit bucket of a route, updated by the rate limit headers of every response.
+     */
+    static final class Bucket implements Consumer<Response> {
+        private final String route;
+        private volatile long blockedUntil = 0;
+
+        private Bucket(String route) {
+            this.route = route;
+        }
+
+        /**
+         * Get the time to wait before this bucket accepts a new request.
+         *
+         * @return The delay in milliseconds, zero if the bucket is available
+         */
+        long getDelay() {
+            return Math.max(0, this.blockedUntil - System.currentTimeMillis());
+        }
+
+        /**
+         * Hold every request of this bucket for a period of time.
+         *
+         * @param millis The time to hold in milliseconds
+         */
+        void block(long millis) {
+            this.blockedUntil = Math.max(this.blockedUntil, System.currentTimeMillis() + millis);
+        }
+
+        /**
+         * Observe a response for its rate limit headers,
+         * the bucket is blocked until reset if there is no remaining request.
+         *
+         * @param response The response from discord API
+         */
+        @Override
+        public void accept(@NotNull Response response) {
+            if(response.getRawResponse() == null) return;
+
+            String remaining = response.getRawResponse().header("X-RateLimit-Remaining");
+            String resetAfter = response.getRawResponse().header("X-RateLimit-Reset-After");
+
+            if(!"0".equals(remaining) || resetAfter == null) return;
+
+            try {
+                long millis = (long) (Double.parseDouble(resetAfter) * 1000);
+                this.block(millis);
+                DiscordPS.debug("Forum webhook route " + this.route + " is exhausted, holding for " + millis + "ms");
+            }
+            catch (NumberFormatException ignored) { }
+        }
+    }
+}
@@ -16,9 +16,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * Manager interface for interacting with Discord Forum Channels via a webhook context.
@@ -31,8 +30,8 @@ import java.util.function.Supplier;
  * </ul>
  *
  * <p>
- * {@code allowSecondAttempt} parameter. When enabled, the operation will retry
- * once on known failures usually returns from response object.
+ * {@code allowSecondAttempt} parameter. When enabled, the operation will be retried
+ * with exponential backoff on retryable failures (rate limit, server error or network failure).
  * </p>
  */
 public interface ForumWebhook {
@@ -49,7 +48,7 @@ public interface ForumWebhook {
      *
      * @param channelID          ID of the thread channel.
      * @param appliedTags        Collection of tag IDs to apply, or null to leave unchanged.
-     * @param allowSecondAttempt Whether to retry once if the request fails.
+     * @param allowSecondAttempt Whether to retry if the request fails.
      * @return A RestAction holding an Optional containing the response data.
      */
     @NotNull
@@ -67,7 +66,7 @@ public interface ForumWebhook {
      * @param autoArchiveDuration Auto-archive duration in minutes, or null to leave unchanged.
      * @param locked              Whether the thread should be locked, or null to leave unchanged.
      * @param archived            Whether the thread should be archived, or null to leave unchanged.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional containing the response data.
      */
     @NotNull
@@ -85,7 +84,7 @@ public interface ForumWebhook {
      *
      * @param threadID            ID of the thread.
      * @param webhookData         Webhook message data.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the edited message reference.
      */
     @NotNull
@@ -100,7 +99,7 @@ public interface ForumWebhook {
      * @param threadID            ID of the thread.
      * @param messageID           ID of the message to edit.
      * @param webhookData         Webhook message data.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the edited message reference.
      */
     @NotNull
@@ -116,7 +115,7 @@ public interface ForumWebhook {
      * @param threadID            ID of the thread.
      * @param webhookData         Webhook message data.
      * @param withComponents      Whether to forcefully include message components (e.g., buttons).
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the edited message reference.
      */
     @NotNull
@@ -132,7 +131,7 @@ public interface ForumWebhook {
      *
      * @param webhookData         Webhook message data.
      * @param appliedTags         Collection of tag IDs to apply, or null.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the created message reference.
      */
     @NotNull
@@ -147,7 +146,7 @@ public interface ForumWebhook {
      * @param webhookData         Webhook message data.
      * @param appliedTags         Collection of tag IDs to apply, or null.
      * @param withComponents      Whether to forcefully include message components (e.g., buttons).
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the created message reference.
      */
     @NotNull
@@ -162,7 +161,7 @@ public interface ForumWebhook {
      *
      * @param threadID            ID of the thread.
      * @param messageID           ID of the message to retrieve.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the received message.
      */
     @NotNull
@@ -175,7 +174,7 @@ public interface ForumWebhook {
      * Retrieves the layout of the initial message in a thread.
      *
      * @param threadID            ID of the thread.
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the layout.
      */
     @NotNull
@@ -183,13 +182,25 @@ public interface ForumWebhook {
             @NotNull String threadID,
             boolean allowSecondAttempt);
 
+    /**
+     * Retrieves the channel data of a thread, including its name and applied tags.
+     *
+     * @param threadID            ID of the thread.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
+     * @return A RestAction holding an Optional with the raw channel data.
+     */
+    @NotNull
+    RestAction<Optional<DataObject>> getThreadChannel(
+            @NotNull String threadID,
+            boolean allowSecondAttempt);
+
     /**
      * Sends a new webhook message in an existing thread.
      *
      * @param threadID            ID of the thread.
      * @param webhookData         Webhook message data.
      * @param withComponents      Whether to forcefully include message components (e.g., buttons).
-     * @param allowSecondAttempt  Whether to retry once if the request fails.
+     * @param allowSecondAttempt  Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the sent message reference.
      */
     @NotNull
@@ -238,11 +249,14 @@ public interface ForumWebhook {
     /**
      * Conventional utility class to handle rest action response.
      *
+     * <p>Retrying is not handled here, failed requests are rescheduled
+     * by the scheduler that issued them without blocking the rest action thread.</p>
+     *
      * @param <T> Type of the return value of this response.
      */
     class RestResponse<T> {
-        private static final long RETRY_AFTER_MILLIS = 5000;
-        private @Nullable Supplier<RestAction<Optional<T>>> retryExecution;
+        private @Nullable Consumer<Response> responseObserver;
+        private @Nullable Runnable failureExecution;
         private final @NotNull Function<@NotNull DataObject, @Nullable T> response;
 
         /**
@@ -255,43 +269,53 @@ public interface ForumWebhook {
         }
 
         /**
-         * Provide this response with retry supplier.
+         * Provide this response with an observer.
+         *
+         * <p>The observer receives every raw response before it is handled,
+         * conventionally used to track rate limit headers.</p>
+         *
+         * @param observer The observer of each response.
+         */
+        public void setResponseObserver(@Nullable Consumer<Response> observer) {
+            this.responseObserver = observer;
+        }
+
+        /**
+         * Provide this response with failure action.
          *
-         * <p>The supplier will be executed once if a bad response is returned from discord api.</p>
+         * <p>The action will be executed every time a successful response failed to be parsed.
+         * A bad response never reaches this handler, it fails the rest action with an
+         * {@link github.scarsz.discordsrv.dependencies.jda.api.exceptions.ErrorResponseException}
+         * which should be handled by the failure callback of the action or its scheduler.</p>
          *
-         * @param execution The execution that return this respective response.
+         * @param execution The action to run on failure.
          */
-        public void setRetryExecution(@Nullable Supplier<RestAction<Optional<T>>> execution) {
-            this.retryExecution = execution;
+        public void setFailureExecution(@Nullable Runnable execution) {
+            this.failureExecution = execution;
         }
 
         /**
          * Execute this rest action response.
          *
-         * <p>Execution is checked for a retry if {@link Response#isOk()} returns {@code false}.
-         * Result is then received via the response function given by class constructor
-         * (invoked by response body if present).
-         * </p>
+         * <p>Result is received via the response function given by class constructor
+         * (invoked by response body if present), unparsable response returns an empty result.
+         * This is only invoked with a successful response,
+         * a bad response fails the rest action before reaching here.</p>
          *
          * @param response Response from discord API
          * @return The execution result handled with {@linkplain Optional}.
          */
         public Optional<T> execute(Response response, Request<Optional<T>> ignored) {
             try {
-                if(!response.isOk()) {
-                    if(this.retryExecution == null) return Optional.empty();
-
-                    // Not sure with the threading on this one, in theory it should block the rest action thread for 5 seconds.
-                    DiscordPS.debug("Discord returned bad response for Forum webhook execution, trying again in 5 seconds");
-                    return this.retryExecution.get().completeAfter(RETRY_AFTER_MILLIS, TimeUnit.MILLISECONDS);
-                }
+                if(this.responseObserver != null) this.responseObserver.accept(response);
 
                 return response.optObject().map(this.response);
             }
             catch (Throwable ex) {
+                if(this.failureExecution != null) this.failureExecution.run();
                 DiscordPS.error("Failed to execute API response of a webhook forum process", ex);
                 return Optional.empty();
             }
         }
     }
-}
\ No newline at end of file
+}
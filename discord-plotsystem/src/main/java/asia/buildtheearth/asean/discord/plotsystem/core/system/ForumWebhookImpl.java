@@ -11,12 +11,12 @@ import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
 import github.scarsz.discordsrv.dependencies.jda.internal.JDAImpl;
 import github.scarsz.discordsrv.dependencies.jda.internal.entities.*;
+import github.scarsz.discordsrv.dependencies.jda.internal.requests.CompletedRestAction;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Method;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.RestActionImpl;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
 import github.scarsz.discordsrv.dependencies.jda.internal.utils.Checks;
 import github.scarsz.discordsrv.dependencies.okhttp3.MediaType;
-import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
 import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.core.providers.AbstractWebhookProvider;
@@ -31,6 +31,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation for forum webhook functionalities.
@@ -39,6 +40,14 @@ import java.util.function.Function;
  * @see ForumWebhook
  */
 public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWebhook {
+
+    /**
+     * Maximum number of webhook message to be cached per webhook.
+     */
+    private static final int MESSAGE_CACHE_SIZE = 256;
+
+    private final WebhookMessageCache messageCache = new WebhookMessageCache(MESSAGE_CACHE_SIZE);
+    private final ForumRestScheduler scheduler;
     private final JDAImpl jdaImpl;
     private final Webhook webhook;
     private final Webhook.WebhookReference webhookReference;
@@ -47,13 +56,17 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
     /**
      * Initialize Webhook provider with a given configuration
      *
+     * @param jda The JDA instance to request with
+     * @param scheduler The rest scheduler to schedule every request on, shared by every webhook
      * @param config Yaml Configuration file of this webhook
      * @throws IllegalArgumentException If the given configuration is invalid for webhook ID and its channel ID
      */
     public ForumWebhookImpl(@NotNull JDA jda,
+                            @NotNull ForumRestScheduler scheduler,
                             @NotNull YamlConfiguration config) throws IllegalArgumentException {
         super(config);
         this.jdaImpl = this.makeJdaImpl(jda);
+        this.scheduler = scheduler;
         this.channel = new TextChannelImpl(this.channelID, new GuildImpl(this.jdaImpl, this.guildID));
         this.webhookReference = new Webhook.WebhookReference(this.getJDA(), this.webhookID, this.channelID);
         this.webhook = this.retrieveWebhook();
@@ -192,9 +205,7 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
         RequestBody requestBody = RequestBody.create(MediaType.get("application/json"), data.toString());
         RestResponse<DataObject> response = new RestResponse<>(Function.identity());
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> modifyThreadChannel(channelID, name, appliedTags, autoArchiveDuration, locked, archived, false));
-
-        return new RestActionImpl<>(this.jdaImpl, route, requestBody, response::execute);
+        return this.schedule(route, response, () -> requestBody, allowSecondAttempt, null);
     }
 
     /**
@@ -204,7 +215,7 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
      * @param messageID  ID of the message to edit.
      * @param webhookData Webhook message data.
      * @param withComponents Whether to forcefully include message components (e.g., buttons).
-     * @param allowSecondAttempt Whether to retry once if the request fails.
+     * @param allowSecondAttempt Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the edited message reference.
      */
     public @NotNull RestAction<Optional<MessageReference>> editWebhookMessage(
@@ -222,12 +233,12 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
                 .withQueryParams("thread_id", threadID)
                 .withQueryParams("with_components", String.valueOf(withComponents));
 
-        MultipartBody requestBody = webhookData.prepareRequestBody();
-        RestResponse<MessageReference> response = new RestResponse<>(this::packageMessageResponse);
+        RestResponse<MessageReference> response = new RestResponse<>(body -> this.packageMessageResponse(webhookData, body));
+        Runnable invalidate = () -> this.messageCache.invalidate(messageID);
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> editWebhookMessage(threadID, messageID, webhookData, withComponents, false));
+        response.setFailureExecution(invalidate);
 
-        return new RestActionImpl<>(this.jdaImpl, route, requestBody, response::execute);
+        return this.schedule(route, response, () -> AttachmentBody.of(webhookData), allowSecondAttempt, invalidate);
     }
 
     /** {@inheritDoc} */
@@ -240,18 +251,24 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
         Checks.isSnowflake(threadID, "Webhook thread ID");
         Checks.isSnowflake(messageID, "Webhook message ID");
 
+        // Compute from the last known message if cached
+        Optional<ReceivedMessage> cached = this.messageCache.get(messageID).map(data -> this.parseCached(messageID, data, this::createMessage));
+        if(cached.isPresent()) return new CompletedRestAction<>(this.jdaImpl, cached);
+
         Route.CompiledRoute route = Route.get(Route.Webhooks.EXECUTE_WEBHOOK_EDIT.getRoute())
                 .compile(webhook.getId(), webhook.getToken(), messageID)
                 .withQueryParams("thread_id", threadID);
 
-        RestResponse<ReceivedMessage> response = new RestResponse<>(data -> this.jdaImpl
-            .getEntityBuilder()
-            .createMessage(data, this.channel, false)
-        );
+        RestResponse<ReceivedMessage> response = new RestResponse<>(data -> {
+            this.messageCache.put(messageID, data);
+            return this.createMessage(data);
+        });
+
+        Runnable invalidate = () -> this.messageCache.invalidate(messageID);
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> getWebhookMessage(threadID, messageID, false));
+        response.setFailureExecution(invalidate);
 
-        return new RestActionImpl<>(this.jdaImpl, route, response::execute);
+        return this.schedule(route, response, null, allowSecondAttempt, invalidate);
     }
 
     /** {@inheritDoc} */
@@ -262,19 +279,38 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
 
         Checks.isSnowflake(threadID, "Webhook thread ID");
 
+        // Compute from the last known layout if cached, initial message ID is the same as its thread ID
+        Optional<Layout> cached = this.messageCache.get(threadID).map(data -> this.parseCached(threadID, data, this::parseLayout));
+        if(cached.isPresent()) return new CompletedRestAction<>(this.jdaImpl, cached);
+
         Route.CompiledRoute route = Route.get(Route.Webhooks.EXECUTE_WEBHOOK_EDIT.getRoute())
                 .compile(webhook.getId(), webhook.getToken(), threadID)
                 .withQueryParams("thread_id", threadID);
 
-        RestResponse<Layout> response = new RestResponse<>(data -> data
-            .optArray("components")
-            .flatMap(Layout::fromRawData)
-            .orElse(null)
-        );
+        RestResponse<Layout> response = new RestResponse<>(data -> {
+            this.messageCache.put(threadID, data);
+            return this.parseLayout(data);
+        });
+
+        Runnable invalidate = () -> this.messageCache.invalidate(threadID);
+
+        response.setFailureExecution(invalidate);
+
+        return this.schedule(route, response, null, allowSecondAttempt, invalidate);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @NotNull RestAction<Optional<DataObject>> getThreadChannel(
+            @NotNull String threadID,
+            boolean allowSecondAttempt) {
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> getInitialLayout(threadID, false));
+        Checks.isSnowflake(threadID, "Thread Channel ID");
 
-        return new RestActionImpl<>(this.jdaImpl, route, response::execute);
+        Route.CompiledRoute route = Route.get(Route.Channels.MODIFY_CHANNEL.getRoute()).compile(threadID);
+        RestResponse<DataObject> response = new RestResponse<>(Function.identity());
+
+        return this.schedule(route, response, null, allowSecondAttempt, null);
     }
 
     /**
@@ -283,7 +319,7 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
      * @param webhookData Webhook message data.
      * @param appliedTags Collection of tag IDs to apply, or null.
      * @param withComponents Whether to forcefully include message components (e.g., buttons).
-     * @param allowSecondAttempt Whether to retry once if the request fails.
+     * @param allowSecondAttempt Whether to retry if the request fails.
      * @return A RestAction holding an Optional with the edited message reference.
      */
     public @NotNull RestAction<Optional<MessageReference>> newThreadWithMessage(
@@ -313,12 +349,9 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
                     webhookData.put("applied_tags", tagArray);
             }
 
-            MultipartBody requestBody = webhookData.prepareRequestBody();
-            RestResponse<MessageReference> response = new RestResponse<>(this::packageMessageResponse);
+            RestResponse<MessageReference> response = new RestResponse<>(body -> this.packageMessageResponse(webhookData, body));
 
-            if(allowSecondAttempt) response.setRetryExecution(() -> newThreadWithMessage(webhookData, appliedTags, withComponents, false));
-
-            return new RestActionImpl<>(this.jdaImpl, route, requestBody, response::execute);
+            return this.schedule(route, response, () -> AttachmentBody.of(webhookData), allowSecondAttempt, null);
     }
 
     /** {@inheritDoc} */
@@ -337,13 +370,9 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
                 .withQueryParams("thread_id", threadID)
                 .withQueryParams("with_components", String.valueOf(withComponents));
 
-        MultipartBody requestBody = webhookData.prepareRequestBody();
-
-        RestResponse<MessageReference> response = new RestResponse<>(this::packageMessageResponse);
+        RestResponse<MessageReference> response = new RestResponse<>(body -> this.packageMessageResponse(webhookData, body));
 
-        if(allowSecondAttempt) response.setRetryExecution(() -> sendMessageInThread(threadID, webhookData, withComponents, false));
-
-        return new RestActionImpl<>(this.jdaImpl, route, requestBody, response::execute);
+        return this.schedule(route, response, () -> AttachmentBody.of(webhookData), allowSecondAttempt, null);
     }
 
     /** {@inheritDoc} */
@@ -370,7 +399,39 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
         // /channels/{channel_id}/thread-members/{user_id}
         String endpoint = Route.Channels.ADD_RECIPIENT.getRoute().replace("recipients", "thread-members");
         Route.CompiledRoute route = Route.custom(method, endpoint).compile(threadID, memberID);
-        return new RestActionImpl<>(this.getJDA(), route);
+        ForumRestScheduler.Bucket bucket = this.scheduler.bucket(route);
+
+        return this.scheduler.schedule(route, true, null, () -> new RestActionImpl<Void>(this.getJDA(), route,
+            (response, request) -> {
+                bucket.accept(response);
+                return null;
+            }
+        ));
+    }
+
+    /**
+     * Schedule a raw request on its route bucket.
+     * Every attempt is created as a new request with a freshly prepared body.
+     *
+     * @param route The compiled route to request
+     * @param response The response handler of this request
+     * @param body Supplier of the request body for each attempt, or {@code null} for no body
+     * @param allowRetry Whether to retry on retryable failures
+     * @param onFailure Optional action to run when the request is failed
+     * @return The scheduled rest action
+     * @param <T> The type of the response result
+     */
+    private <T> @NotNull RestAction<Optional<T>> schedule(@NotNull Route.CompiledRoute route,
+                                                          @NotNull RestResponse<T> response,
+                                                          @Nullable Supplier<RequestBody> body,
+                                                          boolean allowRetry,
+                                                          @Nullable Runnable onFailure) {
+        response.setResponseObserver(this.scheduler.bucket(route));
+
+        return this.scheduler.schedule(route, allowRetry, onFailure, () -> body == null
+            ? new RestActionImpl<Optional<T>>(this.jdaImpl, route, response::execute)
+            : new RestActionImpl<Optional<T>>(this.jdaImpl, route, body.get(), response::execute)
+        );
     }
 
     /** {@inheritDoc} */
@@ -396,6 +457,65 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
         return action;
     }
 
+    /**
+     * Parse a webhook message from its raw data.
+     *
+     * @param data The raw message data
+     * @return The received message entity
+     */
+    private @NotNull ReceivedMessage createMessage(@NotNull DataObject data) {
+        return this.jdaImpl.getEntityBuilder().createMessage(data, this.channel, false);
+    }
+
+    /**
+     * Parse layout components of a webhook message from its raw data.
+     *
+     * @param data The raw message data
+     * @return The layout of this message, null if the message has no known layout
+     */
+    private @Nullable Layout parseLayout(@NotNull DataObject data) {
+        return data.optArray("components").flatMap(Layout::fromRawData).orElse(null);
+    }
+
+    /**
+     * Parse a cached message data, the cached entry is dropped if it cannot be parsed.
+     *
+     * @param messageID The cached message ID
+     * @param data The cached raw data
+     * @param parser The parser to apply
+     * @return The parsed result, null if failed to parse
+     * @param <T> The parsed type
+     */
+    private <T> @Nullable T parseCached(@NotNull String messageID,
+                                        @NotNull DataObject data,
+                                        @NotNull Function<DataObject, @Nullable T> parser) {
+        try {
+            T parsed = parser.apply(data);
+            if(parsed == null) this.messageCache.invalidate(messageID);
+            return parsed;
+        }
+        catch (RuntimeException ex) {
+            DiscordPS.debug("Dropping unparsable cached webhook message " + messageID + ": " + ex);
+            this.messageCache.invalidate(messageID);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieve message reference from raw data object of a sent webhook message,
+     * recording the uploaded URL of its attached media.
+     *
+     * @param webhookData The sent webhook data
+     * @param body The data object response
+     * @return The message reference as {@link MessageReference}
+     * @see MediaStore#recordUploads(Map, DataObject)
+     */
+    private @Nullable MessageReference packageMessageResponse(@NotNull WebhookDataBuilder.WebhookData webhookData,
+                                                              @NotNull DataObject body) {
+        DiscordPS.getPlugin().getMediaStore().recordUploads(AttachmentBody.getAttached(webhookData), body);
+        return this.packageMessageResponse(body);
+    }
+
     /**
      * Retrieve message reference from raw data object.
      *
@@ -416,6 +536,9 @@ public class ForumWebhookImpl extends AbstractWebhookProvider implements ForumWe
                 return null;
             }
 
+            // Every webhook execution response is the full message object
+            this.messageCache.put(messageID, body);
+
             return new MessageReference(
                     Long.parseUnsignedLong(messageID),
                     Long.parseUnsignedLong(channelID),
@@ -0,0 +1,202 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.ConfigPaths;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Shared execution layer for every blocking I/O task (database, disk and HTTP).
+ *
+ * <p>Each task runs on its own virtual thread, so a blocking call never occupies
+ * a JDA callback thread, a Bukkit scheduler thread or the common pool.
+ * Concurrency is limited per {@link Resource} instead of per thread pool:
+ * a task waits for a permit of its resource before running,
+ * and HTTP tasks are limited per host.</p>
+ *
+ * <blockquote>{@snippet :
+ * IOExecutor.supply(IOExecutor.Resource.DISK, () -> Files.readAllBytes(path))
+ *     .thenAccept(bytes -> ...);
+ * }</blockquote>
+ *
+ * <p>A task must not wait on another task of the same resource while holding its permit.</p>
+ */
+public final class IOExecutor {
+
+    /** Default concurrent database tasks if the connection pool size is not configured */
+    static final int DEFAULT_DATABASE_CONCURRENCY = DatabaseConnection.DEFAULT_POOL_SIZE;
+
+    /** Default concurrent HTTP tasks per host */
+    static final int DEFAULT_HTTP_PER_HOST = 4;
+
+    /** Default concurrent disk tasks */
+    static final int DEFAULT_DISK_CONCURRENCY = 4;
+
+    /**
+     * Each class of blocking resource with its own concurrency limit.
+     */
+    public enum Resource {
+        /** JDBC queries and updates */
+        DATABASE,
+        /** Outgoing HTTP requests, limited per host */
+        HTTP,
+        /** File reads, writes and probes */
+        DISK
+    }
+
+    /**
+     * A blocking task that may throw any checked exception.
+     *
+     * @param <T> The task result
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws Exception;
+    }
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("DiscordPlotSystem - IO ", 0).factory()
+    );
+
+    private static volatile Map<Resource, Semaphore> limits = createLimits(
+        DEFAULT_DATABASE_CONCURRENCY, DEFAULT_DISK_CONCURRENCY
+    );
+
+    private static volatile int httpPerHost = DEFAULT_HTTP_PER_HOST;
+
+    private static final Map<String, Semaphore> HOSTS = new ConcurrentHashMap<>();
+
+    private IOExecutor() {}
+
+    /**
+     * Apply the concurrency limits from plugin config.
+     *
+     * <p>Tasks already submitted keep the limit they were submitted with.
+     * Database concurrency defaults to the configured connection pool size and never exceeds it,
+     * a query beyond the pool size would only wait for a connection while holding its permit.</p>
+     *
+     * @param config The plugin config
+     */
+    public static void configure(@NotNull FileConfiguration config) {
+        int poolSize = Math.max(1, config.getInt(ConfigPaths.DATABASE_POOL_SIZE, DEFAULT_DATABASE_CONCURRENCY));
+        limits = createLimits(
+            Math.clamp(config.getInt(ConfigPaths.IO_DATABASE_CONCURRENCY, poolSize), 1, poolSize),
+            Math.max(1, config.getInt(ConfigPaths.IO_DISK_CONCURRENCY, DEFAULT_DISK_CONCURRENCY))
+        );
+        httpPerHost = Math.max(1, config.getInt(ConfigPaths.IO_HTTP_PER_HOST, DEFAULT_HTTP_PER_HOST));
+        HOSTS.clear();
+    }
+
+    /**
+     * Run a blocking task within the limit of a resource.
+     *
+     * <p>{@link Resource#HTTP} tasks submitted here share a single unnamed host limit,
+     * use {@link #supply(URL, Task)} to be limited per host.</p>
+     *
+     * @param resource The resource this task blocks on
+     * @param task The task to run
+     * @return Future of the task result, completes exceptionally with the exception thrown by the task
+     * @param <T> The task result
+     */
+    public static <T> @NotNull CompletableFuture<T> supply(@NotNull Resource resource, @NotNull Task<T> task) {
+        return submit(limit(resource), task);
+    }
+
+    /**
+     * Run a blocking HTTP task within the limit of its host.
+     *
+     * @param url The URL this task requests
+     * @param task The task to run
+     * @return Future of the task result, completes exceptionally with the exception thrown by the task
+     * @param <T> The task result
+     */
+    public static <T> @NotNull CompletableFuture<T> supply(@NotNull URL url, @NotNull Task<T> task) {
+        return submit(host(url.getHost()), task);
+    }
+
+    /**
+     * Run a task on a virtual thread without any resource limit.
+     *
+     * <p>Only for tasks that block on other limited tasks or on lookups
+     * that are not worth a limit, e.g. resolving a player before downloading its avatar.</p>
+     *
+     * @param task The task to run
+     * @throws RejectedExecutionException If the task cannot be started
+     */
+    public static void execute(@NotNull Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Get an executor that runs each task within the limit of a resource,
+     * intended for async stages of a {@link CompletableFuture}.
+     *
+     * @param resource The resource each task blocks on
+     * @return An executor of this resource
+     */
+    public static @NotNull Executor executor(@NotNull Resource resource) {
+        return command -> execute(limit(resource), command);
+    }
+
+    private static <T> @NotNull CompletableFuture<T> submit(@NotNull Semaphore limit, @NotNull Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            execute(limit, () -> {
+                try {
+                    future.complete(task.call());
+                }
+                catch (CompletionException ex) {
+                    future.completeExceptionally(ex.getCause() != null? ex.getCause() : ex);
+                }
+                catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        }
+        catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private static void execute(@NotNull Semaphore limit, @NotNull Runnable task) {
+        EXECUTOR.execute(() -> {
+            // Virtual threads of this executor are never interrupted
+            limit.acquireUninterruptibly();
+            try {
+                task.run();
+            }
+            finally {
+                limit.release();
+            }
+        });
+    }
+
+    private static @NotNull Semaphore limit(@NotNull Resource resource) {
+        return resource == Resource.HTTP? host("") : limits.get(resource);
+    }
+
+    private static @NotNull Semaphore host(@NotNull String host) {
+        return HOSTS.computeIfAbsent(host.toLowerCase(Locale.ROOT), key -> new Semaphore(httpPerHost));
+    }
+
+    private static @NotNull Map<Resource, Semaphore> createLimits(int database, int disk) {
+        Map<Resource, Semaphore> created = new EnumMap<>(Resource.class);
+        created.put(Resource.DATABASE, new Semaphore(database));
+        created.put(Resource.DISK, new Semaphore(disk));
+        return created;
+    }
+}
@@ -0,0 +1,298 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prepare plot images for upload by downscaling and re-compressing them.
+ *
+ * <p>An image larger than the maximum dimensions is downscaled to fit,
+ * then re-encoded in its own format until it fits the size budget:
+ * JPEG by lowering its quality, other formats by downscaling further.
+ * The format is never converted so the upload keeps its file name and extension,
+ * which is referenced by the message components as {@code attachment://<name>}.</p>
+ *
+ * <p>Derived images are written next to the originals at {@code .derived/<sha256>/<name>},
+ * keyed by the content hash of the original so the same image is never processed twice,
+ * even across restarts. An image that is already within limits (or cannot be processed) is uploaded as is,
+ * so is a GIF since re-encoding it would flatten its animation to the first frame.</p>
+ *
+ * <p>Hashing and processing run on the {@link IOExecutor.Resource#DISK disk resource},
+ * concurrent requests of the same image share a single in-flight processing.</p>
+ *
+ * <blockquote>{@snippet :
+ * pipeline.prepareAll(images).thenAccept(prepared -> prepared.forEach(file -> AttachmentBody.attach(data, file)));
+ * }</blockquote>
+ */
+public final class ImagePipeline {
+
+    /** Folder of derived images within a media folder */
+    static final String DERIVED_FOLDER = ".derived";
+
+    /** Lowest JPEG quality to try before downscaling further */
+    private static final float MIN_JPEG_QUALITY = 0.5f;
+
+    /** Maximum re-encode attempts to fit the size budget */
+    private static final int MAX_ATTEMPTS = 6;
+
+    private final boolean enabled;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final long maxFileSize;
+
+    /** Prepared upload of each original content hash and file name */
+    private final Map<String, File> prepared = new ConcurrentHashMap<>();
+
+    /** Processing of each original content hash and file name in flight */
+    private final Map<String, CompletableFuture<File>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new image pipeline.
+     *
+     * @param enabled Whether to process images at all, every image is uploaded as is if false
+     * @param maxWidth Maximum image width in pixels
+     * @param maxHeight Maximum image height in pixels
+     * @param maxFileSize Size budget of a prepared image in bytes
+     */
+    public ImagePipeline(boolean enabled, int maxWidth, int maxHeight, long maxFileSize) {
+        this.enabled = enabled;
+        this.maxWidth = Math.max(1, maxWidth);
+        this.maxHeight = Math.max(1, maxHeight);
+        this.maxFileSize = Math.max(1, maxFileSize);
+    }
+
+    /**
+     * Get the file to upload for an image.
+     *
+     * @param original The original image file
+     * @return Future of the prepared image, or the original itself if it needs no processing or failed to process.
+     *         Never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<File> prepare(@NotNull File original) {
+        if(!this.enabled) return CompletableFuture.completedFuture(original);
+
+        return IOExecutor.supply(IOExecutor.Resource.DISK, () -> this.hash(original)).thenCompose(hash -> {
+            if(hash == null) return CompletableFuture.completedFuture(original);
+
+            String key = hash + "/" + original.getName();
+            File cached = this.prepared.get(key);
+            if(cached != null) return CompletableFuture.completedFuture(cached);
+
+            CompletableFuture<File> future = this.inFlight.computeIfAbsent(key, ignored ->
+                IOExecutor.supply(IOExecutor.Resource.DISK, () -> this.process(original, hash))
+            );
+
+            future.whenComplete((file, error) -> {
+                if(file != null) this.prepared.put(key, file);
+                this.inFlight.remove(key, future);
+            });
+
+            return future;
+        }).exceptionally(error -> {
+            DiscordPS.debug("Cannot prepare image for upload, uploading the original: " + original + " (" + error + ")");
+            return original;
+        });
+    }
+
+    /**
+     * Get the files to upload for multiple images.
+     *
+     * @param originals The original image files
+     * @return Future of the prepared images in the same order as the originals, never completes exceptionally.
+     * @see #prepare(File)
+     */
+    public @NotNull CompletableFuture<List<File>> prepareAll(@NotNull Collection<File> originals) {
+        List<CompletableFuture<File>> futures = originals.stream().map(this::prepare).toList();
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Get the original image of a file returned by {@link #prepare(File)}.
+     *
+     * @param file The prepared image file
+     * @return The original image if the file is a derived image, else the file itself
+     */
+    public static @NotNull File originalOf(@NotNull File file) {
+        File hashFolder = file.getAbsoluteFile().getParentFile();
+        File derived = hashFolder == null? null : hashFolder.getParentFile();
+
+        if(derived == null || !derived.getName().equals(DERIVED_FOLDER)) return file;
+        return new File(derived.getParentFile(), file.getName());
+    }
+
+    /**
+     * Forget every prepared image, derived files on disk are kept.
+     */
+    public void clear() {
+        this.prepared.clear();
+    }
+
+    /**
+     * Get the content hash of an image, indexed hash is used if the media index has it.
+     *
+     * @return The content hash, or null if the image is not a file or cannot be hashed
+     */
+    private @Nullable String hash(@NotNull File original) {
+        if(!original.isFile()) return null;
+
+        try {
+            Optional<MediaIndex.MediaFile> indexed = DiscordPS.getPlugin().getMediaIndex().find(original);
+            return indexed.isPresent()? indexed.get().hash() : MediaIndex.hash(original);
+        }
+        catch (IOException ex) {
+            DiscordPS.debug("Cannot hash image for upload, uploading the original: " + original + " (" + ex + ")");
+            return null;
+        }
+    }
+
+    private @NotNull File process(@NotNull File original, @NotNull String hash) {
+        Path derived = original.toPath().resolveSibling(DERIVED_FOLDER).resolve(hash).resolve(original.getName());
+        if(Files.isRegularFile(derived)) return derived.toFile();
+
+        try(ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = input == null? null : ImageIO.getImageReaders(input);
+            if(readers == null || !readers.hasNext()) return original;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+
+                // Only the first frame would be re-encoded, keep animated images as is
+                if(format.equals("gif")) return original;
+
+                int width = reader.getWidth(0), height = reader.getHeight(0);
+
+                // Within limits, read only the header and upload as is
+                if(width <= this.maxWidth && height <= this.maxHeight && original.length() <= this.maxFileSize)
+                    return original;
+
+                byte[] encoded = this.encode(reader.read(0), format);
+                if(encoded == null || encoded.length >= original.length()) return original;
+
+                Files.createDirectories(derived.getParent());
+                Path temp = Files.createTempFile(derived.getParent(), original.getName(), ".part");
+                try {
+                    Files.write(temp, encoded);
+                    Files.move(temp, derived, StandardCopyOption.REPLACE_EXISTING);
+                }
+                finally {
+                    Files.deleteIfExists(temp);
+                }
+
+                DiscordPS.debug("Prepared image " + original.getName() + " for upload: "
+                    + width + "x" + height + " " + original.length() / 1024 + "KB -> "
+                    + encoded.length / 1024 + "KB");
+                return derived.toFile();
+            }
+            finally {
+                reader.dispose();
+            }
+        }
+        catch (IOException | RuntimeException ex) {
+            DiscordPS.warning("Failed to prepare image for upload, uploading the original: " + original + " (" + ex + ")");
+            return original;
+        }
+    }
+
+    /**
+     * Downscale and encode an image until it fits the size budget.
+     *
+     * @return The encoded image, or null if no writer supports the format
+     */
+    private byte @Nullable [] encode(@NotNull BufferedImage image, @NotNull String format) throws IOException {
+        boolean jpeg = format.equals("jpeg") || format.equals("jpg");
+        double scale = Math.min(1.0, Math.min((double) this.maxWidth / image.getWidth(), (double) this.maxHeight / image.getHeight()));
+        float quality = 0.9f;
+
+        byte[] encoded = null;
+        for(int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            BufferedImage scaled = scale(image, scale, jpeg || !image.getColorModel().hasAlpha());
+            encoded = write(scaled, format, jpeg? quality : null);
+            if(encoded == null || encoded.length <= this.maxFileSize) return encoded;
+
+            if(jpeg && quality > MIN_JPEG_QUALITY) quality = Math.max(MIN_JPEG_QUALITY, quality - 0.15f);
+            else scale *= 0.75;
+        }
+        return encoded;
+    }
+
+    private static @NotNull BufferedImage scale(@NotNull BufferedImage image, double scale, boolean opaque) {
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = opaque? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        if(width == image.getWidth() && height == image.getHeight() && image.getType() == type) return image;
+
+        // Halve step by step first, a single bilinear pass loses too much detail on large factors
+        BufferedImage current = image;
+        while(current.getWidth() / 2 >= width && current.getHeight() / 2 >= height)
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, type);
+
+        return draw(current, width, height, type);
+    }
+
+    private static @NotNull BufferedImage draw(@NotNull BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        }
+        finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte @Nullable [] write(@NotNull BufferedImage image, @NotNull String format, @Nullable Float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if(!writers.hasNext()) return null;
+
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try(ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if(quality != null && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        }
+        finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,283 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * In-memory index of every file in each plot media folder ({@code media/plot-xx/}).
+ *
+ * <p>A folder is listed once on its first lookup and its file metadata
+ * (name, size and MIME type) is kept in memory.
+ * Every later lookup is served from the index without touching the filesystem.
+ * The content hash of a file is only computed on its first {@link MediaFile#hash()},
+ * which is called by the media store and image pipeline on the disk executor, never by layout builds.</p>
+ *
+ * <p>An indexed folder is dropped from the index when it is modified, either detected by
+ * a {@link WatchService} or by an explicit {@link #invalidate(File)} from the commands that write media files.
+ * Changes to the {@link ImagePipeline} derived folder within a media folder are ignored
+ * since derived files are never indexed.
+ * A folder that does not exist yet is never indexed.</p>
+ */
+public final class MediaIndex {
+
+    /**
+     * Indexed media of a folder.
+     */
+    public static final class MediaFile {
+        private final @NotNull File file;
+        private final @NotNull String name;
+        private final long size;
+        private final @Nullable String mimeType;
+
+        /** Content hash computed on first use, the file is dropped with its folder when modified */
+        private volatile @Nullable String hash;
+
+        /**
+         * @param file The media file
+         * @param name The file name including extension
+         * @param size The file size in bytes
+         * @param mimeType The probed content type, null if unknown
+         */
+        MediaFile(@NotNull File file, @NotNull String name, long size, @Nullable String mimeType) {
+            this.file = file;
+            this.name = name;
+            this.size = size;
+            this.mimeType = mimeType;
+        }
+
+        public @NotNull File file() {
+            return this.file;
+        }
+
+        public @NotNull String name() {
+            return this.name;
+        }
+
+        public long size() {
+            return this.size;
+        }
+
+        public @Nullable String mimeType() {
+            return this.mimeType;
+        }
+
+        /**
+         * Get the content hash of this media, reading the file on the first call.
+         *
+         * <p>This does disk I/O until the hash is computed, call it on the disk executor.</p>
+         *
+         * @return SHA-256 hex digest of the file content
+         * @throws IOException If the file cannot be read
+         */
+        public @NotNull String hash() throws IOException {
+            String hash = this.hash;
+            if(hash == null) this.hash = hash = MediaIndex.hash(this.file);
+            return hash;
+        }
+
+        /**
+         * Check if this media is an image by its MIME type.
+         *
+         * @return True if the MIME type is {@code image/*}
+         */
+        public boolean isImage() {
+            return this.mimeType != null && this.mimeType.startsWith("image/");
+        }
+
+        @Override
+        public String toString() {
+            return "MediaFile[" + this.file + ", size=" + this.size + ", mimeType=" + this.mimeType + "]";
+        }
+    }
+
+    private final Map<Path, List<MediaFile>> index = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+    private final @Nullable WatchService watcher;
+
+    /**
+     * Create a new media index and start watching indexed folders if supported by the filesystem.
+     */
+    public MediaIndex() {
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        }
+        catch (IOException | UnsupportedOperationException ex) {
+            DiscordPS.debug("Media folder watcher is not available, media index is refreshed by commands only: " + ex);
+            service = null;
+        }
+        this.watcher = service;
+
+        if(service != null) {
+            Thread watchThread = new Thread(() -> this.watch(service), "DiscordPlotSystem - Media Watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+    }
+
+    /**
+     * Get every indexed file of a media folder.
+     *
+     * @param folder The media folder
+     * @return All files of the folder sorted by name, empty if the folder does not exist
+     */
+    public @NotNull List<MediaFile> getMedia(@NotNull File folder) {
+        if(!folder.isDirectory()) return List.of();
+        return this.index.computeIfAbsent(folder.toPath().toAbsolutePath(), this::scan);
+    }
+
+    /**
+     * Find the indexed metadata of a media file.
+     *
+     * @param file The media file
+     * @return The indexed file, empty if the file is not in any media folder
+     */
+    public @NotNull Optional<MediaFile> find(@NotNull File file) {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if(folder == null) return Optional.empty();
+
+        String name = file.getName();
+        return this.getMedia(folder).stream().filter(media -> media.name().equals(name)).findFirst();
+    }
+
+    /**
+     * Find all indexed image files with a prefixed name within a media folder.
+     *
+     * @param filePrefix The filename prefix to look for
+     * @param folder The media folder
+     * @return All image files with the given prefix sorted by name
+     */
+    public @NotNull List<File> findImagesByPrefix(@NotNull String filePrefix, @NotNull File folder) {
+        return this.getMedia(folder).stream()
+            .filter(media -> media.name().startsWith(filePrefix) && media.isImage())
+            .map(MediaFile::file)
+            .toList();
+    }
+
+    /**
+     * Drop a media folder from the index, it will be listed again on the next lookup.
+     *
+     * @param folder The media folder that has been modified
+     */
+    public void invalidate(@NotNull File folder) {
+        this.index.remove(folder.toPath().toAbsolutePath());
+    }
+
+    /**
+     * Drop a plot's media folder from the index.
+     *
+     * @param plotID The plot ID whose media folder has been modified
+     * @see PlotData#prepareMediaFolder(int)
+     */
+    public void invalidate(int plotID) {
+        this.invalidate(PlotData.prepareMediaFolder(plotID));
+    }
+
+    /**
+     * Stop watching all folders and clear the index.
+     */
+    public void shutdown() {
+        try {
+            if(this.watcher != null) this.watcher.close();
+        }
+        catch (IOException ignored) { }
+        this.index.clear();
+    }
+
+    private @NotNull List<MediaFile> scan(@NotNull Path folder) {
+        this.register(folder);
+
+        File[] files = folder.toFile().listFiles(File::isFile);
+        if(files == null) {
+            DiscordPS.error("Could not list files in the media folder: " + folder);
+            return List.of();
+        }
+
+        List<MediaFile> result = new ArrayList<>(files.length);
+        for(File file : files) {
+            try {
+                result.add(new MediaFile(file, file.getName(), file.length(), Files.probeContentType(file.toPath())));
+            }
+            catch (IOException ex) {
+                DiscordPS.error("Failed to index media file: " + file.getAbsolutePath(), ex);
+            }
+        }
+        result.sort(Comparator.comparing(MediaFile::name));
+
+        DiscordPS.debug("Indexed " + result.size() + " media file(s) in: " + folder.getFileName());
+        return List.copyOf(result);
+    }
+
+    private void register(@NotNull Path folder) {
+        if(this.watcher == null || this.watchKeys.containsValue(folder)) return;
+        try {
+            this.watchKeys.put(folder.register(this.watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), folder);
+        }
+        catch (IOException | ClosedWatchServiceException ex) {
+            DiscordPS.debug("Cannot watch media folder " + folder + ": " + ex);
+        }
+    }
+
+    private void watch(@NotNull WatchService service) {
+        while(true) {
+            try {
+                WatchKey key = service.take();
+                Path folder = this.watchKeys.get(key);
+
+                // Derived images are written within the media folder but never indexed
+                boolean modified = false;
+                for(WatchEvent<?> event : key.pollEvents()) {
+                    if(!(event.context() instanceof Path changed) || !changed.toString().equals(ImagePipeline.DERIVED_FOLDER))
+                        modified = true;
+                }
+                if(folder != null && modified) this.index.remove(folder);
+
+                if(!key.reset()) this.watchKeys.remove(key);
+            }
+            catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            catch (RuntimeException ex) {
+                // Keep watching, a folder that failed to be dropped is refreshed by commands
+                DiscordPS.error("Unexpected failure watching media folders", ex);
+            }
+        }
+    }
+
+    /**
+     * Compute the content hash of a file.
+     *
+     * @param file The file to hash
+     * @return SHA-256 hex digest
+     * @throws IOException If the file cannot be read
+     */
+    public static @NotNull String hash(@NotNull File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        try(InputStream input = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
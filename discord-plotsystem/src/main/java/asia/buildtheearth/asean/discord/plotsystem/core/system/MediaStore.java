@@ -0,0 +1,547 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store of plot media at {@code media/store/}.
+ *
+ * <p>Media content is stored once as a blob named by its SHA-256 hash at {@code blobs/<sha256>}
+ * and hard linked into every plot media folder ({@code media/plot-xx/}) that uses it,
+ * or copied if the filesystem does not support links.
+ * Each media folder has a manifest at {@code manifests/plot-xx.yml} recording by content hash:
+ * the file names using it, the discord attachments it was downloaded from and the last URL it was uploaded as.</p>
+ *
+ * <ul>
+ *     <li>An attachment downloaded before is linked from its blob without being downloaded again.</li>
+ *     <li>A downloaded attachment whose content is already stored is linked to the existing blob.</li>
+ *     <li>Media uploaded by a webhook message can be referenced by its uploaded URL
+ *         until the URL expires, instead of uploading the same bytes again.</li>
+ *     <li>{@link #collectGarbage()} deletes every blob that no media folder references.</li>
+ * </ul>
+ */
+public final class MediaStore {
+
+    /** Name prefix of every plot media folder */
+    private static final String MEDIA_FOLDER_PREFIX = "plot-";
+
+    /** Minimum remaining lifetime of an uploaded URL to be reused */
+    private static final long URL_EXPIRY_MARGIN = TimeUnit.HOURS.toMillis(1);
+
+    /** Age of a partial download before it is considered abandoned */
+    private static final long PART_EXPIRY = TimeUnit.HOURS.toMillis(1);
+
+    /** Expiry of a signed discord CDN URL, as hex unix seconds */
+    private static final Pattern URL_EXPIRY = Pattern.compile("[?&]ex=([0-9a-fA-F]+)");
+
+    /**
+     * Manifest entry of a single content hash.
+     */
+    private static final class Entry {
+        private final Set<String> files = new TreeSet<>();
+        private final Set<String> sources = new TreeSet<>();
+        private @Nullable String url;
+    }
+
+    /** An in-flight download, reporting its progress to every listener sharing it */
+    private record Download(@NotNull Set<AttachmentDownloader.Listener> listeners,
+                            @NotNull CompletableFuture<String> future) {}
+
+    private final Path mediaFolder;
+    private final Path blobs;
+    private final Path manifests;
+
+    /** Manifest of each media folder name, each manifest is locked on itself */
+    private final Map<String, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+
+    /** Content hash of each downloaded attachment ID */
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+
+    /** Download of each attachment ID in flight, completes with its content hash */
+    private final Map<String, Download> downloading = new ConcurrentHashMap<>();
+
+    /** Lock of adding, linking and deleting blobs */
+    private final Object blobLock = new Object();
+
+    /**
+     * Create a media store, loading every manifest from disk.
+     *
+     * @param mediaFolder The media folder containing each plot media folder
+     */
+    public MediaStore(@NotNull Path mediaFolder) {
+        this.mediaFolder = mediaFolder.toAbsolutePath().normalize();
+        this.blobs = this.mediaFolder.resolve("store/blobs");
+        this.manifests = this.mediaFolder.resolve("store/manifests");
+        this.load();
+    }
+
+    /**
+     * Download an attachment to a plot media folder through the store.
+     *
+     * @param attachment The discord attachment to download
+     * @param target The file to save the attachment as, within a plot media folder
+     * @return Future of the target file, completed exceptionally if the download failed
+     * @see #download(Message.Attachment, File, AttachmentDownloader.Listener)
+     */
+    public @NotNull CompletableFuture<File> download(@NotNull Message.Attachment attachment, @NotNull File target) {
+        return this.download(attachment, target, AttachmentDownloader.Listener.NONE);
+    }
+
+    /**
+     * Download an attachment to a plot media folder through the store.
+     *
+     * <p>An attachment that is downloaded before is linked from its stored blob instead.
+     * A new attachment is downloaded by the {@link AttachmentDownloader} to {@code blobs/<attachment-id>.part},
+     * concurrent downloads of the same attachment share a single download
+     * and its progress is reported to the listener of each of them.
+     * The target file is always replaced rather than overwritten since it may be linked to another blob.</p>
+     *
+     * @param attachment The discord attachment to download
+     * @param target The file to save the attachment as, within a plot media folder
+     * @param listener Listener of the download progress, not called if the attachment is reused,
+     *                 a listener joining a shared download misses the progress reported before it joined
+     * @return Future of the target file, completed exceptionally if the download failed
+     */
+    public @NotNull CompletableFuture<File> download(@NotNull Message.Attachment attachment,
+                                                     @NotNull File target,
+                                                     @NotNull AttachmentDownloader.Listener listener) {
+        String source = attachment.getId();
+        String known = this.sources.get(source);
+        CompletableFuture<Boolean> reused = known == null
+            ? CompletableFuture.completedFuture(false)
+            : IOExecutor.supply(IOExecutor.Resource.DISK, () -> this.reuse(known, source, target.toPath()));
+
+        return reused.thenCompose(hit -> {
+            if(hit) return CompletableFuture.completedFuture(target);
+
+            return this.fetch(attachment, listener).thenCompose(hash -> IOExecutor.supply(IOExecutor.Resource.DISK, () -> {
+                this.place(hash, source, target.toPath());
+                return target;
+            }));
+        });
+    }
+
+    /**
+     * Find the uploaded URL of each plot media file that can still be referenced,
+     * file content is hashed on the {@link IOExecutor.Resource#DISK disk resource}.
+     *
+     * @param files The media files within plot media folders
+     * @return Future of the last uploaded URL by file name,
+     *         a file never uploaded or expiring soon is absent. Never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<Map<String, String>> findUploadedUrls(@NotNull Collection<File> files) {
+        if(files.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+        return IOExecutor.supply(IOExecutor.Resource.DISK, () -> {
+            Map<String, String> uploaded = new HashMap<>();
+            for(File file : files) this.findUploadedUrl(file).ifPresent(url -> uploaded.put(file.getName(), url));
+            return uploaded;
+        }).exceptionally(error -> {
+            DiscordPS.debug("Cannot find uploaded media URLs: " + error);
+            return Map.of();
+        });
+    }
+
+    /**
+     * Record the uploaded URL of each plot media file attached to a sent message,
+     * file content is hashed on the {@link IOExecutor.Resource#DISK disk resource}.
+     *
+     * @param attached The attached files by their upload name
+     * @param message The sent message data containing its {@code attachments}
+     * @return Future that completes once every upload is recorded
+     * @see AttachmentBody#getAttached(asia.buildtheearth.asean.discord.components.WebhookDataBuilder.WebhookData)
+     */
+    public @NotNull CompletableFuture<Void> recordUploads(@NotNull Map<String, File> attached, @NotNull DataObject message) {
+        if(attached.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        DataArray uploaded = message.optArray("attachments").orElse(null);
+        if(uploaded == null || uploaded.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return IOExecutor.supply(IOExecutor.Resource.DISK, () -> {
+            for(int i = 0; i < uploaded.length(); i++) {
+                DataObject attachment = uploaded.getObject(i);
+                String url = attachment.getString("url", null);
+                File file = attached.get(attachment.getString("filename", ""));
+                if(url == null || file == null) continue;
+
+                // Upload of a prepared image is recorded on its original
+                File original = ImagePipeline.originalOf(file);
+                File folder = original.getAbsoluteFile().getParentFile();
+                if(!this.isMediaFolder(folder)) continue;
+
+                try {
+                    String hash = hashOf(original);
+                    Map<String, Entry> manifest = this.entries.computeIfAbsent(folder.getName(), key -> new TreeMap<>());
+                    synchronized (manifest) {
+                        Entry entry = manifest.computeIfAbsent(hash, key -> new Entry());
+                        entry.files.add(original.getName());
+                        entry.url = url;
+                        this.save(folder.getName(), manifest);
+                    }
+                }
+                catch (IOException ex) {
+                    DiscordPS.debug("Cannot record uploaded media " + original + ": " + ex);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Synchronize every manifest with its media folder, then delete every blob no media folder references.
+     *
+     * <p>Media placed in a folder outside the store (e.g. manually by staff) is adopted as a blob,
+     * and manifests of deleted media folders are deleted.</p>
+     *
+     * @return Number of deleted blobs
+     */
+    public int collectGarbage() {
+        File[] folders = this.mediaFolder.toFile().listFiles(file -> file.isDirectory() && file.getName().startsWith(MEDIA_FOLDER_PREFIX));
+        if(folders == null) return 0;
+
+        Set<String> referenced = new HashSet<>();
+        Set<String> existing = new HashSet<>();
+        for(File folder : folders) {
+            existing.add(folder.getName());
+            referenced.addAll(this.sync(folder));
+        }
+
+        for(String folder : Set.copyOf(this.entries.keySet())) {
+            if(existing.contains(folder)) continue;
+            Map<String, Entry> manifest = this.entries.remove(folder);
+            if(manifest == null) continue;
+            synchronized (manifest) {
+                manifest.forEach((hash, entry) -> entry.sources.forEach(source -> this.sources.remove(source, hash)));
+                manifest.clear();
+                this.save(folder, manifest);
+            }
+        }
+
+        int deleted = 0;
+        long now = System.currentTimeMillis();
+        synchronized (this.blobLock) {
+            File[] blobs = this.blobs.toFile().listFiles(File::isFile);
+            if(blobs != null) for(File blob : blobs) {
+                if(referenced.contains(blob.getName())) continue;
+                if(blob.getName().endsWith(".part") && now - blob.lastModified() < PART_EXPIRY) continue;
+                if(blob.delete()) deleted++;
+            }
+        }
+
+        DiscordPS.debug("Media store has " + referenced.size() + " referenced blob(s), deleted " + deleted + " unreferenced");
+        return deleted;
+    }
+
+    /**
+     * Find the uploaded URL of a plot media file that can still be referenced, hashing it if not indexed.
+     *
+     * @return The last uploaded URL of the file content, empty if never uploaded or expiring soon
+     */
+    private @NotNull Optional<String> findUploadedUrl(@NotNull File file) {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if(!this.isMediaFolder(folder)) return Optional.empty();
+
+        Map<String, Entry> manifest = this.entries.get(folder.getName());
+        if(manifest == null) return Optional.empty();
+
+        final String hash;
+        try {
+            hash = hashOf(file);
+        }
+        catch (IOException ex) {
+            return Optional.empty();
+        }
+
+        final String url;
+        synchronized (manifest) {
+            Entry entry = manifest.get(hash);
+            url = entry == null? null : entry.url;
+        }
+        return Optional.ofNullable(url).filter(uploaded -> isReusable(uploaded, System.currentTimeMillis()));
+    }
+
+    /**
+     * Download an attachment into its blob, sharing the in-flight download of the same attachment.
+     *
+     * <p>The listener is added to the shared download, so every caller is reported of its progress.</p>
+     *
+     * @return Future of the stored content hash
+     */
+    private @NotNull CompletableFuture<String> fetch(@NotNull Message.Attachment attachment,
+                                                     @NotNull AttachmentDownloader.Listener listener) {
+        String source = attachment.getId();
+        Download download = this.downloading.computeIfAbsent(source, key -> {
+            Set<AttachmentDownloader.Listener> listeners = new CopyOnWriteArraySet<>(List.of(listener));
+            Path part = this.blobs.resolve(source + ".part");
+            AttachmentDownloader.Listener fanout = (downloaded, state, detail) ->
+                listeners.forEach(each -> each.onProgress(downloaded, state, detail));
+
+            return new Download(listeners, DiscordPS.getPlugin().getAttachmentDownloader().download(attachment, part, fanout)
+                .thenCompose(downloaded -> IOExecutor.supply(IOExecutor.Resource.DISK, () -> this.store(downloaded))));
+        });
+
+        download.listeners().add(listener);
+        download.future().whenComplete((hash, error) -> this.downloading.remove(source, download));
+
+        return download.future();
+    }
+
+    /**
+     * Link a stored blob of a known attachment to its target.
+     *
+     * @return False if the blob no longer exists or its content is modified
+     */
+    private boolean reuse(@NotNull String hash, @NotNull String source, @NotNull Path target) throws IOException {
+        synchronized (this.blobLock) {
+            Path blob = this.blobs.resolve(hash);
+            if(!Files.isRegularFile(blob)) return false;
+
+            // A linked media file may have been overwritten in place
+            if(!MediaIndex.hash(blob.toFile()).equals(hash)) {
+                Files.delete(blob);
+                return false;
+            }
+        }
+
+        this.place(hash, source, target);
+        DiscordPS.debug("Reused stored media of attachment " + source + " as " + target.getFileName());
+        return true;
+    }
+
+    /**
+     * Move a downloaded file into its blob, or drop it if the content is already stored.
+     *
+     * @return The content hash of the downloaded file
+     */
+    private @NotNull String store(@NotNull Path part) throws IOException {
+        String hash = MediaIndex.hash(part.toFile());
+
+        synchronized (this.blobLock) {
+            Path blob = this.blobs.resolve(hash);
+            if(Files.isRegularFile(blob) && Files.size(blob) == Files.size(part)) {
+                Files.delete(part);
+                DiscordPS.debug("Downloaded media is already stored as " + hash);
+            }
+            else Files.move(part, blob, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Link a stored blob to its target and record it as downloaded from the given attachment.
+     *
+     * @throws IOException If the blob no longer exists
+     */
+    private void place(@NotNull String hash, @NotNull String source, @NotNull Path target) throws IOException {
+        synchronized (this.blobLock) {
+            Path blob = this.blobs.resolve(hash);
+            if(!Files.isRegularFile(blob)) throw new IOException("Stored media " + hash + " no longer exists");
+            link(blob, target);
+        }
+
+        this.record(target, hash, source);
+    }
+
+    /**
+     * Record a media file as the given content in its folder manifest.
+     */
+    private void record(@NotNull Path file, @NotNull String hash, @Nullable String source) {
+        String folder = file.getParent().getFileName().toString();
+        String name = file.getFileName().toString();
+        Map<String, Entry> manifest = this.entries.computeIfAbsent(folder, key -> new TreeMap<>());
+
+        synchronized (manifest) {
+            // The file name now refers to this content only
+            manifest.forEach((previous, entry) -> entry.files.remove(name));
+
+            Entry entry = manifest.computeIfAbsent(hash, key -> new Entry());
+            entry.files.add(name);
+            if(source != null) {
+                entry.sources.add(source);
+                this.sources.put(source, hash);
+            }
+
+            manifest.entrySet().removeIf(previous -> {
+                if(!previous.getValue().files.isEmpty()) return false;
+                previous.getValue().sources.forEach(src -> this.sources.remove(src, previous.getKey()));
+                return true;
+            });
+
+            this.save(folder, manifest);
+        }
+    }
+
+    /**
+     * Rebuild the manifest of a media folder from its indexed files, adopting unknown content as blobs.
+     *
+     * @return Every content hash the folder references
+     */
+    private @NotNull Set<String> sync(@NotNull File folder) {
+        List<MediaIndex.MediaFile> media = DiscordPS.getPlugin().getMediaIndex().getMedia(folder);
+        Map<String, Entry> manifest = this.entries.computeIfAbsent(folder.getName(), key -> new TreeMap<>());
+
+        synchronized (manifest) {
+            Map<String, Entry> previous = new HashMap<>(manifest);
+            manifest.clear();
+
+            for(MediaIndex.MediaFile file : media) {
+                final String hash;
+                try {
+                    hash = file.hash();
+                }
+                catch (IOException ex) {
+                    DiscordPS.error("Failed to hash media file: " + file.file(), ex);
+                    continue;
+                }
+
+                Entry entry = manifest.computeIfAbsent(hash, key -> {
+                    Entry created = new Entry();
+                    Entry known = previous.get(hash);
+                    if(known != null) {
+                        created.sources.addAll(known.sources);
+                        created.url = known.url;
+                    }
+                    return created;
+                });
+                entry.files.add(file.name());
+
+                synchronized (this.blobLock) {
+                    Path blob = this.blobs.resolve(hash);
+                    if(Files.isRegularFile(blob)) continue;
+                    try {
+                        Files.createDirectories(this.blobs);
+                        link(file.file().toPath(), blob);
+                    }
+                    catch (IOException ex) {
+                        DiscordPS.debug("Cannot adopt media file into the store: " + file.file() + " (" + ex + ")");
+                    }
+                }
+            }
+
+            previous.forEach((hash, entry) -> {
+                if(!manifest.containsKey(hash)) entry.sources.forEach(source -> this.sources.remove(source, hash));
+            });
+
+            this.save(folder.getName(), manifest);
+            return new HashSet<>(manifest.keySet());
+        }
+    }
+
+    private void load() {
+        File[] files = this.manifests.toFile().listFiles((dir, name) -> name.endsWith(".yml"));
+        if(files == null) return;
+
+        for(File file : files) {
+            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+            Map<String, Entry> manifest = new TreeMap<>();
+
+            for(String hash : yaml.getKeys(false)) {
+                ConfigurationSection section = yaml.getConfigurationSection(hash);
+                if(section == null) continue;
+
+                Entry entry = new Entry();
+                entry.files.addAll(section.getStringList("files"));
+                entry.sources.addAll(section.getStringList("sources"));
+                entry.url = section.getString("url");
+                entry.sources.forEach(source -> this.sources.put(source, hash));
+                manifest.put(hash, entry);
+            }
+
+            this.entries.put(file.getName().substring(0, file.getName().length() - ".yml".length()), manifest);
+        }
+
+        DiscordPS.debug("Loaded " + this.entries.size() + " media manifest(s) with " + this.sources.size() + " known attachment(s)");
+    }
+
+    /**
+     * Write a manifest to disk, must be called while holding the manifest lock.
+     * An empty manifest is deleted.
+     */
+    private void save(@NotNull String folder, @NotNull Map<String, Entry> manifest) {
+        Path file = this.manifests.resolve(folder + ".yml");
+        try {
+            if(manifest.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+
+            YamlConfiguration yaml = new YamlConfiguration();
+            manifest.forEach((hash, entry) -> {
+                yaml.set(hash + ".files", new ArrayList<>(entry.files));
+                if(!entry.sources.isEmpty()) yaml.set(hash + ".sources", new ArrayList<>(entry.sources));
+                if(entry.url != null) yaml.set(hash + ".url", entry.url);
+            });
+
+            Files.createDirectories(this.manifests);
+            yaml.save(file.toFile());
+        }
+        catch (IOException ex) {
+            DiscordPS.error("Failed to save media manifest: " + file, ex);
+        }
+    }
+
+    private boolean isMediaFolder(@Nullable File folder) {
+        if(folder == null || !folder.getName().startsWith(MEDIA_FOLDER_PREFIX)) return false;
+        Path parent = folder.toPath().toAbsolutePath().normalize().getParent();
+        return this.mediaFolder.equals(parent);
+    }
+
+    private static @NotNull String hashOf(@NotNull File file) throws IOException {
+        Optional<MediaIndex.MediaFile> indexed = DiscordPS.getPlugin().getMediaIndex().find(file);
+        return indexed.isPresent()? indexed.get().hash() : MediaIndex.hash(file);
+    }
+
+    /**
+     * Create a hard link to an existing file, or copy it if links are not supported.
+     * The link is always replaced rather than overwritten since it may be linked to another file.
+     */
+    private static void link(@NotNull Path existing, @NotNull Path link) throws IOException {
+        Files.deleteIfExists(link);
+        try {
+            Files.createLink(link, existing);
+        }
+        catch (UnsupportedOperationException | FileSystemException ex) {
+            Files.copy(existing, link);
+        }
+    }
+
+    /**
+     * Check if an uploaded URL is not expiring within {@link #URL_EXPIRY_MARGIN}.
+     *
+     * @param url The uploaded URL, signed with an {@code ex} parameter if it expires
+     * @param now Current time in milliseconds
+     * @return True if the URL can be referenced
+     */
+    static boolean isReusable(@NotNull String url, long now) {
+        Matcher expiry = URL_EXPIRY.matcher(url);
+        if(!expiry.find()) return true;
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(expiry.group(1), 16)) - now > URL_EXPIRY_MARGIN;
+        }
+        catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -1,11 +1,8 @@
 package asia.buildtheearth.asean.discord.plotsystem.core.system;
 
 import github.scarsz.discordsrv.dependencies.jda.api.entities.Member;
-import github.scarsz.discordsrv.dependencies.kevinsawicki.http.HttpRequest;
-import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.utils.AvatarUtil;
-import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.Contract;
@@ -13,9 +10,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.IOException;
 import java.net.URL;
-import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,9 +19,6 @@ import java.util.UUID;
  */
 public class MemberOwnable {
 
-    private static final String AVATAR_FORMAT = "png";
-    private static final int AVATAR_SIZE = 16;
-
     private final OfflinePlayer owner;
     private final URL avatarURL;
 
@@ -46,12 +38,9 @@ public class MemberOwnable {
         this.ownerDiscord = DiscordPS.getPlugin().getAsDiscordMember(owner);
 
         // Builder avatar image (storing at /media/cache/UUID/avatar-image-UUID.png)
-        this.avatarURL = AvatarUtil.getAvatarUrl(memberUUID, AVATAR_SIZE, AVATAR_FORMAT);
-        File avatarFileLocation = prepareAvatarFile(memberUUID);
-
-        if(downloadAvatarToFile(avatarURL, avatarFileLocation))
-            this.avatarFile = avatarFileLocation;
-        else this.avatarFile = null;
+        AvatarCache avatars = DiscordPS.getPlugin().getAvatarCache();
+        this.avatarURL = AvatarUtil.getAvatarUrl(memberUUID, AvatarCache.AVATAR_SIZE, AvatarCache.AVATAR_FORMAT);
+        this.avatarFile = avatars.getAvatar(memberUUID, avatars.resolveFile(memberUUID, this.ownerDiscord)).orElse(null);
     }
 
     /**
@@ -147,51 +136,4 @@ public class MemberOwnable {
             return "attachment://" + this.getAvatarFile().get().getName();
         else return this.getAvatarURL().toString();
     }
-
-    /**
-     * Resolve for member's avatar file from their UUID
-     *
-     * @param memberUUID The string formatted {@link java.util.UUID}
-     * @return The resolved member's avatar file location
-     */
-    private @NotNull File prepareAvatarFile(String memberUUID) {
-        // DataFolder/media/cache/UUID/avatar-image.jpg
-        Path mediaPath = DiscordPS.getPlugin().getDataFolder().toPath().resolve("media/cache/" + memberUUID);
-
-        // Make player's directory if not exist
-        if(mediaPath.toFile().mkdirs()) DiscordPS.debug("Created player media cache for UUID: " + mediaPath);
-
-        String fileSuffix = this.getOwnerDiscord().isPresent()
-                ? this.getOwnerDiscord().get().getId()
-                : this.getOwner().getUniqueId().toString();
-
-        return mediaPath.resolve( Constants.BUILDER_AVATAR_FILE  + "-" + fileSuffix + "." + AVATAR_FORMAT).toFile();
-    }
-
-    /**
-     * Create and download avatar file from a URL if existed.
-     *
-     * @param avatarURL The avatar URL to download to
-     * @param avatarFile The avatar file location to be written as
-     * @return <p>{@code true} if the avatar file already exist, or the file successfully downloaded to the given location.</p>
-     *         <p>{@code false} if either {@link HttpRequest.HttpRequestException} or {@link IOException} occurred during the process.</p>
-     */
-    private boolean downloadAvatarToFile(URL avatarURL, @NotNull File avatarFile) {
-        // Try download player's minecraft avatar
-        try {
-            // Download if not exist
-            if(avatarFile.createNewFile())
-                FileUtil.downloadFile(avatarURL, avatarFile);
-
-            return true;
-        }
-        catch (HttpRequest.HttpRequestException ex) {
-            DiscordPS.error("Failed to download URL for player avatar image: " + ex.getMessage(), ex);
-        }
-        catch (IOException ex) {
-            DiscordPS.error("IO Exception occurred trying to read player media folder at: "
-                    + avatarFile.getAbsolutePath() + ": " + ex.getMessage(), ex);
-        }
-        return false;
-    }
-}
\ No newline at end of file
+}
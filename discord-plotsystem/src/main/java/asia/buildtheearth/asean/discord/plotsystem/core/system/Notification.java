@@ -16,6 +16,7 @@ import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notificat
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -24,10 +25,19 @@ import java.util.function.Function;
  * <p>This statically parse configured notification channel on first use,
  * and is available for the entire system after.</p>
  *
+ * <p>Informational notifications are buffered into digest messages (see {@link NotificationDigest}),
+ * errors are always sent immediately.</p>
+ *
  * @see #notify(NotificationLang, String...)
  */
 public abstract class Notification extends NotificationProvider {
 
+    private static final NotificationDigest DIGEST = new NotificationDigest(
+        METADATA.digestWindow(),
+        Notification::sendEmbedsNow,
+        message -> getOpt().ifPresent((channel -> channel.sendMessage(message).queue()))
+    );
+
     /**
      * Notify a notification message dynamically with defined language information.
      *
@@ -63,7 +73,7 @@ public abstract class Notification extends NotificationProvider {
             }
             case ErrorNotification error -> {
                 if(METADATA.errors() == Config.DISABLED) break;
-                sendEmbed(METADATA.errors(), prepareErrorEmbed(error, args).build());
+                sendEmbedsNow(METADATA.errors(), List.of(prepareErrorEmbed(error, args).build()));
             }
             // un-categorized notification, will be sent as plugin related
             case NotificationLang notification -> {
@@ -81,18 +91,44 @@ public abstract class Notification extends NotificationProvider {
     }
 
     /**
-     * Send message embed(s) to the notification channel.
+     * Queue a message embed to the notification channel,
+     * sent with the next notification digest.
      *
      * @param config The notification config
      * @param embed The {@link MessageEmbed}
      */
     public static void sendEmbed(Config config, @NotNull MessageEmbed embed) {
+        if(config == Config.WITH_CONTENT || config == Config.ENABLED) DIGEST.queue(config, embed);
+    }
+
+    /**
+     * Send message embeds to the notification channel immediately as one message.
+     *
+     * @param config The notification config
+     * @param embeds The {@link MessageEmbed}(s), must fit in a single message
+     */
+    private static void sendEmbedsNow(Config config, @NotNull List<MessageEmbed> embeds) {
         if(config == Config.WITH_CONTENT) METADATA.content().ifPresentOrElse(
-            content -> getOpt().ifPresent((channel -> channel.sendMessage(content).setEmbeds(embed).queue())),
-            () -> getOpt().ifPresent((channel -> channel.sendMessageEmbeds(embed).queue())
+            content -> getOpt().ifPresent((channel -> channel.sendMessage(content).setEmbeds(embeds).queue())),
+            () -> getOpt().ifPresent((channel -> channel.sendMessageEmbeds(embeds).queue())
         ));
         else if(config == Config.ENABLED)
-            getOpt().ifPresent((channel -> channel.sendMessageEmbeds(embed).queue()));
+            getOpt().ifPresent((channel -> channel.sendMessageEmbeds(embeds).queue()));
+    }
+
+    /**
+     * Send every buffered notification now.
+     */
+    public static void flush() {
+        DIGEST.flush();
+    }
+
+    /**
+     * Send every buffered notification and stop buffering,
+     * used on plugin shutdown so no notification is lost.
+     */
+    public static void shutdown() {
+        DIGEST.shutdown();
     }
 
     /**
@@ -108,14 +144,15 @@ public abstract class Notification extends NotificationProvider {
     }
 
     /**
-     * Send message to the notification channel.
+     * Queue a message to the notification channel,
+     * sent as a line of the next notification digest.
      *
      * @param message The message as String of content.
      */
     public static void sendMessage(CharSequence message) {
         if(METADATA.plugin() == Config.DISABLED) return;
 
-        getOpt().ifPresent((channel -> channel.sendMessage(message).queue()));
+        DIGEST.queue(message.toString());
     }
 
     /**
@@ -128,10 +165,10 @@ public abstract class Notification extends NotificationProvider {
     public static void sendErrorEmbed(ErrorNotification message, String error, String... args) {
         if(METADATA.errors() == Config.DISABLED) return;
 
-        sendEmbed(METADATA.errors(), prepareErrorEmbed(message, args)
+        sendEmbedsNow(METADATA.errors(), List.of(prepareErrorEmbed(message, args)
             .addField(METADATA.errorLabel(), "```" + error + "```", false)
             .build()
-        );
+        ));
     }
 
     /**
@@ -144,13 +181,13 @@ public abstract class Notification extends NotificationProvider {
     public static void sendErrorEmbed(java.awt.Color color, String description, String error) {
         if(METADATA.errors() == Config.DISABLED) return;
 
-        sendEmbed(METADATA.errors(), new EmbedBuilder()
+        sendEmbedsNow(METADATA.errors(), List.of(new EmbedBuilder()
                 .setTitle(METADATA.errorTitle())
                 .addField(METADATA.errorLabel(), "```" + error + "```", false)
                 .setDescription(description)
                 .setColor(color)
                 .build()
-        );
+        ));
     }
 
     /**
@@ -162,12 +199,12 @@ public abstract class Notification extends NotificationProvider {
     public static void sendErrorEmbed(java.awt.Color color, String description) {
         if(METADATA.errors() == Config.DISABLED) return;
 
-        sendEmbed(METADATA.errors(), new EmbedBuilder()
+        sendEmbedsNow(METADATA.errors(), List.of(new EmbedBuilder()
                 .setTitle(METADATA.errorTitle())
                 .setDescription(description)
                 .setColor(color)
                 .build()
-        );
+        ));
     }
 
     /**
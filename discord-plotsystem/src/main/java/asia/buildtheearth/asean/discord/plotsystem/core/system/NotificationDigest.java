@@ -0,0 +1,202 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.google.common.util.concurrent.ThreadFactoryBuilder;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageEmbed;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notification.Config;
+
+/**
+ * Buffer informational notifications and post them as digest messages.
+ *
+ * <p>Every notification queued within the digest window is merged into as few messages as possible:
+ * embeds of the same {@link Config} are packed up to Discord's per-message limits,
+ * and plain text messages are joined as lines of one message.
+ * A full message worth of notifications is sent right away without waiting for the window.
+ * This keeps mass operations (e.g. a review spree or bulk archive) from flooding the notification channel
+ * and from exhausting its rate limit bucket, which is shared with error reporting.</p>
+ *
+ * <p>Errors are never queued here, the caller sends them immediately.</p>
+ */
+final class NotificationDigest {
+
+    /** Maximum embeds in a single message */
+    static final int MAX_EMBEDS = 10;
+
+    /** Maximum total characters of all embeds in a single message */
+    static final int MAX_EMBEDS_LENGTH = 6000;
+
+    /** Maximum characters of a message content */
+    static final int MAX_CONTENT_LENGTH = 2000;
+
+    private final long window;
+    private final BiConsumer<Config, List<MessageEmbed>> embedSender;
+    private final Consumer<String> textSender;
+    private final ScheduledExecutorService executor;
+
+    private final Map<Config, List<MessageEmbed>> embeds = new EnumMap<>(Config.class);
+    private final List<String> texts = new ArrayList<>();
+    private int textsLength = 0;
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Create a new digest.
+     *
+     * @param window Time in milliseconds to buffer notifications for, {@code 0} or less to send every notification immediately
+     * @param embedSender Send a digest of embeds as one message with the given config
+     * @param textSender Send a digest of text lines as one message
+     */
+    NotificationDigest(long window,
+                       @NotNull BiConsumer<Config, List<MessageEmbed>> embedSender,
+                       @NotNull Consumer<String> textSender) {
+        this.window = window;
+        this.embedSender = embedSender;
+        this.textSender = textSender;
+        this.executor = window <= 0? null : Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("DiscordPlotSystem - Notification Digest").setDaemon(true).build()
+        );
+    }
+
+    /**
+     * Queue an embed to be sent with the next digest.
+     *
+     * <p>A full message worth of embeds is sent right away without waiting for the window.</p>
+     *
+     * @param config The notification config of this embed
+     * @param embed The embed to queue
+     */
+    synchronized void queue(@NotNull Config config, @NotNull MessageEmbed embed) {
+        if(this.executor == null || this.executor.isShutdown()) {
+            this.embedSender.accept(config, List.of(embed));
+            return;
+        }
+
+        List<MessageEmbed> pending = this.embeds.computeIfAbsent(config, key -> new ArrayList<>());
+        pending.add(embed);
+
+        if(pending.size() >= MAX_EMBEDS) this.flushEmbeds(config, pending);
+        else this.schedule();
+    }
+
+    /**
+     * Queue a text message to be sent with the next digest.
+     *
+     * <p>Pending lines are sent right away once this text would no longer fit in the same message.</p>
+     *
+     * @param text The message content
+     */
+    synchronized void queue(@NotNull String text) {
+        if(this.executor == null || this.executor.isShutdown()) {
+            this.textSender.accept(text);
+            return;
+        }
+
+        if(!this.texts.isEmpty() && this.textsLength + text.length() + 1 > MAX_CONTENT_LENGTH) this.flushTexts();
+
+        this.texts.add(text);
+        this.textsLength += (this.texts.size() > 1? 1 : 0) + text.length();
+
+        if(this.textsLength >= MAX_CONTENT_LENGTH) this.flushTexts();
+        else this.schedule();
+    }
+
+    /**
+     * Send every queued notification now.
+     */
+    synchronized void flush() {
+        if(this.scheduled != null) {
+            this.scheduled.cancel(false);
+            this.scheduled = null;
+        }
+
+        this.embeds.forEach(this::flushEmbeds);
+        this.embeds.clear();
+
+        this.flushTexts();
+    }
+
+    /**
+     * Flush all queued notifications and stop buffering,
+     * every notification after this is sent immediately.
+     */
+    synchronized void shutdown() {
+        this.flush();
+        if(this.executor != null) this.executor.shutdownNow();
+    }
+
+    private void schedule() {
+        if(this.scheduled != null && !this.scheduled.isDone()) return;
+
+        try {
+            this.scheduled = this.executor.schedule(this::flush, this.window, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException ex) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Send queued embeds as few messages as possible, then clear the list.
+     */
+    private void flushEmbeds(@NotNull Config config, @NotNull List<MessageEmbed> pending) {
+        List<MessageEmbed> message = new ArrayList<>(MAX_EMBEDS);
+        int length = 0;
+
+        for(MessageEmbed embed : pending) {
+            if(!message.isEmpty() && (message.size() >= MAX_EMBEDS || length + embed.getLength() > MAX_EMBEDS_LENGTH)) {
+                this.send(config, message);
+                message = new ArrayList<>(MAX_EMBEDS);
+                length = 0;
+            }
+            message.add(embed);
+            length += embed.getLength();
+        }
+
+        if(!message.isEmpty()) this.send(config, message);
+        pending.clear();
+    }
+
+    /**
+     * Send queued text lines joined as one message, then clear them.
+     *
+     * <p>Lines are queued only while they fit in one message, so they never need splitting.</p>
+     */
+    private void flushTexts() {
+        if(this.texts.isEmpty()) return;
+
+        this.send(String.join("\n", this.texts));
+        this.texts.clear();
+        this.textsLength = 0;
+    }
+
+    private void send(@NotNull Config config, @NotNull List<MessageEmbed> embeds) {
+        try {
+            this.embedSender.accept(config, embeds);
+        }
+        catch (RuntimeException ex) {
+            DiscordPS.error("Failed to send notification digest of " + embeds.size() + " embed(s)", ex);
+        }
+    }
+
+    private void send(@NotNull String text) {
+        try {
+            this.textSender.accept(text);
+        }
+        catch (RuntimeException ex) {
+            DiscordPS.error("Failed to send notification digest message", ex);
+        }
+    }
+}
@@ -5,11 +5,9 @@ import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
 import asia.buildtheearth.asean.discord.plotsystem.utils.CoordinatesUtil;
-import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.function.Function;
 
@@ -198,14 +196,7 @@ public class PlotData extends MemberOwnable {
      * @return All image files with the prefix {@link Constants#PLOT_IMAGE_FILE} within the media folder
      */
     public static @NotNull List<File> checkMediaFolder(@NotNull File folder) {
-        List<File> imageFiles = new ArrayList<>();
-        if(!folder.exists()) return imageFiles;
-        try {
-            imageFiles.addAll(FileUtil.findImagesFileByPrefix(PLOT_IMAGE_FILE, folder));
-        }
-        catch (IOException ex) {
-            DiscordPS.error("Failed to find plot's image files", ex);
-        }
-        return imageFiles;
+        if(!folder.exists()) return new ArrayList<>();
+        return new ArrayList<>(DiscordPS.getPlugin().getMediaIndex().findImagesByPrefix(PLOT_IMAGE_FILE, folder));
     }
 }
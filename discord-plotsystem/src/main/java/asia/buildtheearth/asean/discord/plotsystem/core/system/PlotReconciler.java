@@ -0,0 +1,425 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.ConfigPaths;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.api.DiscordPlotSystemAPI;
+import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
+import asia.buildtheearth.asean.discord.plotsystem.core.listeners.PlotSystemListener;
+import asia.buildtheearth.asean.discord.plotsystem.core.providers.LayoutComponentProvider;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.InfoComponent;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.Layout;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reconcile every tracked plot between the webhook database, Plot-System data and its forum thread.
+ *
+ * <p>Tracked plots are streamed from the database in pages ordered by plot ID.
+ * Each page resolves its Plot-System data in one batch from the {@linkplain DiscordPlotSystemAPI#getDataProvider() data provider},
+ * then every plot is compared against its thread on Discord for any {@link Drift}.
+ * Plots are checked and repaired on a bounded number of lanes so that a full run
+ * never floods the forum's rate limit buckets (see {@link ForumRestScheduler}).
+ * Repairs are queued to each plot's update mailbox, and a plot is only reported as repaired
+ * once every repair request actually succeeded.</p>
+ *
+ * <p>A dry run only reports the drifts without sending any modification.</p>
+ *
+ * @see #reconcile(boolean)
+ */
+public final class PlotReconciler {
+
+    /** Default number of plots to load per page if not configured */
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Default number of plots checked in parallel if not configured */
+    static final int DEFAULT_CONCURRENCY = 2;
+
+    /**
+     * Difference between the tracked plot and its actual state.
+     */
+    public enum Drift {
+        /** The tracked status differs from Plot-System data */
+        STATUS(true),
+        /** The thread is not tagged with the expected status tag */
+        TAGS(true),
+        /** The plot layout is not displaying the expected status */
+        LAYOUT(true),
+        /** The tracked owner differs from Plot-System data, needs a manual re-claim */
+        OWNER(false),
+        /** Plot-System data provider did not return this plot */
+        MISSING_DATA(false),
+        /** The tracked thread no longer exist or is not accessible */
+        MISSING_THREAD(false);
+
+        private final boolean repairable;
+
+        Drift(boolean repairable) {
+            this.repairable = repairable;
+        }
+
+        /**
+         * Check if this drift can be repaired by the reconciler.
+         *
+         * @return False if this drift needs a manual action
+         */
+        public boolean isRepairable() {
+            return this.repairable;
+        }
+    }
+
+    /**
+     * Outcome of a reconciled plot.
+     */
+    public enum Outcome {
+        /** The plot has no drift */
+        IN_SYNC,
+        /** The plot is not reconciled, e.g. it is already archived */
+        SKIPPED,
+        /** The plot has drifts that are not (or cannot be) repaired */
+        DRIFTED,
+        /** Every drift of the plot has been repaired */
+        REPAIRED,
+        /** The plot failed to be checked or repaired */
+        FAILED
+    }
+
+    /**
+     * Result of a reconciled plot.
+     *
+     * @param plotID The plot ID
+     * @param entry The latest tracked entry of this plot
+     * @param expected The status from Plot-System data, null if it cannot be resolved
+     * @param drifts Every drift found on this plot
+     * @param outcome The outcome of this plot
+     * @param error The error of a {@link Outcome#FAILED} plot
+     */
+    public record PlotResult(int plotID,
+                             @NotNull WebhookEntry entry,
+                             @Nullable ThreadStatus expected,
+                             @NotNull Set<Drift> drifts,
+                             @NotNull Outcome outcome,
+                             @Nullable Throwable error) {
+        @Override
+        public String toString() {
+            return "#" + this.plotID + " " + this.outcome
+                + (this.drifts.isEmpty()? "" : " " + this.drifts)
+                + (this.expected == null || this.expected == this.entry.status()? "" : " (" + this.entry.status() + " -> " + this.expected + ")")
+                + (this.error == null? "" : ": " + this.error);
+        }
+    }
+
+    /**
+     * Report of a reconcile run.
+     *
+     * @param dryRun Whether this run only reported the drifts
+     * @param scanned Number of plots that are checked
+     * @param results Result of every plot that is not in sync, ordered by plot ID
+     */
+    public record Report(boolean dryRun, int scanned, @NotNull List<PlotResult> results) {
+
+        /**
+         * Count the plots of an outcome.
+         *
+         * @param outcome The outcome to count
+         * @return Number of plots reconciled with this outcome
+         */
+        public long count(@NotNull Outcome outcome) {
+            if(outcome == Outcome.IN_SYNC) return this.scanned - this.results.size();
+            return this.results.stream().filter(result -> result.outcome() == outcome).count();
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner summary = new StringJoiner(", ", (this.dryRun? "Dry run" : "Reconciled") + " " + this.scanned + " plot(s): ", "");
+            for(Outcome outcome : Outcome.values()) summary.add(outcome + "=" + this.count(outcome));
+            return summary.toString();
+        }
+    }
+
+    private final PlotSystemWebhook plotSystem;
+    private final int pageSize;
+    private final int concurrency;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+    /**
+     * Create a reconciler configured by the plugin config.
+     *
+     * @param plotSystem The plot-system webhook to check and repair threads with
+     */
+    public PlotReconciler(@NotNull PlotSystemWebhook plotSystem) {
+        FileConfiguration config = DiscordPS.getPlugin().getConfig();
+        this.plotSystem = plotSystem;
+        this.pageSize = Math.max(1, config.getInt(ConfigPaths.RECONCILE_PAGE_SIZE, DEFAULT_PAGE_SIZE));
+        this.concurrency = Math.max(1, config.getInt(ConfigPaths.RECONCILE_CONCURRENCY, DEFAULT_CONCURRENCY));
+    }
+
+    /**
+     * Check if a reconcile is currently running.
+     *
+     * @return True if {@link #reconcile(boolean)} has not completed
+     */
+    public boolean isRunning() {
+        return this.running.get();
+    }
+
+    /**
+     * Reconcile every tracked plot.
+     *
+     * <p>Only one reconcile may run at a time.</p>
+     *
+     * @param dryRun If {@code true}, only report drifts without repairing any of them
+     * @return Future of the report, completes exceptionally with {@link IllegalStateException}
+     *         if a reconcile is already running, or with the cause if a page failed to be loaded.
+     */
+    public @NotNull CompletableFuture<Report> reconcile(boolean dryRun) {
+        if(!this.running.compareAndSet(false, true))
+            return CompletableFuture.failedFuture(new IllegalStateException("A reconcile is already running"));
+
+        DiscordPS.info("Reconciling all tracked plots" + (dryRun? " (dry run)" : ""));
+
+        List<PlotResult> results = Collections.synchronizedList(new ArrayList<>());
+
+        return this.reconcilePage(0, 0, dryRun, results)
+            .thenApply(scanned -> new Report(dryRun, scanned, List.copyOf(results)))
+            .whenComplete((report, error) -> {
+                this.running.set(false);
+                if(report != null) DiscordPS.info(report.toString());
+                else DiscordPS.error("Reconcile stopped unexpectedly", error);
+            });
+    }
+
+    /**
+     * Stop the reconciler, a running reconcile stops after its current page.
+     */
+    public void shutdown() {
+        this.stopped.set(true);
+    }
+
+    /**
+     * Reconcile the next page, then continue to the one after it until there is no plot left.
+     *
+     * @return Future of the total number of scanned plots
+     */
+    private @NotNull CompletableFuture<Integer> reconcilePage(int afterPlotID,
+                                                              int scanned,
+                                                              boolean dryRun,
+                                                              @NotNull List<PlotResult> results) {
+        if(this.stopped.get()) return CompletableFuture.completedFuture(scanned);
+
+        return DatabaseConnection.getRepository().getPage(afterPlotID, this.pageSize).thenCompose(page -> {
+            if(page.isEmpty()) return CompletableFuture.completedFuture(scanned);
+
+            DiscordPS.debug("Reconciling plot #" + page.firstEntry().getKey() + " to #" + page.lastEntry().getKey());
+
+            return resolveData(page.keySet()).thenCompose(data -> {
+                List<Supplier<CompletableFuture<PlotResult>>> tasks = new ArrayList<>(page.size());
+                page.forEach((plotID, entries) -> tasks.add(() -> this.reconcilePlot(entries.getFirst(), data.get(plotID), dryRun)));
+
+                return runBounded(tasks, this.concurrency);
+            }).thenCompose(pageResults -> {
+                pageResults.stream()
+                    .filter(result -> result.outcome() != Outcome.IN_SYNC)
+                    .sorted(Comparator.comparingInt(PlotResult::plotID))
+                    .forEach(results::add);
+
+                return this.reconcilePage(page.lastEntry().getKey(), scanned + page.size(), dryRun, results);
+            });
+        });
+    }
+
+    /**
+     * Resolve Plot-System data of every plot in a page with a single batch call to the data provider,
+     * run on the database resource of the {@link IOExecutor}.
+     *
+     * @param plotIDs The plot IDs to resolve
+     * @return Future of resolved data by plot ID, a plot the provider failed to resolve is absent.
+     *         If the whole batch failed, every plot of the page is absent.
+     */
+    private static @NotNull CompletableFuture<Map<Integer, PlotCreateData>> resolveData(@NotNull Collection<Integer> plotIDs) {
+        try {
+            Executor executor = IOExecutor.executor(IOExecutor.Resource.DATABASE);
+            return DiscordPlotSystemAPI.getDataProvider().getDataBatchAsync(plotIDs, executor).exceptionally(error -> {
+                DiscordPS.warning("Failed to resolve plot data of " + plotIDs.size() + " plot(s) to reconcile: " + error);
+                return Map.of();
+            });
+        }
+        catch (IllegalArgumentException ex) {
+            DiscordPS.warning("Cannot resolve plot data to reconcile: " + ex.getMessage());
+            return CompletableFuture.completedFuture(Map.of());
+        }
+    }
+
+    /**
+     * Compare a plot against its thread and repair its drifts.
+     *
+     * @param entry The latest entry of the plot
+     * @param plot The plot's Plot-System data, null if it cannot be resolved
+     * @param dryRun Whether to only report the drifts
+     * @return Future of the result, never completes exceptionally
+     */
+    private @NotNull CompletableFuture<PlotResult> reconcilePlot(@NotNull WebhookEntry entry,
+                                                                 @Nullable PlotCreateData plot,
+                                                                 boolean dryRun) {
+        int plotID = entry.plotID();
+
+        // Archived plot is no longer tracked by Plot-System status
+        if(entry.status() == ThreadStatus.archived)
+            return CompletableFuture.completedFuture(new PlotResult(plotID, entry, null, Set.of(), Outcome.SKIPPED, null));
+
+        if(plot == null) return CompletableFuture.completedFuture(
+            new PlotResult(plotID, entry, null, Set.of(Drift.MISSING_DATA), Outcome.DRIFTED, null));
+
+        final ThreadStatus expected;
+        final String threadID = Long.toUnsignedString(entry.threadID());
+        final Set<Drift> drifts = EnumSet.noneOf(Drift.class);
+
+        try {
+            expected = ThreadStatus.valueOf(plot.status().getName());
+        }
+        catch (IllegalArgumentException | NullPointerException ex) {
+            return CompletableFuture.completedFuture(
+                new PlotResult(plotID, entry, null, Set.of(Drift.MISSING_DATA), Outcome.FAILED, ex));
+        }
+
+        if(entry.status() != expected) drifts.add(Drift.STATUS);
+        if(plot.ownerUUID() != null && !plot.ownerUUID().equals(entry.ownerUUID())) drifts.add(Drift.OWNER);
+
+        AvailableTag tag = expected.toTag();
+
+        CompletableFuture<Optional<DataObject>> thread = this.plotSystem.webhook.getThreadChannel(threadID, true).submit();
+        CompletableFuture<Optional<Layout>> layout = this.plotSystem.webhook.getInitialLayout(threadID, true).submit();
+
+        return thread.thenCombine(layout, (threadData, layoutData) -> {
+            // Initial layout message is as good as a missing thread since it cannot be edited
+            if(threadData.isEmpty() || layoutData.isEmpty()) {
+                drifts.add(Drift.MISSING_THREAD);
+                return drifts;
+            }
+
+            if(!hasTag(threadData.get(), tag.getTag().getIDLong())) drifts.add(Drift.TAGS);
+            if(!isDisplaying(layoutData.get(), tag)) drifts.add(Drift.LAYOUT);
+
+            return drifts;
+        }).thenCompose(found -> {
+            if(found.isEmpty())
+                return CompletableFuture.completedFuture(new PlotResult(plotID, entry, expected, Set.of(), Outcome.IN_SYNC, null));
+
+            boolean repairable = found.stream().allMatch(Drift::isRepairable);
+
+            if(dryRun || found.contains(Drift.MISSING_THREAD))
+                return CompletableFuture.completedFuture(new PlotResult(plotID, entry, expected, Set.copyOf(found), Outcome.DRIFTED, null));
+
+            return this.repair(entry, threadID, expected, found).thenApply(ok ->
+                new PlotResult(plotID, entry, expected, Set.copyOf(found), repairable? Outcome.REPAIRED : Outcome.DRIFTED, null));
+        }).exceptionally(error -> new PlotResult(plotID, entry, expected, Set.copyOf(drifts), Outcome.FAILED,
+            error instanceof CompletionException && error.getCause() != null? error.getCause() : error));
+    }
+
+    /**
+     * Repair every repairable drift of a plot.
+     *
+     * <p>Status and layout drift are repaired by a regular plot update to the expected status,
+     * which also re-tags the thread if the status changed. A tag drift alone only re-tags the thread.
+     * The repair is queued to the plot's update mailbox so it never races a plot event being applied.</p>
+     *
+     * @return Future that completes exceptionally if any part of the repair failed
+     */
+    private @NotNull CompletableFuture<?> repair(@NotNull WebhookEntry entry,
+                                                 @NotNull String threadID,
+                                                 @NotNull ThreadStatus expected,
+                                                 @NotNull Set<Drift> drifts) {
+        Supplier<CompletableFuture<Void>> repair = () -> {
+            List<CompletableFuture<?>> repairs = new ArrayList<>();
+
+            if(drifts.contains(Drift.STATUS) || drifts.contains(Drift.LAYOUT)) {
+                PlotSystemThread.UpdateAction action = new PlotSystemThread.UpdateAction(
+                    entry.plotID(),
+                    entry,
+                    Long.toUnsignedString(entry.messageID()),
+                    threadID
+                );
+                repairs.add(this.plotSystem.applyUpdate(action, List.of(), null, expected).thenAccept(report -> {
+                    if(report.hasFailure()) throw report.getFailure().orElseThrow();
+                }));
+            }
+
+            // Plot update only re-tags the thread when its status changes
+            if(drifts.contains(Drift.TAGS) && !drifts.contains(Drift.STATUS)) {
+                Set<Long> tags = Set.of(expected.toTag().getTag().getIDLong());
+                repairs.add(this.plotSystem.webhook.editThreadChannelTags(threadID, tags, true).submit().thenAccept(thread -> {
+                    if(thread.isEmpty()) throw new IllegalStateException("Thread tags of plot #" + entry.plotID() + " were not edited");
+                }));
+            }
+
+            return CompletableFuture.allOf(repairs.toArray(new CompletableFuture[0]));
+        };
+
+        PlotSystemListener listener = DiscordPS.getPlugin().getListenerHook().getPlotSystemListener();
+        return listener == null? repair.get() : listener.submitUpdate(entry.plotID(), repair);
+    }
+
+    /**
+     * Check if a thread channel data has the given tag applied.
+     */
+    private static boolean hasTag(@NotNull DataObject thread, long tagID) {
+        DataArray applied = thread.optArray("applied_tags").orElseGet(DataArray::empty);
+        for(int i = 0; i < applied.length(); i++)
+            if(applied.getLong(i) == tagID) return true;
+        return false;
+    }
+
+    /**
+     * Check if a plot layout is displaying the given status tag by its accent color.
+     */
+    private static boolean isDisplaying(@NotNull Layout layout, @NotNull AvailableTag tag) {
+        for(LayoutComponentProvider<?, ?> component : layout.getLayout())
+            if(component instanceof InfoComponent info) return tag.getColor().equals(info.getAccentColor());
+        return false;
+    }
+
+    /**
+     * Run tasks with at most the given number of them in flight,
+     * each lane starts the next task once its previous task completes.
+     *
+     * @param tasks The tasks to run, each must never complete exceptionally
+     * @param concurrency Number of lanes
+     * @return Future of every task's result
+     */
+    private static <T> @NotNull CompletableFuture<List<T>> runBounded(@NotNull List<Supplier<CompletableFuture<T>>> tasks,
+                                                                      int concurrency) {
+        List<T> results = Collections.synchronizedList(new ArrayList<>(tasks.size()));
+        AtomicInteger next = new AtomicInteger();
+
+        CompletableFuture<?>[] lanes = new CompletableFuture[Math.min(concurrency, tasks.size())];
+        for(int i = 0; i < lanes.length; i++) lanes[i] = runLane(tasks, next, results);
+
+        return CompletableFuture.allOf(lanes).thenApply(ok -> List.copyOf(results));
+    }
+
+    private static <T> @NotNull CompletableFuture<Void> runLane(@NotNull List<Supplier<CompletableFuture<T>>> tasks,
+                                                                @NotNull AtomicInteger next,
+                                                                @NotNull List<T> results) {
+        int index = next.getAndIncrement();
+        if(index >= tasks.size()) return CompletableFuture.completedFuture(null);
+
+        return tasks.get(index).get().thenCompose(result -> {
+            results.add(result);
+            return runLane(tasks, next, results);
+        });
+    }
+}
@@ -3,6 +3,7 @@ package asia.buildtheearth.asean.discord.plotsystem.core.system;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
 import asia.buildtheearth.asean.discord.plotsystem.api.events.PlotEvent;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.HistoryMessage;
@@ -15,6 +16,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -53,9 +55,8 @@ public class PlotSystemThread {
      * <p>Example formatted: {@code Plot#17 @bob (bobTheBuilder)}</p>
      */
     public static final BiFunction<Integer, String, String> THREAD_NAME = (plotID, ownerName) -> DiscordPS.getMessagesLang()
-            .get(PlotInformation.THREAD_NAME)
-            .replace(Format.OWNER, ownerName)
-            .replace(Format.PLOT_ID, String.valueOf(plotID));
+            .getTemplate(PlotInformation.THREAD_NAME)
+            .render(Format.OWNER, ownerName, Format.PLOT_ID, plotID);
 
     private static final Function<Integer, ThreadNameApplier> DEFAULT_THREAD_NAME = plotID -> owner -> THREAD_NAME.apply(plotID, owner.formatOwnerName());
 
@@ -65,9 +66,8 @@ public class PlotSystemThread {
      * <p>Example formatted: {@code @bob created the plot 3 minutes ago}</p>
      */
     public static final Function<String, String> INITIAL_HISTORY = ownerName -> DiscordPS.getMessagesLang()
-            .get(HistoryMessage.INITIAL_CREATION)
-            .replace(Format.OWNER, ownerName)
-            .replace(Format.TIMESTAMP, String.valueOf(Instant.now().getEpochSecond()));
+            .getTemplate(HistoryMessage.INITIAL_CREATION)
+            .render(Format.OWNER, ownerName, Format.TIMESTAMP, Instant.now().getEpochSecond());
 
     private static final PlotInfoModifier DEFAULT_THREAD_CREATED_STATUS = (owner, info) -> info.addHistory(INITIAL_HISTORY.apply(owner.getOwnerMentionOrName()));
 
@@ -247,20 +247,22 @@ public class PlotSystemThread {
         /**
          * Create a new update action from the given event.
          *
+         * <p>The latest plot entry is resolved from the webhook repository,
+         * this completes immediately if the plot entry is cached.</p>
+         *
          * @param event The plot event occurred
-         * @return A new {@link UpdateAction} from the event's plot ID,
-         *         null if sql exception occurred trying to query for entries
+         * @return Future of a new {@link UpdateAction} from the event's plot ID,
+         *         completes with null if sql exception occurred trying to query for entries
          *         and if the plot entry does not exist to return as event.
          * @param <T> The event type (extends {@link PlotEvent})
          */
-        public static <T extends PlotEvent> @Nullable UpdateAction fromEvent(@NotNull T event) {
-            WebhookEntry entry;
-            try {
-                List<WebhookEntry> entries = WebhookEntry.getByPlotID(event.getPlotID());
-                if(entries.isEmpty()) throw new SQLException("Entry for plot ID: " + event.getPlotID() + " Does not exist.");
-                entry = entries.getFirst();
-            }
-            catch (SQLException ex) {
+        public static <T extends PlotEvent> @NotNull CompletableFuture<@Nullable UpdateAction> fromEvent(@NotNull T event) {
+            return DatabaseConnection.getRepository().getLatest(event.getPlotID()).handle((latest, error) -> {
+                if(error == null && latest.isPresent()) return fromEntry(event.getPlotID(), latest.get());
+
+                Throwable ex = error != null? error
+                    : new SQLException("Entry for plot ID: " + event.getPlotID() + " Does not exist.");
+
                 DiscordPS.error("Failed to fetch webhook entry for plot ID: " + event.getPlotID(), ex);
                 DiscordPS.warning("Skipping plot update event " + event.getClass().getSimpleName());
                 Notification.sendErrorEmbed(PLOT_UPDATE_SQL_EXCEPTION,
@@ -269,12 +271,14 @@ public class PlotSystemThread {
                     event.getClass().getSimpleName()
                 );
                 return null;
-            }
+            });
+        }
 
+        private static @NotNull UpdateAction fromEntry(int plotID, @NotNull WebhookEntry entry) {
             String threadID = Long.toUnsignedString(entry.threadID());
             String messageID = Long.toUnsignedString(entry.messageID());
 
-            return new UpdateAction(event.getPlotID(), entry, messageID, threadID);
+            return new UpdateAction(plotID, entry, messageID, threadID);
         }
     }
 }
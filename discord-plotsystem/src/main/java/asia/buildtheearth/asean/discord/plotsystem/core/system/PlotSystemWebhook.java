@@ -3,6 +3,7 @@ package asia.buildtheearth.asean.discord.plotsystem.core.system;
 import asia.buildtheearth.asean.discord.components.PluginComponent;
 import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangTemplate;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LanguageFile;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.ReviewComponent;
@@ -10,6 +11,7 @@ import github.scarsz.discordsrv.dependencies.commons.lang3.StringUtils;
 import github.scarsz.discordsrv.dependencies.jda.api.entities.*;
 import github.scarsz.discordsrv.dependencies.jda.api.interactions.components.ActionRow;
 import github.scarsz.discordsrv.dependencies.jda.api.interactions.components.Button;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.concurrent.DelayedCompletableFuture;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
@@ -22,6 +24,7 @@ import asia.buildtheearth.asean.discord.components.api.Container;
 import asia.buildtheearth.asean.discord.components.api.TextDisplay;
 import asia.buildtheearth.asean.discord.components.api.ComponentV2;
 import asia.buildtheearth.asean.discord.components.WebhookDataBuilder;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotInformation;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotNotification;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.InfoComponent;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.Layout;
@@ -32,7 +35,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
-import java.sql.SQLException;
 import java.time.Instant;
 import java.util.*;
 import java.util.List;
@@ -111,10 +113,10 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                 throw new CompletionException(error);
             }
 
-            if(register) this.registerNewPlot(plotData, thread.getPlotID(), optMessage::ifPresentOrElse);
+            if(!register) return CompletableFuture.<Void>completedFuture(null);
 
-            return null;
-        });
+            return this.registerNewPlot(plotData, thread.getPlotID(), optMessage);
+        }).thenCompose(Function.identity());
     }
 
     /**
@@ -195,11 +197,17 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
         PlotReclaimEvent event = new PlotReclaimEvent(thread.getPlotID(), plotData.getOwnerMentionOrName());
 
         // Update thread layout to correct status
-        LayoutUpdater layoutUpdater = component -> updateExistingClaim(event, component, plotData, tag);
+        List<String> rolledHistories = new ArrayList<>();
+        LayoutUpdater layoutUpdater = component -> {
+            Optional<WebhookData> data = updateExistingClaim(event, component, plotData, tag);
+            rolledHistories.addAll(pollRolledHistories(component));
+            return data;
+        };
 
         CompletableFuture<Optional<MessageReference>> updateThreadLayoutAction = this.webhook.queueNewUpdateAction(
             this.webhook.getInitialLayout(threadID.get(), true).map(optLayout -> optLayout.flatMap(layoutUpdater)),
             data -> this.webhook.editInitialThreadMessage(threadID.get(), data, true)
+                .map(sent -> this.sendRolledHistories(threadID.get(), rolledHistories, sent))
         );
 
         // Edit thread's status tag
@@ -236,7 +244,7 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
     /**
      * {@inheritDoc}
      */
-    protected void registerNewPlot(@NotNull PlotData plotData, int plotID, long threadIDLong) {
+    protected CompletableFuture<Void> registerNewPlot(@NotNull PlotData plotData, int plotID, long threadIDLong) {
         String threadID = Long.toUnsignedString(threadIDLong);
 
         StatusEmbed statusEmbed = new StatusEmbed(
@@ -251,7 +259,7 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
         // When status message is sent: this is the actual message we use to track per ID,
         // this is truly unique which is put as primary key in database.
         // Therefore: we attach interactions component using its message ID as the component ID.
-        Consumer<MessageReference> onMessageEntrySent = message -> {
+        Function<MessageReference, CompletableFuture<Void>> onMessageEntrySent = message -> {
             // Save message data as new webhook entry
             plotData.getOwnerDiscord().ifPresentOrElse(
                 (member) -> WebhookEntry.insertNewEntry(message.getMessageIdLong(),
@@ -283,7 +291,7 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                     .editThreadMessage(threadID, message.getMessageId(), interactionData, true)
                     .submitAfter(100, TimeUnit.MILLISECONDS);
 
-            CompletableFuture.allOf(
+            return CompletableFuture.allOf(
                 addInteractionAction.whenComplete(HANDLE_BUTTON_ATTACH_ERROR),
                 addMemberAction.whenComplete(HANDLE_EDIT_MEMBER_ERROR)
             ).thenAccept(success -> {
@@ -309,10 +317,17 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
 
         // Send status interaction embed
         // This is where the user can interact with etc. "Help" button
-        webhook.sendMessageInThread(threadID, statusData, false, true).queue(optMsg ->
-            optMsg.ifPresentOrElse(onMessageEntrySent, () -> Notification.notify(ErrorMessage.PLOT_REGISTER_UNKNOWN_EXCEPTION)),
-            error -> ON_PLOT_REGISTER_EXCEPTION.accept(plotID, error)
-        );
+        return webhook.sendMessageInThread(threadID, statusData, false, true).submit().handle((optMsg, error) -> {
+            if(error != null) {
+                ON_PLOT_REGISTER_EXCEPTION.accept(plotID, error);
+                return CompletableFuture.<Void>completedFuture(null);
+            }
+
+            return optMsg.map(onMessageEntrySent).orElseGet(() -> {
+                Notification.notify(ErrorMessage.PLOT_REGISTER_UNKNOWN_EXCEPTION);
+                return CompletableFuture.completedFuture(null);
+            });
+        }).thenCompose(Function.identity());
     }
 
     /**
@@ -321,46 +336,137 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
     @NotNull
     public <T extends PlotEvent>
     CompletableFuture<PlotSystemThread.UpdateAction> updatePlot(@NotNull PlotSystemThread.UpdateAction action,
+                                                                @NotNull List<? extends PlotEvent> history,
                                                                 @Nullable T event,
                                                                 @NotNull ThreadStatus status) {
+        return this.applyUpdate(action, history, event, status).thenApply(report -> action);
+    }
+
+    /**
+     * Update plot by the given action and report the outcome of every planned step.
+     *
+     * <p>Same as {@link #updatePlot(PlotSystemThread.UpdateAction, List, PlotEvent, ThreadStatus)},
+     * for callers that need to know whether the update actually applied (e.g. {@link PlotReconciler}).
+     * A failed step is already notified by the time the report completes.</p>
+     *
+     * @return Future of the update report, never completes exceptionally
+     * @see #updatePlot(PlotSystemThread.UpdateAction, List, PlotEvent, ThreadStatus)
+     */
+    <T extends PlotEvent> @NotNull CompletableFuture<PlotUpdatePlanner.Report> applyUpdate(@NotNull PlotSystemThread.UpdateAction action,
+                                                                                           @NotNull List<? extends PlotEvent> history,
+                                                                                           @Nullable T event,
+                                                                                           @NotNull ThreadStatus status) {
         String messageID = action.messageID();
         String threadID = action.threadID();
         AvailableTag tag = status.toTag();
         MemberOwnable owner = new MemberOwnable(action.entry().ownerUUID());
 
-        LayoutUpdater layoutUpdater = component -> fetchLayoutData(action.plotID(), event, component, owner, tag);
+        List<String> rolledHistories = new ArrayList<>();
+        List<File> uploads = new ArrayList<>();
+        LayoutUpdater layoutUpdater = component -> {
+            Optional<WebhookData> data = fetchLayoutData(action.plotID(), history, event, component, owner, tag, uploads);
+            rolledHistories.addAll(pollRolledHistories(component));
+            return data;
+        };
         MessageUpdater messageUpdater = message -> fetchStatusMessage(event, message, action.entry(), owner, status);
 
-        // 1st update the thread layout components (the one that display main plot information)
-        final CompletableFuture<Optional<MessageReference>> updateLayoutAction = this.webhook.queueNewUpdateAction(
-            this.webhook.getInitialLayout(threadID, true).map(optLayout -> optLayout.flatMap(layoutUpdater)),
-            data -> this.webhook.editInitialThreadMessage(threadID, data, true)
-        );
-
-        // 2nd update thread data, in this case is the status tag
-        final CompletableFuture<Optional<DataObject>> updateThreadAction = this.fetchThreadData(threadID, event, owner, tag);
-
-        // 3rd update the tracker status message
-        final CompletableFuture<Optional<MessageReference>> updateMessageAction = this.webhook.queueNewUpdateAction(
-            this.webhook.getWebhookMessage(threadID, messageID, true).map(optMessage -> optMessage.flatMap(messageUpdater)),
-            data -> this.webhook.editThreadMessage(threadID, messageID, data, true)
-        );
-
-        // Wait for all action to complete and return it whether error or not
-        // Error action will be handled as notification log
-        final CompletableFuture<Void> allAction = CompletableFuture.allOf(
-            updateLayoutAction.whenComplete(HANDLE_LAYOUT_EDIT_ERROR),
-            updateThreadAction.whenComplete(HANDLE_THREAD_EDIT_ERROR),
-            updateMessageAction.whenComplete(HANDLE_MESSAGE_EDIT_ERROR)
-        );
+        // Tags only change with the status, except archive event which also renames the thread
+        boolean statusChanged = action.entry().status() != status;
+        boolean threadChanged = statusChanged || event instanceof PlotArchiveEvent;
+
+        // Plan every update in one pass, each step is skipped if it has nothing to change
+        PlotUpdatePlanner planner = new PlotUpdatePlanner(action.plotID())
+            // Thread layout components (the one that display main plot information)
+            .edit(PlotUpdatePlanner.Step.LAYOUT,
+                this.webhook.getInitialLayout(threadID, true),
+                layoutUpdater::apply,
+                data -> this.attachImages(data, uploads).thenCompose(attached -> this.webhook
+                    .editInitialThreadMessage(threadID, attached, true)
+                    .map(sent -> this.sendRolledHistories(threadID, rolledHistories, sent))
+                    .submit()),
+                HANDLE_LAYOUT_EDIT_ERROR)
+            // Thread data, in this case is the status tag
+            .request(PlotUpdatePlanner.Step.THREAD,
+                threadChanged,
+                () -> this.fetchThreadData(threadID, event, owner, tag),
+                HANDLE_THREAD_EDIT_ERROR)
+            // The tracker status message
+            .edit(PlotUpdatePlanner.Step.STATUS_MESSAGE,
+                this.webhook.getWebhookMessage(threadID, messageID, true),
+                messageUpdater::apply,
+                data -> this.webhook.editThreadMessage(threadID, messageID, data, true).submit(),
+                HANDLE_MESSAGE_EDIT_ERROR);
+
+        // Wait for all steps to complete and return it whether error or not
+        // Error step is handled as notification log
+        return planner.execute().thenApply(report -> {
+            report.getFailure().ifPresent(error -> ON_PLOT_UPDATE_EXCEPTION.accept(event, error));
+
+            if(statusChanged) this.updateEntryStatus(action.entry().messageID(), status, event);
+
+            return report;
+        });
+    }
 
-        return allAction.handle((success, error) -> {
-            if(error != null) ON_PLOT_UPDATE_EXCEPTION.accept(event, error);
+    /**
+     * Take every history line rolled out of a layout's info component.
+     *
+     * @param layout The layout that was updated
+     * @return The rolled out history lines, oldest first
+     */
+    private static @NotNull List<String> pollRolledHistories(@NotNull Layout layout) {
+        List<String> rolled = new ArrayList<>();
+        for(LayoutComponentProvider<?, ?> component : layout.getLayout())
+            if(component instanceof InfoComponent info) rolled.addAll(info.pollRolledHistories());
+        return rolled;
+    }
 
-            this.updateEntryStatus(action.entry().messageID(), status, event);
+    /**
+     * Post history lines rolled out of the thread layout as follow-up messages,
+     * called once the layout edit is sent so the history is never shown twice.
+     *
+     * <p>The lines are split into messages that each fit a single text display and sent in order.
+     * A failed message is reported by {@link #HANDLE_LAYOUT_EDIT_ERROR}
+     * and the lines not yet posted are logged so they are never silently lost.</p>
+     *
+     * @param threadID The thread to post in
+     * @param histories The rolled out history lines
+     * @param result The layout edit result, passed through
+     * @return The given result
+     * @param <T> The result type
+     */
+    private <T> T sendRolledHistories(@NotNull String threadID, @NotNull List<String> histories, T result) {
+        if(histories.isEmpty()) return result;
+
+        String title = DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_ROLLOVER, "### Earlier Plot Histories");
+        List<String> chunks = InfoComponent.chunkRolledHistories(title, histories);
+        histories.clear();
+
+        CompletableFuture<Optional<MessageReference>> sending = CompletableFuture.completedFuture(Optional.empty());
+        for(int i = 0; i < chunks.size(); i++) {
+            String chunk = chunks.get(i);
+            List<String> unsent = chunks.subList(i, chunks.size());
+
+            sending = sending.thenCompose(previous -> {
+                Container container = new Container();
+                container.addComponent(new TextDisplay(chunk));
+
+                WebhookData data = new WebhookDataBuilder()
+                        .suppressNotifications()
+                        .suppressMentions()
+                        .forceComponentV2()
+                        .setComponentsV2(Collections.singletonList(container))
+                        .build();
+
+                return this.webhook.sendMessageInThread(threadID, data, true, true).submit().whenComplete((sent, error) -> {
+                    if(error != null) DiscordPS.warning("Rolled out plot histories of thread " + threadID
+                        + " are not posted:\n" + String.join("\n", unsent));
+                });
+            });
+        }
 
-            return action;
-        });
+        sending.whenComplete(HANDLE_LAYOUT_EDIT_ERROR);
+        return result;
     }
 
     /**
@@ -368,13 +474,13 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      */
     protected void sendNotification(@NotNull PlotNotification type,
                                  @NotNull String threadID,
-                                 @NotNull Function<String, String> content) {
+                                 @NotNull Function<LangTemplate, String> content) {
 
         // Exit if this notification is disabled
         if(!this.plugin.getConfig().getBoolean(type.getKey(), true)) return;
 
         // Parse message from language file
-        TextDisplay display = new TextDisplay(content.apply(DiscordPS.getMessagesLang().get(type)));
+        TextDisplay display = new TextDisplay(content.apply(DiscordPS.getMessagesLang().getTemplate(type)));
 
         Container container = new Container();
 
@@ -394,7 +500,7 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                                                       @NotNull String threadID,
                                                       @Nullable String feedbackID) {
 
-        String title = this.metadata.newFeedbackNotification().replace(Format.OWNER, this.parseOwnerMention(entry));
+        String title = this.metadata.newFeedbackNotification().render(Format.OWNER, this.parseOwnerMention(entry));
         Optional<List<File>> reviewMedia = ReviewComponent.getOptMedia(plotID, feedbackID);
         ReviewComponent component = new ReviewComponent(rawContent, null, Constants.BLUE, reviewMedia.orElse(null));
 
@@ -407,18 +513,32 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                 .forceComponentV2()
                 .build();
 
-        reviewMedia.ifPresent(files -> files.forEach(webhookData::addFile));
-
-        return this.webhook.sendMessageInThread(threadID, webhookData, true, true).submit();
+        return this.attachImages(webhookData, reviewMedia.orElse(List.of())).thenCompose(attached ->
+            this.webhook.sendMessageInThread(threadID, attached, true, true).submit()
+        );
     }
 
     /**
      * Update a plot as submitted
      *
      * @param event The submit event containing plot ID to update
+     * @return Future that completes when the plot is updated
      */
-    public void onPlotSubmit(@NotNull PlotSubmitEvent event) {
-        this.updatePlot(event, ThreadStatus.finished, plot ->
+    public CompletableFuture<Void> onPlotSubmit(@NotNull PlotSubmitEvent event) {
+        return this.onPlotSubmit(event, List.of());
+    }
+
+    /**
+     * Update a plot as submitted with preceding events folded into this update.
+     *
+     * @param event The submit event containing plot ID to update
+     * @param history Coalesced events that occurred before this event
+     * @return Future that completes when the plot is updated
+     * @see #updatePlot(PlotEvent, List, ThreadStatus, Consumer)
+     */
+    public CompletableFuture<Void> onPlotSubmit(@NotNull PlotSubmitEvent event,
+                                                @NotNull List<? extends PlotEvent> history) {
+        return this.updatePlot(event, history, ThreadStatus.finished, plot ->
             onNotification(NotificationType.ON_SUBMITTED, plot.plotID(), PlotMessage::getPlotMessage,
                 (notification, message) -> {
                     final String ownerMention = parseOwnerMention(plot.entry());
@@ -444,9 +564,23 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      * Update a plot as abandoned
      *
      * @param event The submit event containing plot ID to update
+     * @return Future that completes when the plot is updated
      */
-    public void onPlotAbandon(@NotNull PlotAbandonedEvent event) {
-        this.updatePlot(event, ThreadStatus.abandoned, plot ->
+    public CompletableFuture<Void> onPlotAbandon(@NotNull PlotAbandonedEvent event) {
+        return this.onPlotAbandon(event, List.of());
+    }
+
+    /**
+     * Update a plot as abandoned with preceding events folded into this update.
+     *
+     * @param event The submit event containing plot ID to update
+     * @param history Coalesced events that occurred before this event
+     * @return Future that completes when the plot is updated
+     * @see #updatePlot(PlotEvent, List, ThreadStatus, Consumer)
+     */
+    public CompletableFuture<Void> onPlotAbandon(@NotNull PlotAbandonedEvent event,
+                                                 @NotNull List<? extends PlotEvent> history) {
+        return this.updatePlot(event, history, ThreadStatus.abandoned, plot ->
             onNotification(NotificationType.ON_ABANDONED, plot.plotID(), notification -> {
                 final String ownerMention = parseOwnerMention(plot.entry());
 
@@ -473,21 +607,34 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      *
      * @param event The undo event
      * @param <T> THe type of plot undo event.
+     * @return Future that completes when the plot is updated
      */
-    public <T extends PlotUndoEvent> void onPlotUndo(@NotNull T event) {
+    public <T extends PlotUndoEvent> CompletableFuture<Void> onPlotUndo(@NotNull T event) {
+        return this.onPlotUndo(event, List.of());
+    }
+
+    /**
+     * Trigger plot undo event with preceding events folded into this update.
+     *
+     * @param event The undo event
+     * @param history Coalesced events that occurred before this event
+     * @param <T> THe type of plot undo event.
+     * @return Future that completes when the plot is updated
+     * @see #onPlotUndo(PlotUndoEvent)
+     */
+    public <T extends PlotUndoEvent> CompletableFuture<Void> onPlotUndo(@NotNull T event,
+                                                                        @NotNull List<? extends PlotEvent> history) {
         switch (event) {
             case PlotUndoReviewEvent undo:
-                this.updatePlot(undo, ThreadStatus.finished,
+                return this.updatePlot(undo, history, ThreadStatus.finished,
                     action -> onNotification(NotificationType.ON_UNDO_REVIEW, action.plotID(),
                         notification -> this.sendNotification(notification, action.threadID())
                     ));
-                return;
             case PlotUndoSubmitEvent undo:
-                this.updatePlot(undo, ThreadStatus.on_going,
+                return this.updatePlot(undo, history, ThreadStatus.on_going,
                     action -> onNotification(NotificationType.ON_UNDO_SUBMIT, action.plotID(),
                         notification -> this.sendNotification(notification, action.threadID())
                     ));
-                return;
             default: throw new IllegalStateException("Illegal PlotUndoEvent: " + event);
         }
     }
@@ -502,11 +649,28 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      *
      * @param event The review event
      * @param <T> THe type of plot review event.
+     * @return Future that completes when the plot is updated
      */
-    public <T extends PlotReviewEvent> void onPlotReview(@NotNull T event) {
+    public <T extends PlotReviewEvent> CompletableFuture<Void> onPlotReview(@NotNull T event) {
+        return this.onPlotReview(event, List.of());
+    }
+
+    /**
+     * Trigger plot review event with preceding events folded into this update.
+     *
+     * <p>{@link PlotFeedbackEvent} does not change the plot status, its history is ignored.</p>
+     *
+     * @param event The review event
+     * @param history Coalesced events that occurred before this event
+     * @param <T> THe type of plot review event.
+     * @return Future that completes when the plot is updated
+     * @see #onPlotReview(PlotReviewEvent)
+     */
+    public <T extends PlotReviewEvent> CompletableFuture<Void> onPlotReview(@NotNull T event,
+                                                                            @NotNull List<? extends PlotEvent> history) {
         switch (event) {
             case PlotApprovedEvent approved: {
-                this.updatePlot(approved, ThreadStatus.approved, action ->
+                return this.updatePlot(approved, history, ThreadStatus.approved, action ->
                     onNotification(NotificationType.ON_APPROVED, action.plotID(), PlotMessage::getPlotMessage,
                         (notification, message) -> {
                             final String ownerMention = parseOwnerMention(action.entry());
@@ -514,10 +678,9 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                             Notification.notify(message, action.threadID(), String.valueOf(action.plotID()));
                         }
                     ));
-                return;
             }
             case PlotRejectedEvent rejected: {
-                this.updatePlot(rejected, ThreadStatus.rejected, action ->
+                return this.updatePlot(rejected, history, ThreadStatus.rejected, action ->
                     onNotification(NotificationType.ON_REJECTED, action.plotID(), PlotMessage::getPlotMessage,
                         (notification, message) -> {
                             final String ownerMention = parseOwnerMention(action.entry());
@@ -525,11 +688,10 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                             Notification.notify(message, action.threadID(), String.valueOf(action.plotID()));
                         }
                     ));
-                return;
             }
             case PlotFeedbackEvent feedback: {
-                this.setFeedback(feedback.getFeedback(), PlotSystemThread.UpdateAction.fromEvent(event));
-                return;
+                return PlotSystemThread.UpdateAction.fromEvent(event)
+                    .thenCompose(action -> this.setFeedback(feedback.getFeedback(), action));
             }
             default: throw new IllegalStateException("Illegal PlotReviewEvent: " + event);
         }
@@ -557,9 +719,8 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
             };
 
             onNotification(NotificationType.ON_INACTIVITY, event.getPlotID(), notification ->
-                this.sendNotification(notification, threadID, content -> content
-                    .replace(Format.OWNER, owner)
-                    .replace(Format.TIMESTAMP, String.valueOf(timestamp.getEpochSecond())))
+                this.sendNotification(notification, threadID, content ->
+                    content.render(Format.OWNER, owner, Format.TIMESTAMP, timestamp.getEpochSecond()))
             );
         });
     }
@@ -572,12 +733,14 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      *
      * @param feedback The feedback to be saved in {@link WebhookEntry}
      * @param action The update action for where the feedback button located
+     * @return Future that completes when the feedback is set, or an already completed future if ignored
      */
-    public void setFeedback(String feedback, @Nullable PlotSystemThread.UpdateAction action) {
-        if(action == null) return;
+    public CompletableFuture<Void> setFeedback(String feedback, @Nullable PlotSystemThread.UpdateAction action) {
+        if(action == null) return CompletableFuture.completedFuture(null);
 
         // Legacy Plot-System v4 where null feedback as sent as "No Feedback"
-        if(StringUtils.isBlank(feedback) || Objects.equals(feedback, "No Feedback")) return;
+        if(StringUtils.isBlank(feedback) || Objects.equals(feedback, "No Feedback"))
+            return CompletableFuture.completedFuture(null);
 
         final String label;
         final BiFunction<String, String, Button> style;
@@ -614,25 +777,18 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
             data -> this.webhook.editThreadMessage(action.threadID(), action.messageID(), data, true)
         );
 
-        setFeedbackAction.whenComplete((success, failed) -> {
+        return setFeedbackAction.handle((success, failed) -> {
             if(failed != null) ON_PLOT_FEEDBACK_EXCEPTION.accept(failed);
 
-            try { // Update feedback data entry
-                WebhookEntry.updateEntryFeedback(action.entry().messageID(), feedback);
+            // Update feedback data entry
+            WebhookEntry.updateEntryFeedback(action.entry().messageID(), feedback);
 
-                // Send notification
-                onNotification(NotificationType.ON_REVIEWED, action.plotID(), notification -> {
-                    final String owner = parseOwnerMention(action.entry());
-                    this.sendNotification(notification, label, action.threadID(), owner);
-                });
-            }
-            catch (SQLException ex) {
-                Notification.sendErrorEmbed(
-                    ErrorMessage.PLOT_FEEDBACK_SQL_EXCEPTION,
-                    ex.toString(),
-                    String.valueOf(action.plotID())
-                );
-            }
+            // Send notification
+            onNotification(NotificationType.ON_REVIEWED, action.plotID(), notification -> {
+                final String owner = parseOwnerMention(action.entry());
+                this.sendNotification(notification, label, action.threadID(), owner);
+            });
+            return null;
         });
     }
 
@@ -721,9 +877,9 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
         if(doUploadAvatar) {
             savedUUID.keySet().forEach(UUID -> {
                 if(UUID != null && !UUID.equals(owner.getOwner().getUniqueId()))
-                    new MemberOwnable(UUID.toString()).getAvatarFile().ifPresent(updatedData::addFile);
+                    new MemberOwnable(UUID.toString()).getAvatarFile().ifPresent(avatar -> AttachmentBody.attach(updatedData, avatar));
             });
-            owner.getAvatarFile().ifPresent(updatedData::addFile);
+            owner.getAvatarFile().ifPresent(avatar -> AttachmentBody.attach(updatedData, avatar));
         }
 
         return Optional.of(updatedData);
@@ -742,11 +898,11 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      * @param owner the {@link MemberOwnable} instance representing the event's owner
      * @param tag the {@link AvailableTag} to apply to the thread
      * @param <T> the type of the plot event
-     * @return a {@link CompletableFuture} containing an {@link Optional} result from the thread update
+     * @return a {@link RestAction} containing an {@link Optional} result from the thread update
      */
     @NotNull
     private <T extends PlotEvent>
-    CompletableFuture<Optional<DataObject>> fetchThreadData(@NotNull String threadID,
+    RestAction<Optional<DataObject>> fetchThreadData(@NotNull String threadID,
                                                             @Nullable T event,
                                                             @NotNull MemberOwnable owner,
                                                             @NotNull AvailableTag tag) {
@@ -765,9 +921,9 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                     .orElse(null);
 
             // Archived thread will be auto locked in one day (1440 minutes)
-            return this.webhook.modifyThreadChannel(threadID, threadName, tags, 1440, null, null, true).submit();
+            return this.webhook.modifyThreadChannel(threadID, threadName, tags, 1440, null, null, true);
         }
-        return this.webhook.editThreadChannelTags(threadID, tags, true).submit();
+        return this.webhook.editThreadChannelTags(threadID, tags, true);
     }
 
     /**
@@ -775,23 +931,24 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      * and return as a new updated webhook data.
      *
      * @param plotID The plotID to be updated
+     * @param history Coalesced events that occurred before the event, each is added as history
      * @param event The event
      * @param component The layout component to be updated
      * @param owner The owner of this layout data
      * @param tag The primary tag to be applied
-     * @return The given layout updated and built to webhook data
+     * @param uploads Collects the gallery images to be prepared and attached to the returned data before it is sent
+     * @return The given layout updated and built to webhook data, empty if the layout is already up-to-date
      * @param <T> The type of event that will be fetched
      */
     @NotNull
     private <T extends PlotEvent>
     Optional<WebhookData> fetchLayoutData(int plotID,
+                                          @NotNull List<? extends PlotEvent> history,
                                           @Nullable T event,
                                           @NotNull Layout component,
                                           @NotNull MemberOwnable owner,
-                                          @NotNull AvailableTag tag) {
-        // Check if layout attachment(s) is modified
-        boolean modified = false;
-
+                                          @NotNull AvailableTag tag,
+                                          @NotNull List<File> uploads) {
         // Update layout data
         List<ComponentV2> updated = new ArrayList<>();
         List<File> imageList = new ArrayList<>();
@@ -801,8 +958,10 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
             switch (layout) {
                 // Edit info component accent and history as well as add new images if exist
                 case InfoComponent infoComponent:
-                    // Edit accent base on updated event
-                    if (!infoComponent.getAccentColor().equals(tag.getColor())) {
+                    // Edit accent base on updated event,
+                    // coalesced events are always a state transition so their history is kept
+                    if (!history.isEmpty() || !infoComponent.getAccentColor().equals(tag.getColor())) {
+                        history.forEach(previous -> infoComponent.addHistory(previous));
                         infoComponent.addHistory(event);
                         infoComponent.setAccentColor(tag.getColor());
                     }
@@ -813,10 +972,9 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                     };
 
                     // Fetch the plot's media every update call,
-                    // return as modified if info component successfully registered image gallery
-                    modified = PlotData.fetchMediaFolder(PlotData.checkMediaFolder(plotID), fetcher);
-
-                    if(modified) infoComponent.registerImageGallery();
+                    // register image gallery if info component successfully added new media
+                    if(PlotData.fetchMediaFolder(PlotData.checkMediaFolder(plotID), fetcher))
+                        infoComponent.registerImageGallery();
 
                     break;
                 // Check for status and sync it with event type
@@ -841,9 +999,16 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                 default:
                     throw new IllegalStateException("Unexpected value: " + layout);
             }
-            updated.add(layout.build());
         }
 
+        // Nothing to edit, skip the request entirely
+        Layout.LayoutDiff diff = component.diff();
+        if(diff.isEmpty()) return Optional.empty();
+
+        // Message edit always replace the whole component list,
+        // so every component is built only once we know the layout changed
+        for(LayoutComponentProvider<?, ?> layout : component.getLayout()) updated.add(layout.build());
+
         WebhookData updatedData = new WebhookDataBuilder()
                 .suppressNotifications()
                 .suppressMentions()
@@ -851,12 +1016,13 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
                 .setComponentsV2(updated)
                 .build();
 
-        if(modified) {
-            imageList.forEach(updatedData::addFile);
+        // Only upload files if the gallery is changed, other edits keep the sent attachments as is
+        if(diff.isChanged(AvailableComponent.INFO, AvailableComponent.InfoComponent.INFO_GALLERY)) {
+            uploads.addAll(imageList);
 
             // Reference to previous attachment will get reset if there are new file attached.
             // We have to attach it back to the message to restore the attachment data.
-            ownerList.forEach(member -> new MemberOwnable(member).getAvatarFile().ifPresent(updatedData::addFile));
+            ownerList.forEach(member -> new MemberOwnable(member).getAvatarFile().ifPresent(avatar -> AttachmentBody.attach(updatedData, avatar)));
         }
 
         return Optional.of(updatedData);
@@ -873,7 +1039,8 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
      * @param entry The entry data of this plot.
      * @param owner The owner of this plot data.
      * @param status The status of this plot.
-     * @return New {@link StatusComponent} built as webhook data ready to be used in API call.
+     * @return New {@link StatusComponent} built as webhook data ready to be used in API call,
+     *         empty if the current message already displays the same status and interactions.
      * @param <T> The event representing this current status message.
      */
     @NotNull
@@ -886,10 +1053,14 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
 
         String threadID = Long.toUnsignedString(entry.threadID());
         StatusEmbed statusEmbed = new StatusEmbed(owner, status, this.getMessageReferenceURL(threadID, threadID));
-        WebhookDataBuilder data = new WebhookDataBuilder().setEmbeds(Collections.singletonList(statusEmbed.build()));
+        MessageEmbed embed = statusEmbed.build();
+        WebhookDataBuilder data = new WebhookDataBuilder().setEmbeds(Collections.singletonList(embed));
+
+        // Compare with the current embed so an unchanged status is not edited again
+        boolean embedChanged = message.getEmbeds().isEmpty() || !isSameStatusEmbed(message.getEmbeds().getFirst(), embed);
 
         // Check interaction to update
-        if(message.getActionRows().isEmpty()) return Optional.of(data.build());
+        if(message.getActionRows().isEmpty()) return embedChanged? Optional.of(data.build()) : Optional.empty();
 
         ActionRow componentRow = message.getActionRows().getFirst();
 
@@ -901,9 +1072,31 @@ public final class PlotSystemWebhook extends AbstractPlotSystemWebhook {
         // Set new component if it is modified
         interactions.ifPresent(data::setComponents);
 
+        if(!embedChanged && interactions.isEmpty()) return Optional.empty();
+
         return Optional.of(data.build());
     }
 
+    /**
+     * Compare the displayed content of two status embeds.
+     *
+     * <p>A received embed carries proxy URLs and type data that a built embed does not,
+     * so only the fields written by {@link StatusEmbed} are compared.</p>
+     *
+     * @param current The embed currently sent in the status message
+     * @param target The newly built status embed
+     * @return True if both embed display the same status
+     */
+    private static boolean isSameStatusEmbed(@NotNull MessageEmbed current, @NotNull MessageEmbed target) {
+        return Objects.equals(current.getTitle(), target.getTitle())
+            && Objects.equals(current.getUrl(), target.getUrl())
+            && Objects.equals(current.getDescription(), target.getDescription())
+            && current.getColorRaw() == target.getColorRaw()
+            && Objects.equals(
+                current.getAuthor() == null? null : current.getAuthor().getName(),
+                target.getAuthor() == null? null : target.getAuthor().getName());
+    }
+
     /**
      * Fetch the status interaction row if it should be updated or not
      *
@@ -19,7 +19,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
 
 /**
  * Validator for the main {@linkplain  PlotSystemWebhook Plot-System webhook}.
@@ -31,6 +30,8 @@ import java.util.function.Function;
  *     <li>Resolve status tags from config file (eg. name and color)</li>
  *     <li>Validate status tags if all of it exist by discord API</li>
  * </ol>
+ *
+ * <p>Webhook references (1-2) and status tags (3-4) are validated in parallel.</p>
  */
 public class PlotSystemWebhookValidator {
     private final WebhookProvider webhook;
@@ -58,15 +59,19 @@ public class PlotSystemWebhookValidator {
     public CompletableFuture<Void> validate(WebhookProvider... others) {
         List<CompletableFuture<?>> validateActions = this.validateWebhookReference(others);
 
+        // Tags are fetched from the webhook channel, not the webhook itself,
+        // so it is validated in parallel instead of waiting for all guild webhooks
+        CompletableFuture<Void> validateTags = this.validateWebhookTags();
+
         return CompletableFuture.allOf(validateActions.toArray(new CompletableFuture<?>[0])).handle((ok, error) -> {
             if (error != null) DiscordPS.error(Debug.Error.WEBHOOK_VALIDATION_UNKNOWN_EXCEPTION, error.toString());
+            return null;
+        }).thenCombine(validateTags, (references, tags) -> {
             // If webhook reference validation failed, tag validation is guarantee to fails too
-            if (DiscordPS.getDebugger().hasGroup(Debug.ErrorGroup.WEBHOOK_REFS_VALIDATION)) {
+            if (DiscordPS.getDebugger().hasGroup(Debug.ErrorGroup.WEBHOOK_REFS_VALIDATION))
                 DiscordPS.error(Debug.Error.WEBHOOK_TAG_VALIDATION_FAILED);
-                return CompletableFuture.<Void>completedFuture(null);
-            } // Else validate for it with API calls
-            else return this.validateWebhookTags();
-        }).thenCompose(Function.identity());
+            return null;
+        });
     }
 
     /**
@@ -179,9 +184,9 @@ public class PlotSystemWebhookValidator {
             return data.getArray("available_tags");
         });
 
-        if (allowSecondAttempt) response.setRetryExecution(() -> getAvailableTags(false));
-
-        return new RestActionImpl<>(this.webhook.getJDA(), route, response::execute);
+        return DiscordPS.getPlugin().getRestScheduler().schedule(route, allowSecondAttempt, null,
+            () -> new RestActionImpl<>(this.webhook.getJDA(), route, response::execute)
+        );
     }
 
     /**
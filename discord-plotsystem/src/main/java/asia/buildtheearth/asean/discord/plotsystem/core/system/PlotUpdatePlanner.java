@@ -0,0 +1,223 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Plan and run every REST call of one plot update as a single pass.
+ *
+ * <p>Each part of the thread (layout, thread data, status message) is added as a {@link Step}.
+ * A step computes its target data from the current state and is skipped when there is nothing to change,
+ * so an update only sends the calls that actually modify the thread.
+ * All steps are independent and run concurrently on {@link #execute()},
+ * a failing step never cancels the others and is reported in the returned {@link Report}.</p>
+ */
+final class PlotUpdatePlanner {
+
+    /**
+     * Each independent part of a plot thread that an update may modify.
+     */
+    enum Step {
+        /** The thread's initial message containing the plot layout */
+        LAYOUT,
+        /** The thread channel data: status tags, name and archive duration */
+        THREAD,
+        /** The tracked status message and its interaction buttons */
+        STATUS_MESSAGE
+    }
+
+    /**
+     * The result of a planned step.
+     */
+    enum Outcome {
+        /** The step sent its request successfully */
+        APPLIED,
+        /** The step has nothing to change and sent no request */
+        SKIPPED,
+        /** The step failed, its error is reported */
+        FAILED
+    }
+
+    /**
+     * The outcome of a single step.
+     *
+     * @param step The planned step
+     * @param outcome The outcome of the step
+     * @param error The error of a {@link Outcome#FAILED} step, null otherwise
+     */
+    record StepResult(@NotNull Step step, @NotNull Outcome outcome, @Nullable Throwable error) { }
+
+    /**
+     * Report of an executed plan.
+     *
+     * @param plotID The plot ID this plan updated
+     * @param results The result of each step in planned order
+     */
+    record Report(int plotID, @NotNull List<StepResult> results) {
+
+        /**
+         * Check if any step of this plan failed.
+         *
+         * @return True if at least one step failed
+         */
+        boolean hasFailure() {
+            return this.results.stream().anyMatch(result -> result.outcome() == Outcome.FAILED);
+        }
+
+        /**
+         * Count the steps that sent a request.
+         *
+         * @return Number of {@link Outcome#APPLIED} steps
+         */
+        long applied() {
+            return this.results.stream().filter(result -> result.outcome() == Outcome.APPLIED).count();
+        }
+
+        /**
+         * Collect all failures of this plan as a single exception.
+         *
+         * @return Empty if no step failed, else an exception with the first failure as its cause
+         *         and every other failures suppressed.
+         */
+        @NotNull Optional<RuntimeException> getFailure() {
+            if(!this.hasFailure()) return Optional.empty();
+
+            RuntimeException failure = null;
+            for(StepResult result : this.results) {
+                if(result.error() == null) continue;
+                if(failure == null) failure = new RuntimeException("Plot #" + this.plotID
+                    + " update failed partially (" + this + ")", result.error());
+                else failure.addSuppressed(result.error());
+            }
+            return Optional.ofNullable(failure);
+        }
+
+        @Override
+        public String toString() {
+            return this.results.stream()
+                .map(result -> result.step() + "=" + result.outcome())
+                .collect(Collectors.joining(", "));
+        }
+    }
+
+    private record Planned(@NotNull Step step,
+                           @NotNull Supplier<CompletableFuture<StepResult>> action,
+                           @NotNull BiConsumer<Optional<?>, ? super Throwable> onError) { }
+
+    private final int plotID;
+    private final List<Planned> steps = new ArrayList<>();
+
+    /**
+     * Create an empty plan for a plot.
+     *
+     * @param plotID The plot ID to be updated
+     */
+    PlotUpdatePlanner(int plotID) {
+        this.plotID = plotID;
+    }
+
+    /**
+     * Plan an edit that needs the current data to compute its target.
+     *
+     * @param step The step of this edit
+     * @param current Request to fetch the current data
+     * @param planner Compute the target data from the current data, empty if nothing has to change
+     * @param request Submit the request to apply the target data, may prepare the data before submitting it
+     * @param onError Handler invoked if this step fails
+     * @return This planner for chaining
+     * @param <C> The current data type
+     * @param <T> The target data type
+     * @param <R> The request result type
+     */
+    @Contract("_, _, _, _, _ -> this")
+    <C, T, R> @NotNull PlotUpdatePlanner edit(@NotNull Step step,
+                                              @NotNull RestAction<Optional<C>> current,
+                                              @NotNull Function<C, Optional<T>> planner,
+                                              @NotNull Function<T, CompletableFuture<Optional<R>>> request,
+                                              @NotNull BiConsumer<Optional<?>, ? super Throwable> onError) {
+        this.steps.add(new Planned(step, () -> current.submit().thenCompose(optCurrent -> {
+            C data = optCurrent.orElseThrow(() -> new IllegalStateException("Cannot fetch current data of " + step));
+
+            return planner.apply(data)
+                .map(target -> request.apply(target).thenApply(result -> Outcome.APPLIED))
+                .orElseGet(() -> CompletableFuture.completedFuture(Outcome.SKIPPED));
+        }).handle((outcome, error) -> this.complete(step, outcome, error, onError)), onError));
+
+        return this;
+    }
+
+    /**
+     * Plan a request that does not need the current data.
+     *
+     * @param step The step of this request
+     * @param required Whether the known state differs from the target, the step is skipped if false
+     * @param request Request to apply the target state
+     * @param onError Handler invoked if this step fails
+     * @return This planner for chaining
+     * @param <R> The request result type
+     */
+    @Contract("_, _, _, _ -> this")
+    <R> @NotNull PlotUpdatePlanner request(@NotNull Step step,
+                                           boolean required,
+                                           @NotNull Supplier<RestAction<Optional<R>>> request,
+                                           @NotNull BiConsumer<Optional<?>, ? super Throwable> onError) {
+        if(!required) {
+            this.steps.add(new Planned(step, () -> CompletableFuture.completedFuture(new StepResult(step, Outcome.SKIPPED, null)), onError));
+            return this;
+        }
+
+        this.steps.add(new Planned(step, () -> request.get().submit()
+            .handle((result, error) -> this.complete(step, Outcome.APPLIED, error, onError)), onError));
+
+        return this;
+    }
+
+    /**
+     * Start every planned step concurrently.
+     *
+     * @return Future of the report, completed when all steps are done; never completes exceptionally.
+     */
+    @NotNull CompletableFuture<Report> execute() {
+        List<CompletableFuture<StepResult>> started = new ArrayList<>(this.steps.size());
+
+        for(Planned planned : this.steps) {
+            try {
+                started.add(planned.action().get());
+            }
+            catch (RuntimeException ex) {
+                // Step failed synchronously before any request is sent
+                started.add(CompletableFuture.completedFuture(this.complete(planned.step(), null, ex, planned.onError())));
+            }
+        }
+
+        return CompletableFuture.allOf(started.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Report report = new Report(this.plotID, started.stream().map(CompletableFuture::join).toList());
+            DiscordPS.debug("Plot #" + this.plotID + " update plan: " + report + " (" + report.applied() + " request(s) sent)");
+            return report;
+        });
+    }
+
+    private @NotNull StepResult complete(@NotNull Step step,
+                                         @Nullable Outcome outcome,
+                                         @Nullable Throwable error,
+                                         @NotNull BiConsumer<Optional<?>, ? super Throwable> onError) {
+        if(error == null && outcome != null) return new StepResult(step, outcome, null);
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null? error.getCause() : error;
+        onError.accept(Optional.empty(), cause);
+        return new StepResult(step, Outcome.FAILED, cause);
+    }
+}
@@ -68,14 +68,17 @@ public final class ShowcaseWebhook extends AbstractShowcaseWebhook {
 
         final String threadName = PlotSystemThread.THREAD_NAME.apply(plotEntry.plotID(), plotData.formatOwnerName());
         WebhookDataBuilder.WebhookData imageData = new WebhookDataBuilder().setThreadName(threadName).build();
-        plotData.getImageFiles().forEach(imageData::addFile);
 
-        return this.webhook.queueNewUpdateAction(
-            this.webhook.newThreadFromWebhook(imageData, null, true),
-            message -> this.sendShowcaseInformation(message, plotData, owner -> new ShowcaseComponent(
-                0, Long.toUnsignedString(plotEntry.threadID()), owner, plotData
-            ))
-        );
+        return DiscordPS.getPlugin().getImagePipeline().prepareAll(plotData.getImageFiles()).thenCompose(images -> {
+            images.forEach(image -> AttachmentBody.attach(imageData, image));
+
+            return this.webhook.queueNewUpdateAction(
+                this.webhook.newThreadFromWebhook(imageData, null, true),
+                message -> this.sendShowcaseInformation(message, plotData, owner -> new ShowcaseComponent(
+                    0, Long.toUnsignedString(plotEntry.threadID()), owner, plotData
+                ))
+            );
+        });
     }
 
     /**
@@ -100,7 +103,7 @@ public final class ShowcaseWebhook extends AbstractShowcaseWebhook {
                 .suppressMentions()
                 .build();
 
-        plotData.getAvatarFile().ifPresent(infoData::addFile);
+        plotData.getAvatarFile().ifPresent(avatar -> AttachmentBody.attach(infoData, avatar));
 
         return this.webhook.sendMessageInThread(message.getMessageId(), infoData, true, true)
                 .map(ignored -> Optional.of(message));
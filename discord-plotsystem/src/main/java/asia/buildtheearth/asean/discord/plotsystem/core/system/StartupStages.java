@@ -0,0 +1,131 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dependency graph of the plugin startup.
+ *
+ * <p>Each {@link Stage} is an async task that runs as soon as its dependencies complete,
+ * so independent stages (e.g. the database connection and both webhook references) run in parallel
+ * instead of one after another. The time each stage took is logged when it completes,
+ * and all of it is summarized with {@link #report()} once the plugin readiness is decided.</p>
+ *
+ * <blockquote>{@snippet :
+ * StartupStages startup = DiscordPS.getPlugin().getStartup();
+ * startup.supply(Stage.DATABASE, IOExecutor.Resource.DATABASE, DatabaseConnection::InitializeDatabase);
+ * startup.all().thenRun(startup::report);
+ * }</blockquote>
+ *
+ * <p>A stage is expected to handle its own failure (output it to {@link asia.buildtheearth.asean.discord.plotsystem.Debug}),
+ * a stage that completes exceptionally is still reported and does not stop the other stages.</p>
+ */
+public final class StartupStages {
+
+    /**
+     * Every stage of the plugin startup.
+     */
+    public enum Stage {
+        /** Initialize database connection pool */
+        DATABASE("database"),
+        /** Retrieve the plot-system webhook */
+        PLOT_WEBHOOK("plot-system webhook"),
+        /** Retrieve the showcase webhook */
+        SHOWCASE_WEBHOOK("showcase webhook"),
+        /** Validate webhook references and available tags */
+        WEBHOOK_VALIDATION("webhook validation");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return this.label;
+        }
+    }
+
+    private final long started = System.nanoTime();
+
+    private final Map<Stage, CompletableFuture<?>> stages = new EnumMap<>(Stage.class);
+
+    private final Map<Stage, Long> timings = new EnumMap<>(Stage.class);
+
+    /**
+     * Run a blocking stage on the {@link IOExecutor} within the limit of its resource.
+     *
+     * @param stage The stage to run
+     * @param resource The resource this stage blocks on
+     * @param task The stage task
+     * @return Future of the stage result
+     * @param <T> The stage result
+     */
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull Stage stage,
+                                                   @NotNull IOExecutor.Resource resource,
+                                                   @NotNull IOExecutor.Task<T> task) {
+        long start = System.nanoTime();
+        return this.track(stage, start, IOExecutor.supply(resource, task));
+    }
+
+    /**
+     * Track an already started async stage.
+     *
+     * @param stage The stage this future represents
+     * @param future The stage future
+     * @return Future of the stage result that completes after its timing is recorded
+     * @param <T> The stage result
+     */
+    public <T> @NotNull CompletableFuture<T> track(@NotNull Stage stage, @NotNull CompletableFuture<T> future) {
+        return this.track(stage, System.nanoTime(), future);
+    }
+
+    private synchronized <T> @NotNull CompletableFuture<T> track(@NotNull Stage stage,
+                                                                 long start,
+                                                                 @NotNull CompletableFuture<T> future) {
+        // Depend on the timed future so the timing is recorded before any dependent stage runs
+        CompletableFuture<T> timed = future.whenComplete((ok, error) -> {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            synchronized (this) { this.timings.put(stage, elapsed); }
+
+            if(error != null) DiscordPS.warning("Startup stage '" + stage + "' failed after " + elapsed + " ms: " + error);
+            else DiscordPS.debug("Startup stage '" + stage + "' completed in " + elapsed + " ms");
+        });
+        this.stages.put(stage, timed);
+        return timed;
+    }
+
+    /**
+     * Get a future that completes when every stage tracked so far completes,
+     * regardless of whether each stage succeeded.
+     *
+     * @return Future of all tracked stages
+     */
+    public synchronized @NotNull CompletableFuture<Void> all() {
+        CompletableFuture<?>[] futures = this.stages.values().stream()
+            .map(future -> future.handle((ok, error) -> null))
+            .toArray(CompletableFuture<?>[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Log the time each stage took and the total startup time to console.
+     */
+    public synchronized void report() {
+        StringJoiner summary = new StringJoiner(", ");
+        this.stages.forEach((stage, future) -> {
+            Long elapsed = this.timings.get(stage);
+            summary.add(stage + " " + (elapsed == null? "pending" : elapsed + " ms"));
+        });
+
+        long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.started);
+        DiscordPS.info("Startup completed in " + total + " ms (" + summary + ")");
+    }
+}
@@ -0,0 +1,93 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded cache of the last known raw message data per webhook message ID.
+ *
+ * <p>The cache is filled by the response of every webhook send and edit request,
+ * which returns the full message object. Webhook update can then be computed locally
+ * from the cached message instead of fetching it before every edit.
+ * An entry is dropped when a request on its message fails, or after {@link #EXPIRE_AFTER_MILLIS}.</p>
+ *
+ * <p>Message is cached as serialized json, every read returns a new {@link DataObject}
+ * so that a parsed layout can be freely modified without corrupting the cache.</p>
+ */
+final class WebhookMessageCache {
+
+    /**
+     * Maximum age of a cached message before it is considered stale and fetched again.
+     */
+    private static final long EXPIRE_AFTER_MILLIS = 30 * 60 * 1000;
+
+    /**
+     * Access ordered map which evict its least recently used entry when full.
+     */
+    private final Map<String, CachedMessage> cache;
+
+    /**
+     * Create a new message cache
+     *
+     * @param maxSize Maximum number of message to be cached
+     */
+    WebhookMessageCache(int maxSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMessage> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the last known raw data of a message.
+     *
+     * @param messageID The message ID as snowflake string
+     * @return A new copy of the raw message data if cached and not yet expired
+     */
+    synchronized @NotNull Optional<DataObject> get(@NotNull String messageID) {
+        CachedMessage cached = this.cache.get(messageID);
+
+        if(cached == null) return Optional.empty();
+
+        if(System.currentTimeMillis() - cached.timestamp() > EXPIRE_AFTER_MILLIS) {
+            this.cache.remove(messageID);
+            return Optional.empty();
+        }
+
+        return Optional.of(DataObject.fromJson(cached.json()));
+    }
+
+    /**
+     * Cache a message data returned by discord API.
+     *
+     * @param messageID The message ID as snowflake string
+     * @param data The full message object
+     */
+    synchronized void put(@NotNull String messageID, @NotNull DataObject data) {
+        this.cache.put(messageID, new CachedMessage(data.toString(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Drop a cached message, the next read will be fetched from discord API.
+     *
+     * @param messageID The message ID as snowflake string, ignored if {@code null}
+     */
+    synchronized void invalidate(@Nullable String messageID) {
+        if(messageID != null) this.cache.remove(messageID);
+    }
+
+    /**
+     * A cached raw message
+     *
+     * @param json The full message object serialized as json
+     * @param timestamp The time this message is cached in epoch millis
+     */
+    private record CachedMessage(@NotNull String json, long timestamp) { }
+}
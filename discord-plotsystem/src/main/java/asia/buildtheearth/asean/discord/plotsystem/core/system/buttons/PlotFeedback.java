@@ -11,13 +11,16 @@ import github.scarsz.discordsrv.dependencies.jda.internal.requests.RestActionImp
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
 import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentBody;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.IOExecutor;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.Notification;
 import asia.buildtheearth.asean.discord.components.buttons.PluginButton;
 import asia.buildtheearth.asean.discord.components.buttons.PluginButtonHandler;
 import asia.buildtheearth.asean.discord.components.buttons.SimpleButtonHandler;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotInteraction;
-import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,6 +29,7 @@ import java.sql.SQLException;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 
 import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notification.ErrorMessage;
@@ -44,7 +48,7 @@ public class PlotFeedback implements PluginButtonHandler, SimpleButtonHandler {
             ).withQueryParams("with_components", String.valueOf(true));
 
             // Prepare the request action
-            MultipartBody requestBody = webhookData.prepareRequestBody();
+            RequestBody requestBody = AttachmentBody.of(webhookData);
             RestAction<Void> action = new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, requestBody);
 
             // Queue the request
@@ -75,44 +79,49 @@ public class PlotFeedback implements PluginButtonHandler, SimpleButtonHandler {
     @NotNull
     public static CompletableFuture<WebhookDataBuilder.WebhookData> getFeedback(@Nullable String title, long feedbackID) {
 
-        CompletableFuture<WebhookEntry> action = CompletableFuture.supplyAsync(() -> {
-            try {
-                WebhookEntry entry = WebhookEntry.getByMessageID(feedbackID);
+        CompletableFuture<WebhookEntry> action = DatabaseConnection.getRepository()
+            .getByMessageID(feedbackID)
+            .thenApply(entry -> entry.filter(feedback -> feedback.feedback() != null).orElseThrow(() ->
+                new CompletionException(new SQLException("Trying to get feedback that does not exist in the database!"))
+            ));
 
-                if(entry == null || entry.feedback() == null)
-                    throw new SQLException("Trying to get feedback that does not exist in the database!");
-
-                return entry;
-            } catch (SQLException ex) { throw new RuntimeException(ex); }
-        });
-
-        return action.orTimeout(60L, TimeUnit.SECONDS).thenApply(entry -> {
+        // Review media is read from disk
+        return action.orTimeout(60L, TimeUnit.SECONDS).thenComposeAsync(entry -> {
 
             String feedbackRaw = entry.feedback();
             String entryID = Long.toUnsignedString(feedbackID);
             Optional<List<File>> reviewMedia = ReviewComponent.getOptMedia(entry.plotID(), entryID);
-            ReviewComponent component = new ReviewComponent(
-                    Objects.requireNonNull(feedbackRaw),
-                    null,
-                    entry.status().toTag().getColor(),
-                    reviewMedia.orElse(null)
-            );
-
-            Collection<ComponentV2> components = (title == null || StringUtils.isBlank(title))
-                    ? Collections.singletonList(component.build())
-                    : List.of(new TextDisplay(title), component.build());
-
-            WebhookDataBuilder.WebhookData webhookData = new WebhookDataBuilder()
-                    .setComponentsV2(components)
-                    .forceComponentV2()
-                    .suppressNotifications()
-                    .suppressMentions()
-                    .build();
-
-            reviewMedia.ifPresent(files -> files.forEach(webhookData::addFile));
-
-            return webhookData;
-        });
+            List<File> media = reviewMedia.orElse(List.of());
+
+            // Media already uploaded with the review message is referenced by its URL instead of uploaded again,
+            // each stage runs on its own disk task, never waited on while holding this task's permit
+            return DiscordPS.getPlugin().getMediaStore().findUploadedUrls(media).thenCompose(uploaded -> {
+                ReviewComponent component = new ReviewComponent(
+                        Objects.requireNonNull(feedbackRaw),
+                        null,
+                        entry.status().toTag().getColor(),
+                        reviewMedia.orElse(null)
+                ).setUploadedMedia(uploaded);
+
+                Collection<ComponentV2> components = (title == null || StringUtils.isBlank(title))
+                        ? Collections.singletonList(component.build())
+                        : List.of(new TextDisplay(title), component.build());
+
+                WebhookDataBuilder.WebhookData webhookData = new WebhookDataBuilder()
+                        .setComponentsV2(components)
+                        .forceComponentV2()
+                        .suppressNotifications()
+                        .suppressMentions()
+                        .build();
+
+                List<File> uploads = media.stream().filter(image -> !uploaded.containsKey(image.getName())).toList();
+
+                return DiscordPS.getPlugin().getImagePipeline().prepareAll(uploads).thenApply(prepared -> {
+                    prepared.forEach(image -> AttachmentBody.attach(webhookData, image));
+                    return webhookData;
+                });
+            });
+        }, IOExecutor.executor(IOExecutor.Resource.DISK));
     }
 
     private static @NotNull MessageEmbed getErrorEmbed() {
@@ -10,6 +10,7 @@ import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageEmbed;
 import github.scarsz.discordsrv.dependencies.jda.api.events.interaction.ButtonClickEvent;
 import asia.buildtheearth.asean.discord.plotsystem.Constants;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentBody;
 import asia.buildtheearth.asean.discord.components.buttons.PluginButton;
 import asia.buildtheearth.asean.discord.components.buttons.PluginButtonHandler;
 import asia.buildtheearth.asean.discord.components.buttons.SimpleButtonHandler;
@@ -18,7 +19,7 @@ import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.PlotInter
 import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.RestActionImpl;
 import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
-import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import github.scarsz.discordsrv.dependencies.okhttp3.RequestBody;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
@@ -51,7 +52,7 @@ public class PlotHelp implements PluginButtonHandler, SimpleButtonHandler {
                 .build();
 
         // Prepare the request action
-        MultipartBody requestBody = webhookData.prepareRequestBody();
+        RequestBody requestBody = AttachmentBody.of(webhookData);
         RestAction<Object> action = new RestActionImpl<>(DiscordPS.getPlugin().getJDA(), route, requestBody);
 
         // Queue the action and handle for error
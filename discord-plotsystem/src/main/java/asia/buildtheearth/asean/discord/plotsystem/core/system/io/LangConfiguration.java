@@ -9,6 +9,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Language Configuration file.
@@ -21,6 +23,13 @@ public class LangConfiguration extends PluginProvider {
 
     private LanguageFile<MessageLang> messagesLang;
 
+    /** Last modified time of each loaded language file, to detect changes on {@link #reloadLanguageFiles()} */
+    private final Map<File, Long> loaded = new HashMap<>();
+
+    private File systemLangFile;
+
+    private File messagesLangFile;
+
     /**
      * Register a language configuration for this plugin
      *
@@ -73,10 +82,48 @@ public class LangConfiguration extends PluginProvider {
         this.systemLang = new LanguageFile<>();
         this.messagesLang = new LanguageFile<>();
 
+        this.systemLangFile = systemLang;
+        this.messagesLangFile = messagesLang;
+
         this.tryLoadLang(this.systemLang, systemLang, "lang/system.yml");
         this.tryLoadLang(this.messagesLang, messagesLang, "lang/message.yml");
     }
 
+    /**
+     * Reload language files that have been modified since they were last loaded.
+     *
+     * <p>Files are loaded into the same {@link LanguageFile} instance which recompiles its templates,
+     * so every {@link LangManager} reference sees the new messages.
+     * Messages cached elsewhere on startup (e.g. command descriptions) are not affected.</p>
+     *
+     * @return True if any language file is reloaded
+     * @throws IOException If the resource failed to load
+     * @throws InvalidConfigurationException If the yaml file is invalid
+     */
+    public synchronized boolean reloadLanguageFiles() throws IOException, InvalidConfigurationException {
+        if(this.systemLang == null || this.messagesLang == null) {
+            this.initLanguageFiles();
+            return true;
+        }
+
+        boolean reloaded = false;
+        if(this.isModified(this.systemLangFile)) {
+            this.tryLoadLang(this.systemLang, this.systemLangFile, "lang/system.yml");
+            reloaded = true;
+        }
+        if(this.isModified(this.messagesLangFile)) {
+            this.tryLoadLang(this.messagesLang, this.messagesLangFile, "lang/message.yml");
+            reloaded = true;
+        }
+
+        if(reloaded) DiscordPS.info("Reloaded modified language files.");
+        return reloaded;
+    }
+
+    private boolean isModified(File file) {
+        return file.exists() && file.lastModified() != this.loaded.getOrDefault(file, 0L);
+    }
+
 
     /**
      * Try to load language file into {@link FileConfiguration loader} instance,
@@ -91,6 +138,7 @@ public class LangConfiguration extends PluginProvider {
     private void tryLoadLang(FileConfiguration loader, File resource, String path) throws IOException, InvalidConfigurationException {
         try {
             loader.load(resource);
+            this.loaded.put(resource, resource.lastModified());
         } catch (Exception ex) {
             InputStream resourceData = this.plugin.getResource(path);
             if(resourceData == null) throw new IOException(
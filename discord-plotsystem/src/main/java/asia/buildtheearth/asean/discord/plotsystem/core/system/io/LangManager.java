@@ -14,6 +14,25 @@ public interface LangManager<T extends LangConfig> {
     @NotNull
     String get(@NotNull T config, @NotNull String defaultValue);
 
+    /**
+     * Get the compiled template of a message, to render its {@code Format} placeholders in a single pass.
+     *
+     * @param config The language config
+     * @return The compiled template, rendering {@link LanguageFile#NULL_LANG} if the message is undefined
+     */
+    @NotNull
+    LangTemplate getTemplate(@NotNull T config);
+
+    /**
+     * Get the compiled template of a message, to render its {@code Format} placeholders in a single pass.
+     *
+     * @param config The language config
+     * @param defaultValue The message to compile if the message is undefined
+     * @return The compiled template
+     */
+    @NotNull
+    LangTemplate getTemplate(@NotNull T config, @NotNull String defaultValue);
+
     @NotNull
     LanguageFile.EmbedLang getEmbed(@NotNull T config);
 
@@ -0,0 +1,176 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.io;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A language message pre-split into literal and placeholder segments.
+ *
+ * <p>Compiled once when a {@link LanguageFile} is loaded, rendering is a single pass
+ * over the segments instead of a {@link String#replace} chain for every {@link Format} token.</p>
+ *
+ * <blockquote>{@snippet :
+ * String title = DiscordPS.getMessagesLang()
+ *     .getTemplate(PlotInformation.THREAD_NAME)
+ *     .render(Format.PLOT_ID, plotID, Format.OWNER, ownerName);
+ * }</blockquote>
+ *
+ * <p>A placeholder with no given value is rendered back as is,
+ * so a message may contain braces that are not meant as a placeholder.</p>
+ */
+public final class LangTemplate {
+
+    /** Any {@code {token}} in a message, same format as {@link Format} constants */
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[A-Za-z]+}");
+
+    private final String raw;
+
+    /** Literal text or the placeholder token of each segment */
+    private final String[] segments;
+
+    /** Whether the segment at the same index is a placeholder */
+    private final boolean[] placeholders;
+
+    /** Whether this template has no placeholder at all */
+    private final boolean constant;
+
+    private LangTemplate(@NotNull String raw, @NotNull String[] segments, @NotNull boolean[] placeholders, boolean constant) {
+        this.raw = raw;
+        this.segments = segments;
+        this.placeholders = placeholders;
+        this.constant = constant;
+    }
+
+    /**
+     * Compile a raw language message.
+     *
+     * @param raw The message to compile
+     * @return The compiled template
+     */
+    @Contract("_ -> new")
+    public static @NotNull LangTemplate compile(@NotNull String raw) {
+        List<String> segments = new ArrayList<>();
+        List<Boolean> placeholders = new ArrayList<>();
+
+        Matcher matcher = PLACEHOLDER.matcher(raw);
+        int last = 0;
+        while (matcher.find()) {
+            if(matcher.start() > last) {
+                segments.add(raw.substring(last, matcher.start()));
+                placeholders.add(false);
+            }
+            segments.add(matcher.group().intern());
+            placeholders.add(true);
+            last = matcher.end();
+        }
+        if(last < raw.length()) {
+            segments.add(raw.substring(last));
+            placeholders.add(false);
+        }
+
+        boolean[] isPlaceholder = new boolean[placeholders.size()];
+        for(int i = 0; i < isPlaceholder.length; i++) isPlaceholder[i] = placeholders.get(i);
+
+        return new LangTemplate(raw, segments.toArray(new String[0]), isPlaceholder, !placeholders.contains(true));
+    }
+
+    /**
+     * Get the raw message of this template.
+     *
+     * @return The message as written in the language file
+     */
+    public @NotNull String raw() {
+        return this.raw;
+    }
+
+    /**
+     * Render this template with one placeholder value.
+     *
+     * @param token The placeholder token, one of {@link Format} constants
+     * @param value The value to render, {@code null} renders as {@link LanguageFile#NULL_LANG}
+     * @return The rendered message
+     */
+    public @NotNull String render(@NotNull String token, @Nullable Object value) {
+        return this.render(new String[] { token }, new Object[] { value });
+    }
+
+    /**
+     * Render this template with two placeholder values.
+     *
+     * @see #render(String, Object)
+     */
+    public @NotNull String render(@NotNull String token1, @Nullable Object value1,
+                                  @NotNull String token2, @Nullable Object value2) {
+        return this.render(new String[] { token1, token2 }, new Object[] { value1, value2 });
+    }
+
+    /**
+     * Render this template with three placeholder values.
+     *
+     * @see #render(String, Object)
+     */
+    public @NotNull String render(@NotNull String token1, @Nullable Object value1,
+                                  @NotNull String token2, @Nullable Object value2,
+                                  @NotNull String token3, @Nullable Object value3) {
+        return this.render(new String[] { token1, token2, token3 }, new Object[] { value1, value2, value3 });
+    }
+
+    /**
+     * Render this template with any number of placeholder values.
+     *
+     * @param values Value of each placeholder token
+     * @return The rendered message
+     * @see #render(String, Object)
+     */
+    public @NotNull String render(@NotNull Map<String, ?> values) {
+        if(this.constant) return this.raw;
+
+        StringBuilder rendered = new StringBuilder(this.raw.length() + 16 * values.size());
+        for(int i = 0; i < this.segments.length; i++) {
+            if(this.placeholders[i] && values.containsKey(this.segments[i]))
+                rendered.append(valueOf(values.get(this.segments[i])));
+            else rendered.append(this.segments[i]);
+        }
+        return rendered.toString();
+    }
+
+    private @NotNull String render(@NotNull String[] tokens, @NotNull Object[] values) {
+        if(this.constant) return this.raw;
+
+        StringBuilder rendered = new StringBuilder(this.raw.length() + 16 * tokens.length);
+        for(int i = 0; i < this.segments.length; i++) {
+            String segment = this.segments[i];
+            if(this.placeholders[i]) {
+                int match = indexOf(tokens, segment);
+                if(match >= 0) {
+                    rendered.append(valueOf(values[match]));
+                    continue;
+                }
+            }
+            rendered.append(segment);
+        }
+        return rendered.toString();
+    }
+
+    private static int indexOf(@NotNull String[] tokens, @NotNull String token) {
+        for(int i = 0; i < tokens.length; i++) if(tokens[i].equals(token)) return i;
+        return -1;
+    }
+
+    private static @NotNull String valueOf(@Nullable Object value) {
+        return value == null? LanguageFile.NULL_LANG : value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.raw;
+    }
+}
@@ -1,33 +1,99 @@
 package asia.buildtheearth.asean.discord.plotsystem.core.system.io;
 
 import github.scarsz.discordsrv.dependencies.jda.api.EmbedBuilder;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+/**
+ * A language file loaded as YAML configuration.
+ *
+ * <p>Every message is compiled into a {@link LangTemplate} each time the file is (re)loaded,
+ * so lookups never go through the YAML tree again.</p>
+ *
+ * @param <T> The language config type of this file
+ */
 public class LanguageFile<T extends LangConfig> extends YamlConfiguration implements LangManager<T> {
 
     public static final String NULL_LANG = "undefined";
 
+    private static final LangTemplate NULL_TEMPLATE = LangTemplate.compile(NULL_LANG);
+
     public record EmbedLang(String title, String description) {}
 
+    /** Compiled message of each key, swapped as a whole on reload */
+    private volatile Map<String, LangTemplate> templates = Map.of();
+
+    /** Compiled list message (e.g. embed title and description) of each key */
+    private volatile Map<String, List<String>> lists = Map.of();
+
+    /** Compiled default message of each missing key, defaults are constants of the caller so kept across reloads */
+    private final Map<String, LangTemplate> defaults = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Recompiles every message template of this file.</p>
+     */
+    @Override
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        super.loadFromString(contents);
+        this.compile();
+    }
+
+    private void compile() {
+        Map<String, LangTemplate> templates = new HashMap<>();
+        Map<String, List<String>> lists = new HashMap<>();
+
+        for(String key : this.getKeys(true)) {
+            // get(String) is overridden to read compiled messages, read the raw value
+            Object value = this.get(key, null);
+            if(value == null || value instanceof ConfigurationSection) continue;
+
+            if(value instanceof List<?>) lists.put(key, List.copyOf(this.getStringList(key)));
+            else templates.put(key, LangTemplate.compile(value.toString()));
+        }
+
+        this.templates = Map.copyOf(templates);
+        this.lists = Map.copyOf(lists);
+    }
+
     public @NotNull String get(@NotNull String key) {
-        return this.getString(key, NULL_LANG);
+        return this.getTemplate(key, NULL_TEMPLATE).raw();
     }
 
     public @NotNull String get(@NotNull T config) {
-        return this.getString(config.getKey(), NULL_LANG);
+        return this.getTemplate(config.getKey(), NULL_TEMPLATE).raw();
     }
 
     public @NotNull String get(@NotNull T config, @NotNull String defaultValue) {
-        return this.getString(config.getKey(), defaultValue);
+        LangTemplate template = this.templates.get(config.getKey());
+        return template != null? template.raw() : defaultValue;
+    }
+
+    public @NotNull LangTemplate getTemplate(@NotNull T config) {
+        return this.getTemplate(config.getKey(), NULL_TEMPLATE);
+    }
+
+    public @NotNull LangTemplate getTemplate(@NotNull T config, @NotNull String defaultValue) {
+        LangTemplate template = this.templates.get(config.getKey());
+        return template != null? template : this.defaults.computeIfAbsent(defaultValue, LangTemplate::compile);
+    }
+
+    private @NotNull LangTemplate getTemplate(@NotNull String key, @NotNull LangTemplate defaultValue) {
+        return this.templates.getOrDefault(key, defaultValue);
     }
 
     public @NotNull EmbedLang getEmbed(@NotNull String key, @Nullable String defaultValue) {
-        List<String> lang = this.getStringList(key);
+        List<String> lang = this.lists.getOrDefault(key, List.of());
 
         String title = !lang.isEmpty() ? lang.getFirst() : defaultValue;
         String description = lang.size() > 1 ? lang.get(1) : defaultValue;
@@ -46,7 +112,7 @@ public class LanguageFile<T extends LangConfig> extends YamlConfiguration implem
     public @NotNull EmbedBuilder getEmbedBuilder(@NotNull T config,
                                         @NotNull Function<String, String> title,
                                         @NotNull Function<String, String> description) {
-        List<String> lang = this.getStringList(config.getKey());
+        List<String> lang = this.lists.getOrDefault(config.getKey(), List.of());
         EmbedBuilder embed = new EmbedBuilder();
 
         if(!lang.isEmpty()) embed.setTitle(title.apply(lang.getFirst()));
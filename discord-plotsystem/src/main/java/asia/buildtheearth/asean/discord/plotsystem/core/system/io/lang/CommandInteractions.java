@@ -26,6 +26,14 @@ public enum CommandInteractions implements SystemLang {
     EMBED_ATTACH_IMAGE("embeds.attach-image-interaction"),
     EMBED_PROVIDE_IMAGE("embeds.provide-image-interaction"),
 
+    MESSAGE_DOWNLOAD_QUEUED("messages.download-queued"),
+    MESSAGE_DOWNLOAD_STARTED("messages.download-started"),
+    MESSAGE_DOWNLOAD_ATTEMPT("messages.download-attempt"),
+    MESSAGE_DOWNLOAD_RETRYING("messages.download-retrying"),
+    MESSAGE_DOWNLOAD_DOWNLOADED("messages.download-downloaded"),
+    MESSAGE_DOWNLOAD_SAVED("messages.download-saved"),
+    MESSAGE_DOWNLOAD_FAILED("messages.download-failed"),
+
     LABEL_LATEST("labels.latest"),
     LABEL_SQL_ERROR("labels.sql-error-occurred"),
     LABEL_ERROR_OCCURRED("labels.error-occurred"),
@@ -40,6 +40,12 @@ public abstract class Format {
     /** Replaced with an incrementing counter or index. */
     public static final String COUNT = "{count}";
 
+    /** Replaced with the epoch second of the first occurrence in a summarized range. */
+    public static final String SINCE = "{since}";
+
+    /** Replaced with the epoch second of the last occurrence in a summarized range. */
+    public static final String UNTIL = "{until}";
+
     /** Replaced with country name. */
     public static final String COUNTRY = "{country}";
 
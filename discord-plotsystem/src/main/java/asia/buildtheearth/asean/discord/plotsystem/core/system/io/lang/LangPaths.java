@@ -57,6 +57,11 @@ public class LangPaths {
      */
     static final String SETUP_HELP = SLASH_COMMANDS + "setup-help.";
 
+    /**
+     * @see SetupReloadCommand
+     */
+    static final String SETUP_RELOAD = SLASH_COMMANDS + "setup-reload.";
+
     /**
      * @see PlotFetchCommand
      */
@@ -77,6 +82,11 @@ public class LangPaths {
      */
     static final String PLOT_SHOWCASE = SLASH_COMMANDS + "plot-control-showcase.";
 
+    /**
+     * @see PlotReconcileCommand
+     */
+    static final String PLOT_RECONCILE = SLASH_COMMANDS + "plot-control-reconcile.";
+
     /**
      * @see ReviewEditCommand
      */
@@ -226,6 +226,7 @@ public class Notification {
         PLOT_UPDATE_EXCEPTION("system-error.plot-update-exception", PLOT_ID, EVENT),
         PLOT_FEEDBACK_SQL_EXCEPTION("system-error.plot-feedback-sql-exception", PLOT_ID),
         PLOT_UPDATE_SQL_EXCEPTION("system-error.plot-update-sql-exception", PLOT_ID, EVENT),
+        PLOT_FLUSH_SQL_EXCEPTION("system-error.plot-flush-sql-exception", PLOT_ID),
         PLOT_REGISTER_ENTRY_EXCEPTION("system-error.plot-register-entry-exception", PLOT_ID),
         PLOT_FEEDBACK_GET_EXCEPTION("system-error.plot-feedback-get-exception", PLOT_ID, USER_ID),
 
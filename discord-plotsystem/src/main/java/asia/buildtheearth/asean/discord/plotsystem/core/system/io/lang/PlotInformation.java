@@ -11,6 +11,8 @@ public enum PlotInformation implements MessageLang {
     THREAD_NAME("plot.thread-name"),
     HISTORIES_TITLE("plot.plot-histories"),
     HISTORIES_PREFIX("plot.histories-prefix"),
+    HISTORIES_SUMMARY("plot.histories-summary"),
+    HISTORIES_ROLLOVER("plot.histories-rollover"),
 
     // Google Map button
     MAP_LABEL("plot.google-map"),
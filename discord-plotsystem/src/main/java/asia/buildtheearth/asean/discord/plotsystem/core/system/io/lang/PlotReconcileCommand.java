@@ -0,0 +1,31 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.SystemLang;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+public enum PlotReconcileCommand implements SystemLang {
+    DESC(       "description.command"),
+    DESC_APPLY( "description.apply"),
+
+    EMBED_ON_RECONCILE(      "embeds.on-reconcile"),
+    EMBED_ALREADY_RUNNING(   "embeds.already-running"),
+    EMBED_DRY_RUN_REPORT(    "embeds.dry-run-report"),
+    EMBED_RECONCILE_REPORT(  "embeds.reconcile-report"),
+
+    MESSAGE_DRIFTED_PLOTS(    "messages.drifted-plots"),
+    MESSAGE_MORE_PLOTS(       "messages.more-plots"),
+    MESSAGE_RECONCILE_FAILED( "messages.error-failed-to-reconcile");
+
+    private final String path;
+
+    PlotReconcileCommand(String path) {
+        this.path = path;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public @NotNull String getKey() {
+        return LangPaths.PLOT_RECONCILE + this.path;
+    }
+}
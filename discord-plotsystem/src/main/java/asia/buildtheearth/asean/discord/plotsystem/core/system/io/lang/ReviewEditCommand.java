@@ -22,6 +22,7 @@ public enum ReviewEditCommand implements SystemLang {
     MESSAGE_NEW_REVIEW_PREVIEW(  "messages.new-review-preview"),
     MESSAGE_PREVIOUS_REVIEW(     "messages.previous-review"),
     MESSAGE_SAVED_ATTACHMENTS(   "messages.saved-attachments"),
+    MESSAGE_SAVING_ATTACHMENTS(  "messages.saving-attachments"),
     MESSAGE_PREV_MEDIA_DELETED(  "messages.previous-media-deleted"),
     MESSAGE_SQL_GET_ERROR(       "messages.sql-get-error"),
     MESSAGE_VALIDATION_ERROR(    "messages.validation-error"),
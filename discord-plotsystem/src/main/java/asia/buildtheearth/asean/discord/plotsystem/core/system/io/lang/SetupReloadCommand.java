@@ -0,0 +1,25 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.SystemLang;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+public enum SetupReloadCommand implements SystemLang {
+    DESC("description.command"),
+
+    MESSAGE_RELOADED(     "messages.reloaded"),
+    MESSAGE_UNCHANGED(    "messages.unchanged"),
+    MESSAGE_RELOAD_FAILED("messages.failed");
+
+    private final String path;
+
+    SetupReloadCommand(String path) {
+        this.path = path;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public @NotNull String getKey() {
+        return LangPaths.SETUP_RELOAD + this.path;
+    }
+}
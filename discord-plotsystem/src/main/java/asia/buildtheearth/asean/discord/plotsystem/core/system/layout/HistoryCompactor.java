@@ -0,0 +1,300 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.layout;
+
+import asia.buildtheearth.asean.discord.plotsystem.ConfigPaths;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keep the plot history section of {@link InfoComponent} within a bounded size.
+ *
+ * <p>Once the history exceeds its {@link Limits}, the newest half is kept as is
+ * while each run of consecutive older lines with the same message is merged into one summary line
+ * (formatted by {@code plot.histories-summary} language, e.g. <i>"Plot has been rejected (4× between …)"</i>).
+ * Only adjacent lines are merged so the history keeps its order of events.
+ * If it is still too large, the oldest lines are rolled out of the section entirely,
+ * and a single line too long on its own is truncated to fit.</p>
+ *
+ * <p>Summary lines are parsed back by the same format, so compacting an already compacted history
+ * keeps adding up the counts instead of summarizing a summary.</p>
+ */
+final class HistoryCompactor {
+
+    /** Discord timestamp markdown, e.g. {@code <t:1700000000:D>} */
+    private static final Pattern TIMESTAMP = Pattern.compile("<t:(\\d+)(?::[tTdDfFR])?>");
+
+    /** Leading separators left in a history message after its timestamp is stripped */
+    private static final Pattern LEADING_SEPARATOR = Pattern.compile("^[\\s•·|:\\-–—]+");
+
+    /** Subtext markdown prefix of system fetched history lines */
+    private static final String SUBTEXT = "-# ";
+
+    /** Suffix of a history line truncated to fit the section */
+    private static final String TRUNCATED = "…";
+
+    private static final String SINCE_GROUP = "since";
+    private static final String UNTIL_GROUP = "until";
+    private static final String COUNT_GROUP = "count";
+    private static final String LABEL_GROUP = "label";
+
+    /**
+     * Size limits of a history section.
+     *
+     * @param maxLines Maximum history lines excluding the title, {@code 0} for no limit
+     * @param maxLength Maximum characters of the whole section including the title, {@code 0} for no limit
+     * @param rollover Whether lines that no longer fit are returned to be posted elsewhere
+     */
+    record Limits(int maxLines, int maxLength, boolean rollover) {
+
+        /** Discord's character limit of a single text display */
+        static final int TEXT_DISPLAY_LIMIT = 4000;
+
+        static final int DEFAULT_MAX_LINES = 20;
+        static final int DEFAULT_MAX_LENGTH = 3000;
+
+        /**
+         * Read the limits from plugin config.
+         *
+         * @return Configured history limits, the length is always capped at {@link #TEXT_DISPLAY_LIMIT}
+         */
+        static @NotNull Limits fromConfig() {
+            FileConfiguration config = DiscordPS.getPlugin().getConfig();
+            int maxLength = config.getInt(ConfigPaths.PLOT_HISTORY_MAX_LENGTH, DEFAULT_MAX_LENGTH);
+
+            return new Limits(
+                Math.max(0, config.getInt(ConfigPaths.PLOT_HISTORY_MAX_LINES, DEFAULT_MAX_LINES)),
+                maxLength <= 0? TEXT_DISPLAY_LIMIT : Math.min(maxLength, TEXT_DISPLAY_LIMIT),
+                config.getBoolean(ConfigPaths.PLOT_HISTORY_ROLLOVER, true)
+            );
+        }
+
+        private boolean exceeds(@NotNull String title, @NotNull List<String> lines) {
+            if(this.maxLines > 0 && lines.size() > this.maxLines) return true;
+            if(this.maxLength <= 0) return false;
+
+            int length = title.length();
+            for(String line : lines) length += line.length() + 1;
+            return length > this.maxLength;
+        }
+    }
+
+    /**
+     * Result of a compaction.
+     *
+     * @param lines The history lines to keep in the section
+     * @param rolled The oldest lines rolled out of the section in their original order,
+     *               followed by the full text of the last line if it is truncated.
+     *               Always empty if {@link Limits#rollover()} is disabled
+     */
+    record Result(@NotNull List<String> lines, @NotNull List<String> rolled) { }
+
+    /**
+     * A history line that can be merged with other lines of the same label.
+     */
+    private record Entry(@NotNull String label, int count, long since, long until, @NotNull String line) {
+        private @NotNull Entry merge(@NotNull Entry other) {
+            return new Entry(this.label,
+                this.count + other.count,
+                Math.min(this.since, other.since),
+                Math.max(this.until, other.until),
+                this.line);
+        }
+    }
+
+    private final String prefix;
+    private final String format;
+    private final Pattern summary;
+
+    /**
+     * Create a compactor for history lines.
+     *
+     * @param prefix The prefix of each history line
+     * @param format The summary line format with {@link Format#LABEL}, {@link Format#COUNT},
+     *               {@link Format#SINCE} and {@link Format#UNTIL} tokens
+     */
+    HistoryCompactor(@NotNull String prefix, @NotNull String format) {
+        this.prefix = prefix;
+        this.format = format;
+        this.summary = compileFormat(format);
+    }
+
+    /**
+     * Check if this compactor is created with the given prefix and summary format.
+     *
+     * @param prefix The prefix of each history line
+     * @param format The summary line format
+     * @return True if both are the same as this compactor's
+     */
+    boolean isFormattedBy(@NotNull String prefix, @NotNull String format) {
+        return this.prefix.equals(prefix) && this.format.equals(format);
+    }
+
+    /**
+     * Compact the given history lines if they exceed the limits.
+     *
+     * @param title The title of the history section, counted toward the length limit
+     * @param lines The history lines, oldest first
+     * @param limits The limits to fit in
+     * @return The compaction result, with the same {@code lines} instance if it is already within the limits
+     */
+    @NotNull Result compact(@NotNull String title, @NotNull List<String> lines, @NotNull Limits limits) {
+        if(!limits.exceeds(title, lines)) return new Result(lines, List.of());
+
+        // Keep the newest half untouched, summarize everything before it
+        int recent = Math.max(1, (limits.maxLines() > 0? limits.maxLines() : lines.size()) / 2);
+        int split = Math.max(0, lines.size() - recent);
+
+        // Merge each run of adjacent lines with the same label
+        List<Entry> runs = new ArrayList<>();
+        Entry run = null;
+        for(int i = 0; i < split; i++) {
+            String line = lines.get(i);
+            Entry entry = this.parse(line);
+
+            if(run != null && entry != null && run.label().equals(entry.label())) {
+                run = run.merge(entry);
+                runs.set(runs.size() - 1, run);
+                continue;
+            }
+
+            // Line with no timestamp is unique, keep it in place
+            runs.add(entry != null? entry : new Entry(line, 1, 0, 0, line));
+            run = entry;
+        }
+
+        List<String> compacted = new ArrayList<>(runs.size() + recent);
+        runs.forEach(entry -> compacted.add(entry.count() > 1? this.format(entry) : entry.line()));
+        compacted.addAll(lines.subList(split, lines.size()));
+
+        // Roll out the oldest line until it fits
+        List<String> rolled = new ArrayList<>();
+        while(compacted.size() > 1 && limits.exceeds(title, compacted)) {
+            String oldest = compacted.removeFirst();
+            if(limits.rollover()) rolled.add(oldest);
+        }
+
+        // The last line alone is still too long, keep it truncated
+        if(compacted.size() == 1 && limits.exceeds(title, compacted)) {
+            String line = compacted.getFirst();
+            int available = Math.max(0, limits.maxLength() - title.length() - 1 - TRUNCATED.length());
+            compacted.set(0, line.substring(0, Math.min(line.length(), available)) + TRUNCATED);
+            if(limits.rollover()) rolled.add(line);
+        }
+
+        return new Result(compacted, rolled);
+    }
+
+    /**
+     * Split history lines into texts that each fit a single text display, every text starting with the title.
+     *
+     * <p>Lines are kept whole and in order, a single line too long for a text display on its own
+     * is split across texts instead of truncated so no history is lost.</p>
+     *
+     * @param title The title of each text
+     * @param lines The history lines, oldest first
+     * @return Each text in order, empty if there is no line
+     */
+    static @NotNull List<String> chunk(@NotNull String title, @NotNull List<String> lines) {
+        int available = Math.max(1, Limits.TEXT_DISPLAY_LIMIT - title.length() - 1);
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder(title);
+        for(String line : lines) {
+            for(int start = 0; start < line.length() || start == 0;) {
+                int end = Math.min(line.length(), start + available);
+                if(end < line.length() && end - start > 1 && Character.isHighSurrogate(line.charAt(end - 1))) end--;
+
+                String part = line.substring(start, end);
+                if(chunk.length() > title.length() && chunk.length() + 1 + part.length() > Limits.TEXT_DISPLAY_LIMIT) {
+                    chunks.add(chunk.toString());
+                    chunk = new StringBuilder(title);
+                }
+                chunk.append('\n').append(part);
+
+                if(end == line.length()) break;
+                start = end;
+            }
+        }
+
+        if(chunk.length() > title.length()) chunks.add(chunk.toString());
+        return chunks;
+    }
+
+    private @NotNull String format(@NotNull Entry entry) {
+        return this.prefix + ' ' + this.format
+            .replace(Format.LABEL, entry.label())
+            .replace(Format.COUNT, String.valueOf(entry.count()))
+            .replace(Format.SINCE, String.valueOf(entry.since()))
+            .replace(Format.UNTIL, String.valueOf(entry.until()));
+    }
+
+    private @Nullable Entry parse(@NotNull String line) {
+        String content = line;
+        if(content.startsWith(SUBTEXT)) content = content.substring(SUBTEXT.length());
+        if(content.startsWith(this.prefix)) content = content.substring(this.prefix.length());
+        content = content.strip();
+
+        // System fetched lines are italic
+        if(content.length() > 1 && content.startsWith("*") && content.endsWith("*"))
+            content = content.substring(1, content.length() - 1);
+
+        if(this.summary != null) {
+            Matcher matcher = this.summary.matcher(content);
+            if(matcher.matches()) return new Entry(
+                matcher.group(LABEL_GROUP),
+                Integer.parseInt(matcher.group(COUNT_GROUP)),
+                Long.parseLong(matcher.group(SINCE_GROUP)),
+                Long.parseLong(matcher.group(UNTIL_GROUP)),
+                line
+            );
+        }
+
+        Matcher timestamp = TIMESTAMP.matcher(content);
+        if(!timestamp.find()) return null;
+
+        long time = Long.parseLong(timestamp.group(1));
+        String label = LEADING_SEPARATOR.matcher(TIMESTAMP.matcher(content).replaceAll("").strip()).replaceFirst("");
+
+        return label.isEmpty()? null : new Entry(label, 1, time, time, line);
+    }
+
+    /**
+     * Compile the summary format into a pattern that parses a summary line back.
+     *
+     * @param format The summary format
+     * @return The compiled pattern, null if the format does not contain every token exactly once
+     */
+    private static @Nullable Pattern compileFormat(@NotNull String format) {
+        String[] tokens = { Format.LABEL, Format.COUNT, Format.SINCE, Format.UNTIL };
+        for(String token : tokens)
+            if(format.indexOf(token) < 0 || format.indexOf(token) != format.lastIndexOf(token)) {
+                DiscordPS.warning("History summary format must contain each of "
+                    + String.join(", ", tokens) + " exactly once, compacted history will not be merged again.");
+                return null;
+            }
+
+        StringBuilder regex = new StringBuilder();
+        Matcher token = Pattern.compile("\\{(label|count|since|until)}").matcher(format);
+        int last = 0;
+        while(token.find()) {
+            regex.append(Pattern.quote(format.substring(last, token.start())));
+            regex.append(switch (token.group(1)) {
+                case LABEL_GROUP -> "(?<" + LABEL_GROUP + ">.+?)";
+                case COUNT_GROUP -> "(?<" + COUNT_GROUP + ">\\d+)";
+                case SINCE_GROUP -> "(?<" + SINCE_GROUP + ">\\d+)";
+                default -> "(?<" + UNTIL_GROUP + ">\\d+)";
+            });
+            last = token.end();
+        }
+        regex.append(Pattern.quote(format.substring(last)));
+
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -1,5 +1,6 @@
 package asia.buildtheearth.asean.discord.plotsystem.core.system.layout;
 
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.LangTemplate;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.BuildTeamLang;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
 import github.scarsz.discordsrv.dependencies.commons.lang3.StringUtils;
@@ -27,7 +28,10 @@ import static asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableC
 
 import java.awt.Color;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -42,20 +46,45 @@ public final class InfoComponent
     private Color accentColor;
     private final int packedID;
     private final HashMap<String, String> attachedImage;
+    private final List<String> rolledHistories = new ArrayList<>();
+    private @Nullable HistoryCompactor.Limits historyLimits = null;
 
-    // Metadata
-    private record Metadata(String titleFormat,
-                            String historyTitle,
-                            String historyPrefix,
-                            String googleMapLabel) {}
+    // Metadata, looked up on use so a reloaded language file applies right away
+    private static final class Metadata {
+        private static LangTemplate titleFormat() {
+            return DiscordPS.getMessagesLang().getTemplate(PlotInformation.INFO_TITLE);
+        }
+
+        private static String historyTitle() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_TITLE);
+        }
+
+        private static String historyPrefix() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_PREFIX);
+        }
 
-    // Cache metadata statically
-    private static final Metadata METADATA = new Metadata(
-        DiscordPS.getMessagesLang().get(PlotInformation.INFO_TITLE),
-        DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_TITLE),
-        DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_PREFIX),
-        DiscordPS.getMessagesLang().get(PlotInformation.MAP_LABEL)
-    );
+        private static String historySummary() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.HISTORIES_SUMMARY,
+                Format.LABEL + " (" + Format.COUNT + "× between <t:" + Format.SINCE + ":d> and <t:" + Format.UNTIL + ":d>)");
+        }
+
+        private static String googleMapLabel() {
+            return DiscordPS.getMessagesLang().get(PlotInformation.MAP_LABEL);
+        }
+    }
+
+    // Bound the history section size by summarizing old histories, recompiled once its language changes
+    private static volatile @Nullable HistoryCompactor compactor = null;
+
+    private static @NotNull HistoryCompactor compactor() {
+        String prefix = Metadata.historyPrefix();
+        String format = Metadata.historySummary();
+
+        HistoryCompactor current = compactor;
+        if(current == null || !current.isFormattedBy(prefix, format))
+            compactor = current = new HistoryCompactor(prefix, format);
+        return current;
+    }
 
     public InfoComponent(int id, int layout, Color color) {
         super(layout, INFO, AvailableComponent.InfoComponent.VALUES);
@@ -73,14 +102,14 @@ public final class InfoComponent
 
         // Track history field as StringBuilder
         this.histories = new StringBuilder();
-        this.histories.append(METADATA.historyTitle());
+        this.histories.append(Metadata.historyTitle());
 
         // Prepare component data
         this.register(INFO_TITLE, id -> new TextDisplay(id,
             makeTitle(data.getPlot().plotID(), data.getPlot().cityProjectID(), data.getPlot().countryCode())
         ));
         this.register(INFO_LOCATION, id -> {
-            Button plotLinkButton = Button.link("https://www.google.com/maps/place/" + data.getGeoCoordinates(), METADATA.googleMapLabel());
+            Button plotLinkButton = Button.link("https://www.google.com/maps/place/" + data.getGeoCoordinates(), Metadata.googleMapLabel());
             TextButtonSection field = new TextButtonSection(id, plotLinkButton);
             field.addTextDisplay(new TextDisplay(makeLocation(data.getDisplayCords())));
             return field;
@@ -116,10 +145,7 @@ public final class InfoComponent
         String country = DiscordPS.getMessagesLang().get(BuildTeamLang.getCountry().getName(countryCode), countryCode);
         String city = DiscordPS.getMessagesLang().get(BuildTeamLang.getCityProject().getName(cityProjectID), cityProjectID);
 
-        return METADATA.titleFormat()
-            .replace(Format.PLOT_ID, String.valueOf(plotID))
-            .replace(Format.COUNTRY, country)
-            .replace(Format.CITY, city);
+        return Metadata.titleFormat().render(Format.PLOT_ID, plotID, Format.COUNTRY, country, Format.CITY, city);
     }
 
     @Contract(pure = true)
@@ -131,8 +157,56 @@ public final class InfoComponent
         if(history == null || StringUtils.isBlank(history)) return;
         if(!histories.isEmpty()) histories.append('\n');
         if(history.charAt(0) == FETCH_SIGNATURE)
-            histories.append("-# ").append(METADATA.historyPrefix()).append('*').append(history.substring(1)).append('*');
-        else histories.append(METADATA.historyPrefix()).append(' ').append(history);
+            histories.append("-# ").append(Metadata.historyPrefix()).append('*').append(history.substring(1)).append('*');
+        else histories.append(Metadata.historyPrefix()).append(' ').append(history);
+        this.markChanged(INFO_HISTORY);
+        this.compactHistories();
+    }
+
+    private void compactHistories() {
+        String content = this.histories.toString();
+        String title = content.startsWith(Metadata.historyTitle())
+            ? Metadata.historyTitle()
+            : content.lines().findFirst().orElse("");
+
+        List<String> lines = content.substring(title.length()).lines().filter(line -> !line.isEmpty()).toList();
+        // Read once per component, config is not reloaded while a layout is being built
+        if(this.historyLimits == null) this.historyLimits = HistoryCompactor.Limits.fromConfig();
+
+        HistoryCompactor.Result result = compactor().compact(title, lines, this.historyLimits);
+
+        if(result.lines() == lines) return;
+
+        this.histories = new StringBuilder(title);
+        result.lines().forEach(line -> this.histories.append('\n').append(line));
+        this.rolledHistories.addAll(result.rolled());
+    }
+
+    /**
+     * Take the history lines rolled out of this component since the last call.
+     *
+     * <p>History exceeding the configured {@code plot-history} limits is summarized,
+     * the oldest lines that still don't fit are rolled out to be posted as a follow-up message.</p>
+     *
+     * @return The rolled out history lines oldest first, empty if nothing is rolled out
+     */
+    public @NotNull List<String> pollRolledHistories() {
+        List<String> rolled = List.copyOf(this.rolledHistories);
+        this.rolledHistories.clear();
+        return rolled;
+    }
+
+    /**
+     * Split rolled out history lines into the texts of a follow-up message,
+     * each within discord's text display limit.
+     *
+     * @param title The title of each text
+     * @param histories The rolled out history lines, oldest first
+     * @return Each text in the order to be posted
+     * @see #pollRolledHistories()
+     */
+    public static @NotNull List<String> chunkRolledHistories(@NotNull String title, @NotNull List<String> histories) {
+        return HistoryCompactor.chunk(title, histories);
     }
 
     /**
@@ -140,6 +214,7 @@ public final class InfoComponent
      * @param accentColor The color
      */
     public void setAccentColor(Color accentColor) {
+        if(!Objects.equals(this.accentColor, accentColor)) this.markRestyled();
         this.accentColor = accentColor;
     }
 
@@ -152,7 +227,9 @@ public final class InfoComponent
     }
 
     public @Nullable String addAttachment(String name) {
-        return this.attachedImage.putIfAbsent(name, "attachment://" + name);
+        String previous = this.attachedImage.putIfAbsent(name, "attachment://" + name);
+        if(previous == null) this.markChanged(INFO_GALLERY);
+        return previous;
     }
 
     /**
@@ -243,7 +320,7 @@ public final class InfoComponent
         switch(AvailableComponent.InfoComponent.get(AvailableComponent.unpackSubComponent(packedID))) {
             case INFO_TITLE -> this.register(INFO_TITLE, id -> new TextDisplay(id, component.getString("content")));
             case INFO_LOCATION -> this.register(INFO_LOCATION, id -> {
-                Button button = Button.link(component.getObject("accessory").getString("url"), METADATA.googleMapLabel());
+                Button button = Button.link(component.getObject("accessory").getString("url"), Metadata.googleMapLabel());
                 TextButtonSection field = new TextButtonSection(id, button);
                 field.addTextDisplay(new TextDisplay(component.getArray("components").getObject(0).getString("content")));
                 return field;
@@ -14,6 +14,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
  *
  * @see #getLayout() Get the layout data
  * @see #from(DataArray) Construct a new layout from raw data
+ * @see #diff() Get the changes since this layout is constructed from raw data
  */
 public class Layout {
 
@@ -44,6 +46,35 @@ public class Layout {
      */
     public static class LayoutData extends ArrayList<LayoutComponentProvider<? extends ComponentV2, ? extends Enum<?>>> {}
 
+    /**
+     * Changes made to a layout since it was parsed from raw data.
+     *
+     * @param changed Each changed layout component in layout order
+     */
+    public record LayoutDiff(@NotNull List<LayoutComponentProvider<? extends ComponentV2, ? extends Enum<?>>> changed) {
+
+        /**
+         * Check if nothing in the layout is changed, meaning the layout is already up-to-date.
+         *
+         * @return True if there is no changed component
+         */
+        public boolean isEmpty() {
+            return this.changed.isEmpty();
+        }
+
+        /**
+         * Check if a specific subcomponent is changed in any component of the given type.
+         *
+         * @param type The layout component type
+         * @param component The subcomponent to check for
+         * @return True if the subcomponent is changed
+         */
+        public boolean isChanged(@NotNull AvailableComponent type, @NotNull Enum<?> component) {
+            return this.changed.stream().anyMatch(layout ->
+                layout.getType() == type && layout.getChanges().contains(component));
+        }
+    }
+
     /**
      * The layout data associated with this instance.
      */
@@ -66,7 +97,7 @@ public class Layout {
     private Layout from(@NotNull DataArray rawData) throws ParsingException, IllegalArgumentException {
         for (int i = 0; i < rawData.length(); i++) {
             LayoutComponentProvider<? extends ComponentV2, ? extends Enum<?>> data = Layout.parseData(rawData.getObject(i));
-            if(data != null) this.layout.add(Layout.parseData(rawData.getObject(i)));
+            if(data != null) this.layout.add(data);
         }
         return this;
     }
@@ -97,6 +128,18 @@ public class Layout {
         return layout;
     }
 
+    /**
+     * Compare this layout against the raw data it was parsed from.
+     *
+     * <p>Every component tracks its own changes, so this is only a walk over the layout;
+     * an empty diff means editing the message would change nothing.</p>
+     *
+     * @return The changes made to this layout
+     */
+    public @NotNull LayoutDiff diff() {
+        return new LayoutDiff(this.layout.stream().filter(LayoutComponentProvider::isChanged).toList());
+    }
+
     /**
      * Build all layout into raw component data
      *
@@ -3,6 +3,7 @@ package asia.buildtheearth.asean.discord.plotsystem.core.system.layout;
 import asia.buildtheearth.asean.discord.components.api.*;
 import asia.buildtheearth.asean.discord.components.api.Container;
 import asia.buildtheearth.asean.discord.plotsystem.Constants;
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotData;
 import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
 import github.scarsz.discordsrv.dependencies.commons.lang3.StringUtils;
@@ -12,9 +13,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.awt.Color;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -38,6 +39,7 @@ public class ReviewComponent implements LayoutComponent<Container> {
     private final @Nullable List<Message.Attachment> attachments;
     private final @Nullable Color accentColor;
     private final @Nullable List<File> reviewMedia;
+    private @NotNull Map<String, String> uploadedMedia = Map.of();
 
     /**
      * Prepare a review component.
@@ -60,6 +62,18 @@ public class ReviewComponent implements LayoutComponent<Container> {
         this.reviewMedia = reviewMedia;
     }
 
+    /**
+     * Reference review media by an already uploaded URL instead of attaching it.
+     *
+     * @param uploadedMedia The uploaded URL of each review media by its file name,
+     *                      media not in this map is referenced as an attachment.
+     * @return This component
+     */
+    public ReviewComponent setUploadedMedia(@NotNull Map<String, String> uploadedMedia) {
+        this.uploadedMedia = uploadedMedia;
+        return this;
+    }
+
     /**
      * Optionally get review media from snowflake ID.
      *
@@ -83,16 +97,11 @@ public class ReviewComponent implements LayoutComponent<Container> {
             else return Optional.of(filtered);
         };
 
-        try {
-            List<File> files = FileUtil.findImagesFileByPrefix(
-                Constants.PLOT_REVIEW_IMAGE_FILE, mediaFolder
-            );
-            if(files.isEmpty()) optFiles = Optional.empty();
-            else optFiles = Optional.of(files);
-        }
-        catch (IOException ignored) {
-            optFiles = Optional.empty();
-        }
+        List<File> files = DiscordPS.getPlugin().getMediaIndex().findImagesByPrefix(
+            Constants.PLOT_REVIEW_IMAGE_FILE, mediaFolder
+        );
+        if(files.isEmpty()) optFiles = Optional.empty();
+        else optFiles = Optional.of(files);
 
         return optFiles.flatMap(mapper);
     }
@@ -165,7 +174,9 @@ public class ReviewComponent implements LayoutComponent<Container> {
 
         List<String> mediaFiles = new ArrayList<>();
 
-        optMedia.ifPresent(files -> files.forEach(file -> mediaFiles.add("attachment://" + file.getName())));
+        optMedia.ifPresent(files -> files.forEach(file -> mediaFiles.add(
+            this.uploadedMedia.getOrDefault(file.getName(), "attachment://" + file.getName())
+        )));
 
         if(this.attachments != null && !this.attachments.isEmpty())
             this.attachments.forEach(attachment -> mediaFiles.add(attachment.getUrl()));
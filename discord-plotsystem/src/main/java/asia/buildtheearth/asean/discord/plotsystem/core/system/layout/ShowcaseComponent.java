@@ -22,6 +22,8 @@ import asia.buildtheearth.asean.discord.plotsystem.utils.FileUtil;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import static asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableComponent.SHOWCASE;
@@ -49,12 +51,13 @@ public final class ShowcaseComponent
         String country = DiscordPS.getMessagesLang().get(BuildTeamLang.getCountry().getName(countryCode), countryCode);
         String city = DiscordPS.getMessagesLang().get(BuildTeamLang.getCityProject().getName(cityProjectID), cityProjectID);
 
-        return DiscordPS.getMessagesLang().get(PlotInformation.SHOWCASE_TITLE)
-            .replace(Format.OWNER, ownerName)
-            .replace(Format.PLOT_ID, String.valueOf(plotID))
-            .replace(Format.COUNTRY, country)
-            .replace(Format.CITY, city)
-            .replace(Format.THREAD_ID, threadID);
+        return DiscordPS.getMessagesLang().getTemplate(PlotInformation.SHOWCASE_TITLE).render(Map.of(
+            Format.OWNER, ownerName,
+            Format.PLOT_ID, plotID,
+            Format.COUNTRY, country,
+            Format.CITY, city,
+            Format.THREAD_ID, threadID
+        ));
     }
 
     /**
@@ -137,6 +140,7 @@ public final class ShowcaseComponent
     }
 
     public void setThumbnailURL(String url) {
+        if(!Objects.equals(this.thumbnailURL, url)) this.markChanged(SHOWCASE_THUMBNAIL);
         this.thumbnailURL = url;
     }
 
@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.awt.Color;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 
 import static asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableComponent.STATUS;
@@ -133,13 +134,34 @@ public final class StatusComponent
     }
 
     public void setAccentColor(Color accentColor) {
+        if(!Objects.equals(this.accentColor, accentColor)) this.markRestyled();
         this.accentColor = accentColor;
     }
 
+    public Color getAccentColor() {
+        return this.accentColor;
+    }
+
     public void changeStatusMessage(DisplayMessage displayMessage) {
+        if(!this.isDisplaying(displayMessage)) this.markChanged(STATUS_THUMBNAIL);
         this.statusMessage = displayMessage;
     }
 
+    /**
+     * Check if this component is already displaying the given message.
+     *
+     * <p>A rebuilt component only knows its displayed content,
+     * so the message is compared by its content formatted with this component's owner.</p>
+     *
+     * @param displayMessage The message to check for
+     * @return True if the displayed content equals the given message
+     */
+    public boolean isDisplaying(@NotNull DisplayMessage displayMessage) {
+        String owner = this.ownerName == null? "" : this.ownerName;
+        return this.statusMessage != null
+            && this.statusMessage.getMessage(owner).equals(displayMessage.getMessage(owner));
+    }
+
     public UUID getThumbnailOwner() {
         return thumbnailOwner;
     }
@@ -149,6 +171,7 @@ public final class StatusComponent
     }
 
     public void setThumbnailURL(String url) {
+        if(!Objects.equals(this.thumbnailURL, url)) this.markChanged(STATUS_THUMBNAIL);
         this.thumbnailURL = url;
     }
 
@@ -1,41 +1,29 @@
 package asia.buildtheearth.asean.discord.plotsystem.utils;
 
-import github.scarsz.discordsrv.dependencies.okhttp3.HttpUrl;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.CachedProjection;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.GeographicProjection;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.TerraProjection;
+import org.jetbrains.annotations.NotNull;
 
 import java.text.DecimalFormat;
-import java.util.function.BiFunction;
 
 /**
  * Coordinates Utility
  * <ul>
  *     <li>Format coordinates to "x,z"</li>
  *     <li>Format coordinates to NSEW</li>
- *     <li>Convert minecraft coordinates to Geo using
- *         <a href="https://smybteapi.buildtheearth.net/projection/toGeo?mcpos=x,z">smybteapi endpoint</a>,
- *     </li>
+ *     <li>Convert minecraft coordinates to Geo and back with the BTE projection, in memory</li>
  * </ul>
  * @see #formatGeoCoordinatesNumeric
  * @see #formatGeoCoordinatesNSEW
  * @see #convertToGeo
+ * @see #convertFromGeo
  */
 public class CoordinatesUtil {
 
-    private record API(String host, String path, String query, BiFunction<Double, Double, String> coordinates) {}
-
     private static final DecimalFormat decFormat1 = new DecimalFormat();
-    private static final BiFunction<Double, Double, String> query = (x, y) -> String.join(",", String.valueOf(x), String.valueOf(y));
 
-    private static final CoordinatesConversion coordinatesConversion = (x, y) -> {
-        throw new RuntimeException(
-            "coordinatesConversion has not been initialized, "
-            + "please redirect this object to use the default function."
-        );
-    };
-    private static final API toGeoAPI = new API(
-        "smybteapi.buildtheearth.net",
-        "projection/toGeo",
-        "mcpos", query
-    );
+    private static volatile GeographicProjection projection;
 
     /**
      * Get formatted numeric geographic coordinates
@@ -75,6 +63,37 @@ public class CoordinatesUtil {
     }
 
 
+    /**
+     * Set the projection used by {@link #convertToGeo} and {@link #convertFromGeo}.
+     *
+     * @param projection The projection to use, {@code null} to load the BTE projection again on next conversion
+     */
+    public static void setProjection(GeographicProjection projection) {
+        CoordinatesUtil.projection = projection;
+    }
+
+    /**
+     * Get the projection used by {@link #convertToGeo} and {@link #convertFromGeo},
+     * loading the {@linkplain TerraProjection BTE projection} on first use.
+     *
+     * @return The cached projection
+     * @throws IllegalStateException If no projection is set and the BTE projection is not available on this server
+     */
+    public static @NotNull GeographicProjection getProjection() throws IllegalStateException {
+        GeographicProjection loaded = projection;
+        if(loaded != null) return loaded;
+
+        synchronized (CoordinatesUtil.class) {
+            if(projection == null) projection = TerraProjection
+                .load(CoordinatesUtil.class.getClassLoader())
+                .map(CachedProjection::new)
+                .orElseThrow(() -> new IllegalStateException(
+                    "BTE projection is not available, terraminusminus (shipped with Plot-System) is not loaded on this server."
+                ));
+            return projection;
+        }
+    }
+
     /**
      * Plot System CoordinateConversion class reference for converting minecraft coordinate.
      * @see <a href="https://github.com/AlpsBTE/Plot-System/blob/caaf70230ac3c3cd24d22a391e4be5765563a5c7/src/main/java/com/alpsbte/plotsystem/utils/conversion/CoordinateConversion.java#L60">
@@ -83,15 +102,25 @@ public class CoordinatesUtil {
      * @param xCords Minecraft player x-axis coordinates
      * @param yCords Minecraft player y-axis coordinates
      * @return WG84 EPSG:4979 coordinates as double array {lon,lat} in degrees
+     * @throws IllegalStateException If the BTE projection is not available
+     * @throws IllegalArgumentException If the coordinates are out of the projection bounds
      */
     public static double[] convertToGeo(double xCords, double yCords) throws RuntimeException {
-        HttpUrl httpURL = new HttpUrl.Builder()
-            .scheme("https")
-            .host(toGeoAPI.host())
-            .addPathSegments(toGeoAPI.path())
-            .addQueryParameter(toGeoAPI.query(), toGeoAPI.coordinates().apply(xCords, yCords))
-            .build();
-        return coordinatesConversion.convertToGeo(httpURL);
+        return getProjection().toGeo(xCords, yCords);
+    }
+
+    /**
+     * Convert geographic coordinates to minecraft coordinate,
+     * the inverse of {@link #convertToGeo(double, double)}.
+     *
+     * @param lon Longitude in degrees
+     * @param lat Latitude in degrees
+     * @return Minecraft coordinates as double array {x,z}
+     * @throws IllegalStateException If the BTE projection is not available
+     * @throws IllegalArgumentException If the coordinates are out of the projection bounds
+     */
+    public static double[] convertFromGeo(double lon, double lat) throws RuntimeException {
+        return getProjection().fromGeo(lon, lat);
     }
 
 }
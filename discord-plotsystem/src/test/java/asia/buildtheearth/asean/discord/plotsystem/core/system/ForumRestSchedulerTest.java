@@ -0,0 +1,176 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockForumWebhook;
+import github.scarsz.discordsrv.dependencies.jda.api.exceptions.RateLimitedException;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.Response;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
+import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import github.scarsz.discordsrv.dependencies.jda.internal.requests.Route;
+import github.scarsz.discordsrv.dependencies.okhttp3.MediaType;
+import github.scarsz.discordsrv.dependencies.okhttp3.Protocol;
+import github.scarsz.discordsrv.dependencies.okhttp3.Request;
+import github.scarsz.discordsrv.dependencies.okhttp3.ResponseBody;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Forum rest scheduler cases, run by the plugin test since the scheduler creates its actions with the plugin's JDA.
+ */
+public abstract class ForumRestSchedulerTest {
+
+    private static final Route.CompiledRoute EDIT = Route.Webhooks.EXECUTE_WEBHOOK_EDIT.compile("0", "MOCK_TOKEN", "1");
+    private static final Route.CompiledRoute POST = Route.Webhooks.EXECUTE_WEBHOOK.compile("0", "MOCK_TOKEN");
+
+    private ForumRestScheduler scheduler;
+
+    /**
+     * Create a response carrying the given rate limit headers.
+     *
+     * @param remaining Value of {@code X-RateLimit-Remaining}
+     * @param resetAfter Value of {@code X-RateLimit-Reset-After} in seconds, absent if null
+     * @return A response as received from discord API
+     */
+    private static @NotNull Response response(@NotNull String remaining, @Nullable String resetAfter) {
+        github.scarsz.discordsrv.dependencies.okhttp3.Response.Builder raw = new github.scarsz.discordsrv.dependencies.okhttp3.Response.Builder()
+            .request(new Request.Builder().url("https://discord.com/api/v10/webhooks/0/MOCK_TOKEN").build())
+            .protocol(Protocol.HTTP_1_1)
+            .code(200)
+            .message("OK")
+            .header("X-RateLimit-Remaining", remaining)
+            .body(ResponseBody.create(MediaType.parse("application/json"), "{}"));
+        if(resetAfter != null) raw.header("X-RateLimit-Reset-After", resetAfter);
+
+        return new Response(raw.build(), 200, "OK", -1, new HashSet<>());
+    }
+
+    /**
+     * Create a request whose every attempt fails with the next given error, then succeeds.
+     *
+     * @param attempts Counter of each sent attempt
+     * @param errors The error of each attempt in order
+     * @return Supplier of each attempt's action
+     */
+    private static @NotNull Supplier<RestAction<String>> failing(@NotNull AtomicInteger attempts, Throwable... errors) {
+        return () -> new MockForumWebhook.MockRestAction<>() {
+            @Override
+            public @NotNull CompletableFuture<String> submit(boolean b) {
+                int attempt = attempts.getAndIncrement();
+                return attempt < errors.length
+                    ? CompletableFuture.failedFuture(errors[attempt])
+                    : CompletableFuture.completedFuture("MOCK_RESULT");
+            }
+        };
+    }
+
+    private static <T> T await(@NotNull RestAction<T> action) {
+        return action.submit().orTimeout(30, TimeUnit.SECONDS).join();
+    }
+
+    @BeforeEach
+    public void createScheduler() {
+        this.scheduler = new ForumRestScheduler(DiscordPS.getPlugin().getJDA());
+    }
+
+    @Test
+    @DisplayName("Exhausted bucket holds its requests until reset")
+    public void waitForBucketReset() {
+        ForumRestScheduler.Bucket bucket = this.scheduler.bucket(EDIT);
+        ForumWebhook.RestResponse<DataObject> rest = new ForumWebhook.RestResponse<>(Function.identity());
+        rest.setResponseObserver(bucket);
+
+        Assertions.assertTrue(rest.execute(response("1", "0.4"), null).isPresent());
+        Assertions.assertEquals(0, bucket.getDelay(), "Expected a bucket with remaining requests available");
+
+        Assertions.assertTrue(rest.execute(response("0", "0.4"), null).isPresent());
+        long delay = bucket.getDelay();
+        Assertions.assertTrue(delay > 0 && delay <= 400, "Expected the bucket held until reset but got " + delay + "ms");
+        Assertions.assertSame(bucket, this.scheduler.bucket(EDIT), "Expected the same bucket for the same route");
+        Assertions.assertEquals(0, this.scheduler.bucket(POST).getDelay(), "Expected other routes not held");
+
+        long scheduled = System.nanoTime();
+        AtomicInteger attempts = new AtomicInteger();
+        Assertions.assertEquals("MOCK_RESULT", await(this.scheduler.schedule(EDIT, true, null, failing(attempts))));
+
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduled);
+        Assertions.assertTrue(waited >= delay - 50, "Expected the request sent after reset but waited " + waited + "ms");
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Malformed rate limit headers are ignored")
+    public void ignoreMalformedHeaders() {
+        ForumRestScheduler.Bucket bucket = this.scheduler.bucket(EDIT);
+
+        bucket.accept(response("0", null));
+        bucket.accept(response("0", "MOCK_INVALID"));
+
+        Assertions.assertEquals(0, bucket.getDelay());
+    }
+
+    @Test
+    @DisplayName("Backoff is jittered and capped")
+    public void capJitteredBackoff() {
+        for(int attempt = 1; attempt <= 20; attempt++) {
+            long cap = Math.min(30_000, 500L << (attempt - 1));
+            Set<Long> delays = new HashSet<>();
+
+            for(int i = 0; i < 100; i++) {
+                long delay = ForumRestScheduler.backoff(attempt);
+                Assertions.assertTrue(delay >= cap / 2 && delay <= cap,
+                    "Expected attempt " + attempt + " delay within [" + cap / 2 + ", " + cap + "] but got " + delay);
+                delays.add(delay);
+            }
+
+            Assertions.assertTrue(delays.size() > 1, "Expected jittered delays of attempt " + attempt);
+        }
+    }
+
+    @Test
+    @DisplayName("Failed edit is retried")
+    public void retryIdempotentRequest() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        RestAction<String> action = this.scheduler.schedule(EDIT, true, failed::incrementAndGet,
+            failing(attempts, new IOException("MOCK_CONNECTION_RESET")));
+
+        Assertions.assertEquals("MOCK_RESULT", await(action));
+        Assertions.assertEquals(2, attempts.get());
+        Assertions.assertEquals(0, failed.get());
+    }
+
+    @Test
+    @DisplayName("Failed post is only retried when rate limited")
+    public void retryPostOnlyWhenRateLimited() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        RestAction<String> limited = this.scheduler.schedule(POST, true, failed::incrementAndGet,
+            failing(attempts, new RateLimitedException(POST, 50)));
+
+        Assertions.assertEquals("MOCK_RESULT", await(limited));
+        Assertions.assertEquals(2, attempts.get(), "Expected a rate limited post retried");
+        Assertions.assertEquals(0, failed.get());
+
+        attempts.set(0);
+        IOException error = new IOException("MOCK_CONNECTION_RESET");
+        RestAction<String> reset = this.scheduler.schedule(POST, true, failed::incrementAndGet, failing(attempts, error));
+
+        CompletionException thrown = Assertions.assertThrows(CompletionException.class, () -> await(reset));
+        Assertions.assertSame(error, thrown.getCause());
+        Assertions.assertEquals(1, attempts.get(), "Expected a post with unknown outcome not sent twice");
+        Assertions.assertEquals(1, failed.get());
+    }
+}
@@ -0,0 +1,167 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import github.scarsz.discordsrv.dependencies.jda.api.EmbedBuilder;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.MessageEmbed;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Notification.Config;
+
+@DisplayName("Notification Digest")
+public class NotificationDigestTest {
+
+    /** Digest window, long enough that nothing is sent by the window within a test step */
+    private static final long WINDOW = 400;
+
+    private final List<String> texts = new CopyOnWriteArrayList<>();
+    private final List<Config> configs = new CopyOnWriteArrayList<>();
+    private final List<List<MessageEmbed>> embeds = new CopyOnWriteArrayList<>();
+
+    private NotificationDigest digest;
+
+    @BeforeEach
+    public void setUp() {
+        this.digest = this.create(WINDOW);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.digest.shutdown();
+    }
+
+    private NotificationDigest create(long window) {
+        return new NotificationDigest(window, (config, list) -> {
+            this.configs.add(config);
+            this.embeds.add(List.copyOf(list));
+        }, this.texts::add);
+    }
+
+    private static MessageEmbed embed(int length) {
+        return new EmbedBuilder().setDescription("x".repeat(length)).build();
+    }
+
+    private static void await(List<?> sent, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WINDOW * 5;
+        while(sent.size() < size && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        Assertions.assertEquals(size, sent.size(), "Expected " + size + " message(s) sent by the window");
+    }
+
+    @Test
+    @DisplayName("Notifications are sent immediately without a window")
+    public void noWindow() {
+        this.digest.shutdown();
+        this.digest = this.create(0);
+
+        this.digest.queue("first");
+        this.digest.queue(Config.ENABLED, embed(10));
+        this.digest.queue("second");
+
+        Assertions.assertEquals(List.of("first", "second"), this.texts);
+        Assertions.assertEquals(1, this.embeds.size());
+    }
+
+    @Test
+    @DisplayName("Text messages within the window are joined as one message")
+    public void joinTexts() throws InterruptedException {
+        this.digest.queue("first");
+        this.digest.queue("second");
+        this.digest.queue("third");
+
+        Assertions.assertTrue(this.texts.isEmpty(), "Expected nothing sent before the window closed");
+        await(this.texts, 1);
+        Assertions.assertEquals("first\nsecond\nthird", this.texts.getFirst());
+    }
+
+    @Test
+    @DisplayName("Embeds are packed into one message per config")
+    public void packEmbeds() throws InterruptedException {
+        MessageEmbed first = embed(10), second = embed(20), third = embed(30);
+        this.digest.queue(Config.ENABLED, first);
+        this.digest.queue(Config.WITH_CONTENT, second);
+        this.digest.queue(Config.ENABLED, third);
+
+        Assertions.assertTrue(this.embeds.isEmpty(), "Expected nothing sent before the window closed");
+        await(this.embeds, 2);
+
+        int enabled = this.configs.indexOf(Config.ENABLED);
+        int withContent = this.configs.indexOf(Config.WITH_CONTENT);
+        Assertions.assertEquals(List.of(first, third), this.embeds.get(enabled));
+        Assertions.assertEquals(List.of(second), this.embeds.get(withContent));
+    }
+
+    @Test
+    @DisplayName("A full message of embeds is sent without waiting for the window")
+    public void flushFullEmbeds() {
+        for(int i = 0; i < NotificationDigest.MAX_EMBEDS; i++) this.digest.queue(Config.ENABLED, embed(10));
+
+        Assertions.assertEquals(1, this.embeds.size());
+        Assertions.assertEquals(NotificationDigest.MAX_EMBEDS, this.embeds.getFirst().size());
+    }
+
+    @Test
+    @DisplayName("Embeds over the total length are split into several messages")
+    public void splitEmbedsByLength() {
+        int length = NotificationDigest.MAX_EMBEDS_LENGTH / 2 - 500;
+        for(int i = 0; i < 3; i++) this.digest.queue(Config.ENABLED, embed(length));
+        this.digest.flush();
+
+        Assertions.assertEquals(2, this.embeds.size());
+        Assertions.assertEquals(2, this.embeds.get(0).size());
+        Assertions.assertEquals(1, this.embeds.get(1).size());
+    }
+
+    @Test
+    @DisplayName("Text lines are sent once the next line no longer fits in the message")
+    public void flushFullTexts() {
+        String line = "x".repeat(NotificationDigest.MAX_CONTENT_LENGTH / 2 - 100);
+        this.digest.queue(line);
+        this.digest.queue(line);
+        Assertions.assertTrue(this.texts.isEmpty(), "Expected lines that fit to wait for the window");
+
+        this.digest.queue(line);
+        Assertions.assertEquals(List.of(line + "\n" + line), this.texts);
+
+        this.digest.flush();
+        Assertions.assertEquals(List.of(line + "\n" + line, line), this.texts);
+        this.texts.forEach(text -> Assertions.assertTrue(text.length() <= NotificationDigest.MAX_CONTENT_LENGTH));
+    }
+
+    @Test
+    @DisplayName("A text filling a whole message is sent without waiting for the window")
+    public void flushFullText() {
+        String text = "x".repeat(NotificationDigest.MAX_CONTENT_LENGTH);
+        this.digest.queue(text);
+
+        Assertions.assertEquals(List.of(text), this.texts);
+    }
+
+    @Test
+    @DisplayName("Explicit flush sends everything now and cancels the window")
+    public void explicitFlush() throws InterruptedException {
+        this.digest.queue("first");
+        this.digest.queue(Config.ENABLED, embed(10));
+        this.digest.flush();
+
+        Assertions.assertEquals(List.of("first"), this.texts);
+        Assertions.assertEquals(1, this.embeds.size());
+
+        Thread.sleep(WINDOW * 2);
+        Assertions.assertEquals(1, this.texts.size(), "Expected no message sent by the cancelled window");
+        Assertions.assertEquals(1, this.embeds.size(), "Expected no message sent by the cancelled window");
+    }
+
+    @Test
+    @DisplayName("Shutdown flushes pending notifications then sends immediately")
+    public void shutdown() {
+        this.digest.queue("pending");
+        this.digest.shutdown();
+        Assertions.assertEquals(List.of("pending"), this.texts);
+
+        this.digest.queue("after");
+        this.digest.queue(Config.ENABLED, embed(10));
+        Assertions.assertEquals(List.of("pending", "after"), this.texts);
+        Assertions.assertEquals(1, this.embeds.size());
+    }
+}
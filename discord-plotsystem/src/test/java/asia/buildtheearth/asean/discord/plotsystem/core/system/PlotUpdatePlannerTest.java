@@ -0,0 +1,159 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system;
+
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockForumWebhook;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Plot update planner cases, run by the plugin test since each report is logged through the running plugin.
+ */
+public abstract class PlotUpdatePlannerTest {
+
+    private static final int PLOT_ID = 1;
+
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    private final BiConsumer<Optional<?>, ? super Throwable> onError = (ignored, error) -> this.errors.add(error);
+
+    private static <T> @NotNull RestAction<Optional<T>> failing(@NotNull Throwable error) {
+        return new MockForumWebhook.MockOptRestAction<>() {
+            @Override
+            public @NotNull CompletableFuture<Optional<T>> submit(boolean b) {
+                return CompletableFuture.failedFuture(error);
+            }
+        };
+    }
+
+    private static PlotUpdatePlanner.Report execute(@NotNull PlotUpdatePlanner planner) {
+        return Assertions.assertDoesNotThrow(() -> planner.execute().orTimeout(30, TimeUnit.SECONDS).join());
+    }
+
+    private static PlotUpdatePlanner.StepResult result(@NotNull PlotUpdatePlanner.Report report,
+                                                       @NotNull PlotUpdatePlanner.Step step) {
+        return report.results().stream()
+            .filter(result -> result.step() == step)
+            .findFirst()
+            .orElseGet(() -> Assertions.fail("Expected a result of step " + step));
+    }
+
+    @Test
+    @DisplayName("Edit with nothing to change is skipped without a request")
+    public void skipUnchangedEdit() {
+        List<String> requested = new CopyOnWriteArrayList<>();
+
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID).edit(
+            PlotUpdatePlanner.Step.LAYOUT,
+            new MockForumWebhook.MockOptRestAction<>("current"),
+            current -> Optional.<String>empty(),
+            target -> {
+                requested.add(target);
+                return CompletableFuture.completedFuture(Optional.of(target));
+            },
+            this.onError
+        ));
+
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.SKIPPED, result(report, PlotUpdatePlanner.Step.LAYOUT).outcome());
+        Assertions.assertEquals(0, report.applied());
+        Assertions.assertTrue(requested.isEmpty(), "Expected no request sent");
+        Assertions.assertTrue(this.errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Edit with a target is applied")
+    public void applyChangedEdit() {
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID).edit(
+            PlotUpdatePlanner.Step.LAYOUT,
+            new MockForumWebhook.MockOptRestAction<>("current"),
+            current -> Optional.of(current + " edited"),
+            target -> CompletableFuture.completedFuture(Optional.of(target)),
+            this.onError
+        ));
+
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.APPLIED, result(report, PlotUpdatePlanner.Step.LAYOUT).outcome());
+        Assertions.assertEquals(1, report.applied());
+        Assertions.assertFalse(report.hasFailure());
+    }
+
+    @Test
+    @DisplayName("Failed request fails its step and reports the error")
+    public void failAsyncStep() {
+        IllegalStateException requestError = new IllegalStateException("MOCK_REQUEST_FAILURE");
+        IllegalStateException editError = new IllegalStateException("MOCK_EDIT_FAILURE");
+
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID)
+            .request(PlotUpdatePlanner.Step.THREAD, true, () -> failing(requestError), this.onError)
+            .edit(PlotUpdatePlanner.Step.LAYOUT,
+                new MockForumWebhook.MockOptRestAction<>("current"),
+                Optional::of,
+                target -> CompletableFuture.failedFuture(editError),
+                this.onError
+            ));
+
+        PlotUpdatePlanner.StepResult thread = result(report, PlotUpdatePlanner.Step.THREAD);
+        PlotUpdatePlanner.StepResult layout = result(report, PlotUpdatePlanner.Step.LAYOUT);
+
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.FAILED, thread.outcome());
+        Assertions.assertSame(requestError, thread.error());
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.FAILED, layout.outcome());
+        Assertions.assertSame(editError, layout.error(), "Expected the failure unwrapped from its completion stage");
+        Assertions.assertEquals(2, this.errors.size());
+        Assertions.assertTrue(this.errors.containsAll(List.of(requestError, editError)));
+    }
+
+    @Test
+    @DisplayName("Step failing before its request is sent reports the error")
+    public void failBeforeRequest() {
+        IllegalStateException error = new IllegalStateException("MOCK_SYNC_FAILURE");
+
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID)
+            .request(PlotUpdatePlanner.Step.STATUS_MESSAGE, true, () -> { throw error; }, this.onError)
+            .request(PlotUpdatePlanner.Step.THREAD, true, () -> new MockForumWebhook.MockOptRestAction<>("applied"), this.onError));
+
+        PlotUpdatePlanner.StepResult failed = result(report, PlotUpdatePlanner.Step.STATUS_MESSAGE);
+
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.FAILED, failed.outcome());
+        Assertions.assertSame(error, failed.error());
+        Assertions.assertEquals(List.of(error), this.errors, "Expected the error handler invoked like an async failure");
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.APPLIED, result(report, PlotUpdatePlanner.Step.THREAD).outcome(),
+            "Expected other steps not cancelled");
+    }
+
+    @Test
+    @DisplayName("Report failure aggregates every failed step")
+    public void aggregateFailures() {
+        IllegalStateException first = new IllegalStateException("MOCK_FIRST_FAILURE");
+        IllegalStateException second = new IllegalStateException("MOCK_SECOND_FAILURE");
+
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID)
+            .request(PlotUpdatePlanner.Step.LAYOUT, true, () -> failing(first), this.onError)
+            .request(PlotUpdatePlanner.Step.THREAD, true, () -> new MockForumWebhook.MockOptRestAction<>("applied"), this.onError)
+            .request(PlotUpdatePlanner.Step.STATUS_MESSAGE, true, () -> failing(second), this.onError));
+
+        Assertions.assertTrue(report.hasFailure());
+        Assertions.assertEquals(1, report.applied());
+
+        RuntimeException failure = report.getFailure().orElseGet(() -> Assertions.fail("Expected a failure"));
+        Assertions.assertSame(first, failure.getCause());
+        Assertions.assertArrayEquals(new Throwable[] { second }, failure.getSuppressed());
+    }
+
+    @Test
+    @DisplayName("Report without a failed step has no failure")
+    public void noFailure() {
+        PlotUpdatePlanner.Report report = execute(new PlotUpdatePlanner(PLOT_ID)
+            .request(PlotUpdatePlanner.Step.THREAD, false, () -> failing(new IllegalStateException()), this.onError)
+            .request(PlotUpdatePlanner.Step.STATUS_MESSAGE, true, () -> new MockForumWebhook.MockOptRestAction<>("applied"), this.onError));
+
+        Assertions.assertEquals(PlotUpdatePlanner.Outcome.SKIPPED, result(report, PlotUpdatePlanner.Step.THREAD).outcome());
+        Assertions.assertFalse(report.hasFailure());
+        Assertions.assertEquals(Optional.empty(), report.getFailure());
+    }
+}
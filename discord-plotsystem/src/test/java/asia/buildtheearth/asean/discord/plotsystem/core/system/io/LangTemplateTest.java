@@ -0,0 +1,106 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.io;
+
+import asia.buildtheearth.asean.discord.plotsystem.core.system.io.lang.Format;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@DisplayName("Language Template")
+public class LangTemplateTest {
+
+    private static final LangConfig THREAD_NAME = () -> "plot.thread-name";
+    private static final LangConfig MISSING = () -> "plot.missing";
+
+    @Test
+    @DisplayName("Every placeholder is substituted in a single render")
+    public void renderPlaceholders() {
+        LangTemplate template = LangTemplate.compile("Plot #{plotID} {owner} in <#{threadID}>");
+
+        Assertions.assertEquals("Plot #1 Tester in <#123>",
+            template.render(Format.PLOT_ID, 1, Format.OWNER, "Tester", Format.THREAD_ID, 123L));
+        Assertions.assertEquals("Plot #1 Tester in <#123>",
+            template.render(Map.of(Format.PLOT_ID, 1, Format.OWNER, "Tester", Format.THREAD_ID, 123L)));
+    }
+
+    @Test
+    @DisplayName("Repeated and adjacent placeholders are all substituted")
+    public void renderRepeatedPlaceholders() {
+        LangTemplate template = LangTemplate.compile("{owner}{owner} {label}");
+
+        Assertions.assertEquals("abab c", template.render(Format.OWNER, "ab", Format.LABEL, "c"));
+    }
+
+    @Test
+    @DisplayName("Placeholder with no given value is rendered as is")
+    public void renderMissingValue() {
+        LangTemplate template = LangTemplate.compile("{owner} claimed {label} at {timestamp}");
+
+        Assertions.assertEquals("Tester claimed {label} at {timestamp}", template.render(Format.OWNER, "Tester"));
+        Assertions.assertEquals("{owner} claimed {label} at {timestamp}", template.render(Map.of()));
+    }
+
+    @Test
+    @DisplayName("Null value is rendered as undefined")
+    public void renderNullValue() {
+        LangTemplate template = LangTemplate.compile("Plot by {owner}");
+        Map<String, Object> values = new HashMap<>();
+        values.put(Format.OWNER, null);
+
+        Assertions.assertEquals("Plot by " + LanguageFile.NULL_LANG, template.render(Format.OWNER, null));
+        Assertions.assertEquals("Plot by " + LanguageFile.NULL_LANG, template.render(values));
+    }
+
+    @Test
+    @DisplayName("Braces that are not a placeholder are kept literally")
+    public void keepLiteralBraces() {
+        String raw = "Use {} or { owner } or {123} for {owner}";
+        LangTemplate template = LangTemplate.compile(raw);
+
+        Assertions.assertEquals("Use {} or { owner } or {123} for Tester", template.render(Format.OWNER, "Tester"));
+        Assertions.assertEquals(raw, template.raw());
+        Assertions.assertEquals(raw, template.toString());
+    }
+
+    @Test
+    @DisplayName("Message without placeholder renders its raw message")
+    public void renderConstant() {
+        LangTemplate template = LangTemplate.compile("## Plot Histories");
+
+        Assertions.assertSame(template.raw(), template.render(Format.OWNER, "Tester"));
+        Assertions.assertSame(template.raw(), template.render(Map.of(Format.OWNER, "Tester")));
+        Assertions.assertEquals("", LangTemplate.compile("").render(Format.OWNER, "Tester"));
+    }
+
+    @Test
+    @DisplayName("Language file compiles every message on load and reload")
+    public void compileOnLoad() throws InvalidConfigurationException {
+        LanguageFile<LangConfig> lang = new LanguageFile<>();
+        lang.loadFromString("plot:\n  thread-name: \"Plot #{plotID} {owner}\"\n");
+
+        LangTemplate template = lang.getTemplate(THREAD_NAME);
+        Assertions.assertEquals("Plot #{plotID} {owner}", lang.get(THREAD_NAME));
+        Assertions.assertEquals("Plot #7 Tester", template.render(Format.PLOT_ID, 7, Format.OWNER, "Tester"));
+        Assertions.assertSame(template, lang.getTemplate(THREAD_NAME), "Expected the compiled template to be reused");
+
+        lang.loadFromString("plot:\n  thread-name: \"{owner}'s plot\"\n");
+        Assertions.assertEquals("Tester's plot", lang.getTemplate(THREAD_NAME).render(Format.OWNER, "Tester"));
+    }
+
+    @Test
+    @DisplayName("Missing message falls back to undefined or the compiled default")
+    public void missingMessage() throws InvalidConfigurationException {
+        LanguageFile<LangConfig> lang = new LanguageFile<>();
+        lang.loadFromString("plot:\n  thread-name: \"Plot #{plotID}\"\n");
+
+        Assertions.assertEquals(LanguageFile.NULL_LANG, lang.get(MISSING));
+        Assertions.assertEquals(LanguageFile.NULL_LANG, lang.getTemplate(MISSING).raw());
+        Assertions.assertEquals("Default", lang.get(MISSING, "Default"));
+
+        LangTemplate fallback = lang.getTemplate(MISSING, "Plot by {owner}");
+        Assertions.assertEquals("Plot by Tester", fallback.render(Format.OWNER, "Tester"));
+        Assertions.assertSame(fallback, lang.getTemplate(MISSING, "Plot by {owner}"), "Expected the compiled default to be cached");
+        Assertions.assertEquals("Plot #1", lang.getTemplate(THREAD_NAME, "Plot by {owner}").render(Format.PLOT_ID, 1));
+    }
+}
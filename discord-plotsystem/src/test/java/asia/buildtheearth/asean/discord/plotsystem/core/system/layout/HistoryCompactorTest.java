@@ -0,0 +1,163 @@
+package asia.buildtheearth.asean.discord.plotsystem.core.system.layout;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("History Compactor")
+public class HistoryCompactorTest {
+    private static final String TITLE = "## Plot Histories";
+    private static final String PREFIX = ":small_blue_diamond:";
+    private static final String FORMAT = "{label} ({count}× between <t:{since}:d> and <t:{until}:d>)";
+
+    private final HistoryCompactor compactor = new HistoryCompactor(PREFIX, FORMAT);
+
+    private static String line(long time, String message) {
+        return PREFIX + " <t:" + time + ":D> • " + message;
+    }
+
+    private static String summary(String label, int count, long since, long until) {
+        return PREFIX + " " + label + " (" + count + "× between <t:" + since + ":d> and <t:" + until + ":d>)";
+    }
+
+    @Test
+    @DisplayName("History within the limits is returned as is")
+    public void withinLimits() {
+        List<String> lines = List.of(line(1, "Plot submitted"), line(2, "Plot has been rejected"));
+        HistoryCompactor.Result result = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(20, 3000, true));
+
+        Assertions.assertSame(lines, result.lines());
+        Assertions.assertTrue(result.rolled().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Adjacent repeated lines are merged, the newest half is kept")
+    public void mergeAdjacentRuns() {
+        List<String> lines = List.of(
+            line(1, "Plot submitted"),
+            line(2, "Plot has been rejected"),
+            line(3, "Plot submitted"),
+            line(4, "Plot submitted"),
+            line(5, "Plot has been rejected"),
+            line(6, "Plot has been rejected"),
+            line(7, "Plot submitted"),
+            line(8, "Plot has been approved")
+        );
+
+        HistoryCompactor.Result result = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(6, 0, true));
+
+        // Runs separated by another message are not merged so the order of events is kept,
+        // the newest half is left untouched and the oldest line is rolled out to fit
+        Assertions.assertEquals(List.of(
+            line(2, "Plot has been rejected"),
+            summary("Plot submitted", 2, 3, 4),
+            line(5, "Plot has been rejected"),
+            line(6, "Plot has been rejected"),
+            line(7, "Plot submitted"),
+            line(8, "Plot has been approved")
+        ), result.lines());
+        Assertions.assertEquals(List.of(line(1, "Plot submitted")), result.rolled());
+    }
+
+    @Test
+    @DisplayName("Compacting a summary keeps adding up its count")
+    public void mergeSummary() {
+        List<String> lines = new ArrayList<>();
+        lines.add(summary("Plot submitted", 3, 1, 3));
+        lines.add(line(4, "Plot submitted"));
+        lines.add(line(5, "Plot has been rejected"));
+        lines.add(line(6, "Plot has been approved"));
+
+        HistoryCompactor.Result result = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(3, 0, true));
+
+        Assertions.assertEquals(List.of(
+            summary("Plot submitted", 4, 1, 4),
+            line(5, "Plot has been rejected"),
+            line(6, "Plot has been approved")
+        ), result.lines());
+        Assertions.assertTrue(result.rolled().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lines that still don't fit are rolled out oldest first")
+    public void rollOut() {
+        List<String> lines = List.of(
+            line(1, "Plot submitted"),
+            line(2, "Plot has been rejected"),
+            line(3, "Plot submitted"),
+            line(4, "Plot has been approved")
+        );
+        int maxLength = TITLE.length() + lines.get(2).length() + lines.get(3).length() + 2;
+
+        HistoryCompactor.Result result = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(0, maxLength, true));
+
+        Assertions.assertEquals(lines.subList(2, 4), result.lines());
+        Assertions.assertEquals(lines.subList(0, 2), result.rolled());
+
+        HistoryCompactor.Result dropped = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(0, maxLength, false));
+        Assertions.assertEquals(lines.subList(2, 4), dropped.lines());
+        Assertions.assertTrue(dropped.rolled().isEmpty(), "Expected nothing rolled out with rollover disabled");
+    }
+
+    @Test
+    @DisplayName("A single line longer than the limit is truncated to fit")
+    public void truncateLongLine() {
+        String longLine = line(1, "x".repeat(200));
+        int maxLength = TITLE.length() + 51;
+
+        HistoryCompactor.Result result = compactor.compact(TITLE, List.of(longLine), new HistoryCompactor.Limits(0, maxLength, true));
+
+        Assertions.assertEquals(1, result.lines().size());
+        Assertions.assertEquals(maxLength, TITLE.length() + 1 + result.lines().getFirst().length());
+        Assertions.assertTrue(result.lines().getFirst().endsWith("…"));
+        Assertions.assertEquals(List.of(longLine), result.rolled(), "Expected the full line to be rolled out");
+
+        HistoryCompactor.Result dropped = compactor.compact(TITLE, List.of(longLine), new HistoryCompactor.Limits(0, maxLength, false));
+        Assertions.assertEquals(result.lines(), dropped.lines());
+        Assertions.assertTrue(dropped.rolled().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Lines without a timestamp are kept in place")
+    public void keepUntimedLines() {
+        List<String> lines = List.of(
+            line(1, "Plot submitted"),
+            PREFIX + " Player created the plot",
+            line(2, "Plot submitted"),
+            line(3, "Plot has been approved"),
+            line(4, "Plot has been archived")
+        );
+
+        HistoryCompactor.Result result = compactor.compact(TITLE, lines, new HistoryCompactor.Limits(4, 0, true));
+
+        // The untimed line splits the run, so both submissions stay as they are
+        Assertions.assertEquals(lines.subList(1, 5), result.lines());
+        Assertions.assertEquals(List.of(line(1, "Plot submitted")), result.rolled());
+    }
+
+    @Test
+    @DisplayName("Rolled out lines are split into texts within the display limit")
+    public void chunkRolledLines() {
+        List<String> lines = new ArrayList<>();
+        for(int i = 0; i < 100; i++) lines.add(line(i, "Plot has been rejected " + "x".repeat(60)));
+        String longLine = line(100, "y".repeat(9000));
+        lines.add(longLine);
+
+        List<String> chunks = HistoryCompactor.chunk(TITLE, lines);
+
+        Assertions.assertTrue(chunks.size() > 3, "Expected the lines split into several texts");
+        for(String chunk : chunks) {
+            Assertions.assertTrue(chunk.length() <= HistoryCompactor.Limits.TEXT_DISPLAY_LIMIT, "Text exceeds the display limit");
+            Assertions.assertTrue(chunk.startsWith(TITLE + '\n'));
+        }
+
+        // Every line is kept whole and in order, the long line continues across texts
+        List<String> posted = new ArrayList<>();
+        chunks.forEach(chunk -> posted.addAll(List.of(chunk.substring(TITLE.length() + 1).split("\n"))));
+        Assertions.assertEquals(lines.subList(0, 100), posted.subList(0, 100));
+        Assertions.assertEquals(longLine, String.join("", posted.subList(100, posted.size())));
+
+        Assertions.assertEquals(List.of(), HistoryCompactor.chunk(TITLE, List.of()));
+    }
+}
@@ -1,33 +1,94 @@
 package asia.buildtheearth.asean.discord.plotsystem.test;
 
+import asia.buildtheearth.asean.discord.components.WebhookDataBuilder;
+import asia.buildtheearth.asean.discord.components.api.ComponentV2;
+import asia.buildtheearth.asean.discord.plotsystem.ConfigPaths;
 import asia.buildtheearth.asean.discord.plotsystem.Debug;
 import asia.buildtheearth.asean.discord.plotsystem.DiscordPS;
 import asia.buildtheearth.asean.discord.plotsystem.api.DiscordPlotSystemAPI;
 import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateData;
+import asia.buildtheearth.asean.discord.plotsystem.api.PlotCreateProvider;
 import asia.buildtheearth.asean.discord.plotsystem.api.events.*;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.DatabaseConnection;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.PoolMetrics;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.ThreadStatus;
 import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookEntry;
+import asia.buildtheearth.asean.discord.plotsystem.core.database.WebhookRepository;
 import asia.buildtheearth.asean.discord.plotsystem.core.listeners.DiscordCommandListener;
 import asia.buildtheearth.asean.discord.plotsystem.core.listeners.DiscordEventListener;
 import asia.buildtheearth.asean.discord.plotsystem.core.listeners.DiscordSRVListener;
+import asia.buildtheearth.asean.discord.plotsystem.core.listeners.PlotEventCoalescer;
 import asia.buildtheearth.asean.discord.plotsystem.core.listeners.PlotSystemListener;
+import asia.buildtheearth.asean.discord.plotsystem.core.listeners.PlotUpdateQueue;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentBody;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AttachmentDownloader;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableComponent;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.AvailableTag;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.ForumRestSchedulerTest;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.ImagePipeline;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.MediaIndex;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.MediaStore;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.CachedProjection;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.GeographicProjection;
+import asia.buildtheearth.asean.discord.plotsystem.core.projection.TerraProjection;
+import asia.buildtheearth.asean.discord.plotsystem.core.providers.WebhookProvider;
 import asia.buildtheearth.asean.discord.plotsystem.core.system.Notification;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotData;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotReconciler;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotSystemWebhook;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.PlotUpdatePlannerTest;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.InfoComponent;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.Layout;
+import asia.buildtheearth.asean.discord.plotsystem.core.system.layout.StatusComponent;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockAttachment;
 import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockDiscordSRV;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockFileServer;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockForumWebhook;
 import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockPluginServer;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockSnowflake;
+import asia.buildtheearth.asean.discord.plotsystem.test.mock.MockWebhook;
+import asia.buildtheearth.asean.discord.plotsystem.utils.CoordinatesUtil;
 import github.scarsz.discordsrv.DiscordSRV;
 import github.scarsz.discordsrv.api.events.DiscordReadyEvent;
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
+import github.scarsz.discordsrv.dependencies.jda.api.requests.RestAction;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataArray;
 import github.scarsz.discordsrv.dependencies.jda.api.utils.data.DataObject;
+import github.scarsz.discordsrv.dependencies.okhttp3.MultipartBody;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockbukkit.mockbukkit.ServerMock;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
 import java.time.LocalDate;
-import java.util.Random;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @DisplayName("Plugin")
 @TestClassOrder(ClassOrderer.OrderAnnotation.class)
@@ -333,6 +394,1275 @@ public class PluginTest implements MockPluginServer {
         }
     }
 
+    @DisplayName("Coordinates Projection")
+    @Nested @Order(4)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class CoordinatesProjection {
+        private final AtomicInteger conversions = new AtomicInteger();
+
+        /** Linear projection of 1000 blocks per degree, north is negative z */
+        private final GeographicProjection linear = new GeographicProjection() {
+            @Override
+            public double[] toGeo(double x, double z) {
+                conversions.incrementAndGet();
+                return new double[] { x / 1000, -z / 1000 };
+            }
+
+            @Override
+            public double[] fromGeo(double lon, double lat) {
+                conversions.incrementAndGet();
+                return new double[] { lon * 1000, -lat * 1000 };
+            }
+        };
+
+        @AfterEach
+        public void resetProjection() {
+            CoordinatesUtil.setProjection(null);
+            conversions.set(0);
+        }
+
+        @Test @Order(1)
+        @DisplayName("BTE projection is not available without terraminusminus")
+        public void terraNotLoaded() {
+            Assertions.assertTrue(TerraProjection.load(PluginTest.class.getClassLoader()).isEmpty());
+            Assertions.assertThrows(IllegalStateException.class, () -> CoordinatesUtil.convertToGeo(0, 0));
+        }
+
+        @Test @Order(2)
+        @DisplayName("Converted coordinates round trip and are cached")
+        public void cachedRoundTrip() {
+            CachedProjection cached = new CachedProjection(linear);
+            CoordinatesUtil.setProjection(cached);
+
+            double[] geo = CoordinatesUtil.convertToGeo(100500, -13750);
+            double[] mc = CoordinatesUtil.convertFromGeo(geo[0], geo[1]);
+
+            Assertions.assertAll("Round trip",
+                () -> Assertions.assertArrayEquals(new double[] { 100.5, 13.75 }, geo, 1e-9),
+                () -> Assertions.assertArrayEquals(new double[] { 100500, -13750 }, mc, 1e-3)
+            );
+
+            // Same location with floating point noise hits the cache
+            CoordinatesUtil.convertToGeo(100500.0000001, -13750);
+            geo[0] = 0; // Returned arrays are copies
+            Assertions.assertArrayEquals(new double[] { 100.5, 13.75 }, CoordinatesUtil.convertToGeo(100500, -13750), 1e-9);
+            Assertions.assertEquals(2, conversions.get());
+            Assertions.assertEquals(2, cached.size());
+        }
+
+        @Test @Order(3)
+        @DisplayName("Least recently used conversion is evicted")
+        public void cacheEviction() {
+            CachedProjection cached = new CachedProjection(linear, 2);
+
+            cached.toGeo(0, 0);
+            cached.toGeo(1, 1);
+            cached.toGeo(0, 0);
+            cached.toGeo(2, 2); // Evicts (1, 1)
+            cached.toGeo(0, 0);
+            cached.toGeo(1, 1);
+
+            Assertions.assertEquals(4, conversions.get());
+            Assertions.assertEquals(2, cached.size());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> cached.toGeo(Double.NaN, 0));
+        }
+    }
+
+    @DisplayName("Plot Event Coalescing")
+    @Nested @Order(5)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class PlotEventCoalescing {
+        private static final long WINDOW = 400;
+
+        /** Every flushed batch in flushed order */
+        private final List<Map.Entry<Integer, List<PlotEvent>>> flushed = new CopyOnWriteArrayList<>();
+        private final PlotEventCoalescer coalescer = new PlotEventCoalescer(WINDOW,
+            (plotID, events) -> flushed.add(Map.entry(plotID, events))
+        );
+
+        @AfterEach
+        public void clearFlushed() {
+            coalescer.flushAll();
+            flushed.clear();
+        }
+
+        private void awaitFlushed(int batches) {
+            long deadline = System.currentTimeMillis() + WINDOW * 10;
+            while (flushed.size() < batches && System.currentTimeMillis() < deadline)
+                Assertions.assertDoesNotThrow(() -> Thread.sleep(10));
+            Assertions.assertEquals(batches, flushed.size(), "Expected flushed batches after the window closed");
+        }
+
+        @Test @Order(1)
+        @DisplayName("Events within the window are merged in received order")
+        public void mergeWithinWindow() {
+            PlotEvent submit = new PlotSubmitEvent(1);
+            PlotEvent reject = new PlotRejectedEvent(1);
+            PlotEvent approve = new PlotApprovedEvent(1);
+
+            coalescer.offer(submit);
+            coalescer.offer(reject);
+            coalescer.offer(approve);
+
+            Assertions.assertTrue(flushed.isEmpty(), "Expected no flush before the window closes");
+            awaitFlushed(1);
+            Assertions.assertEquals(1, flushed.get(0).getKey());
+            Assertions.assertEquals(List.of(submit, reject, approve), flushed.get(0).getValue());
+        }
+
+        @Test @Order(2)
+        @DisplayName("Events of different plots are flushed separately")
+        public void separatePlots() {
+            PlotEvent first = new PlotSubmitEvent(1);
+            PlotEvent second = new PlotSubmitEvent(2);
+            PlotEvent third = new PlotApprovedEvent(1);
+
+            coalescer.offer(first);
+            coalescer.offer(second);
+            coalescer.offer(third);
+
+            awaitFlushed(2);
+            Map<Integer, List<PlotEvent>> batches = new HashMap<>();
+            flushed.forEach(batch -> batches.put(batch.getKey(), batch.getValue()));
+
+            Assertions.assertEquals(List.of(first, third), batches.get(1));
+            Assertions.assertEquals(List.of(second), batches.get(2));
+        }
+
+        @Test @Order(3)
+        @DisplayName("Explicit flush hands over the batch before later events")
+        public void explicitFlush() {
+            PlotEvent submit = new PlotSubmitEvent(1);
+            PlotEvent reject = new PlotRejectedEvent(1);
+            PlotEvent undo = new PlotUndoReviewEvent(1);
+
+            coalescer.offer(submit);
+            coalescer.offer(reject);
+            coalescer.flush(1);
+
+            // The batch is flushed synchronously, ahead of any later event of the plot
+            Assertions.assertEquals(1, flushed.size());
+            Assertions.assertEquals(List.of(submit, reject), flushed.get(0).getValue());
+
+            // Flushing a plot without pending events does nothing
+            coalescer.flush(1);
+            Assertions.assertEquals(1, flushed.size());
+
+            coalescer.offer(undo);
+            awaitFlushed(2);
+            Assertions.assertEquals(List.of(undo), flushed.get(1).getValue());
+        }
+
+        @Test @Order(4)
+        @DisplayName("Events after the window closed open a new batch")
+        public void newWindow() {
+            PlotEvent submit = new PlotSubmitEvent(1);
+            PlotEvent approve = new PlotApprovedEvent(1);
+
+            coalescer.offer(submit);
+            awaitFlushed(1);
+            coalescer.offer(approve);
+            awaitFlushed(2);
+
+            Assertions.assertEquals(List.of(submit), flushed.get(0).getValue());
+            Assertions.assertEquals(List.of(approve), flushed.get(1).getValue());
+        }
+
+        @Test @Order(5)
+        @DisplayName("Batch opened after an explicit flush keeps its own window")
+        public void windowAfterFlush() throws InterruptedException {
+            PlotEvent submit = new PlotSubmitEvent(1);
+            PlotEvent undo = new PlotUndoSubmitEvent(1);
+
+            coalescer.offer(submit);
+            Thread.sleep(WINDOW / 2);
+            coalescer.flush(1);
+            coalescer.offer(undo);
+
+            // The window of the flushed batch closes here, it must not close the new batch
+            Thread.sleep(WINDOW * 3 / 4);
+            Assertions.assertEquals(1, flushed.size(), "Expected the new batch to wait for its own window");
+
+            awaitFlushed(2);
+            Assertions.assertEquals(List.of(undo), flushed.get(1).getValue());
+        }
+
+        @Test @Order(6)
+        @DisplayName("Flush all hands over every pending batch immediately")
+        public void flushAll() {
+            coalescer.offer(new PlotSubmitEvent(1));
+            coalescer.offer(new PlotSubmitEvent(2));
+            coalescer.offer(new PlotSubmitEvent(3));
+            coalescer.flushAll();
+
+            Assertions.assertEquals(3, flushed.size());
+            Assertions.assertEquals(Set.of(1, 2, 3),
+                flushed.stream().map(Map.Entry::getKey).collect(Collectors.toSet())
+            );
+        }
+
+        @Test @Order(7)
+        @DisplayName("Zero window flushes every event on its own")
+        public void zeroWindow() {
+            PlotEventCoalescer disabled = new PlotEventCoalescer(0,
+                (plotID, events) -> flushed.add(Map.entry(plotID, events))
+            );
+            PlotEvent submit = new PlotSubmitEvent(1);
+            PlotEvent approve = new PlotApprovedEvent(1);
+
+            disabled.offer(submit);
+            disabled.offer(approve);
+
+            Assertions.assertEquals(List.of(submit), flushed.get(0).getValue());
+            Assertions.assertEquals(List.of(approve), flushed.get(1).getValue());
+        }
+    }
+
+    @DisplayName("Webhook Repository")
+    @Nested @Order(6)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class WebhookRepositoryTest {
+        /** Plot and snowflake IDs out of range of the randomized plot system tests */
+        private static final int PLOT_ID = 5001;
+        private static final long THREAD_ID = 500100L;
+        private static final long FIRST_MESSAGE = 500101L;
+        private static final long SECOND_MESSAGE = 500102L;
+
+        private final WebhookRepository repository = DatabaseConnection.getRepository();
+
+        @BeforeEach
+        public void flushPrevious() {
+            // Updates of the previous tests would be written concurrently and skip caching the next load
+            Assertions.assertDoesNotThrow(() -> repository.flush().join());
+        }
+
+        private long selects() {
+            return DatabaseConnection.getMetrics().getCount(PoolMetrics.QueryType.SELECT);
+        }
+
+        /** Read a column of an entry straight from the database, bypassing the repository */
+        private String readColumn(long messageID, String column) throws SQLException {
+            String query = "SELECT " + column + " FROM " + DatabaseConnection.getWebhookTableName() + " WHERE message_id = ?";
+            try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+                ResultSet rs = statement.setValue(messageID).executeQuery();
+                String value = rs.next()? rs.getString(1) : null;
+                DatabaseConnection.closeResultSet(rs);
+                return value;
+            }
+        }
+
+        @Test @Order(1)
+        @DisplayName("Cache miss is queried once, then every index is a hit")
+        public void cacheMissThenHit() {
+            WebhookEntry.insertNewEntry(FIRST_MESSAGE, THREAD_ID, PLOT_ID, ThreadStatus.on_going, UUID.randomUUID().toString());
+
+            long before = selects();
+            List<WebhookEntry> loaded = repository.getByPlotID(PLOT_ID).join();
+            Assertions.assertEquals(1, loaded.size());
+            Assertions.assertEquals(before + 1, selects(), "Expected the first lookup to query the database");
+
+            // Plot is cached with its message index
+            CompletableFuture<List<WebhookEntry>> plot = repository.getByPlotID(PLOT_ID);
+            CompletableFuture<Optional<WebhookEntry>> message = repository.getByMessageID(FIRST_MESSAGE);
+            Assertions.assertAll("Cache hit",
+                () -> Assertions.assertTrue(plot.isDone(), "Expected a cache hit to complete immediately"),
+                () -> Assertions.assertTrue(message.isDone(), "Expected a cache hit to complete immediately"),
+                () -> Assertions.assertEquals(loaded, plot.join()),
+                () -> Assertions.assertEquals(FIRST_MESSAGE, message.join().orElseThrow().messageID()),
+                () -> Assertions.assertEquals(before + 1, selects(), "Expected no query on a cache hit")
+            );
+
+            // Thread index is only complete once looked up by thread
+            Assertions.assertEquals(1, repository.getByThreadID(THREAD_ID).join().size());
+            Assertions.assertEquals(before + 2, selects());
+            Assertions.assertEquals(1, repository.getByThreadID(THREAD_ID).join().size());
+            Assertions.assertEquals(before + 2, selects());
+        }
+
+        @Test @Order(2)
+        @DisplayName("Insert and delete are written through and update the cache")
+        public void writeThroughInvalidation() throws SQLException {
+            WebhookEntry.insertNewEntry(SECOND_MESSAGE, THREAD_ID, PLOT_ID, ThreadStatus.finished, UUID.randomUUID().toString());
+
+            long before = selects();
+            List<WebhookEntry> inserted = repository.getByPlotID(PLOT_ID).join();
+            Assertions.assertEquals(List.of(SECOND_MESSAGE, FIRST_MESSAGE), inserted.stream().map(WebhookEntry::messageID).toList(),
+                "Expected the inserted entry to be cached as the latest entry"
+            );
+            Assertions.assertEquals(2, repository.getByThreadID(THREAD_ID).join().size());
+            Assertions.assertEquals(before, selects(), "Expected no query after a write-through insert");
+
+            WebhookEntry.deleteEntry(SECOND_MESSAGE);
+
+            Assertions.assertEquals(List.of(FIRST_MESSAGE),
+                repository.getByPlotID(PLOT_ID).join().stream().map(WebhookEntry::messageID).toList()
+            );
+            Assertions.assertTrue(repository.getByMessageID(SECOND_MESSAGE).join().isEmpty(),
+                "Expected the deleted entry to be invalidated"
+            );
+            Assertions.assertNull(readColumn(SECOND_MESSAGE, "status"));
+        }
+
+        @Test @Order(3)
+        @DisplayName("Updates are cached immediately and merged into one write-behind flush")
+        public void writeBehindFlush() throws SQLException {
+            String feedback = UUID.randomUUID().toString();
+
+            WebhookEntry.updateEntryStatus(FIRST_MESSAGE, ThreadStatus.finished);
+            WebhookEntry.updateEntryFeedback(FIRST_MESSAGE, feedback);
+            WebhookEntry.updateEntryStatus(FIRST_MESSAGE, ThreadStatus.approved);
+
+            WebhookEntry cached = repository.getLatest(PLOT_ID).join().orElseThrow();
+            Assertions.assertAll("Cached before written",
+                () -> Assertions.assertSame(ThreadStatus.approved, cached.status()),
+                () -> Assertions.assertEquals(feedback, cached.feedback()),
+                () -> Assertions.assertEquals(ThreadStatus.on_going.name(), readColumn(FIRST_MESSAGE, "status"))
+            );
+
+            Assertions.assertDoesNotThrow(() -> repository.flush().join());
+
+            Assertions.assertAll("Written after flush",
+                () -> Assertions.assertEquals(ThreadStatus.approved.name(), readColumn(FIRST_MESSAGE, "status")),
+                () -> Assertions.assertEquals(feedback, readColumn(FIRST_MESSAGE, "feedback"))
+            );
+        }
+
+        @Test @Order(4)
+        @DisplayName("Pending updates are applied over uncached and paged reads")
+        public void pendingOverPage() {
+            WebhookEntry.updateEntryStatus(FIRST_MESSAGE, ThreadStatus.archived);
+
+            WebhookEntry paged = repository.getPage(PLOT_ID - 1, 1).join().get(PLOT_ID).getFirst();
+            Assertions.assertSame(ThreadStatus.archived, paged.status());
+
+            Assertions.assertDoesNotThrow(() -> repository.flush().join());
+        }
+
+        @Test @Order(5)
+        @DisplayName("Shutdown flushes every pending update")
+        public void shutdownFlush() throws ReflectiveOperationException, SQLException {
+            // A separate repository over the same database, so the plugin's repository keeps running
+            Constructor<WebhookRepository> constructor = WebhookRepository.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            WebhookRepository shutdown = constructor.newInstance();
+
+            String owner = String.valueOf(MockSnowflake.getRandom());
+            shutdown.updateStatus(FIRST_MESSAGE, ThreadStatus.abandoned);
+            shutdown.updateOwnerID(FIRST_MESSAGE, owner);
+            Assertions.assertEquals(ThreadStatus.archived.name(), readColumn(FIRST_MESSAGE, "status"));
+
+            shutdown.shutdown(5);
+
+            Assertions.assertEquals(ThreadStatus.abandoned.name(), readColumn(FIRST_MESSAGE, "status"));
+            Assertions.assertEquals(owner, readColumn(FIRST_MESSAGE, "owner_id"));
+        }
+    }
+
+    @DisplayName("Schema Migration")
+    @Nested @Order(7)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class SchemaMigration {
+        private static final String TABLE = "migration_test";
+        private static final String MIGRATOR = DatabaseConnection.class.getPackageName() + ".SchemaMigrator";
+
+        private Connection connection;
+
+        @BeforeEach
+        public void createTable() throws SQLException {
+            connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+            try(Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE [" + TABLE + "] "
+                    + "([message_id] INT,[thread_id] INT,[plot_id] INT,[status] TEXT,"
+                    + "[owner_uuid] TEXT,[owner_id] INT,[feedback] TEXT,[version] INT);");
+            }
+        }
+
+        @AfterEach
+        public void closeConnection() throws SQLException {
+            connection.close();
+        }
+
+        /** Invoke the package-private migrator of the database package */
+        private Object invoke(String method, Class<?>[] types, Object... args) throws Exception {
+            Method invoked = Class.forName(MIGRATOR).getDeclaredMethod(method, types);
+            invoked.setAccessible(true);
+            try {
+                return invoked.invoke(null, args);
+            }
+            catch (InvocationTargetException ex) {
+                throw ex.getCause() instanceof Exception cause? cause : ex;
+            }
+        }
+
+        private void migrate() throws Exception {
+            invoke("migrate", new Class<?>[] { Connection.class, String.class }, connection, TABLE);
+        }
+
+        private int latestVersion() throws Exception {
+            return (int) invoke("getLatestVersion", new Class<?>[0]);
+        }
+
+        private List<Integer> versions() throws SQLException {
+            List<Integer> versions = new ArrayList<>();
+            try(Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT version FROM [" + TABLE + "_schema_version] ORDER BY version")) {
+                while(rs.next()) versions.add(rs.getInt(1));
+            }
+            return versions;
+        }
+
+        private Set<String> indexes() throws SQLException {
+            Set<String> indexes = new HashSet<>();
+            try(PreparedStatement statement = connection.prepareStatement(
+                    "SELECT name FROM sqlite_master WHERE type = 'index' AND tbl_name = ?")) {
+                statement.setString(1, TABLE);
+                try(ResultSet rs = statement.executeQuery()) {
+                    while(rs.next()) indexes.add(rs.getString(1));
+                }
+            }
+            return indexes;
+        }
+
+        private List<Integer> upTo(int version) {
+            return IntStream.rangeClosed(1, version).boxed().toList();
+        }
+
+        @Test @Order(1)
+        @DisplayName("Plugin database is migrated to the latest version")
+        public void pluginMigrated() throws Exception {
+            String query = "SELECT MAX(version) FROM [" + DatabaseConnection.getWebhookTableName() + "_schema_version]";
+            try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+                ResultSet rs = statement.executeQuery();
+                Assertions.assertTrue(rs.next());
+                Assertions.assertEquals(latestVersion(), rs.getInt(1));
+                DatabaseConnection.closeResultSet(rs);
+            }
+        }
+
+        @Test @Order(2)
+        @DisplayName("Unversioned table is migrated in order and every version is recorded")
+        public void migrateFromZero() throws Exception {
+            migrate();
+
+            Assertions.assertEquals(upTo(latestVersion()), versions());
+            Assertions.assertEquals(Set.of(TABLE + "_thread_id", TABLE + "_plot_message"), indexes());
+        }
+
+        @Test @Order(3)
+        @DisplayName("Migrating a migrated table does nothing")
+        public void migrateTwice() throws Exception {
+            migrate();
+            List<Integer> migrated = versions();
+
+            Assertions.assertDoesNotThrow(this::migrate);
+            Assertions.assertEquals(migrated, versions());
+            Assertions.assertEquals(Set.of(TABLE + "_thread_id", TABLE + "_plot_message"), indexes());
+        }
+
+        @Test @Order(4)
+        @DisplayName("Migration applied without its record is re-applied over the existing index")
+        public void reapplyUnrecorded() throws Exception {
+            migrate();
+            try(Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM [" + TABLE + "_schema_version] WHERE version > 1");
+            }
+
+            Assertions.assertDoesNotThrow(this::migrate);
+            Assertions.assertEquals(upTo(latestVersion()), versions());
+        }
+
+        @Test @Order(5)
+        @DisplayName("Table of a newer schema version is left untouched")
+        public void newerVersion() throws Exception {
+            migrate();
+            int newer = latestVersion() + 1;
+            try(Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM [" + TABLE + "_schema_version]");
+                statement.executeUpdate("INSERT INTO [" + TABLE + "_schema_version] VALUES (" + newer + ", 'Future', 0)");
+                statement.executeUpdate("DROP INDEX [" + TABLE + "_thread_id]");
+            }
+
+            Assertions.assertDoesNotThrow(this::migrate);
+            Assertions.assertEquals(List.of(newer), versions());
+            Assertions.assertEquals(Set.of(TABLE + "_plot_message"), indexes());
+        }
+    }
+
+    @DisplayName("Plot Reconciler")
+    @Nested @Order(8)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class PlotReconcilerTest {
+        /** Plot and snowflake IDs out of range of the other tests */
+        private static final int IN_SYNC = 6001, TAG_DRIFT = 6002, STATUS_DRIFT = 6003,
+            MISSING_THREAD = 6004, OWNER_DRIFT = 6005, ARCHIVED = 6006, MISSING_DATA = 6007;
+        private static final int PAGE_SIZE = 2;
+
+        private static final Map<Integer, PlotCreateData> data = new ConcurrentHashMap<>();
+        private static final Map<String, Set<Long>> threadTags = new ConcurrentHashMap<>();
+        private static final Map<String, ThreadStatus> threadLayouts = new ConcurrentHashMap<>();
+        private static final List<String> tagEdits = new CopyOnWriteArrayList<>();
+        private static volatile boolean failTagEdits = false;
+        private static PlotCreateProvider previousProvider;
+
+        private static final MockForumWebhook forum = new MockForumWebhook() {
+            @Override
+            public WebhookProvider getProvider() {
+                return MockWebhook.PLOT_SYSTEM;
+            }
+
+            @Override
+            public @NotNull RestAction<Optional<DataObject>> getThreadChannel(@NotNull String threadID, boolean allowSecondAttempt) {
+                Set<Long> tags = threadTags.get(threadID);
+                if(tags == null) return new MockOptRestAction<>();
+                return new MockOptRestAction<>(DataObject.empty().put("applied_tags", DataArray.fromCollection(tags)));
+            }
+
+            @Override
+            public @NotNull RestAction<Optional<Layout>> getInitialLayout(@NotNull String threadID, boolean allowSecondAttempt) {
+                ThreadStatus status = threadLayouts.get(threadID);
+                return new MockOptRestAction<>(status == null? null : layoutOf(status));
+            }
+
+            @Override
+            public @NotNull RestAction<Optional<DataObject>> editThreadChannelTags(@NotNull String channelID, @Nullable Collection<Long> appliedTags, boolean allowSecondAttempt) {
+                tagEdits.add(channelID);
+                if(failTagEdits || appliedTags == null) return new MockOptRestAction<>();
+
+                threadTags.put(channelID, Set.copyOf(appliedTags));
+                return new MockOptRestAction<>(DataObject.empty());
+            }
+        };
+
+        private static Layout layoutOf(ThreadStatus status) {
+            try {
+                Constructor<Layout> constructor = Layout.class.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                Layout layout = constructor.newInstance();
+                layout.getLayout().add(new InfoComponent(0, 0, status.toTag().getColor()));
+                return layout;
+            }
+            catch (ReflectiveOperationException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+
+        private static String threadOf(int plotID) {
+            return String.valueOf(plotID * 100L);
+        }
+
+        /**
+         * Track a plot with the given status, its Plot-System data and its thread state.
+         *
+         * @param status The tracked status
+         * @param actual The status of Plot-System data, null if the provider does not return this plot
+         * @param thread The status displayed on its thread tags and layout, null if the thread is missing
+         */
+        private static void track(int plotID, ThreadStatus status, PlotCreateData.@Nullable PlotStatus actual, @Nullable ThreadStatus thread) {
+            String owner = new UUID(0, plotID).toString();
+            WebhookEntry.insertNewEntry(plotID * 100L + 1, plotID * 100L, plotID, status, owner);
+
+            if(actual != null) data.put(plotID, new PlotCreateData(plotID, owner, actual, "MOCK_CITY", "MOCK_COUNTRY", new double[] {0, 0}));
+            if(thread != null) {
+                threadTags.put(threadOf(plotID), Set.of(thread.toTag().getTag().getIDLong()));
+                threadLayouts.put(threadOf(plotID), thread);
+            }
+        }
+
+        private static PlotReconciler.Report reconcile(boolean dryRun) {
+            plugin.getConfig().set(ConfigPaths.RECONCILE_PAGE_SIZE, PAGE_SIZE);
+            PlotReconciler reconciler = new PlotReconciler(new PlotSystemWebhook(plugin, forum));
+            plugin.getConfig().set(ConfigPaths.RECONCILE_PAGE_SIZE, null);
+
+            return Assertions.assertDoesNotThrow(() -> reconciler.reconcile(dryRun).orTimeout(30, TimeUnit.SECONDS).join());
+        }
+
+        private static Map<Integer, PlotReconciler.PlotResult> resultsOf(PlotReconciler.Report report) {
+            Map<Integer, PlotReconciler.PlotResult> results = new HashMap<>();
+            for(PlotReconciler.PlotResult result : report.results())
+                if(result.plotID() > 6000 && result.plotID() < 6100) results.put(result.plotID(), result);
+            return results;
+        }
+
+        @BeforeAll
+        public static void setUp() {
+            try { previousProvider = DiscordPlotSystemAPI.getDataProvider(); }
+            catch (IllegalArgumentException ex) { previousProvider = null; }
+
+            DiscordPlotSystemAPI.registerProvider(new PlotCreateProvider() {
+                @Override
+                public PlotCreateData getData(Object rawData) {
+                    throw new IllegalArgumentException("Raw data is not supported");
+                }
+
+                @Override
+                public PlotCreateData getData(int plotID) {
+                    return data.get(plotID);
+                }
+            });
+
+            track(IN_SYNC, ThreadStatus.on_going, PlotCreateData.PlotStatus.ON_GOING, ThreadStatus.on_going);
+            track(TAG_DRIFT, ThreadStatus.on_going, PlotCreateData.PlotStatus.ON_GOING, ThreadStatus.on_going);
+            track(STATUS_DRIFT, ThreadStatus.on_going, PlotCreateData.PlotStatus.FINISHED, ThreadStatus.on_going);
+            track(MISSING_THREAD, ThreadStatus.on_going, PlotCreateData.PlotStatus.ON_GOING, null);
+            track(OWNER_DRIFT, ThreadStatus.on_going, PlotCreateData.PlotStatus.ON_GOING, ThreadStatus.on_going);
+            track(ARCHIVED, ThreadStatus.archived, PlotCreateData.PlotStatus.ARCHIVED, ThreadStatus.archived);
+            track(MISSING_DATA, ThreadStatus.on_going, null, ThreadStatus.on_going);
+
+            threadTags.put(threadOf(TAG_DRIFT), Set.of());
+            data.computeIfPresent(OWNER_DRIFT, (plotID, plot) -> new PlotCreateData(plotID,
+                UUID.randomUUID().toString(), plot.status(), plot.cityProjectID(), plot.countryCode(), plot.geoCoordinates()));
+        }
+
+        @AfterAll
+        public static void tearDown() {
+            DiscordPlotSystemAPI.registerProvider(previousProvider);
+        }
+
+        @BeforeEach
+        public void resetForum() {
+            tagEdits.clear();
+            failTagEdits = false;
+        }
+
+        @Test @Order(1)
+        @DisplayName("Dry run detects every drift without repairing")
+        public void detectDrifts() {
+            PlotReconciler.Report report = reconcile(true);
+            Map<Integer, PlotReconciler.PlotResult> results = resultsOf(report);
+
+            Assertions.assertAll("Detected drifts",
+                () -> Assertions.assertTrue(report.dryRun()),
+                () -> Assertions.assertFalse(results.containsKey(IN_SYNC), "Expected an in sync plot to be left out of the results"),
+                () -> Assertions.assertEquals(Set.of(PlotReconciler.Drift.TAGS), results.get(TAG_DRIFT).drifts()),
+                () -> Assertions.assertEquals(
+                    Set.of(PlotReconciler.Drift.STATUS, PlotReconciler.Drift.TAGS, PlotReconciler.Drift.LAYOUT),
+                    results.get(STATUS_DRIFT).drifts()),
+                () -> Assertions.assertSame(ThreadStatus.finished, results.get(STATUS_DRIFT).expected()),
+                () -> Assertions.assertEquals(Set.of(PlotReconciler.Drift.MISSING_THREAD), results.get(MISSING_THREAD).drifts()),
+                () -> Assertions.assertEquals(Set.of(PlotReconciler.Drift.OWNER), results.get(OWNER_DRIFT).drifts()),
+                () -> Assertions.assertSame(PlotReconciler.Outcome.SKIPPED, results.get(ARCHIVED).outcome()),
+                () -> Assertions.assertEquals(Set.of(PlotReconciler.Drift.MISSING_DATA), results.get(MISSING_DATA).drifts())
+            );
+
+            for(int plotID : List.of(TAG_DRIFT, STATUS_DRIFT, MISSING_THREAD, OWNER_DRIFT, MISSING_DATA))
+                Assertions.assertSame(PlotReconciler.Outcome.DRIFTED, results.get(plotID).outcome(), "Plot #" + plotID);
+
+            Assertions.assertTrue(tagEdits.isEmpty(), "Expected no repair on a dry run");
+            Assertions.assertSame(ThreadStatus.on_going, WebhookEntry.ifPlotExisted(STATUS_DRIFT).orElseThrow().status());
+        }
+
+        @Test @Order(2)
+        @DisplayName("Every tracked plot is scanned across pages in plot ID order")
+        public void pageThroughPlots() throws SQLException {
+            String query = "SELECT COUNT(DISTINCT plot_id) FROM " + DatabaseConnection.getWebhookTableName();
+            int tracked;
+            try(DatabaseConnection.StatementBuilder statement = DatabaseConnection.createStatement(query)) {
+                ResultSet rs = statement.executeQuery();
+                tracked = rs.next()? rs.getInt(1) : 0;
+                DatabaseConnection.closeResultSet(rs);
+            }
+
+            PlotReconciler.Report report = reconcile(true);
+            List<Integer> plotIDs = report.results().stream().map(PlotReconciler.PlotResult::plotID).toList();
+
+            Assertions.assertTrue(tracked > PAGE_SIZE, "Expected more plots than a single page");
+            Assertions.assertEquals(tracked, report.scanned());
+            Assertions.assertEquals(plotIDs.stream().sorted().toList(), plotIDs, "Expected results ordered by plot ID");
+            Assertions.assertEquals(plotIDs.stream().distinct().count(), plotIDs.size(), "Expected each plot reconciled once");
+        }
+
+        @Test @Order(3)
+        @DisplayName("Repair outcome is taken from the repair requests")
+        public void repairOutcome() {
+            PlotReconciler.Report report = reconcile(false);
+            Map<Integer, PlotReconciler.PlotResult> results = resultsOf(report);
+
+            Assertions.assertAll("Repair outcome",
+                () -> Assertions.assertFalse(report.dryRun()),
+                () -> Assertions.assertSame(PlotReconciler.Outcome.REPAIRED, results.get(TAG_DRIFT).outcome()),
+                () -> Assertions.assertEquals(List.of(threadOf(TAG_DRIFT)), tagEdits, "Expected only the tag drift to re-tag its thread"),
+                // The mock forum never returns the status message, so the plot update cannot apply
+                () -> Assertions.assertSame(PlotReconciler.Outcome.FAILED, results.get(STATUS_DRIFT).outcome()),
+                () -> Assertions.assertNotNull(results.get(STATUS_DRIFT).error()),
+                () -> Assertions.assertSame(PlotReconciler.Outcome.DRIFTED, results.get(MISSING_THREAD).outcome()),
+                () -> Assertions.assertSame(PlotReconciler.Outcome.DRIFTED, results.get(OWNER_DRIFT).outcome())
+            );
+
+            Assertions.assertFalse(resultsOf(reconcile(true)).containsKey(TAG_DRIFT), "Expected the repaired plot to be in sync");
+        }
+
+        @Test @Order(4)
+        @DisplayName("Failed re-tag is reported as failed")
+        public void failedRepair() {
+            threadTags.put(threadOf(TAG_DRIFT), Set.of());
+            failTagEdits = true;
+
+            PlotReconciler.PlotResult result = resultsOf(reconcile(false)).get(TAG_DRIFT);
+
+            Assertions.assertSame(PlotReconciler.Outcome.FAILED, result.outcome());
+            Assertions.assertEquals(Set.of(PlotReconciler.Drift.TAGS), result.drifts());
+            Assertions.assertTrue(tagEdits.contains(threadOf(TAG_DRIFT)));
+        }
+    }
+
+    @DisplayName("Media Store")
+    @Nested @Order(9)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class MediaStoreTest {
+        private static final byte[] CONTENT = "MOCK_MEDIA_CONTENT".getBytes(StandardCharsets.UTF_8);
+
+        private static MockFileServer files;
+        private static String url;
+
+        @TempDir
+        Path folder;
+
+        private MediaStore store;
+        private Path media;
+
+        private Path blobs() {
+            return media.resolve("store/blobs");
+        }
+
+        private List<Path> storedBlobs() throws IOException {
+            try(Stream<Path> stored = Files.list(blobs())) {
+                return stored.filter(blob -> !blob.getFileName().toString().endsWith(".part")).toList();
+            }
+        }
+
+        private File downloadTo(Message.Attachment attachment, String plotFolder, String name) {
+            File target = media.resolve(plotFolder).resolve(name).toFile();
+            Assertions.assertTrue(target.getParentFile().isDirectory() || target.getParentFile().mkdirs());
+            return Assertions.assertDoesNotThrow(() -> store.download(attachment, target).orTimeout(30, TimeUnit.SECONDS).join());
+        }
+
+        @BeforeAll
+        public static void startServer() throws IOException {
+            files = new MockFileServer();
+            url = files.serve("media.txt", CONTENT);
+        }
+
+        @AfterAll
+        public static void stopServer() {
+            files.close();
+        }
+
+        @BeforeEach
+        public void createStore() {
+            media = folder.resolve("media");
+            store = new MediaStore(media);
+        }
+
+        @Test @Order(1)
+        @DisplayName("Downloaded attachment is stored as a blob linked into its media folder")
+        public void downloadIntoBlob() throws IOException {
+            int requested = files.getRequests("media.txt").size();
+            File saved = downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-1", "a.txt");
+
+            Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(saved.toPath()));
+            Assertions.assertEquals(List.of(blobs().resolve(MediaIndex.hash(saved))), storedBlobs());
+            Assertions.assertEquals(requested + 1, files.getRequests("media.txt").size());
+        }
+
+        @Test @Order(2)
+        @DisplayName("Attachment downloaded before is reused from its blob")
+        public void reuseStoredAttachment() throws IOException {
+            Message.Attachment attachment = MockAttachment.of(url, "media.txt", null, CONTENT.length);
+            downloadTo(attachment, "plot-1", "a.txt");
+            int requested = files.getRequests("media.txt").size();
+
+            File reused = downloadTo(attachment, "plot-2", "b.txt");
+
+            Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(reused.toPath()));
+            Assertions.assertEquals(requested, files.getRequests("media.txt").size(), "Expected no download of a stored attachment");
+            Assertions.assertEquals(1, storedBlobs().size());
+        }
+
+        @Test @Order(3)
+        @DisplayName("Different attachments of the same content share a single blob")
+        public void shareBlobOfSameContent() throws IOException {
+            downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-1", "a.txt");
+            downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-2", "b.txt");
+
+            Assertions.assertEquals(1, storedBlobs().size());
+            try(Stream<Path> stored = Files.list(blobs())) {
+                Assertions.assertEquals(1, stored.count(), "Expected no partial download left behind");
+            }
+        }
+
+        @Test @Order(4)
+        @DisplayName("Blob no media folder references is collected")
+        public void collectUnreferencedBlobs() throws IOException {
+            File kept = downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-1", "a.txt");
+            File deleted = downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-2", "b.txt");
+
+            // Adopted as a blob of its own
+            Path unknown = media.resolve("plot-3/c.txt");
+            Files.createDirectories(unknown.getParent());
+            Files.writeString(unknown, "MOCK_UNKNOWN_CONTENT");
+            Stream.of(kept, deleted, unknown.toFile()).forEach(file -> plugin.getMediaIndex().invalidate(file.getParentFile()));
+
+            Assertions.assertEquals(0, store.collectGarbage(), "Expected every referenced blob kept");
+            Assertions.assertEquals(2, storedBlobs().size());
+
+            Files.delete(kept.toPath());
+            Files.delete(deleted.toPath());
+            Stream.of(kept, deleted).forEach(file -> plugin.getMediaIndex().invalidate(file.getParentFile()));
+
+            Assertions.assertEquals(1, store.collectGarbage());
+            Assertions.assertEquals(List.of(blobs().resolve(MediaIndex.hash(unknown.toFile()))), storedBlobs());
+        }
+
+        @Test @Order(5)
+        @DisplayName("Uploaded media is referenced by its URL")
+        public void referenceUploadedUrl() {
+            File saved = downloadTo(MockAttachment.of(url, "media.txt", null, CONTENT.length), "plot-1", "a.txt");
+            File other = media.resolve("plot-1/other.txt").toFile();
+            String uploaded = "https://cdn.discordapp.com/attachments/0/0/a.txt";
+
+            Assertions.assertEquals(Map.of(), store.findUploadedUrls(List.of(saved)).join());
+
+            DataObject message = DataObject.empty().put("attachments", DataArray.empty()
+                .add(DataObject.empty().put("filename", saved.getName()).put("url", uploaded)));
+            store.recordUploads(Map.of(saved.getName(), saved), message).orTimeout(30, TimeUnit.SECONDS).join();
+
+            Assertions.assertEquals(Map.of(saved.getName(), uploaded), store.findUploadedUrls(List.of(saved, other)).join());
+            Assertions.assertEquals(Map.of(saved.getName(), uploaded),
+                new MediaStore(media).findUploadedUrls(List.of(saved)).join(), "Expected uploads recorded on disk");
+        }
+    }
+
+    @DisplayName("Attachment Downloader")
+    @Nested @Order(10)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public class AttachmentDownloaderTest {
+        private static final byte[] CONTENT = "MOCK_ATTACHMENT_CONTENT_TO_BE_DOWNLOADED".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 'M', 'O', 'C', 'K' };
+
+        private static MockFileServer files;
+
+        @TempDir
+        Path folder;
+
+        private final AttachmentDownloader downloader = new AttachmentDownloader(3, 10);
+        private final List<AttachmentDownloader.State> states = new CopyOnWriteArrayList<>();
+
+        private CompletableFuture<Path> download(Message.Attachment attachment) {
+            return downloader.download(attachment, folder.resolve(attachment.getId() + ".part"),
+                (downloaded, state, detail) -> states.add(state)).orTimeout(30, TimeUnit.SECONDS);
+        }
+
+        private Throwable failure(Message.Attachment attachment) {
+            CompletionException failed = Assertions.assertThrows(CompletionException.class, () -> download(attachment).join());
+            return failed.getCause();
+        }
+
+        @BeforeAll
+        public static void startServer() throws IOException {
+            files = new MockFileServer();
+        }
+
+        @AfterAll
+        public static void stopServer() {
+            files.close();
+        }
+
+        @Test @Order(1)
+        @DisplayName("Partial download is resumed from its last byte")
+        public void resumePartialDownload() throws IOException {
+            String url = files.serve("resume.txt", CONTENT);
+            Message.Attachment attachment = MockAttachment.of(url, "resume.txt", "text/plain", CONTENT.length);
+            Files.write(folder.resolve(attachment.getId() + ".part"), Arrays.copyOf(CONTENT, 10));
+
+            Path downloaded = download(attachment).join();
+
+            Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(downloaded));
+            Assertions.assertEquals(List.of("bytes=10-"), files.getRequests("resume.txt"));
+        }
+
+        @Test @Order(2)
+        @DisplayName("Transient failure is retried")
+        public void retryTransientFailure() throws IOException {
+            String url = files.serve("retry.txt", CONTENT);
+            files.failNext("retry.txt", 503, 429);
+
+            Path downloaded = download(MockAttachment.of(url, "retry.txt", null, CONTENT.length)).join();
+
+            Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(downloaded));
+            Assertions.assertEquals(3, files.getRequests("retry.txt").size());
+            Assertions.assertEquals(List.of(
+                AttachmentDownloader.State.DOWNLOADING, AttachmentDownloader.State.RETRYING,
+                AttachmentDownloader.State.DOWNLOADING, AttachmentDownloader.State.RETRYING,
+                AttachmentDownloader.State.DOWNLOADING, AttachmentDownloader.State.DOWNLOADED
+            ), states);
+        }
+
+        @Test @Order(3)
+        @DisplayName("Transient failure fails once every attempt is used")
+        public void exhaustAttempts() {
+            String url = files.serve("exhaust.txt", CONTENT);
+            files.failNext("exhaust.txt", 500, 502, 503);
+
+            Throwable cause = failure(MockAttachment.of(url, "exhaust.txt", null, CONTENT.length));
+
+            Assertions.assertInstanceOf(IOException.class, cause);
+            Assertions.assertFalse(cause instanceof AttachmentDownloader.PermanentException, "Expected a transient failure");
+            Assertions.assertEquals(3, files.getRequests("exhaust.txt").size());
+            Assertions.assertEquals(AttachmentDownloader.State.FAILED, states.getLast());
+        }
+
+        @Test @Order(4)
+        @DisplayName("Client error fails without retrying")
+        public void failOnClientError() {
+            String url = files.serve("missing.txt", CONTENT);
+            files.failNext("missing.txt", 404);
+
+            Throwable cause = failure(MockAttachment.of(url, "missing.txt", null, CONTENT.length));
+
+            Assertions.assertInstanceOf(AttachmentDownloader.PermanentException.class, cause);
+            Assertions.assertEquals(1, files.getRequests("missing.txt").size());
+            Assertions.assertEquals(List.of(AttachmentDownloader.State.DOWNLOADING, AttachmentDownloader.State.FAILED), states);
+        }
+
+        @Test @Order(5)
+        @DisplayName("Image is verified by its signature")
+        public void verifyImageSignature() throws IOException {
+            String url = files.serve("image.png", PNG);
+            Path downloaded = download(MockAttachment.of(url, "image.png", "image/png", PNG.length)).join();
+            Assertions.assertArrayEquals(PNG, Files.readAllBytes(downloaded));
+
+            String fake = files.serve("fake.png", CONTENT);
+            Message.Attachment attachment = MockAttachment.of(fake, "fake.png", "image/png", CONTENT.length);
+
+            Assertions.assertInstanceOf(AttachmentDownloader.PermanentException.class, failure(attachment));
+            Assertions.assertEquals(1, files.getRequests("fake.png").size());
+            Assertions.assertFalse(Files.exists(folder.resolve(attachment.getId() + ".part")), "Expected mismatched content deleted");
+        }
+
+        @Test @Order(6)
+        @DisplayName("Content larger than its declared size is rejected")
+        public void rejectOversizedContent() {
+            String url = files.serve("oversized.txt", CONTENT);
+            Message.Attachment attachment = MockAttachment.of(url, "oversized.txt", null, CONTENT.length - 1);
+
+            Assertions.assertInstanceOf(AttachmentDownloader.PermanentException.class, failure(attachment));
+            Assertions.assertEquals(1, files.getRequests("oversized.txt").size());
+            Assertions.assertFalse(Files.exists(folder.resolve(attachment.getId() + ".part")), "Expected oversized content deleted");
+        }
+    }
+
+    @DisplayName("Attachment Body")
+    @Nested @Order(11)
+    public class AttachmentBodyTest {
+        @TempDir
+        Path folder;
+
+        @Test
+        @DisplayName("Attached files are kept when the webhook data is modified")
+        public void keepFilesOfModifiedData() throws IOException {
+            File image = Files.writeString(folder.resolve("image.png"), "MOCK_IMAGE_CONTENT").toFile();
+            WebhookDataBuilder.WebhookData data = new WebhookDataBuilder().setThreadName("Mock Thread").build();
+
+            AttachmentBody.attach(data, image);
+            data.put("applied_tags", DataArray.empty().add(MockSnowflake.getRandom()));
+
+            Assertions.assertEquals(Map.of("image.png", image), AttachmentBody.getAttached(data));
+            MultipartBody body = Assertions.assertInstanceOf(MultipartBody.class, AttachmentBody.of(data));
+            Assertions.assertEquals(2, body.size(), "Expected the attached file and the payload");
+            Assertions.assertEquals(image.length(), body.part(0).body().contentLength());
+        }
+
+        @Test
+        @DisplayName("Equal webhook data does not share attached files")
+        public void separateFilesOfEqualData() throws IOException {
+            File image = Files.writeString(folder.resolve("image.png"), "MOCK_IMAGE_CONTENT").toFile();
+            WebhookDataBuilder.WebhookData data = new WebhookDataBuilder().setThreadName("Mock Thread").build();
+            WebhookDataBuilder.WebhookData other = new WebhookDataBuilder().setThreadName("Mock Thread").build();
+
+            AttachmentBody.attach(data, image);
+
+            Assertions.assertEquals(Map.of(), AttachmentBody.getAttached(other));
+            Assertions.assertFalse(AttachmentBody.of(other) instanceof MultipartBody, "Expected no file attached to other data");
+        }
+    }
+
+    @DisplayName("Plot Update Queue")
+    @Nested @Order(12)
+    public class PlotUpdateQueueTest {
+        private final PlotUpdateQueue queue = new PlotUpdateQueue(4, 200);
+
+        private static CompletableFuture<Void> later(Runnable task) {
+            return CompletableFuture.runAsync(task, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+        }
+
+        private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while(!condition.getAsBoolean() && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            Assertions.assertTrue(condition.getAsBoolean(), message);
+        }
+
+        @AfterEach
+        public void shutdownQueue() {
+            queue.shutdown(10);
+        }
+
+        @Test
+        @DisplayName("Tasks of a plot run one at a time in submitted order")
+        public void orderPerPlot() throws InterruptedException {
+            int submitters = 4, tasks = 50;
+            Map<Integer, List<Integer>> applied = new ConcurrentHashMap<>();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlapped = new AtomicInteger();
+            List<CompletableFuture<Void>> queued = new CopyOnWriteArrayList<>();
+
+            List<Thread> threads = IntStream.range(0, submitters).mapToObj(submitter -> Thread.ofVirtual().unstarted(() -> {
+                for(int task = 0; task < tasks; task++) {
+                    int sequence = task;
+                    queued.add(queue.submit(1, () -> {
+                        if(running.incrementAndGet() > 1) overlapped.incrementAndGet();
+                        return later(() -> {
+                            applied.computeIfAbsent(submitter, key -> new CopyOnWriteArrayList<>()).add(sequence);
+                            running.decrementAndGet();
+                        });
+                    }));
+                }
+            })).toList();
+
+            threads.forEach(Thread::start);
+            for(Thread thread : threads) thread.join();
+            CompletableFuture.allOf(queued.toArray(new CompletableFuture[0])).orTimeout(30, TimeUnit.SECONDS).join();
+
+            Assertions.assertEquals(0, overlapped.get(), "Expected a task to start after the previous one completed");
+            List<Integer> expected = IntStream.range(0, tasks).boxed().toList();
+            for(int submitter = 0; submitter < submitters; submitter++)
+                Assertions.assertEquals(expected, applied.get(submitter), "Expected tasks applied in the order submitted");
+        }
+
+        @Test
+        @DisplayName("Mailbox moves on once a task times out")
+        public void moveOnAfterTimeout() {
+            CompletableFuture<Void> stuck = new CompletableFuture<>();
+            AtomicInteger next = new AtomicInteger();
+
+            CompletableFuture<Void> first = queue.submit(1, () -> stuck);
+            CompletableFuture<Void> second = queue.submit(1, () -> {
+                next.incrementAndGet();
+                return null;
+            });
+
+            Assertions.assertDoesNotThrow(() -> second.orTimeout(5, TimeUnit.SECONDS).join());
+            Assertions.assertTrue(first.isDone() && !first.isCompletedExceptionally(), "Expected timed out task completed normally");
+            Assertions.assertEquals(1, next.get());
+            Assertions.assertFalse(stuck.isDone(), "Expected the task's own future not completed by the timeout");
+        }
+
+        @Test
+        @DisplayName("Plot is pending until its mailbox is drained")
+        public void pendingUntilDrained() throws InterruptedException {
+            CompletableFuture<Void> gate = new CompletableFuture<>();
+
+            CompletableFuture<Void> queued = queue.submit(1, () -> gate);
+
+            Assertions.assertTrue(queue.isPending(1));
+            Assertions.assertFalse(queue.isPending(2));
+
+            gate.complete(null);
+            queued.orTimeout(5, TimeUnit.SECONDS).join();
+            await(() -> !queue.isPending(1), "Expected the mailbox drained once its last task is done");
+        }
+
+        @Test
+        @DisplayName("Shutdown waits for queued tasks and rejects new ones")
+        public void drainOnShutdown() {
+            AtomicInteger applied = new AtomicInteger();
+            List<CompletableFuture<Void>> queued = new ArrayList<>();
+
+            for(int plot = 0; plot < 8; plot++)
+                for(int task = 0; task < 3; task++)
+                    queued.add(queue.submit(plot, () -> later(applied::incrementAndGet)));
+
+            queue.shutdown(10);
+
+            Assertions.assertEquals(24, applied.get(), "Expected every queued task applied before shutdown returns");
+            Assertions.assertTrue(queued.stream().allMatch(CompletableFuture::isDone));
+            IntStream.range(0, 8).forEach(plot -> Assertions.assertFalse(queue.isPending(plot)));
+
+            Assertions.assertTrue(queue.submit(1, () -> later(applied::incrementAndGet)).isDone());
+            Assertions.assertEquals(24, applied.get(), "Expected a task submitted after shutdown ignored");
+        }
+    }
+
+    @DisplayName("Plot Update Planner")
+    @Nested @Order(13)
+    public class UpdatePlannerTest extends PlotUpdatePlannerTest { }
+
+    @DisplayName("Layout Diff")
+    @Nested @Order(14)
+    public class LayoutDiffTest {
+        private PlotData data;
+        private Layout layout;
+
+        private <T> T component(Class<T> type) {
+            return layout.getLayout().stream().filter(type::isInstance).map(type::cast).findFirst()
+                .orElseGet(() -> Assertions.fail("Expected a " + type.getSimpleName() + " in the layout"));
+        }
+
+        @BeforeEach
+        public void rebuildLayout() {
+            data = new PlotData(new PlotCreateData(
+                1,
+                UUID.randomUUID().toString(),
+                PlotCreateData.PlotStatus.ON_GOING,
+                "MOCK_CITY",
+                "MOCK_COUNTRY",
+                new double[] {13.7563, 100.5018}
+            ));
+
+            InfoComponent info = new InfoComponent(0, data);
+            info.addHistory("Plot history entry <t:1700000000:R>");
+
+            List<ComponentV2> components = List.of(info.build(), new StatusComponent(1, data).build());
+            WebhookDataBuilder.WebhookData webhookData = new WebhookDataBuilder()
+                .setComponentsV2(components)
+                .forceComponentV2()
+                .build();
+
+            // Round-trip through JSON so the payload matches an API response
+            DataArray raw = DataObject.fromJson(webhookData.toJson()).getArray("components");
+            layout = Layout.fromRawData(raw).orElseGet(() -> Assertions.fail("Expected layout parsed from raw data"));
+        }
+
+        @Test
+        @DisplayName("Layout rebuilt from raw data has no change")
+        public void rebuiltIsUnchanged() {
+            Assertions.assertTrue(layout.diff().isEmpty(), "Expected empty diff but got " + layout.diff());
+        }
+
+        @Test
+        @DisplayName("Setting the same data again is not a change")
+        public void sameDataIsUnchanged() {
+            InfoComponent info = component(InfoComponent.class);
+            StatusComponent status = component(StatusComponent.class);
+
+            info.setAccentColor(new Color(info.getAccentColor().getRGB()));
+            status.setAccentColor(new Color(status.getAccentColor().getRGB()));
+            status.changeStatusMessage(StatusComponent.DisplayMessage.fromStatus(data.getPrimaryStatus()));
+
+            Assertions.assertTrue(layout.diff().isEmpty(), "Expected empty diff but got " + layout.diff());
+        }
+
+        @Test
+        @DisplayName("History edit only changes the history")
+        public void historyEditIsTracked() {
+            component(InfoComponent.class).addHistory("New history entry <t:1700000001:R>");
+
+            Layout.LayoutDiff diff = layout.diff();
+
+            Assertions.assertEquals(List.of(component(InfoComponent.class)), diff.changed());
+            Assertions.assertEquals(Set.of(AvailableComponent.InfoComponent.INFO_HISTORY), component(InfoComponent.class).getChanges());
+            Assertions.assertTrue(diff.isChanged(AvailableComponent.INFO, AvailableComponent.InfoComponent.INFO_HISTORY));
+            Assertions.assertFalse(diff.isChanged(AvailableComponent.STATUS, AvailableComponent.StatusComponent.STATUS_THUMBNAIL));
+        }
+
+        @Test
+        @DisplayName("New attachment changes the gallery")
+        public void attachmentIsTracked() {
+            InfoComponent info = component(InfoComponent.class);
+
+            Assertions.assertNull(info.addAttachment("image.png"));
+            Assertions.assertTrue(layout.diff().isChanged(AvailableComponent.INFO, AvailableComponent.InfoComponent.INFO_GALLERY));
+            Assertions.assertEquals(Set.of(AvailableComponent.InfoComponent.INFO_GALLERY), info.getChanges());
+        }
+    }
+
+    @DisplayName("Forum Rest Scheduler")
+    @Nested @Order(15)
+    public class RestSchedulerTest extends ForumRestSchedulerTest { }
+
+    @DisplayName("Image Pipeline")
+    @Nested @Order(16)
+    public class ImagePipelineTest {
+        private static final int MAX_SIZE = 64;
+
+        @TempDir
+        Path folder;
+
+        private final ImagePipeline pipeline = new ImagePipeline(true, MAX_SIZE, MAX_SIZE, 1024 * 1024);
+
+        private File image(String name, String format, int width, int height) throws IOException {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Random random = new Random(width * 31L + height);
+            for(int x = 0; x < width; x++)
+                for(int y = 0; y < height; y++)
+                    image.setRGB(x, y, random.nextInt(0xFFFFFF));
+
+            File file = folder.resolve(name).toFile();
+            Assertions.assertTrue(ImageIO.write(image, format, file), "Expected a writer of " + format);
+            return file;
+        }
+
+        private File prepare(ImagePipeline pipeline, File original) {
+            return Assertions.assertDoesNotThrow(() -> pipeline.prepare(original).orTimeout(30, TimeUnit.SECONDS).join());
+        }
+
+        @ParameterizedTest
+        @CsvSource({"image.png, png", "image.jpg, jpeg"})
+        @DisplayName("Oversized image is derived within the limits")
+        public void deriveOversizedImage(String name, String format) throws IOException {
+            File original = image(name, format, MAX_SIZE * 4, MAX_SIZE * 2);
+
+            File prepared = prepare(pipeline, original);
+
+            Path expected = folder.resolve(".derived").resolve(MediaIndex.hash(original)).resolve(name);
+            Assertions.assertEquals(expected.toFile().getAbsoluteFile(), prepared.getAbsoluteFile());
+
+            BufferedImage derived = ImageIO.read(prepared);
+            Assertions.assertNotNull(derived, "Expected the derived image kept in its format");
+            Assertions.assertTrue(derived.getWidth() <= MAX_SIZE && derived.getHeight() <= MAX_SIZE,
+                "Expected derived image within the limits but got " + derived.getWidth() + "x" + derived.getHeight());
+            Assertions.assertTrue(prepared.length() < original.length());
+            Assertions.assertTrue(original.isFile(), "Expected the original kept");
+        }
+
+        @Test
+        @DisplayName("Image within the limits and GIF are uploaded as is")
+        public void keepImageAsIs() throws IOException {
+            File small = image("small.png", "png", MAX_SIZE / 2, MAX_SIZE / 2);
+            File gif = image("animated.gif", "gif", MAX_SIZE * 4, MAX_SIZE * 4);
+
+            Assertions.assertSame(small, prepare(pipeline, small));
+            Assertions.assertSame(gif, prepare(pipeline, gif));
+            Assertions.assertFalse(Files.exists(folder.resolve(".derived")), "Expected nothing derived");
+        }
+
+        @Test
+        @DisplayName("Derived image is reused")
+        public void reuseDerivedImage() throws IOException {
+            File original = image("image.png", "png", MAX_SIZE * 4, MAX_SIZE * 4);
+
+            File prepared = prepare(pipeline, original);
+            long modified = Files.getLastModifiedTime(prepared.toPath()).toMillis();
+
+            Assertions.assertSame(prepared, prepare(pipeline, original), "Expected the prepared image cached");
+
+            File restarted = prepare(new ImagePipeline(true, MAX_SIZE, MAX_SIZE, 1024 * 1024), original);
+            Assertions.assertEquals(prepared.getAbsoluteFile(), restarted.getAbsoluteFile());
+            Assertions.assertEquals(modified, Files.getLastModifiedTime(restarted.toPath()).toMillis(),
+                "Expected the derived file on disk reused");
+        }
+
+        @Test
+        @DisplayName("Derived image maps back to its original")
+        public void mapDerivedToOriginal() throws IOException {
+            File original = image("image.jpg", "jpeg", MAX_SIZE * 4, MAX_SIZE * 4);
+            File prepared = prepare(pipeline, original);
+
+            Assertions.assertNotEquals(original.getAbsoluteFile(), prepared.getAbsoluteFile());
+            Assertions.assertEquals(original.getAbsoluteFile(), ImagePipeline.originalOf(prepared).getAbsoluteFile());
+            Assertions.assertSame(original, ImagePipeline.originalOf(original));
+        }
+    }
+
     abstract static class EventSystemTest {
         protected static Integer plotID;
         protected static final DiscordSRVListener hook;
@@ -0,0 +1,77 @@
+package asia.buildtheearth.asean.discord.plotsystem.test.mock;
+
+import github.scarsz.discordsrv.dependencies.jda.api.entities.Message;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/**
+ * Create discord attachments without a JDA instance.
+ *
+ * <p>The attachment constructor is internal to JDA and differs between versions,
+ * its arguments are filled by type in declaration order:
+ * {@code id, url, proxyUrl, fileName, contentType, size, height, width}.</p>
+ */
+public final class MockAttachment {
+
+    private MockAttachment() {}
+
+    /**
+     * Create an attachment served at the given URL.
+     *
+     * @param url The attachment URL, also used as its proxy URL
+     * @param fileName The attachment file name
+     * @param contentType The declared content type, null if unknown
+     * @param size The declared file size in bytes
+     * @return A new attachment with a random snowflake ID
+     */
+    public static @NotNull Message.Attachment of(@NotNull String url,
+                                                 @NotNull String fileName,
+                                                 @Nullable String contentType,
+                                                 int size) {
+        return of(MockSnowflake.getRandom(), url, fileName, contentType, size);
+    }
+
+    /**
+     * Create an attachment served at the given URL.
+     *
+     * @param id The attachment snowflake ID
+     * @param url The attachment URL, also used as its proxy URL
+     * @param fileName The attachment file name
+     * @param contentType The declared content type, null if unknown
+     * @param size The declared file size in bytes
+     * @return A new attachment
+     */
+    public static @NotNull Message.Attachment of(long id,
+                                                 @NotNull String url,
+                                                 @NotNull String fileName,
+                                                 @Nullable String contentType,
+                                                 int size) {
+        Constructor<?> constructor = Arrays.stream(Message.Attachment.class.getConstructors())
+            .max(Comparator.comparingInt(Constructor::getParameterCount))
+            .orElseThrow(() -> new IllegalStateException("Attachment has no public constructor"));
+
+        Iterator<String> strings = Arrays.asList(url, url, fileName, contentType).iterator();
+        Iterator<Integer> ints = Arrays.asList(size, 0, 0).iterator();
+
+        Class<?>[] types = constructor.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for(int i = 0; i < types.length; i++) {
+            if(types[i] == long.class) args[i] = id;
+            else if(types[i] == int.class) args[i] = ints.hasNext()? ints.next() : 0;
+            else if(types[i] == boolean.class) args[i] = false;
+            else if(types[i] == String.class) args[i] = strings.hasNext()? strings.next() : null;
+        }
+
+        try {
+            return (Message.Attachment) constructor.newInstance(args);
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot create a mock attachment", ex);
+        }
+    }
+}
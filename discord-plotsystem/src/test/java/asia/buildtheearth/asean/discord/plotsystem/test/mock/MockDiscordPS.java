@@ -37,6 +37,9 @@ public class MockDiscordPS extends DiscordPS implements MockDiscordSRVBridge {
         // Thread have to be joined to prevent potential interruption from junit
         try { initThread.join(); }
         catch (InterruptedException ex) { throw new RuntimeException(ex); }
+
+        // Wait for async startup stages (database) so the plugin state is deterministic
+        getStartup().all().join();
     }
 
     @Override
@@ -10,6 +10,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class MockDiscordSRVListener extends DiscordSRVListener {
     private PlotSystemListener plotSystemListener;
@@ -24,6 +25,19 @@ public class MockDiscordSRVListener extends DiscordSRVListener {
         return this.plotSystemListener = new MockPlotSystemListener(webhook);
     }
 
+    /**
+     * Startup stages are run asynchronously, wait for all of it
+     * so the plugin is ready (or not) when the ready event returns.
+     *
+     * @return The completed startup future
+     */
+    @Override
+    public CompletableFuture<Void> subscribeAndValidateJDA() {
+        CompletableFuture<Void> startup = super.subscribeAndValidateJDA();
+        startup.join();
+        return startup;
+    }
+
     /**
      * Plot-System webhook validation is NOT tested.
      *
@@ -62,8 +76,8 @@ public class MockDiscordSRVListener extends DiscordSRVListener {
         }
 
         @Override
-        protected void queueTask(@NotNull Runnable task) {
-            task.run();
+        protected void queueTask(int plotID, @NotNull Supplier<CompletableFuture<?>> task) {
+            task.get();
         }
     }
 }
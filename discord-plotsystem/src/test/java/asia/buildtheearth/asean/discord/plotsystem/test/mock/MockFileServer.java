@@ -0,0 +1,119 @@
+package asia.buildtheearth.asean.discord.plotsystem.test.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local HTTP server serving files as a discord CDN stub.
+ *
+ * <p>Each file is served at {@code /<name>} and supports {@code Range: bytes=<offset>-} requests.
+ * Status codes queued with {@link #failNext(String, int...)} are responded in order before the file is served again.</p>
+ *
+ * <blockquote>{@snippet :
+ * try(MockFileServer server = new MockFileServer()) {
+ *     String url = server.serve("image.png", content);
+ *     server.failNext("image.png", 503);
+ * }
+ * }</blockquote>
+ */
+public final class MockFileServer implements AutoCloseable {
+
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-$");
+
+    private final HttpServer server;
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Integer>> failures = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> requests = new ConcurrentHashMap<>();
+
+    public MockFileServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * Serve a file, replacing any file served as the same name.
+     *
+     * @param name The file name
+     * @param content The file content
+     * @return The URL of the file
+     */
+    public @NotNull String serve(@NotNull String name, byte @NotNull [] content) {
+        this.files.put(name, content);
+        return "http://" + this.server.getAddress().getHostString() + ":" + this.server.getAddress().getPort() + "/" + name;
+    }
+
+    /**
+     * Respond the next requests of a file with the given status codes instead of its content.
+     *
+     * @param name The file name
+     * @param codes Status code of each next request in order
+     */
+    public void failNext(@NotNull String name, int @NotNull ... codes) {
+        Queue<Integer> queue = this.failures.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>());
+        for(int code : codes) queue.add(code);
+    }
+
+    /**
+     * Get the {@code Range} header of every request of a file in order.
+     *
+     * @param name The file name
+     * @return The range of each request, {@code "*"} for a request of the whole file
+     */
+    public @NotNull List<String> getRequests(@NotNull String name) {
+        return List.copyOf(this.requests.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        try(exchange) {
+            String name = exchange.getRequestURI().getPath().substring(1);
+            @Nullable String range = exchange.getRequestHeaders().getFirst("Range");
+            this.requests.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(range == null? "*" : range);
+
+            Integer failure = this.failures.getOrDefault(name, new ConcurrentLinkedQueue<>()).poll();
+            byte[] content = this.files.get(name);
+
+            if(failure != null || content == null) {
+                exchange.sendResponseHeaders(failure != null? failure : 404, -1);
+                return;
+            }
+
+            int offset = 0;
+            Matcher matcher = range == null? null : RANGE.matcher(range);
+            if(matcher != null && matcher.matches()) {
+                offset = Integer.parseInt(matcher.group(1));
+                if(offset >= content.length) {
+                    exchange.sendResponseHeaders(416, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Range",
+                    "bytes " + offset + "-" + (content.length - 1) + "/" + content.length);
+            }
+
+            exchange.sendResponseHeaders(offset > 0? 206 : 200, content.length - offset);
+            try(OutputStream output = exchange.getResponseBody()) {
+                output.write(content, offset, content.length - offset);
+            }
+        }
+    }
+}
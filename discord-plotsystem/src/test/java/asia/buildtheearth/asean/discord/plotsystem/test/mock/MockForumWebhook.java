@@ -88,6 +88,11 @@ public abstract class MockForumWebhook implements ForumWebhook {
         return new MockOptRestAction<>();
     }
 
+    @Override
+    public @NotNull RestAction<Optional<DataObject>> getThreadChannel(@NotNull String threadID, boolean allowSecondAttempt) {
+        return new MockOptRestAction<>();
+    }
+
     @Override
     public @NotNull RestAction<Optional<MessageReference>> sendMessageInThread(@NotNull String threadID, WebhookDataBuilder.@NotNull WebhookData webhookData, boolean withComponents, boolean allowSecondAttempt) {
         return new MockOptRestAction<>(randomMessage());